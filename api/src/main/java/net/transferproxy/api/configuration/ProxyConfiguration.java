@@ -28,6 +28,10 @@ import io.netty.util.ResourceLeakDetector;
 import net.transferproxy.api.TransferProxy;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * Represents the configuration of {@link TransferProxy}
@@ -52,6 +56,15 @@ public interface ProxyConfiguration {
     @Contract(pure = true)
     Status getStatus();
 
+    /**
+     * Retrieves the {@link Routing} configuration.
+     *
+     * @return the routing configuration, never {@code null}
+     */
+    @NotNull
+    @Contract(pure = true)
+    Routing getRouting();
+
     /**
      * Retrieves the {@link Miscellaneous} configuration.
      *
@@ -147,6 +160,40 @@ public interface ProxyConfiguration {
         @Contract(pure = true)
         boolean isDisableExtraByteCheck();
 
+        /**
+         * Gets the packet size (in bytes) from which packets are compressed once the login has started.
+         * A negative value disables the compression.
+         *
+         * @return the compression threshold
+         */
+        @Contract(pure = true)
+        int getCompressionThreshold();
+
+        /**
+         * Gets the zlib compression level used when the compression is enabled.
+         * A value of {@code -1} uses the default level.
+         *
+         * @return the compression level
+         */
+        @Contract(pure = true)
+        int getCompressionLevel();
+
+        /**
+         * Determines if the UDP query protocol (GameSpy4) is enabled.
+         *
+         * @return {@code true} if the query protocol is enabled, {@code false} otherwise
+         */
+        @Contract(pure = true)
+        boolean isQueryEnabled();
+
+        /**
+         * Gets the UDP port of the query protocol.
+         *
+         * @return the query port
+         */
+        @Contract(pure = true)
+        int getQueryPort();
+
     }
 
     /**
@@ -206,6 +253,164 @@ public interface ProxyConfiguration {
         @Contract(pure = true)
         String getFaviconPath();
 
+        /**
+         * Gets the interval (in milliseconds) between each favicon when the favicon path is a directory.
+         * A value of 0 changes the favicon on each ping.
+         *
+         * @return the favicon rotation interval
+         */
+        @Contract(pure = true)
+        long getFaviconRotationInterval();
+
+        /**
+         * Determines if the favicons are reloaded when their files change.
+         *
+         * @return {@code true} if the favicon files are watched, {@code false} otherwise
+         */
+        @Contract(pure = true)
+        boolean isFaviconWatch();
+
+        /**
+         * Gets the status overrides by hostname.
+         * A key is either an exact hostname, or a wildcard like {@code *.example.com} matching its subdomains.
+         *
+         * @return the status overrides by hostname, never {@code null}
+         */
+        @NotNull
+        @Contract(pure = true)
+        Map<String, ? extends Host> getHosts();
+
+        /**
+         * Gets the addresses ({@code host:port}) of the backend servers pinged to display the real online counts.
+         * When empty, the configured online and max online are displayed.
+         *
+         * @return the backend addresses, never {@code null}
+         */
+        @NotNull
+        @Contract(pure = true)
+        List<String> getBackends();
+
+        /**
+         * Gets the interval (in milliseconds) between each refresh of the backend counts.
+         *
+         * @return the refresh interval
+         */
+        @Contract(pure = true)
+        long getBackendsRefreshInterval();
+
+        /**
+         * Gets the time (in milliseconds) to wait for the response of a backend.
+         *
+         * @return the ping timeout
+         */
+        @Contract(pure = true)
+        long getBackendsTimeout();
+
+        /**
+         * Gets the maximum number of backends pinged at the same time.
+         *
+         * @return the maximum ping concurrency
+         */
+        @Contract(pure = true)
+        int getBackendsMaxConcurrency();
+
+        /**
+         * Gets the maximum number of players taken from the backend samples.
+         * A value of 0 disables the sample.
+         *
+         * @return the sample size
+         */
+        @Contract(pure = true)
+        int getBackendsSampleSize();
+
+        /**
+         * Gets the maximum number of status pings per IP address, the counters are halved every window.
+         * A value of 0 disables the limit.
+         *
+         * @return the ping limit
+         */
+        @Contract(pure = true)
+        int getPingLimit();
+
+        /**
+         * Gets the duration (in milliseconds) of a ping limit window.
+         *
+         * @return the ping limit window
+         */
+        @Contract(pure = true)
+        long getPingLimitWindow();
+
+        /**
+         * Determines if throttled pings are answered instead of being closed. They receive the last status response
+         * sent for their protocol and hostname, or the default response if there is none.
+         *
+         * @return {@code true} if throttled pings receive a response, {@code false} otherwise
+         */
+        @Contract(pure = true)
+        boolean isPingLimitCachedResponse();
+
+        /**
+         * Status displayed to players joining with a specific hostname.
+         * Each missing value is inherited from the {@link Status} configuration.
+         */
+        interface Host {
+
+            /**
+             * Gets the server name displayed in client server lists.
+             *
+             * @return the server name, or {@code null} to inherit it
+             */
+            @Nullable
+            @Contract(pure = true)
+            String getName();
+
+            /**
+             * Gets the server description using MiniMessage formatting.
+             *
+             * @return the server description, or {@code null} to inherit it
+             */
+            @Nullable
+            @Contract(pure = true)
+            String getDescription();
+
+            /**
+             * Gets the protocol version of proxy sent to clients.
+             *
+             * @return the protocol version identifier, or {@code null} to inherit it
+             */
+            @Nullable
+            @Contract(pure = true)
+            String getProtocol();
+
+            /**
+             * Gets the online displayed in client server lists.
+             *
+             * @return the online, or {@code null} to inherit it
+             */
+            @Nullable
+            @Contract(pure = true)
+            Integer getOnline();
+
+            /**
+             * Gets the max online displayed in client server lists.
+             *
+             * @return the max online, or {@code null} to inherit it
+             */
+            @Nullable
+            @Contract(pure = true)
+            Integer getMaxOnline();
+
+            /**
+             * Gets the filesystem path to the favicon image or directory.
+             *
+             * @return the favicon path, or {@code null} to inherit it
+             */
+            @Nullable
+            @Contract(pure = true)
+            String getFaviconPath();
+
+        }
+
     }
 
     /**
@@ -249,6 +454,409 @@ public interface ProxyConfiguration {
         @Contract(pure = true)
         long getKeepAliveDelay();
 
+        /**
+         * Gets the maximum number of pre-built packets kept by the default {@link net.transferproxy.api.network.packet.built.BuiltPacketFactory}.
+         * A value of 0 disables the cache.
+         *
+         * @return the packet cache size
+         */
+        @Contract(pure = true)
+        int getPacketCacheSize();
+
+        /**
+         * Gets the maximum time (in milliseconds) to wait for each asynchronous event listener.
+         * The connection is closed when a listener does not complete in time.
+         *
+         * @return the asynchronous event timeout
+         */
+        @Contract(pure = true)
+        long getAsyncEventTimeout();
+
+        /**
+         * Gets the number of threads of the executor provided to asynchronous event listeners.
+         * A value of 0 uses virtual threads when they are available.
+         *
+         * @return the number of asynchronous event threads
+         */
+        @Contract(pure = true)
+        int getAsyncEventThreads();
+
+        /**
+         * Gets the maximum time (in milliseconds) to wait for the response of a cookie request.
+         * The future of the request is then completed with a {@link java.util.concurrent.TimeoutException}.
+         * A value of 0 waits without limit.
+         *
+         * @return the cookie timeout
+         */
+        @Contract(pure = true)
+        long getCookieTimeout();
+
+        /**
+         * Gets the maximum time (in milliseconds) to wait for a player to accept the code of conduct.
+         * The future of the code of conduct is then completed with a {@link java.util.concurrent.TimeoutException}.
+         * A value of 0 waits without limit.
+         *
+         * @return the code of conduct timeout
+         */
+        @Contract(pure = true)
+        long getCodeOfConductTimeout();
+
+    }
+
+    /**
+     * Configuration of the built-in routing, used to transfer players when no plugin handles the ready event.
+     */
+    interface Routing {
+
+        /**
+         * Gets the routing rules, in declaration order.
+         *
+         * @return the routing rules, never {@code null}
+         */
+        @NotNull
+        @Contract(pure = true)
+        List<? extends Rule> getRules();
+
+        /**
+         * Gets the pools of equivalent servers, by name. A rule can target a pool instead of a single server.
+         *
+         * @return the backend pools, never {@code null}
+         */
+        @NotNull
+        @Contract(pure = true)
+        Map<String, ? extends Pool> getPools();
+
+        /**
+         * Gets the UDP port on which the backend servers report their load. A value of 0 disables the reports.
+         *
+         * @return the load report port
+         */
+        @Contract(pure = true)
+        int getLoadReportPort();
+
+        /**
+         * Gets the secret sent by the backend servers with their load reports.
+         * The reports are not received while it is empty, as they would be accepted from any host.
+         *
+         * @return the load report secret, empty to disable the reports
+         */
+        @NotNull
+        @Contract(pure = true)
+        String getLoadReportSecret();
+
+        /**
+         * Gets the time (in milliseconds) after which a load report is stale.
+         * A stale load is halved for each elapsed period.
+         *
+         * @return the load report lifetime
+         */
+        @Contract(pure = true)
+        long getLoadReportStaleAfter();
+
+        /**
+         * Gets the interval (in milliseconds) between each health check of the pool servers.
+         * A value of 0 disables the health checks.
+         *
+         * @return the health check interval
+         */
+        @Contract(pure = true)
+        long getHealthCheckInterval();
+
+        /**
+         * Gets the time (in milliseconds) to wait for the status response of a checked server.
+         *
+         * @return the health check timeout
+         */
+        @Contract(pure = true)
+        long getHealthCheckTimeout();
+
+        /**
+         * Gets the maximum number of servers checked at the same time.
+         *
+         * @return the maximum health check concurrency
+         */
+        @Contract(pure = true)
+        int getHealthCheckMaxConcurrency();
+
+        /**
+         * Gets the number of consecutive successful checks before a down server is used again.
+         *
+         * @return the number of successes to mark a server up
+         */
+        @Contract(pure = true)
+        int getHealthCheckRise();
+
+        /**
+         * Gets the number of consecutive failed checks before a server is no longer used.
+         *
+         * @return the number of failures to mark a server down
+         */
+        @Contract(pure = true)
+        int getHealthCheckFall();
+
+        /**
+         * Gets the path of the file of the IP ranges of each region, used by the {@link Rule#getRegion()} condition.
+         * A CSV file is compiled to a binary file next to it.
+         *
+         * @return the region database path, empty to disable the regions
+         */
+        @NotNull
+        @Contract(pure = true)
+        String getRegionDatabase();
+
+        /**
+         * Determines if the route is decided at login, when the rules do not depend on the client brand.
+         * The player is then transferred as soon as it enters the configuration state, without the ready event.
+         *
+         * @return {@code true} if the routes are decided at login, {@code false} otherwise
+         */
+        @Contract(pure = true)
+        boolean isEarlyRouting();
+
+        /**
+         * Gets the waiting room in which the players wait before being transferred to a busy server.
+         *
+         * @return the queue configuration, never {@code null}
+         */
+        @NotNull
+        @Contract(pure = true)
+        Queue getQueue();
+
+        /**
+         * A routing rule, matching the players that satisfy all its conditions.
+         * A missing condition matches every player.
+         */
+        interface Rule {
+
+            /**
+             * Gets the hostname used by the player to join, by exact hostname or {@code *.domain} wildcard.
+             *
+             * @return the hostname pattern, or {@code null} to match any hostname
+             */
+            @Nullable
+            @Contract(pure = true)
+            String getHostname();
+
+            /**
+             * Gets the minimum protocol version of the player, inclusive.
+             *
+             * @return the minimum protocol version, or {@code null} for no minimum
+             */
+            @Nullable
+            @Contract(pure = true)
+            Integer getMinProtocol();
+
+            /**
+             * Gets the maximum protocol version of the player, inclusive.
+             *
+             * @return the maximum protocol version, or {@code null} for no maximum
+             */
+            @Nullable
+            @Contract(pure = true)
+            Integer getMaxProtocol();
+
+            /**
+             * Gets the client brand of the player, compared without case.
+             *
+             * @return the client brand, or {@code null} to match any brand
+             */
+            @Nullable
+            @Contract(pure = true)
+            String getBrand();
+
+            /**
+             * Gets whether the player must come from a transfer.
+             *
+             * @return {@code true} or {@code false} to require it, or {@code null} to match both
+             */
+            @Nullable
+            @Contract(pure = true)
+            Boolean getFromTransfer();
+
+            /**
+             * Gets the region of the player, found from its IP address, compared without case.
+             *
+             * @return the region, or {@code null} to match any region
+             */
+            @Nullable
+            @Contract(pure = true)
+            String getRegion();
+
+            /**
+             * Gets the target server of the matching players, formatted as {@code host[:port]}, IPv6 addresses with a port being bracketed ({@code [::1]:25565}).
+             *
+             * @return the target server, or {@code null} if the rule targets a pool
+             */
+            @Nullable
+            @Contract(pure = true)
+            String getTarget();
+
+            /**
+             * Gets the name of the pool of the matching players, see {@link Routing#getPools()}.
+             *
+             * @return the target pool, or {@code null} if the rule targets a server
+             */
+            @Nullable
+            @Contract(pure = true)
+            String getPool();
+
+        }
+
+        /**
+         * A pool of equivalent servers, with the strategy used to choose one of them.
+         */
+        interface Pool {
+
+            /**
+             * Gets the selection strategy: {@code ROUND_ROBIN}, {@code WEIGHTED}, {@code LEAST_LOAD} or {@code CONSISTENT_HASH}.
+             *
+             * @return the selection strategy, never {@code null}
+             */
+            @NotNull
+            @Contract(pure = true)
+            String getStrategy();
+
+            /**
+             * Gets the servers of the pool.
+             *
+             * @return the servers, never {@code null}
+             */
+            @NotNull
+            @Contract(pure = true)
+            List<? extends Server> getServers();
+
+        }
+
+        /**
+         * A server of a {@link Pool}.
+         */
+        interface Server {
+
+            /**
+             * Gets the address of the server, formatted as {@code host[:port]}, IPv6 addresses with a port being bracketed.
+             * It also identifies the server in the load reports.
+             *
+             * @return the server address, never {@code null}
+             */
+            @NotNull
+            @Contract(pure = true)
+            String getTarget();
+
+            /**
+             * Gets the weight of the server, used by the {@code WEIGHTED}, {@code LEAST_LOAD} and {@code CONSISTENT_HASH} strategies.
+             *
+             * @return the weight, a positive number
+             */
+            @Contract(pure = true)
+            int getWeight();
+
+        }
+
+        /**
+         * Admission control of the transfers. The players routed to a server are kept in configuration state,
+         * and released at the admission rate of this server.
+         */
+        interface Queue {
+
+            /**
+             * Gets the maximum number of players transferred to a same server per second.
+             * A value of 0 disables the queue.
+             *
+             * @return the admission rate
+             */
+            @Contract(pure = true)
+            int getAdmissionRate();
+
+            /**
+             * Gets the number of players that can be transferred to a same server at once, before the rate applies.
+             *
+             * @return the admission burst
+             */
+            @Contract(pure = true)
+            int getAdmissionBurst();
+
+            /**
+             * Gets the maximum number of players waiting for a same server, the next players are disconnected.
+             * A value of 0 means no limit.
+             *
+             * @return the queue capacity
+             */
+            @Contract(pure = true)
+            int getCapacity();
+
+            /**
+             * Gets the number of priority lanes. The players of a lane are transferred before those of the next lanes.
+             *
+             * @return the number of lanes, a positive number
+             */
+            @Contract(pure = true)
+            int getLanes();
+
+            /**
+             * Gets the interval (in milliseconds) between each position update sent to the waiting players.
+             * A value of 0 disables the updates.
+             *
+             * @return the position update interval
+             */
+            @Contract(pure = true)
+            long getPositionUpdateInterval();
+
+            /**
+             * Gets the message displayed to the players disconnected because the queue is full.
+             * Supports MiniMessage formatting for styled text.
+             *
+             * @return the full queue message
+             */
+            @NotNull
+            @Contract(pure = true)
+            String getFullMessage();
+
+            /**
+             * Gets the settings of specific servers, by address formatted as {@code host[:port]}.
+             *
+             * @return the server settings, never {@code null}
+             */
+            @NotNull
+            @Contract(pure = true)
+            Map<String, ? extends Target> getTargets();
+
+            /**
+             * Queue settings of a specific server.
+             * Each missing value is inherited from the {@link Queue} configuration.
+             */
+            interface Target {
+
+                /**
+                 * Gets the maximum number of players transferred to this server per second.
+                 *
+                 * @return the admission rate, or {@code null} to inherit it
+                 */
+                @Nullable
+                @Contract(pure = true)
+                Integer getAdmissionRate();
+
+                /**
+                 * Gets the number of players that can be transferred to this server at once.
+                 *
+                 * @return the admission burst, or {@code null} to inherit it
+                 */
+                @Nullable
+                @Contract(pure = true)
+                Integer getAdmissionBurst();
+
+                /**
+                 * Gets the maximum number of players waiting for this server.
+                 *
+                 * @return the queue capacity, or {@code null} to inherit it
+                 */
+                @Nullable
+                @Contract(pure = true)
+                Integer getCapacity();
+
+            }
+
+        }
+
     }
 
     /**
@@ -27,12 +27,17 @@ package net.transferproxy.api.configuration.yaml;
 import io.netty.util.ResourceLeakDetector;
 import net.transferproxy.api.configuration.ProxyConfiguration;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
 
 @SuppressWarnings("unused")
 public class YamlProxyConfiguration implements ProxyConfiguration {
 
     private YamlNetwork network;
     private YamlStatus status;
+    private YamlRouting routing;
     private YamlMiscellaneous miscellaneous;
     private YamlLogging logging;
 
@@ -46,6 +51,11 @@ public class YamlProxyConfiguration implements ProxyConfiguration {
         return this.status != null ? this.status : (this.status = new YamlStatus());
     }
 
+    @Override
+    public ProxyConfiguration.@NotNull Routing getRouting() {
+        return this.routing != null ? this.routing : (this.routing = new YamlRouting());
+    }
+
     @Override
     public ProxyConfiguration.@NotNull Miscellaneous getMiscellaneous() {
         return this.miscellaneous != null ? this.miscellaneous : (this.miscellaneous = new YamlMiscellaneous());
@@ -66,6 +76,10 @@ public class YamlProxyConfiguration implements ProxyConfiguration {
         private final int workerThreads;
         private final boolean useTcpNoDelay;
         private final boolean disableExtraByteCheck;
+        private final int compressionThreshold;
+        private final int compressionLevel;
+        private final boolean queryEnabled;
+        private final int queryPort;
 
         private YamlNetwork() {
             this.bindAddress = "localhost";
@@ -76,6 +90,10 @@ public class YamlProxyConfiguration implements ProxyConfiguration {
             this.workerThreads = 3;
             this.useTcpNoDelay = false;
             this.disableExtraByteCheck = false;
+            this.compressionThreshold = -1;
+            this.compressionLevel = -1;
+            this.queryEnabled = false;
+            this.queryPort = 25565;
         }
 
         @Override
@@ -118,6 +136,26 @@ public class YamlProxyConfiguration implements ProxyConfiguration {
             return this.disableExtraByteCheck;
         }
 
+        @Override
+        public int getCompressionThreshold() {
+            return this.compressionThreshold;
+        }
+
+        @Override
+        public int getCompressionLevel() {
+            return this.compressionLevel;
+        }
+
+        @Override
+        public boolean isQueryEnabled() {
+            return this.queryEnabled;
+        }
+
+        @Override
+        public int getQueryPort() {
+            return this.queryPort;
+        }
+
     }
 
     private static class YamlStatus implements ProxyConfiguration.Status {
@@ -128,6 +166,17 @@ public class YamlProxyConfiguration implements ProxyConfiguration {
         private final int online;
         private final int maxOnline;
         private final String faviconPath;
+        private final long faviconRotationInterval;
+        private final boolean faviconWatch;
+        private final Map<String, YamlHost> hosts;
+        private final List<String> backends;
+        private final long backendsRefreshInterval;
+        private final long backendsTimeout;
+        private final int backendsMaxConcurrency;
+        private final int backendsSampleSize;
+        private final int pingLimit;
+        private final long pingLimitWindow;
+        private final boolean pingLimitCachedResponse;
 
         private YamlStatus() {
             this.name = "TransferProxy";
@@ -136,6 +185,17 @@ public class YamlProxyConfiguration implements ProxyConfiguration {
             this.online = -1;
             this.maxOnline = -1;
             this.faviconPath = "./favicon.png";
+            this.faviconRotationInterval = 0L;
+            this.faviconWatch = false;
+            this.hosts = Map.of();
+            this.backends = List.of();
+            this.backendsRefreshInterval = 5_000L;
+            this.backendsTimeout = 3_000L;
+            this.backendsMaxConcurrency = 4;
+            this.backendsSampleSize = 0;
+            this.pingLimit = 0;
+            this.pingLimitWindow = 1_000L;
+            this.pingLimitCachedResponse = true;
         }
 
         @Override
@@ -158,6 +218,16 @@ public class YamlProxyConfiguration implements ProxyConfiguration {
             return this.faviconPath;
         }
 
+        @Override
+        public long getFaviconRotationInterval() {
+            return this.faviconRotationInterval;
+        }
+
+        @Override
+        public boolean isFaviconWatch() {
+            return this.faviconWatch;
+        }
+
         @Override
         public int getOnline() {
             return this.online;
@@ -168,6 +238,394 @@ public class YamlProxyConfiguration implements ProxyConfiguration {
             return this.maxOnline;
         }
 
+        @Override
+        public @NotNull Map<String, YamlHost> getHosts() {
+            return this.hosts != null ? this.hosts : Map.of();
+        }
+
+        @Override
+        public @NotNull List<String> getBackends() {
+            return this.backends != null ? this.backends : List.of();
+        }
+
+        @Override
+        public long getBackendsRefreshInterval() {
+            return this.backendsRefreshInterval;
+        }
+
+        @Override
+        public long getBackendsTimeout() {
+            return this.backendsTimeout;
+        }
+
+        @Override
+        public int getBackendsMaxConcurrency() {
+            return this.backendsMaxConcurrency;
+        }
+
+        @Override
+        public int getBackendsSampleSize() {
+            return this.backendsSampleSize;
+        }
+
+        @Override
+        public int getPingLimit() {
+            return this.pingLimit;
+        }
+
+        @Override
+        public long getPingLimitWindow() {
+            return this.pingLimitWindow;
+        }
+
+        @Override
+        public boolean isPingLimitCachedResponse() {
+            return this.pingLimitCachedResponse;
+        }
+
+    }
+
+    private static class YamlHost implements ProxyConfiguration.Status.Host {
+
+        private final String name;
+        private final String description;
+        private final String protocol;
+        private final Integer online;
+        private final Integer maxOnline;
+        private final String faviconPath;
+
+        private YamlHost() {
+            this.name = null;
+            this.description = null;
+            this.protocol = null;
+            this.online = null;
+            this.maxOnline = null;
+            this.faviconPath = null;
+        }
+
+        @Override
+        public @Nullable String getName() {
+            return this.name;
+        }
+
+        @Override
+        public @Nullable String getDescription() {
+            return this.description;
+        }
+
+        @Override
+        public @Nullable String getProtocol() {
+            return this.protocol;
+        }
+
+        @Override
+        public @Nullable Integer getOnline() {
+            return this.online;
+        }
+
+        @Override
+        public @Nullable Integer getMaxOnline() {
+            return this.maxOnline;
+        }
+
+        @Override
+        public @Nullable String getFaviconPath() {
+            return this.faviconPath;
+        }
+
+    }
+
+    private static class YamlRouting implements ProxyConfiguration.Routing {
+
+        private final List<YamlRule> rules;
+        private final Map<String, YamlPool> pools;
+        private final int loadReportPort;
+        private final String loadReportSecret;
+        private final long loadReportStaleAfter;
+        private final long healthCheckInterval;
+        private final long healthCheckTimeout;
+        private final int healthCheckMaxConcurrency;
+        private final int healthCheckRise;
+        private final int healthCheckFall;
+        private final String regionDatabase;
+        private final boolean earlyRouting;
+        private final YamlQueue queue;
+
+        private YamlRouting() {
+            this.rules = List.of();
+            this.pools = Map.of();
+            this.loadReportPort = 0;
+            this.loadReportSecret = "";
+            this.loadReportStaleAfter = 10_000L;
+            this.healthCheckInterval = 0L;
+            this.healthCheckTimeout = 3_000L;
+            this.healthCheckMaxConcurrency = 8;
+            this.healthCheckRise = 2;
+            this.healthCheckFall = 3;
+            this.regionDatabase = "";
+            this.earlyRouting = false;
+            this.queue = new YamlQueue();
+        }
+
+        @Override
+        public @NotNull List<YamlRule> getRules() {
+            return this.rules != null ? this.rules : List.of();
+        }
+
+        @Override
+        public @NotNull Map<String, YamlPool> getPools() {
+            return this.pools != null ? this.pools : Map.of();
+        }
+
+        @Override
+        public int getLoadReportPort() {
+            return this.loadReportPort;
+        }
+
+        @Override
+        public @NotNull String getLoadReportSecret() {
+            return this.loadReportSecret != null ? this.loadReportSecret : "";
+        }
+
+        @Override
+        public long getLoadReportStaleAfter() {
+            return this.loadReportStaleAfter;
+        }
+
+        @Override
+        public long getHealthCheckInterval() {
+            return this.healthCheckInterval;
+        }
+
+        @Override
+        public long getHealthCheckTimeout() {
+            return this.healthCheckTimeout;
+        }
+
+        @Override
+        public int getHealthCheckMaxConcurrency() {
+            return this.healthCheckMaxConcurrency;
+        }
+
+        @Override
+        public int getHealthCheckRise() {
+            return this.healthCheckRise;
+        }
+
+        @Override
+        public int getHealthCheckFall() {
+            return this.healthCheckFall;
+        }
+
+        @Override
+        public @NotNull String getRegionDatabase() {
+            return this.regionDatabase != null ? this.regionDatabase : "";
+        }
+
+        @Override
+        public boolean isEarlyRouting() {
+            return this.earlyRouting;
+        }
+
+        @Override
+        public ProxyConfiguration.Routing.@NotNull Queue getQueue() {
+            return this.queue != null ? this.queue : new YamlQueue();
+        }
+
+    }
+
+    private static class YamlRule implements ProxyConfiguration.Routing.Rule {
+
+        private final String hostname;
+        private final Integer minProtocol;
+        private final Integer maxProtocol;
+        private final String brand;
+        private final Boolean fromTransfer;
+        private final String region;
+        private final String target;
+        private final String pool;
+
+        private YamlRule() {
+            this.hostname = null;
+            this.minProtocol = null;
+            this.maxProtocol = null;
+            this.brand = null;
+            this.fromTransfer = null;
+            this.region = null;
+            this.target = null;
+            this.pool = null;
+        }
+
+        @Override
+        public @Nullable String getHostname() {
+            return this.hostname;
+        }
+
+        @Override
+        public @Nullable Integer getMinProtocol() {
+            return this.minProtocol;
+        }
+
+        @Override
+        public @Nullable Integer getMaxProtocol() {
+            return this.maxProtocol;
+        }
+
+        @Override
+        public @Nullable String getBrand() {
+            return this.brand;
+        }
+
+        @Override
+        public @Nullable Boolean getFromTransfer() {
+            return this.fromTransfer;
+        }
+
+        @Override
+        public @Nullable String getRegion() {
+            return this.region;
+        }
+
+        @Override
+        public @Nullable String getTarget() {
+            return this.target;
+        }
+
+        @Override
+        public @Nullable String getPool() {
+            return this.pool;
+        }
+
+    }
+
+    private static class YamlPool implements ProxyConfiguration.Routing.Pool {
+
+        private final String strategy;
+        private final List<YamlServer> servers;
+
+        private YamlPool() {
+            this.strategy = "ROUND_ROBIN";
+            this.servers = List.of();
+        }
+
+        @Override
+        public @NotNull String getStrategy() {
+            return this.strategy;
+        }
+
+        @Override
+        public @NotNull List<YamlServer> getServers() {
+            return this.servers != null ? this.servers : List.of();
+        }
+
+    }
+
+    private static class YamlServer implements ProxyConfiguration.Routing.Server {
+
+        private final String target;
+        private final int weight;
+
+        private YamlServer() {
+            this.target = "";
+            this.weight = 1;
+        }
+
+        @Override
+        public @NotNull String getTarget() {
+            return this.target;
+        }
+
+        @Override
+        public int getWeight() {
+            return this.weight;
+        }
+
+    }
+
+    private static class YamlQueue implements ProxyConfiguration.Routing.Queue {
+
+        private final int admissionRate;
+        private final int admissionBurst;
+        private final int capacity;
+        private final int lanes;
+        private final long positionUpdateInterval;
+        private final String fullMessage;
+        private final Map<String, YamlQueueTarget> targets;
+
+        private YamlQueue() {
+            this.admissionRate = 0;
+            this.admissionBurst = 10;
+            this.capacity = 0;
+            this.lanes = 1;
+            this.positionUpdateInterval = 0L;
+            this.fullMessage = "<red>The server is full, please try again later.";
+            this.targets = Map.of();
+        }
+
+        @Override
+        public int getAdmissionRate() {
+            return this.admissionRate;
+        }
+
+        @Override
+        public int getAdmissionBurst() {
+            return this.admissionBurst;
+        }
+
+        @Override
+        public int getCapacity() {
+            return this.capacity;
+        }
+
+        @Override
+        public int getLanes() {
+            return this.lanes;
+        }
+
+        @Override
+        public long getPositionUpdateInterval() {
+            return this.positionUpdateInterval;
+        }
+
+        @Override
+        public @NotNull String getFullMessage() {
+            return this.fullMessage != null ? this.fullMessage : "";
+        }
+
+        @Override
+        public @NotNull Map<String, YamlQueueTarget> getTargets() {
+            return this.targets != null ? this.targets : Map.of();
+        }
+
+    }
+
+    private static class YamlQueueTarget implements ProxyConfiguration.Routing.Queue.Target {
+
+        private final Integer admissionRate;
+        private final Integer admissionBurst;
+        private final Integer capacity;
+
+        private YamlQueueTarget() {
+            this.admissionRate = null;
+            this.admissionBurst = null;
+            this.capacity = null;
+        }
+
+        @Override
+        public @Nullable Integer getAdmissionRate() {
+            return this.admissionRate;
+        }
+
+        @Override
+        public @Nullable Integer getAdmissionBurst() {
+            return this.admissionBurst;
+        }
+
+        @Override
+        public @Nullable Integer getCapacity() {
+            return this.capacity;
+        }
+
     }
 
     private static class YamlMiscellaneous implements ProxyConfiguration.Miscellaneous {
@@ -176,12 +634,22 @@ public class YamlProxyConfiguration implements ProxyConfiguration {
         private final String kickOldProtocolMessage;
         private final boolean keepAlive;
         private final long keepAliveDelay;
+        private final int packetCacheSize;
+        private final long asyncEventTimeout;
+        private final int asyncEventThreads;
+        private final long cookieTimeout;
+        private final long codeOfConductTimeout;
 
         private YamlMiscellaneous() {
             this.kickOldProtocol = true;
             this.kickOldProtocolMessage = "<red>Outdated client";
             this.keepAlive = false;
             this.keepAliveDelay = 5_000L;
+            this.packetCacheSize = 256;
+            this.asyncEventTimeout = 10_000L;
+            this.asyncEventThreads = 0;
+            this.cookieTimeout = 10_000L;
+            this.codeOfConductTimeout = 300_000L;
         }
 
         @Override
@@ -204,6 +672,31 @@ public class YamlProxyConfiguration implements ProxyConfiguration {
             return this.keepAliveDelay;
         }
 
+        @Override
+        public int getPacketCacheSize() {
+            return this.packetCacheSize;
+        }
+
+        @Override
+        public long getAsyncEventTimeout() {
+            return this.asyncEventTimeout;
+        }
+
+        @Override
+        public int getAsyncEventThreads() {
+            return this.asyncEventThreads;
+        }
+
+        @Override
+        public long getCookieTimeout() {
+            return this.cookieTimeout;
+        }
+
+        @Override
+        public long getCodeOfConductTimeout() {
+            return this.codeOfConductTimeout;
+        }
+
     }
 
     private static class YamlLogging implements ProxyConfiguration.Logging {
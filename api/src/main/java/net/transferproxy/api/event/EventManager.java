@@ -30,35 +30,87 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 public interface EventManager {
 
     /**
      * Calls all event listeners associated with the specified event type.
      * <p><p>
-     * This method ensures that the provided event object matches the expected type
-     * for the given event type.
-     * It retrieves the list of registered listeners for
-     * the event type and invokes each {@link EventListener#handle(Object)} method with the event.
+     * It retrieves the listeners registered for the event type, sorted by {@link EventPriority},
+     * and invokes each {@link EventListener#handle(Object)} method with the event.
+     * Listeners registered with {@code ignoreCancelled} are skipped once a {@link Cancellable} event is cancelled.
      * If no specific listeners are found, the default listener is used (Check {@link EventType#buildDefaultListener()}).
      * <p>
+     * The event type of the event object is not checked, for performance reasons.
+     * <p>
      *
      * @param eventType the event type for which the listeners are called
-     * @param event     the event object to be passed to the listeners
+     * @param event     the event object to be passed to the listeners, matching {@link EventType#getEventClass()}
      *
-     * @throws IllegalArgumentException if the event object does not match the expected type
-     *                                  for the given event type
-     * @throws NullPointerException     if either the eventType or the event is null
+     * @throws ClassCastException   if the event object does not match the expected type of a listener
+     * @throws NullPointerException if either the eventType or the event is null
      */
     void call(final @NotNull EventType eventType, final @NotNull Object event);
 
     /**
-     * Adds the specified {@link EventListener} to the list of listeners for the specified event type.
+     * Calls all event listeners associated with the specified event type, waiting for each
+     * {@link net.transferproxy.api.event.listener.AsyncEventListener} before calling the next listener.
+     * <p>
+     * Listeners are called in the same order as {@link #call(EventType, Object)}. The listeners before the first
+     * pending asynchronous listener are called on the current thread, the next ones on the given executor.
+     * <p>
+     *
+     * @param eventType the event type for which the listeners are called
+     * @param event     the event object to be passed to the listeners, matching {@link EventType#getEventClass()}
+     * @param executor  the executor used to resume the listeners after an asynchronous listener
+     *
+     * @return a future completed when all listeners are called, or completed exceptionally if a listener failed or timed out
+     *
+     * @throws NullPointerException if either the eventType, the event or the executor is null
+     */
+    default @NotNull CompletableFuture<Void> callAsync(final @NotNull EventType eventType,
+                                                       final @NotNull Object event,
+                                                       final @NotNull Executor executor) {
+        this.call(eventType, event);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Gets the executor intended for the blocking work of asynchronous listeners, such as database or HTTP requests.
+     *
+     * @return the asynchronous executor
+     */
+    @Contract(pure = true)
+    default @NotNull Executor getAsyncExecutor() {
+        return ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Adds the specified {@link EventListener} to the list of listeners for the specified event type,
+     * with the {@link EventPriority#NORMAL} priority.
      *
      * @param eventType     the event type to which the event listener should be added
      * @param eventListener the event listener to add
      */
-    <T extends EventListener<?>> void addListener(final @NotNull EventType eventType, final @NotNull T eventListener);
+    default <T extends EventListener<?>> void addListener(final @NotNull EventType eventType, final @NotNull T eventListener) {
+        this.addListener(eventType, eventListener, EventPriority.NORMAL, false);
+    }
+
+    /**
+     * Adds the specified {@link EventListener} to the list of listeners for the specified event type.
+     *
+     * @param eventType       the event type to which the event listener should be added
+     * @param eventListener   the event listener to add
+     * @param priority        the priority of the listener
+     * @param ignoreCancelled {@code true} to not call the listener when the event is cancelled
+     */
+    <T extends EventListener<?>> void addListener(final @NotNull EventType eventType,
+                                                  final @NotNull T eventListener,
+                                                  final @NotNull EventPriority priority,
+                                                  final boolean ignoreCancelled);
 
     /**
      * Removes the specified {@link EventListener} from the list of listeners for the specified event type.
@@ -83,7 +135,7 @@ public interface EventManager {
      *
      * @param eventType the event type for which listeners are retrieved
      *
-     * @return an unmodifiable collection of listeners for the specified event type
+     * @return an unmodifiable collection of listeners for the specified event type, in call order
      */
     @Contract(pure = true)
     @Unmodifiable
@@ -28,6 +28,7 @@ import net.transferproxy.api.event.listener.DefaultReadyListener;
 import net.transferproxy.api.event.listener.EmptyListener;
 import net.transferproxy.api.event.listener.EventListener;
 import net.transferproxy.api.event.login.PreLoginEvent;
+import net.transferproxy.api.event.queue.QueuePositionEvent;
 import net.transferproxy.api.event.status.StatusRequestEvent;
 import net.transferproxy.api.network.connection.PlayerConnection;
 import org.jetbrains.annotations.Contract;
@@ -41,7 +42,8 @@ public enum EventType {
     HANDSHAKE(PlayerConnection.class, EmptyListener::getInstance),
     PRE_LOGIN(PreLoginEvent.class, EmptyListener::getInstance),
     STATUS(StatusRequestEvent.class, EmptyListener::getInstance),
-    READY(PlayerConnection.class, DefaultReadyListener::new);
+    READY(PlayerConnection.class, DefaultReadyListener::new),
+    QUEUE_POSITION(QueuePositionEvent.class, EmptyListener::getInstance);
 
     private final Class<?> eventClass;
     private final Supplier<@NotNull EventListener<?>> defaultListener;
@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.api.event.listener;
+
+import net.transferproxy.api.event.EventManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A listener that handles an event without blocking the network thread.
+ * <p>
+ * When the event is called with {@link EventManager#callAsync}, the next listeners and the connection flow
+ * are resumed once the returned stage is completed. Blocking work should be run on
+ * {@link EventManager#getAsyncExecutor()}.
+ * </p>
+ *
+ * @param <E> The event type
+ */
+@FunctionalInterface
+public interface AsyncEventListener<E> extends EventListener<E> {
+
+    /**
+     * Handle the event asynchronously
+     *
+     * @param event The called event
+     *
+     * @return The stage completed when the event is handled (must not be null)
+     */
+    @NotNull CompletionStage<?> handleAsync(final @NotNull E event);
+
+    /**
+     * Handle the event without waiting for the completion of {@link #handleAsync(Object)}.
+     * It is used when the event is called with {@link EventManager#call}.
+     *
+     * @param event The called event
+     */
+    @Override
+    default void handle(final @NotNull E event) {
+        this.handleAsync(event);
+    }
+
+}
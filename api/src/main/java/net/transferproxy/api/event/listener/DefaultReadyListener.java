@@ -26,7 +26,10 @@ package net.transferproxy.api.event.listener;
 
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
+import net.transferproxy.api.TransferProxy;
+import net.transferproxy.api.module.ModuleManager;
 import net.transferproxy.api.network.connection.PlayerConnection;
+import net.transferproxy.api.routing.RouteTarget;
 import org.jetbrains.annotations.NotNull;
 
 public final class DefaultReadyListener implements ReadyListener {
@@ -37,6 +40,12 @@ public final class DefaultReadyListener implements ReadyListener {
 
     @Override
     public void handle(final @NotNull PlayerConnection connection) {
+        final ModuleManager moduleManager = TransferProxy.getInstance().getModuleManager();
+        final RouteTarget target = moduleManager.getRouter().route(connection);
+        if (target != null) {
+            moduleManager.getWaitingRoom().admit(connection, target);
+            return;
+        }
         connection.disconnect(this.reason);
     }
 
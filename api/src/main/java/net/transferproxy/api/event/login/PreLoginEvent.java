@@ -24,13 +24,14 @@
 
 package net.transferproxy.api.event.login;
 
+import net.transferproxy.api.event.Cancellable;
 import net.transferproxy.api.network.connection.PlayerConnection;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
 import java.util.UUID;
 
-public class PreLoginEvent {
+public class PreLoginEvent implements Cancellable {
 
     private final PlayerConnection connection;
     private UUID uuid;
@@ -79,4 +80,19 @@ public class PreLoginEvent {
         this.canSendSuccessPacket = canSendSuccessPacket;
     }
 
-}
\ No newline at end of file
+    /**
+     * A cancelled pre-login does not send the login success packet.
+     *
+     * @return {@code true} if the login success packet is not sent
+     */
+    @Override
+    public boolean isCancelled() {
+        return !this.canSendSuccessPacket;
+    }
+
+    @Override
+    public void setCancelled(final boolean cancelled) {
+        this.canSendSuccessPacket = !cancelled;
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.api.event.queue;
+
+import net.transferproxy.api.network.connection.PlayerConnection;
+import net.transferproxy.api.routing.RouteTarget;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Called periodically for each player waiting in a queue of the {@link net.transferproxy.api.routing.WaitingRoom}.
+ */
+public class QueuePositionEvent {
+
+    private final PlayerConnection connection;
+    private final RouteTarget target;
+    private final int lane;
+    private final int position;
+    private final int size;
+
+    public QueuePositionEvent(final @NotNull PlayerConnection connection,
+                              final @NotNull RouteTarget target,
+                              final int lane,
+                              final int position,
+                              final int size) {
+        this.connection = Objects.requireNonNull(connection, "connection must not be null");
+        this.target = Objects.requireNonNull(target, "target must not be null");
+        this.lane = lane;
+        this.position = position;
+        this.size = size;
+    }
+
+    public @NotNull PlayerConnection getConnection() {
+        return this.connection;
+    }
+
+    public @NotNull RouteTarget getTarget() {
+        return this.target;
+    }
+
+    public int getLane() {
+        return this.lane;
+    }
+
+    /**
+     * Gets the position of the player, counting the players of the previous lanes.
+     *
+     * @return the position starting from {@code 1}
+     */
+    public int getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Gets the number of players waiting for the same server.
+     *
+     * @return the queue size
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+}
@@ -24,6 +24,7 @@
 
 package net.transferproxy.api.event.status;
 
+import net.transferproxy.api.event.Cancellable;
 import net.transferproxy.api.network.connection.PlayerConnection;
 import net.transferproxy.api.status.StatusResponse;
 import org.jetbrains.annotations.Contract;
@@ -32,7 +33,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 
-public class StatusRequestEvent {
+public class StatusRequestEvent implements Cancellable {
 
     private final PlayerConnection connection;
     private StatusResponse response;
@@ -70,4 +71,19 @@ public class StatusRequestEvent {
         this.canSendResponsePacket = canSendSuccessPacket;
     }
 
-}
\ No newline at end of file
+    /**
+     * A cancelled status request does not receive a response.
+     *
+     * @return {@code true} if the response packet is not sent
+     */
+    @Override
+    public boolean isCancelled() {
+        return !this.canSendResponsePacket;
+    }
+
+    @Override
+    public void setCancelled(final boolean cancelled) {
+        this.canSendResponsePacket = !cancelled;
+    }
+
+}
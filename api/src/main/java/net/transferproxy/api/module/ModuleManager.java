@@ -25,8 +25,11 @@
 package net.transferproxy.api.module;
 
 import net.transferproxy.api.event.EventManager;
+import net.transferproxy.api.network.packet.built.BuiltPacketFactory;
 import net.transferproxy.api.network.packet.provider.PacketProviderGroup;
 import net.transferproxy.api.plugin.PluginManager;
+import net.transferproxy.api.routing.Router;
+import net.transferproxy.api.routing.WaitingRoom;
 import net.transferproxy.api.status.StatusManager;
 import net.transferproxy.api.terminal.TerminalExecutor;
 import org.jetbrains.annotations.Contract;
@@ -86,6 +89,33 @@ public interface ModuleManager {
     @Contract(pure = true)
     @NotNull TerminalExecutor getTerminalExecutor();
 
+    /**
+     * Gets the current {@link BuiltPacketFactory} implementation.
+     * <p>This implementation will be used to build the disconnect, transfer and code of conduct packets.</p>
+     *
+     * @return the built packet factory
+     */
+    @Contract(pure = true)
+    @NotNull BuiltPacketFactory getBuiltPacketFactory();
+
+    /**
+     * Gets the current {@link Router} implementation.
+     * <p>This implementation will be used to transfer players when no plugin handles the ready event.</p>
+     *
+     * @return the router
+     */
+    @Contract(pure = true)
+    @NotNull Router getRouter();
+
+    /**
+     * Gets the current {@link WaitingRoom} implementation.
+     * <p>This implementation will be used to limit the rate of the transfers of the default ready listener.</p>
+     *
+     * @return the waiting room
+     */
+    @Contract(pure = true)
+    @NotNull WaitingRoom getWaitingRoom();
+
     /**
      * Sets the {@link EventManager} implementation to use.
      *
@@ -123,4 +153,28 @@ public interface ModuleManager {
      */
     void setTerminalExecutor(final @NotNull TerminalExecutor terminalExecutor);
 
+    /**
+     * Sets the {@link BuiltPacketFactory} implementation to use.
+     * <p>This implementation will be used to build the disconnect, transfer and code of conduct packets.</p>
+     *
+     * @param builtPacketFactory the built packet factory
+     */
+    void setBuiltPacketFactory(final @NotNull BuiltPacketFactory builtPacketFactory);
+
+    /**
+     * Sets the {@link Router} implementation to use.
+     * <p>This implementation will be used to transfer players when no plugin handles the ready event.</p>
+     *
+     * @param router the router
+     */
+    void setRouter(final @NotNull Router router);
+
+    /**
+     * Sets the {@link WaitingRoom} implementation to use.
+     * <p>This implementation will be used to limit the rate of the transfers of the default ready listener.</p>
+     *
+     * @param waitingRoom the waiting room
+     */
+    void setWaitingRoom(final @NotNull WaitingRoom waitingRoom);
+
 }
\ No newline at end of file
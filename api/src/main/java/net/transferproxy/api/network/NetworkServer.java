@@ -26,6 +26,7 @@ package net.transferproxy.api.network;
 
 import io.netty.channel.Channel;
 import io.netty.channel.group.ChannelGroup;
+import org.jetbrains.annotations.Contract;
 
 
 /**
@@ -57,4 +58,24 @@ public interface NetworkServer {
      */
     ChannelGroup getGroup();
 
+    /**
+     * Gets the number of cookie requests and codes of conduct waiting for the players.
+     *
+     * @return the outstanding request count
+     */
+    @Contract(pure = true)
+    default long getOutstandingRequests() {
+        return 0L;
+    }
+
+    /**
+     * Gets the number of cookie requests and codes of conduct that were not answered in time since the start.
+     *
+     * @return the timed out request count
+     */
+    @Contract(pure = true)
+    default long getTimedOutRequests() {
+        return 0L;
+    }
+
 }
\ No newline at end of file
@@ -31,12 +31,15 @@ import net.transferproxy.api.network.packet.Packet;
 import net.transferproxy.api.network.packet.provider.PacketProviderGroup;
 import net.transferproxy.api.network.protocol.Protocolized;
 import net.transferproxy.api.profile.ClientInformation;
+import net.transferproxy.api.routing.RouteTarget;
+import net.transferproxy.api.routing.Router;
 import net.transferproxy.api.status.StatusResponse;
 import net.transferproxy.api.util.CookieUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.jetbrains.annotations.UnmodifiableView;
+import org.jetbrains.annotations.Unmodifiable;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -61,6 +64,30 @@ public interface PlayerConnection extends Protocolized {
      */
     void transfer(final @NotNull String host, final int hostPort);
 
+    /**
+     * Transfers the player to a route target, using its encoded transfer packet.
+     *
+     * @param target The target server (must not be null)
+     */
+    void transfer(final @NotNull RouteTarget target);
+
+    /**
+     * Commits the route of the player before the configuration state. The player is admitted by the
+     * {@link net.transferproxy.api.routing.WaitingRoom} as soon as it acknowledges the login, and the ready event is
+     * not called for it.
+     *
+     * @param target The target server, or null to cancel the committed route
+     * @throws IllegalStateException if the connection is not in handshake or login state
+     */
+    void commitRoute(final @Nullable RouteTarget target);
+
+    /**
+     * Gets the route committed by {@link #commitRoute(RouteTarget)}.
+     *
+     * @return The committed target server, or null if the route is decided on the ready event
+     */
+    @Nullable RouteTarget getCommittedRoute();
+
     /**
      * Sends a login success packet to authenticate the player.
      *
@@ -80,7 +107,10 @@ public interface PlayerConnection extends Protocolized {
      * Sends the code of conduct to the client.
      * @param codeOfConduct The code of conduct to send.
      * @return A CompletableFuture that will be completed when the code of conduct has been accepted by the client.
+     * It fails with a {@link java.util.concurrent.TimeoutException} after the configured timeout, and is cancelled
+     * when the connection is closed.
      * @throws IllegalStateException if the code of conduct has already been sent and not yet accepted.
+     * @throws UnsupportedOperationException if the client version is older than 1.21.9.
      */
     @NotNull CompletableFuture<Void> sendCodeOfConduct(final @NotNull String codeOfConduct);
 
@@ -103,10 +133,22 @@ public interface PlayerConnection extends Protocolized {
      * Fetches a client-stored cookie using its string identifier.
      *
      * @param cookieKey The string identifier for the cookie (must not be null)
-     * @return A CompletableFuture that will contain the cookie's payload when available
+     * @return A CompletableFuture that will contain the cookie's payload when available. It fails with a
+     * {@link java.util.concurrent.TimeoutException} after the configured timeout, and is cancelled when the
+     * connection is closed.
      */
     @NotNull CompletableFuture<byte[]> fetchCookie(final @NotNull String cookieKey);
 
+    /**
+     * Fetches several client-stored cookies at once.
+     * The requests are sent together, which is cheaper than calling {@link #fetchCookie(String)} for each cookie.
+     *
+     * @param cookieKeys The string identifiers of the cookies (must not be null)
+     * @return A CompletableFuture that will contain the payload of each cookie, or null for the cookies that the client
+     * does not have. It fails if one of the requests fails.
+     */
+    @NotNull CompletableFuture<Map<String, byte[]>> fetchCookies(final @NotNull Collection<String> cookieKeys);
+
     /**
      * Stores a cookie on the client using a {@link Key} reference.
      *
@@ -120,6 +162,8 @@ public interface PlayerConnection extends Protocolized {
 
     /**
      * Stores a cookie on the client using its string identifier.
+     * During the login state, the cookie is sent when the configuration state starts, in the same flush as the
+     * transfer to a committed route.
      *
      * @param cookieKey The string identifier for the cookie (must not be null)
      * @param payload The binary data to store in the cookie (must not be null)
@@ -146,11 +190,11 @@ public interface PlayerConnection extends Protocolized {
     void handleCookieResponse(final @NotNull String cookieKey, final byte @Nullable [] payload);
 
     /**
-     * Get a view of all pending cookie requests waiting for client responses.
+     * Get a snapshot of all pending cookie requests waiting for client responses.
      *
      * @return An immutable map of cookie keys to their corresponding CompletableFuture objects
      */
-    @UnmodifiableView
+    @Unmodifiable
     @NotNull Map<String, CompletableFuture<byte[]>> getPendingCookies();
 
     /**
@@ -251,6 +295,13 @@ public interface PlayerConnection extends Protocolized {
      */
     void setBrand(final @Nullable String brand);
 
+    /**
+     * Sets the region of the player, replacing the region found from its IP address.
+     *
+     * @param region The region, or null to clear
+     */
+    void setRegion(final @Nullable String region);
+
     /**
      * Configures the packet handler group for this connection.
      *
@@ -258,6 +309,15 @@ public interface PlayerConnection extends Protocolized {
      */
     void setPacketProviderGroup(final @NotNull PacketProviderGroup group);
 
+    /**
+     * Enables the protocol compression by sending the Set Compression packet.
+     * Every packet sent and received afterward uses the compressed format.
+     *
+     * @param threshold The packet size (in bytes) from which packets are compressed
+     * @throws IllegalStateException if the connection is not in LOGIN state or compression is already enabled
+     */
+    void setCompressionThreshold(final int threshold);
+
     /**
      * Gets the player's username.
      *
@@ -322,6 +382,13 @@ public interface PlayerConnection extends Protocolized {
      */
     int getHostPort();
 
+    /**
+     * Gets the compression threshold of this connection.
+     *
+     * @return The compression threshold, or -1 if the compression is not enabled
+     */
+    int getCompressionThreshold();
+
     /**
      * Checks if the client has reported a brand identifier.
      *
@@ -338,6 +405,14 @@ public interface PlayerConnection extends Protocolized {
      */
     @Nullable String getBrand();
 
+    /**
+     * Gets the region of the player, found from its IP address in the region database of the {@link Router}.
+     * The region is looked up once, on the first call.
+     *
+     * @return The region, or null if the address is in no region
+     */
+    @Nullable String getRegion();
+
     /**
      * Determines if this connection was established through a server transfer.
      *
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.api.network.packet.built;
+
+import net.kyori.adventure.text.Component;
+import net.transferproxy.api.status.StatusResponse;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Creates pre-built packets for the messages commonly sent to players.
+ * <p>
+ * Implementations may cache the packets by content, so the same message is serialized only once and the returned
+ * packets can be shared between connections. Plugins can use it to prebuild the packets they send often.
+ * </p>
+ */
+public interface BuiltPacketFactory {
+
+    /**
+     * Gets a disconnect packet for the LOGIN state.
+     *
+     * @param reason The reason of the disconnection (must not be null)
+     * @return the pre-built packet, serialized for each protocol on first use
+     */
+    @NotNull ProtocolizedBuiltPacket loginDisconnect(final @NotNull Component reason);
+
+    /**
+     * Gets a disconnect packet for the CONFIG state.
+     *
+     * @param reason The reason of the disconnection (must not be null)
+     * @return the pre-built packet, serialized for each protocol on first use
+     */
+    @NotNull ProtocolizedBuiltPacket configDisconnect(final @NotNull Component reason);
+
+    /**
+     * Gets a transfer packet for the CONFIG state.
+     *
+     * @param host The host of the target server (must not be null)
+     * @param port The port of the target server
+     * @return the pre-built packet
+     */
+    @NotNull BuiltPacket transfer(final @NotNull String host, final int port);
+
+    /**
+     * Gets a code of conduct packet for the CONFIG state.
+     *
+     * @param codeOfConduct The code of conduct to display (must not be null)
+     * @return the pre-built packet
+     */
+    @NotNull BuiltPacket codeOfConduct(final @NotNull String codeOfConduct);
+
+    /**
+     * Creates a status response template, this template is not cached.
+     * <p>
+     * The fields of the template are, in order: the protocol, the online players and the maximum players.
+     * The other values of the response are serialized once.
+     * </p>
+     *
+     * @param response The response to use for the constant values (must not be null)
+     * @return the new template
+     */
+    @Contract("_ -> new")
+    @NotNull TemplateBuiltPacket statusTemplate(final @NotNull StatusResponse response);
+
+    /**
+     * Gets the statistics of the packet cache.
+     *
+     * @return a snapshot of the cache statistics
+     */
+    @Contract(pure = true)
+    @NotNull CacheStats getCacheStats();
+
+    /**
+     * Removes all the cached packets.
+     */
+    void invalidateAll();
+
+    /**
+     * A snapshot of the cache statistics.
+     *
+     * @param hits The number of requests served from the cache
+     * @param misses The number of requests that built a new packet
+     * @param evictions The number of packets removed to respect the maximum size
+     * @param size The current number of cached packets
+     */
+    record CacheStats(long hits, long misses, long evictions, int size) {
+
+        /**
+         * Gets the ratio of requests served from the cache.
+         *
+         * @return the hit rate between 0 and 1, or 0 if no request was made
+         */
+        @Contract(pure = true)
+        public double hitRate() {
+            final long total = this.hits + this.misses;
+            return total == 0L ? 0.0D : (double) this.hits / total;
+        }
+
+    }
+
+}
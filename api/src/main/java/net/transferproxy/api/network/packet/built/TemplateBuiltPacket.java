@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.api.network.packet.built;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a pre-built packet whose content is constant except for some integer fields.
+ * <p>
+ * The constant parts are serialized once and shared between all the sent packets, the fields are written
+ * when the packet is sent. This allows dynamic values, such as the number of online players, without
+ * serializing the whole packet again.
+ * </p>
+ */
+public interface TemplateBuiltPacket {
+
+    /**
+     * Gets the number of fields of this template.
+     *
+     * @return the field count
+     */
+    @Contract(pure = true)
+    int getFieldCount();
+
+    /**
+     * Creates a packet from this template with the given field values.
+     * <p>
+     * The returned packet is lightweight and only keeps the values, the constant parts stay shared.
+     * </p>
+     *
+     * @param values The values of the fields, in the order defined by the template (must not be null)
+     * @return the packet to send
+     * @throws IllegalArgumentException if the number of values does not match {@link #getFieldCount()}
+     */
+    @Contract("_ -> new")
+    @NotNull ProtocolizedBuiltPacket bind(final int @NotNull ... values);
+
+}
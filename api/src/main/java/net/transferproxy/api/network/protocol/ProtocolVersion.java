@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.api.network.protocol;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Minecraft releases supported by the proxy, ordered from the oldest to the latest.
+ * Only releases that changed the protocol are listed, patch releases share the protocol of their base release.
+ */
+public enum ProtocolVersion {
+
+    V1_20_5(766, "1.20.5"),
+    V1_21(767, "1.21"),
+    V1_21_2(768, "1.21.2"),
+    V1_21_4(769, "1.21.4"),
+    V1_21_5(770, "1.21.5"),
+    V1_21_6(771, "1.21.6"),
+    V1_21_7(772, "1.21.7"),
+    V1_21_9(773, "1.21.9"),
+    V1_21_11(774, "1.21.11");
+
+    private static final ProtocolVersion[] VALUES = values();
+    private static final ProtocolVersion OLDEST = VALUES[0];
+    private static final ProtocolVersion LATEST = VALUES[VALUES.length - 1];
+
+    private final int protocol;
+    private final String name;
+
+    ProtocolVersion(final int protocol, final String name) {
+        this.protocol = protocol;
+        this.name = name;
+    }
+
+    /**
+     * Gets the protocol number of this release.
+     *
+     * @return The protocol number
+     */
+    @Contract(pure = true)
+    public int getProtocol() {
+        return this.protocol;
+    }
+
+    /**
+     * Gets the name of this release.
+     *
+     * @return The release name (e.g., "1.21.2")
+     */
+    @Contract(pure = true)
+    public @NotNull String getName() {
+        return this.name;
+    }
+
+    /**
+     * Checks if a protocol number is this release or a newer one.
+     *
+     * @param protocol The protocol number to check
+     * @return {@code true} if the protocol is at least this release
+     */
+    @Contract(pure = true)
+    public boolean isSupportedBy(final int protocol) {
+        return protocol >= this.protocol;
+    }
+
+    /**
+     * Gets the latest release that a protocol number supports.
+     *
+     * @param protocol The protocol number
+     * @return The matching release, or {@code null} if the protocol is older than {@link #getOldest()}
+     */
+    @Contract(pure = true)
+    public static @Nullable ProtocolVersion fromProtocol(final int protocol) {
+        for (int i = VALUES.length - 1; i >= 0; i--) {
+            final ProtocolVersion version = VALUES[i];
+            if (protocol >= version.protocol) {
+                return version;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the oldest release supported by the proxy.
+     *
+     * @return The oldest release
+     */
+    @Contract(pure = true)
+    public static @NotNull ProtocolVersion getOldest() {
+        return OLDEST;
+    }
+
+    /**
+     * Gets the latest release supported by the proxy.
+     *
+     * @return The latest release
+     */
+    @Contract(pure = true)
+    public static @NotNull ProtocolVersion getLatest() {
+        return LATEST;
+    }
+
+}
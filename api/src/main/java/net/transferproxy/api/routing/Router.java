@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.api.routing;
+
+import net.transferproxy.api.configuration.ProxyConfiguration;
+import net.transferproxy.api.network.connection.PlayerConnection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetAddress;
+
+/**
+ * Chooses the server to which a player is transferred when no plugin handles the ready event.
+ */
+public interface Router {
+
+    /**
+     * Finds the target server of a player.
+     *
+     * @param connection The connection of the player (must not be null)
+     *
+     * @return the target server, or {@code null} if no rule matches the player
+     */
+    @Nullable RouteTarget route(final @NotNull PlayerConnection connection);
+
+    /**
+     * Finds the target server of a player before the configuration state, from the conditions already known.
+     * The route is undecided if the first rule that could match the player has a brand condition.
+     *
+     * @param connection The connection of the player (must not be null)
+     *
+     * @return the target server, or {@code null} if no rule matches the player or the route is undecided
+     */
+    @Nullable RouteTarget routeEarly(final @NotNull PlayerConnection connection);
+
+    /**
+     * Replaces the routing rules, without interrupting the routing of the other players.
+     *
+     * @param routing The new routing configuration (must not be null)
+     *
+     * @throws IllegalArgumentException if a rule is invalid, the previous rules are kept
+     */
+    void reload(final @NotNull ProxyConfiguration.Routing routing);
+
+    /**
+     * Finds the region of an IP address in the region database.
+     *
+     * @param address The IP address (must not be null)
+     *
+     * @return the region, or {@code null} if there is no database or the address is in no region
+     */
+    @Nullable String findRegion(final @NotNull InetAddress address);
+
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.api.routing;
+
+import net.transferproxy.api.network.connection.PlayerConnection;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Limits the rate of the transfers to each server. The players that cannot be transferred yet wait in configuration
+ * state, in the queue of their target server.
+ * <p>
+ * Each queue is split into priority lanes, lane {@code 0} being served first. The players of a lane are served in
+ * their arrival order.
+ * </p>
+ */
+public interface WaitingRoom {
+
+    /**
+     * Transfers a player to a server, or places it in the last lane of the server queue.
+     *
+     * @param connection The connection of the player, in configuration state (must not be null)
+     * @param target The target server (must not be null)
+     *
+     * @return the admission result
+     */
+    default @NotNull AdmissionResult admit(final @NotNull PlayerConnection connection, final @NotNull RouteTarget target) {
+        return this.admit(connection, target, this.getLanes() - 1);
+    }
+
+    /**
+     * Transfers a player to a server, or places it in a lane of the server queue.
+     *
+     * @param connection The connection of the player, in configuration state (must not be null)
+     * @param target The target server (must not be null)
+     * @param lane The priority lane, from {@code 0} (served first) to {@link #getLanes()} exclusive
+     *
+     * @return the admission result
+     *
+     * @throws IllegalArgumentException if the lane does not exist
+     * @throws IllegalStateException if the player is already waiting
+     */
+    @NotNull AdmissionResult admit(final @NotNull PlayerConnection connection, final @NotNull RouteTarget target, final int lane);
+
+    /**
+     * Removes a waiting player from its queue, without transferring it.
+     * Disconnected players are removed automatically.
+     *
+     * @param connection The connection of the player (must not be null)
+     *
+     * @return {@code true} if the player was waiting
+     */
+    boolean remove(final @NotNull PlayerConnection connection);
+
+    /**
+     * Gets the position of a waiting player in its queue, counting the players of the previous lanes.
+     *
+     * @param connection The connection of the player (must not be null)
+     *
+     * @return the position starting from {@code 1}, or {@code -1} if the player is not waiting
+     */
+    int getPosition(final @NotNull PlayerConnection connection);
+
+    /**
+     * Gets the number of players waiting for a server.
+     *
+     * @param target The target server (must not be null)
+     *
+     * @return the number of waiting players
+     */
+    int getSize(final @NotNull RouteTarget target);
+
+    /**
+     * Gets the number of priority lanes of each queue.
+     *
+     * @return the number of lanes, a positive number
+     */
+    @Contract(pure = true)
+    int getLanes();
+
+}
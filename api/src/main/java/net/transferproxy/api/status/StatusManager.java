@@ -27,6 +27,7 @@ package net.transferproxy.api.status;
 import net.transferproxy.api.network.connection.PlayerConnection;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public interface StatusManager {
 
@@ -35,4 +36,40 @@ public interface StatusManager {
     @Contract("_ -> new")
     @NotNull StatusResponse buildDefaultResponse(final int protocol);
 
+    /**
+     * Build the default response displayed to players joining with a hostname,
+     * using the matching entry of the status hosts configuration.
+     *
+     * @param protocol The protocol of the client
+     * @param hostname The hostname used by the client, or {@code null} for the default response
+     *
+     * @return the default response for this hostname
+     */
+    @Contract("_, _ -> new")
+    default @NotNull StatusResponse buildDefaultResponse(final int protocol, final @Nullable String hostname) {
+        return this.buildDefaultResponse(protocol);
+    }
+
+    /**
+     * Determines if the address of a connection exceeds the status ping limit.
+     * Throttled pings must not call the events.
+     *
+     * @param connection The connection (must not be null)
+     *
+     * @return {@code true} if the connection is throttled
+     */
+    default boolean isThrottled(final @NotNull PlayerConnection connection) {
+        return false;
+    }
+
+    /**
+     * Gets the number of status pings throttled since the start.
+     *
+     * @return the throttled ping count
+     */
+    @Contract(pure = true)
+    default long getThrottledPings() {
+        return 0L;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,231 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.api.status.listener;
+
+import net.transferproxy.api.TransferProxy;
+import net.transferproxy.api.event.listener.StatusListener;
+import net.transferproxy.api.event.status.StatusRequestEvent;
+import net.transferproxy.api.network.connection.PlayerConnection;
+import net.transferproxy.api.network.packet.built.TemplateBuiltPacket;
+import net.transferproxy.api.status.StatusResponse;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A status listener serving a pre-encoded response, loaded off the event loop and refreshed in the background.
+ * <p>
+ * Unlike {@link DynamicStatusListener}, the response is not built on each ping. It is loaded with
+ * {@link #loadResponse()} on the given executor, and once older than the time to live, the stale response is still
+ * served while a single refresh runs. Until the first response is loaded, the default response is sent. After a
+ * failed load, the pings do not start a new one before the time to live elapses again.
+ * </p>
+ */
+public abstract class RefreshingStatusListener implements StatusListener {
+
+    private final long timeToLive;
+    private final Executor executor;
+    private final boolean autoProtocol;
+
+    private final AtomicReference<CompletableFuture<Void>> pendingRefresh = new AtomicReference<>();
+    private volatile Entry entry;
+    private volatile long retryAt;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalRefreshTime = new LongAdder();
+    private volatile long lastRefreshTime;
+
+    /**
+     * @param timeToLive The duration after which the response is refreshed (must not be null)
+     */
+    protected RefreshingStatusListener(final @NotNull Duration timeToLive) {
+        this(timeToLive, ForkJoinPool.commonPool(), false);
+    }
+
+    /**
+     * @param timeToLive The duration after which the response is refreshed (must not be null)
+     * @param executor The executor running {@link #loadResponse()} (must not be null)
+     * @param autoProtocol If true, the protocol of the response is replaced by the protocol of each client
+     */
+    protected RefreshingStatusListener(final @NotNull Duration timeToLive, final @NotNull Executor executor, final boolean autoProtocol) {
+        this.timeToLive = Objects.requireNonNull(timeToLive, "timeToLive must not be null").toNanos();
+        this.executor = Objects.requireNonNull(executor, "executor must not be null");
+        this.autoProtocol = autoProtocol;
+        if (this.timeToLive <= 0L) {
+            throw new IllegalArgumentException("timeToLive must be positive");
+        }
+        this.retryAt = System.nanoTime();
+    }
+
+    /**
+     * Loads the response to serve. It is called on the executor, never on the event loop, so it may block.
+     *
+     * @return the response (must not be null)
+     * @throws Exception if the response cannot be loaded, the previous response is kept until the next attempt
+     */
+    protected abstract @NotNull StatusResponse loadResponse() throws Exception;
+
+    @Override
+    public void handle(final @NotNull StatusRequestEvent event) {
+        final Entry entry = this.entry;
+        if (entry == null) {
+            this.misses.increment();
+            this.refreshIfRetryable(System.nanoTime());
+            return;
+        }
+        this.hits.increment();
+        final long now = System.nanoTime();
+        if (now - entry.loadedAt() >= this.timeToLive) {
+            this.refreshIfRetryable(now);
+        }
+        final PlayerConnection connection = event.getConnection();
+        final int protocol = this.autoProtocol ? connection.getProtocol() : entry.protocol();
+        event.setCanSendResponsePacket(false);
+        connection.sendPacket(entry.template().bind(protocol, entry.online(), entry.max()));
+    }
+
+    /**
+     * Starts a refresh of the response, or returns the running one.
+     * <p>
+     * It can be used to load the response before the first ping.
+     * </p>
+     *
+     * @return a future completed when the new response is served
+     */
+    public @NotNull CompletableFuture<Void> refresh() {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        while (!this.pendingRefresh.compareAndSet(null, future)) {
+            final CompletableFuture<Void> pending = this.pendingRefresh.get();
+            if (pending != null) {
+                return pending;
+            }
+        }
+        try {
+            this.executor.execute(() -> this.load(future));
+        } catch (final RejectedExecutionException e) {
+            this.pendingRefresh.set(null);
+            this.failures.increment();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void refreshIfRetryable(final long now) {
+        // Backs off after a failure, so an unavailable backend is not loaded again on each ping
+        if (now - this.retryAt >= 0L) {
+            this.refresh();
+        }
+    }
+
+    /**
+     * Gets the currently served response.
+     *
+     * @return the response, or {@code null} if it is not loaded yet
+     */
+    @Contract(pure = true)
+    public @Nullable StatusResponse getResponse() {
+        final Entry entry = this.entry;
+        return entry != null ? entry.response() : null;
+    }
+
+    /**
+     * Gets a snapshot of the statistics of this listener.
+     *
+     * @return the statistics
+     */
+    @Contract(pure = true)
+    public @NotNull Stats getStats() {
+        final long refreshes = this.refreshes.sum();
+        final long failures = this.failures.sum();
+        final long total = refreshes + failures;
+        return new Stats(this.hits.sum(),
+                this.misses.sum(),
+                refreshes,
+                failures,
+                Duration.ofNanos(this.lastRefreshTime),
+                Duration.ofNanos(total == 0L ? 0L : this.totalRefreshTime.sum() / total));
+    }
+
+    private void load(final @NotNull CompletableFuture<Void> future) {
+        final long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            final StatusResponse response = Objects.requireNonNull(this.loadResponse(), "loaded response must not be null");
+            final TemplateBuiltPacket template =
+                    TransferProxy.getInstance().getModuleManager().getBuiltPacketFactory().statusTemplate(response);
+            final StatusResponse.Players players = response.players();
+            final int protocol = response.version() != null ? response.version().protocol() : 0;
+            final int online = players != null ? players.online() : 0;
+            final int max = players != null ? players.max() : 0;
+            this.entry = new Entry(response, template, protocol, online, max, System.nanoTime());
+            this.refreshes.increment();
+        } catch (final Throwable throwable) {
+            failure = throwable;
+            this.failures.increment();
+            this.retryAt = System.nanoTime() + this.timeToLive;
+        }
+        final long time = System.nanoTime() - start;
+        this.lastRefreshTime = time;
+        this.totalRefreshTime.add(time);
+        // Released before the completion, so a refresh requested by a callback is not merged with this one
+        this.pendingRefresh.set(null);
+        if (failure == null) {
+            future.complete(null);
+        } else {
+            future.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * The statistics of a {@link RefreshingStatusListener}.
+     *
+     * @param hits The number of pings served with a loaded response
+     * @param misses The number of pings received before the first response was loaded
+     * @param refreshes The number of successful loads
+     * @param failures The number of failed loads
+     * @param lastRefreshTime The duration of the last load
+     * @param averageRefreshTime The average duration of the loads
+     */
+    public record Stats(long hits, long misses, long refreshes, long failures, Duration lastRefreshTime, Duration averageRefreshTime) {
+
+    }
+
+    private record Entry(StatusResponse response, TemplateBuiltPacket template, int protocol, int online, int max, long loadedAt) {
+
+    }
+
+}
@@ -26,6 +26,7 @@ package net.transferproxy.api.terminal;
 
 import net.transferproxy.api.terminal.command.builtin.NetworkInfoCommand;
 import net.transferproxy.api.terminal.command.builtin.PluginsCommand;
+import net.transferproxy.api.terminal.command.builtin.RoutingCommand;
 import net.transferproxy.api.terminal.command.builtin.StopCommand;
 import net.transferproxy.api.terminal.command.builtin.SystemInfoCommand;
 
@@ -36,6 +37,7 @@ public class DefaultTerminalExecutor extends BaseTerminalExecutor {
         this.register("sysinfo", "Display system information.", new SystemInfoCommand());
         this.register("netinfo", "Display network information.", new NetworkInfoCommand());
         this.register("plugins", "Display loaded plugins.", new PluginsCommand());
+        this.register("routing", "Reload the routing rules.", new RoutingCommand());
     }
 
 }
\ No newline at end of file
@@ -29,6 +29,7 @@ import io.netty.channel.group.ChannelGroup;
 import net.transferproxy.api.TransferProxy;
 import net.transferproxy.api.network.connection.ConnectionState;
 import net.transferproxy.api.network.connection.PlayerConnection;
+import net.transferproxy.api.network.packet.built.BuiltPacketFactory;
 import net.transferproxy.api.terminal.command.TerminalCommandExecutor;
 import net.transferproxy.api.util.FormatUtil;
 import org.fusesource.jansi.Ansi;
@@ -57,6 +58,17 @@ public final class NetworkInfoCommand implements TerminalCommandExecutor {
         final ChannelGroup channelGroup = TransferProxy.getInstance().getNetworkServer().getGroup();
         final int connectionCount = channelGroup.size();
         ansi.newline().fgBrightBlack().a("Active Connections: ").fgDefault().a(connectionCount);
+        ansi.newline().fgBrightBlack().a("Client Requests: ").fgDefault()
+                .a(TransferProxy.getInstance().getNetworkServer().getOutstandingRequests()).a(" outstanding, ")
+                .a(TransferProxy.getInstance().getNetworkServer().getTimedOutRequests()).a(" timed out");
+
+        // Packet cache information
+        final BuiltPacketFactory.CacheStats cacheStats = TransferProxy.getInstance().getModuleManager().getBuiltPacketFactory().getCacheStats();
+        ansi.newline().fgBrightBlack().a("Packet Cache: ").fgDefault().a(cacheStats.size()).a(" packets, ")
+                .a(String.format("%.1f", cacheStats.hitRate() * 100.0D)).a("% hit rate (")
+                .a(cacheStats.hits()).a(" hits, ").a(cacheStats.misses()).a(" misses, ").a(cacheStats.evictions()).a(" evictions)");
+        ansi.newline().fgBrightBlack().a("Throttled Pings: ").fgDefault()
+                .a(TransferProxy.getInstance().getModuleManager().getStatusManager().getThrottledPings());
 
         // List actives connections
         if (connectionCount > 0) {
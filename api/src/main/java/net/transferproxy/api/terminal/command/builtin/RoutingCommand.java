@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.api.terminal.command.builtin;
+
+import net.transferproxy.api.TransferProxy;
+import net.transferproxy.api.configuration.ProxyConfiguration;
+import net.transferproxy.api.configuration.yaml.YamlProxyConfiguration;
+import net.transferproxy.api.terminal.command.TerminalCommandExecutor;
+import net.transferproxy.api.util.PropertyHelper;
+import net.transferproxy.api.util.ResourceUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.fusesource.jansi.Ansi.ansi;
+
+public final class RoutingCommand implements TerminalCommandExecutor {
+
+    @Override
+    public void execute(final String @NotNull [] args) {
+        if (args.length == 0 || !args[0].equalsIgnoreCase("reload")) {
+            System.out.println(ansi().fgBrightRed().a("Usage: routing reload").reset());
+            return;
+        }
+        final ProxyConfiguration configuration;
+        try {
+            final Path configPath = PropertyHelper.resolveConfigPath();
+            configuration = ResourceUtil.readYaml(configPath, YamlProxyConfiguration.class);
+        } catch (final IOException e) {
+            System.out.println(ansi().fgBrightRed().a("Failed to read the configuration: ").a(e.getMessage()).reset());
+            return;
+        }
+        if (configuration == null) {
+            System.out.println(ansi().fgBrightRed().a("Failed to read the configuration").reset());
+            return;
+        }
+        try {
+            TransferProxy.getInstance().getModuleManager().getRouter().reload(configuration.getRouting());
+        } catch (final IllegalArgumentException e) {
+            System.out.println(ansi().fgBrightRed().a("Invalid routing rules: ").a(e.getMessage()).reset());
+            return;
+        }
+        System.out.println(ansi().fgBrightGreen().a("Routing rules reloaded (")
+                .a(configuration.getRouting().getRules().size()).a(" rules).").reset());
+    }
+
+}
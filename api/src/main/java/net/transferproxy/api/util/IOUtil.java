@@ -28,14 +28,26 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class IOUtil {
 
+    private static final String IMAGE_PREFIX = "data:image/png;base64,";
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int MAXIMUM_CACHED_IMAGES = 64;
+    // Encoded images by SHA-256 of the file content
+    private static final Map<String, String> IMAGE_CACHE = new ConcurrentHashMap<>();
+
     private IOUtil() throws IllegalAccessException {
         throw new IllegalAccessException("You cannot instantiate a utility class");
     }
@@ -50,7 +62,51 @@ public final class IOUtil {
      * @throws IOException I/O exception
      */
     public static String createImage(final @NotNull Path path) throws IOException {
-        return createImage(ImageIO.read(Files.newInputStream(path)));
+        return createImage(Files.readAllBytes(path));
+    }
+
+    /**
+     * Build an image (Base64 format) from the content of an image file.
+     * <p>
+     * A 64x64 PNG file is encoded as is, other formats are converted with {@link ImageIO}.
+     * The result is memoized by content hash, so the same file is only encoded once.
+     * </p>
+     *
+     * @param data the content of the image file (like png, jpg, ...)
+     *
+     * @return the built image in Base64
+     *
+     * @throws IOException I/O exception
+     */
+    public static String createImage(final byte[] data) throws IOException {
+        final String hash = sha256(data);
+        final String cached = IMAGE_CACHE.get(hash);
+        if (cached != null) {
+            return cached;
+        }
+
+        final String encoded;
+        if (isPng(data)) {
+            // Read the size from the IHDR chunk, the file does not need to be decoded
+            final int width = readInt(data, 16);
+            final int height = readInt(data, 20);
+            if (width != 64 || height != 64) {
+                throw new IOException("Server icon must be exactly 64x64 pixels");
+            }
+            encoded = encode(data);
+        } else {
+            final BufferedImage image = ImageIO.read(new ByteArrayInputStream(data));
+            if (image == null) {
+                throw new IOException("Unsupported image format");
+            }
+            encoded = createImage(image);
+        }
+
+        if (IMAGE_CACHE.size() >= MAXIMUM_CACHED_IMAGES) {
+            IMAGE_CACHE.clear();
+        }
+        IMAGE_CACHE.put(hash, encoded);
+        return encoded;
     }
 
     /**
@@ -73,7 +129,11 @@ public final class IOUtil {
             bytes = out.toByteArray();
         }
 
-        final String encoded = "data:image/png;base64," + Base64.getEncoder().encodeToString(bytes);
+        return encode(bytes);
+    }
+
+    private static String encode(final byte[] png) throws IOException {
+        final String encoded = IMAGE_PREFIX + Base64.getEncoder().encodeToString(png);
         if (encoded.length() > Short.MAX_VALUE) {
             throw new IOException("Favicon file too large for server to process");
         }
@@ -81,4 +141,28 @@ public final class IOUtil {
         return encoded;
     }
 
+    private static boolean isPng(final byte[] data) {
+        if (data.length < 24 || data[12] != 'I' || data[13] != 'H' || data[14] != 'D' || data[15] != 'R') {
+            return false;
+        }
+        for (int i = 0; i < PNG_SIGNATURE.length; i++) {
+            if (data[i] != PNG_SIGNATURE[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int readInt(final byte[] data, final int index) {
+        return (data[index] & 0xFF) << 24 | (data[index + 1] & 0xFF) << 16 | (data[index + 2] & 0xFF) << 8 | data[index + 3] & 0xFF;
+    }
+
+    private static String sha256(final byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
 }
\ No newline at end of file
@@ -31,11 +31,17 @@ import java.nio.file.Path;
 public final class PropertyHelper {
 
     public static final String BASE_DIRECTORY_KEY = "transferproxy.base.directory";
+    public static final String CONFIG_PATH_KEY = "transferproxy.config.path";
+    public static final Path DEFAULT_CONFIG_PATH = Path.of("./config.yml");
 
     private PropertyHelper() throws IllegalAccessException {
         throw new IllegalAccessException("You cannot instantiate a utility class");
     }
 
+    public static @NotNull Path resolveConfigPath() {
+        return resolve(CONFIG_PATH_KEY, DEFAULT_CONFIG_PATH);
+    }
+
     public static @NotNull Path resolve(final @NotNull String propertyKey, final @NotNull Path defaultPath) {
         return resolve(propertyKey, defaultPath, defaultPath);
     }
@@ -0,0 +1,180 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.api.status.listener;
+
+import net.transferproxy.api.TransferProxy;
+import net.transferproxy.api.event.status.StatusRequestEvent;
+import net.transferproxy.api.network.connection.PlayerConnection;
+import net.transferproxy.api.network.packet.built.BuiltPacketFactory;
+import net.transferproxy.api.network.packet.built.ProtocolizedBuiltPacket;
+import net.transferproxy.api.network.packet.built.TemplateBuiltPacket;
+import net.transferproxy.api.status.StatusResponse;
+import net.transferproxy.api.util.test.MockedTransferProxy;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RefreshingStatusListenerTest {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private TemplateBuiltPacket template;
+    private PlayerConnection connection;
+
+    @BeforeEach
+    void setUp() {
+        MockedTransferProxy.mock();
+        final BuiltPacketFactory factory = mock(BuiltPacketFactory.class);
+        this.template = mock(TemplateBuiltPacket.class);
+        when(this.template.bind(any(int[].class))).thenAnswer(invocation -> mock(ProtocolizedBuiltPacket.class));
+        when(factory.statusTemplate(any())).thenReturn(this.template);
+        when(TransferProxy.getInstance().getModuleManager().getBuiltPacketFactory()).thenReturn(factory);
+        this.connection = mock(PlayerConnection.class);
+        when(this.connection.getProtocol()).thenReturn(774);
+    }
+
+    @Test
+    void testMissesAreCollapsedUntilLoaded() {
+        final RefreshingStatusListener listener = this.createListener(Duration.ofMinutes(1L), false);
+
+        for (int i = 0; i < 5; i++) {
+            final StatusRequestEvent event = new StatusRequestEvent(this.connection);
+            listener.handle(event);
+            assertTrue(event.canSendResponsePacket());
+        }
+        assertEquals(1, this.tasks.size());
+        assertNull(listener.getResponse());
+
+        this.runTasks();
+        assertEquals(1, this.loads.get());
+        assertNotNull(listener.getResponse());
+
+        final StatusRequestEvent event = new StatusRequestEvent(this.connection);
+        listener.handle(event);
+        assertFalse(event.canSendResponsePacket());
+        verify(this.template).bind(47, 1, 100);
+        verify(this.connection).sendPacket(any());
+        assertTrue(this.tasks.isEmpty());
+
+        final RefreshingStatusListener.Stats stats = listener.getStats();
+        assertEquals(1L, stats.hits());
+        assertEquals(5L, stats.misses());
+        assertEquals(1L, stats.refreshes());
+    }
+
+    @Test
+    void testStaleResponseIsServedWhileRefreshing() {
+        final RefreshingStatusListener listener = this.createListener(Duration.ofNanos(1L), true);
+        listener.refresh();
+        this.runTasks();
+
+        for (int i = 0; i < 3; i++) {
+            listener.handle(new StatusRequestEvent(this.connection));
+        }
+        verify(this.template, times(3)).bind(774, 1, 100);
+        assertEquals(1, this.tasks.size());
+
+        this.runTasks();
+        listener.handle(new StatusRequestEvent(this.connection));
+        verify(this.template).bind(774, 2, 100);
+    }
+
+    @Test
+    void testFailureKeepsPreviousResponse() {
+        final RefreshingStatusListener listener = new RefreshingStatusListener(Duration.ofNanos(1L), this.tasks::add, false) {
+            @Override
+            protected @NotNull StatusResponse loadResponse() {
+                if (RefreshingStatusListenerTest.this.loads.incrementAndGet() > 1) {
+                    throw new IllegalStateException("Backend unavailable");
+                }
+                return StatusResponse.builder().name("test").protocol(47).build();
+            }
+        };
+        listener.refresh();
+        this.runTasks();
+        final StatusResponse response = listener.getResponse();
+
+        final CompletableFuture<Void> future = listener.refresh();
+        this.runTasks();
+        assertTrue(future.isCompletedExceptionally());
+        assertSame(response, listener.getResponse());
+        assertEquals(1L, listener.getStats().failures());
+    }
+
+    @Test
+    void testFailureBacksOff() {
+        final RefreshingStatusListener listener = new RefreshingStatusListener(Duration.ofMinutes(1L), this.tasks::add, false) {
+            @Override
+            protected @NotNull StatusResponse loadResponse() {
+                RefreshingStatusListenerTest.this.loads.incrementAndGet();
+                throw new IllegalStateException("Backend unavailable");
+            }
+        };
+
+        for (int i = 0; i < 3; i++) {
+            listener.handle(new StatusRequestEvent(this.connection));
+            this.runTasks();
+        }
+        assertEquals(1, this.loads.get());
+        assertEquals(3L, listener.getStats().misses());
+
+        // An explicit refresh is not delayed
+        listener.refresh();
+        this.runTasks();
+        assertEquals(2, this.loads.get());
+        assertEquals(2L, listener.getStats().failures());
+    }
+
+    private RefreshingStatusListener createListener(final Duration timeToLive, final boolean autoProtocol) {
+        return new RefreshingStatusListener(timeToLive, this.tasks::add, autoProtocol) {
+            @Override
+            protected @NotNull StatusResponse loadResponse() {
+                return StatusResponse.builder()
+                        .name("test")
+                        .protocol(47)
+                        .online(RefreshingStatusListenerTest.this.loads.incrementAndGet())
+                        .max(100)
+                        .build();
+            }
+        };
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = this.tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+}
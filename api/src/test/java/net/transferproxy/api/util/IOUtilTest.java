@@ -35,6 +35,7 @@ import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Base64;
 import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -73,6 +74,40 @@ class IOUtilTest {
                 () -> whenWrite().thenThrow(IOException.class));
     }
 
+    @Test
+    void testCreateImageFromPngKeepsFileContent() throws IOException {
+        final byte[] png = writePng(64, 64);
+
+        final String result = IOUtil.createImage(png);
+        assertEquals("data:image/png;base64," + Base64.getEncoder().encodeToString(png), result);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {32, 63, 65})
+    void testCreateImageFromPngWithIncorrectSize(final int size) throws IOException {
+        final byte[] png = writePng(64, size);
+
+        assertThrows(IOException.class, () -> IOUtil.createImage(png));
+    }
+
+    @Test
+    void testCreateImageIsMemoized() throws IOException {
+        final byte[] png = writePng(64, 64);
+
+        assertSame(IOUtil.createImage(png), IOUtil.createImage(png.clone()));
+    }
+
+    @Test
+    void testCreateImageFromInvalidData() {
+        assertThrows(IOException.class, () -> IOUtil.createImage(new byte[] {1, 2, 3}));
+    }
+
+    private static byte[] writePng(final int width, final int height) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", out);
+        return out.toByteArray();
+    }
+
     private static BufferedImage mockImage(final int width, final int height) {
         final BufferedImage image = mock(BufferedImage.class);
         when(image.getWidth()).thenReturn(width);
@@ -29,6 +29,7 @@ import net.transferproxy.api.configuration.ProxyConfiguration;
 import net.transferproxy.api.configuration.yaml.YamlProxyConfiguration;
 import net.transferproxy.api.module.ModuleManager;
 import net.transferproxy.api.network.NetworkServer;
+import net.transferproxy.api.routing.Router;
 import org.jetbrains.annotations.NotNull;
 import org.mockito.Mockito;
 
@@ -46,6 +47,8 @@ public class MockedTransferProxy extends TransferProxy {
 
     @Override
     public void start() {
+        // Without routing rules, the default ready listener disconnects the player
+        Mockito.when(this.moduleManager.getRouter()).thenReturn(Mockito.mock(Router.class));
         this.setInstance(this);
     }
 
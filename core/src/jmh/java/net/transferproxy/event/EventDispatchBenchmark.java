@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.event;
+
+import net.transferproxy.api.event.EventPriority;
+import net.transferproxy.api.event.EventType;
+import net.transferproxy.api.event.listener.EventListener;
+import net.transferproxy.api.event.status.StatusRequestEvent;
+import net.transferproxy.api.network.connection.PlayerConnection;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventDispatchBenchmark {
+
+    @Param({"0", "1", "8"})
+    private int listeners;
+
+    private EventManagerImpl eventManager;
+    private StatusRequestEvent event;
+
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+        this.eventManager = new EventManagerImpl();
+        final EventPriority[] priorities = EventPriority.values();
+        for (int i = 0; i < this.listeners; i++) {
+            final EventListener<StatusRequestEvent> listener = blackhole::consume;
+            this.eventManager.addListener(EventType.STATUS, listener, priorities[i % priorities.length], (i & 1) == 0);
+        }
+        // The connection is never used by the listeners
+        final PlayerConnection connection = (PlayerConnection) Proxy.newProxyInstance(PlayerConnection.class.getClassLoader(),
+                new Class<?>[] {PlayerConnection.class}, (proxy, method, args) -> null);
+        this.event = new StatusRequestEvent(connection);
+    }
+
+    @Benchmark
+    public void call() {
+        this.eventManager.call(EventType.STATUS, this.event);
+    }
+
+}
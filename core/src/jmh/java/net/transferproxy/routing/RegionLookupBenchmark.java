@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up IPv4 addresses in a mapped database of {@code ranges} ranges.
+ * The gc profiler reports the allocations per lookup, which should be zero.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegionLookupBenchmark {
+
+    private static final int ADDRESSES = 1024;
+
+    @Param({"1000", "1000000"})
+    private int ranges;
+
+    private RegionDatabase database;
+    private InetAddress[] addresses;
+    private int index;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Path csv = Files.createTempFile("regions", ".csv");
+        final Path compiled = Files.createTempFile("regions", ".bin");
+        final StringBuilder builder = new StringBuilder();
+        // Contiguous blocks of 256 addresses, from 1.0.0.0
+        for (int i = 0; i < this.ranges; i++) {
+            final int start = 0x01000000 + (i << 8);
+            builder.append(format(start)).append(',').append(format(start | 0xFF)).append(",region").append(i % 16).append('\n');
+        }
+        Files.writeString(csv, builder);
+        try (final OutputStream output = Files.newOutputStream(compiled)) {
+            RegionDatabase.compile(csv, output);
+        }
+        this.database = RegionDatabase.open(compiled);
+        Files.delete(csv);
+        Files.delete(compiled);
+
+        this.addresses = new InetAddress[ADDRESSES];
+        for (int i = 0; i < ADDRESSES; i++) {
+            final int address = 0x01000000 + ThreadLocalRandom.current().nextInt(this.ranges << 8);
+            this.addresses[i] = InetAddress.getByAddress(new byte[] {
+                    (byte) (address >>> 24), (byte) (address >>> 16), (byte) (address >>> 8), (byte) address
+            });
+        }
+    }
+
+    @Benchmark
+    public String lookup() {
+        final int index = this.index;
+        this.index = (index + 1) & (ADDRESSES - 1);
+        return this.database.lookup(this.addresses[index]);
+    }
+
+    private static String format(final int address) {
+        return (address >>> 24) + "." + ((address >>> 16) & 0xFF) + "." + ((address >>> 8) & 0xFF) + "." + (address & 0xFF);
+    }
+
+}
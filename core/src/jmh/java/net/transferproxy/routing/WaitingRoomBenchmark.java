@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import net.transferproxy.api.configuration.ProxyConfiguration;
+import net.transferproxy.api.network.connection.PlayerConnection;
+import net.transferproxy.api.routing.RouteTarget;
+import net.transferproxy.network.connection.PlayerConnectionImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parks and removes players in a congested queue.
+ * <p>
+ * The {@code gc.alloc.rate.norm} of the gc profiler is the memory allocated per parked player. It includes the
+ * ticket and the map entry retained while the player waits, and the temporary key of the target.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WaitingRoomBenchmark {
+
+    @Param({"1000", "100000"})
+    private int waiting;
+
+    private WaitingRoomImpl waitingRoom;
+    private RouteTarget target;
+    private PlayerConnection[] connections;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        final ProxyConfiguration.Routing.Queue queue = (ProxyConfiguration.Routing.Queue) Proxy.newProxyInstance(
+                ProxyConfiguration.class.getClassLoader(),
+                new Class<?>[] {ProxyConfiguration.Routing.Queue.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getAdmissionRate", "getAdmissionBurst", "getLanes" -> 1;
+                    case "getCapacity" -> 0;
+                    case "getPositionUpdateInterval" -> 0L;
+                    case "getFullMessage" -> "";
+                    case "getTargets" -> Map.of();
+                    default -> null;
+                });
+        this.waitingRoom = new WaitingRoomImpl(queue);
+        this.target = RoutingTable.parseTarget("backend:25565");
+        // Consumes the burst, then all the players are parked
+        this.waitingRoom.admit(new PlayerConnectionImpl(new EmbeddedChannel()), this.target);
+        this.connections = new PlayerConnection[this.waiting + 1];
+        for (int i = 0; i < this.connections.length; i++) {
+            this.connections[i] = new PlayerConnectionImpl(new EmbeddedChannel());
+            if (i < this.waiting) {
+                this.waitingRoom.admit(this.connections[i], this.target);
+            }
+        }
+        this.index = this.waiting;
+    }
+
+    @Benchmark
+    public void parkAndRemove() {
+        // The queue keeps the same size, the oldest player leaves when a new one is parked
+        final PlayerConnection[] connections = this.connections;
+        final int index = this.index;
+        this.waitingRoom.admit(connections[index], this.target);
+        final int next = index + 1 == connections.length ? 0 : index + 1;
+        this.waitingRoom.remove(connections[next]);
+        this.index = next;
+    }
+
+}
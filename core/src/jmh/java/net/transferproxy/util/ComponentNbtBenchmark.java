@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.transferproxy.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import net.transferproxy.api.util.ComponentProtocolUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streamed component codec of {@link NBTUtil} with the previous path, which builds the Gson tree and
+ * converts it from or to an NBT tree. Run with the {@code gc} profiler to compare the allocated bytes per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ComponentNbtBenchmark {
+
+    private GsonComponentSerializer serializer;
+    private Component component;
+    private ByteBuf buf;
+    private ByteBuf encoded;
+
+    @Setup
+    public void setUp() {
+        this.serializer = ComponentProtocolUtil.getModernSerializer();
+        this.component = MiniMessage.miniMessage()
+                .deserialize("<color:#FF5555>This is a <bold>test</bold>! <hover:show_text:'<green>Hover'>" +
+                        "<click:open_url:'https://example.com'><rainbow>||||||||||||||||||||||||</rainbow></click></hover>");
+        this.buf = PooledByteBufAllocator.DEFAULT.directBuffer();
+        this.encoded = PooledByteBufAllocator.DEFAULT.directBuffer();
+        NBTUtil.writeComponent(this.encoded, this.serializer, this.component);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.buf.release();
+        this.encoded.release();
+    }
+
+    @Benchmark
+    public ByteBuf write() {
+        final ByteBuf buf = this.buf.clear();
+        NBTUtil.writeComponent(buf, this.serializer, this.component);
+        return buf;
+    }
+
+    @Benchmark
+    public ByteBuf legacyWrite() {
+        final ByteBuf buf = this.buf.clear();
+        BufUtil.writeTag(buf, NBTUtil.serialize(this.serializer.serializeToTree(this.component)));
+        return buf;
+    }
+
+    @Benchmark
+    public Component read() {
+        return NBTUtil.readComponent(this.encoded.readerIndex(0), this.serializer);
+    }
+
+    @Benchmark
+    public Component legacyRead() {
+        return this.serializer.deserializeFromTree(NBTUtil.deserialize(BufUtil.readTag(this.encoded.readerIndex(0))));
+    }
+
+}
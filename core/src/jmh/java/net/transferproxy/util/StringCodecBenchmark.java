@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.transferproxy.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the string codec of {@link BufUtil} with the previous implementation, kept below as the {@code legacy}
+ * methods. Each operation encodes or decodes {@code BATCH} strings of {@code length} characters, either all ASCII
+ * or with a quarter of non-ASCII characters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringCodecBenchmark {
+
+    private static final int BATCH = 64;
+
+    @Param({"ascii", "utf8"})
+    private String charset;
+
+    @Param({"16", "256"})
+    private int length;
+
+    private String[] strings;
+    private ByteBuf buf;
+    private ByteBuf encoded;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(0xBEEFL);
+        this.strings = new String[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            final StringBuilder builder = new StringBuilder(this.length);
+            for (int j = 0; j < this.length; j++) {
+                final boolean ascii = this.charset.equals("ascii") || random.nextInt(4) != 0;
+                builder.append((char) (ascii ? 'a' + random.nextInt(26) : 0xE0 + random.nextInt(0x100)));
+            }
+            this.strings[i] = builder.toString();
+        }
+        final int capacity = BATCH * (this.length * 3 + 5);
+        this.buf = PooledByteBufAllocator.DEFAULT.directBuffer(capacity);
+        this.encoded = PooledByteBufAllocator.DEFAULT.directBuffer(capacity);
+        for (final String string : this.strings) {
+            BufUtil.writeString(this.encoded, string);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.buf.release();
+        this.encoded.release();
+    }
+
+    @Benchmark
+    public ByteBuf write() {
+        final ByteBuf buf = this.buf.clear();
+        for (final String string : this.strings) {
+            BufUtil.writeString(buf, string);
+        }
+        return buf;
+    }
+
+    @Benchmark
+    public ByteBuf legacyWrite() {
+        final ByteBuf buf = this.buf.clear();
+        for (final String string : this.strings) {
+            VarIntBenchmark.legacyWriteVarInt(buf, ByteBufUtil.utf8Bytes(string));
+            ByteBufUtil.writeUtf8(buf, string);
+        }
+        return buf;
+    }
+
+    @Benchmark
+    public int read() {
+        final ByteBuf buf = this.encoded.readerIndex(0);
+        int length = 0;
+        for (int i = 0; i < BATCH; i++) {
+            length += BufUtil.readString(buf).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int legacyRead() {
+        final ByteBuf buf = this.encoded.readerIndex(0);
+        int length = 0;
+        for (int i = 0; i < BATCH; i++) {
+            final int size = VarIntBenchmark.legacyReadVarInt(buf);
+            length += buf.toString(buf.readerIndex(), size, StandardCharsets.UTF_8).length();
+            buf.readerIndex(buf.readerIndex() + size);
+        }
+        return length;
+    }
+
+}
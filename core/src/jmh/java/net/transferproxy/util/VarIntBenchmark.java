@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.transferproxy.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.handler.codec.DecoderException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the VarInt codec of {@link BufUtil} with the previous implementation, kept below as the {@code legacy}
+ * methods. Each operation encodes or decodes {@code BATCH} values of one to five bytes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VarIntBenchmark {
+
+    private static final int BATCH = 256;
+
+    private int[] values;
+    private ByteBuf buf;
+    private ByteBuf encoded;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(0x5EEDL);
+        this.values = new int[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            this.values[i] = random.nextInt() >>> random.nextInt(32);
+        }
+        this.buf = PooledByteBufAllocator.DEFAULT.directBuffer(BATCH * 5);
+        this.encoded = PooledByteBufAllocator.DEFAULT.directBuffer(BATCH * 5);
+        for (final int value : this.values) {
+            BufUtil.writeVarInt(this.encoded, value);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.buf.release();
+        this.encoded.release();
+    }
+
+    @Benchmark
+    public ByteBuf write() {
+        final ByteBuf buf = this.buf.clear();
+        for (final int value : this.values) {
+            BufUtil.writeVarInt(buf, value);
+        }
+        return buf;
+    }
+
+    @Benchmark
+    public ByteBuf legacyWrite() {
+        final ByteBuf buf = this.buf.clear();
+        for (final int value : this.values) {
+            legacyWriteVarInt(buf, value);
+        }
+        return buf;
+    }
+
+    @Benchmark
+    public int read() {
+        final ByteBuf buf = this.encoded.readerIndex(0);
+        int sum = 0;
+        for (int i = 0; i < BATCH; i++) {
+            sum += BufUtil.readVarInt(buf);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int legacyRead() {
+        final ByteBuf buf = this.encoded.readerIndex(0);
+        int sum = 0;
+        for (int i = 0; i < BATCH; i++) {
+            sum += legacyReadVarInt(buf);
+        }
+        return sum;
+    }
+
+    static void legacyWriteVarInt(final ByteBuf buf, int value) {
+        if ((value & (0xFFFFFFFF << 7)) == 0) {
+            buf.writeByte(value);
+            return;
+        } else if ((value & (0xFFFFFFFF << 14)) == 0) {
+            buf.writeShort((value & 0x7F | 0x80) << 8 | (value >>> 7));
+            return;
+        }
+        while ((value & 0xFFFFFF80) != 0x0) {
+            buf.writeByte(value | 0x80);
+            value >>>= 7;
+        }
+        buf.writeByte(value);
+    }
+
+    static int legacyReadVarInt(final ByteBuf buf) {
+        int value = 0;
+        int length = 0;
+        int part;
+        do {
+            part = buf.readByte();
+            value |= (part & 0x7F) << (length++ * 7);
+            if (length > 5) {
+                throw new DecoderException("VarInt is too big");
+            }
+        } while (part < 0);
+        return value;
+    }
+
+}
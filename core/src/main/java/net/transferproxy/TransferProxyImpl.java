@@ -28,9 +28,13 @@ import net.transferproxy.api.TransferProxy;
 import net.transferproxy.api.configuration.ProxyConfiguration;
 import net.transferproxy.api.module.ModuleManager;
 import net.transferproxy.api.network.NetworkServer;
+import net.transferproxy.event.EventManagerImpl;
 import net.transferproxy.keepalive.KeepAliveTask;
 import net.transferproxy.module.ModuleManagerImpl;
 import net.transferproxy.network.NettyNetworkServer;
+import net.transferproxy.routing.RouterImpl;
+import net.transferproxy.routing.WaitingRoomImpl;
+import net.transferproxy.status.StatusManagerImpl;
 import net.transferproxy.terminal.TerminalThread;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
@@ -69,9 +73,23 @@ public class TransferProxyImpl extends TransferProxy {
         Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "Shutdown Thread"));
 
         this.moduleManager.getPluginManager().start();
-        (this.networkServer = new NettyNetworkServer()).start();
+        final NettyNetworkServer nettyServer = new NettyNetworkServer();
+        (this.networkServer = nettyServer).start();
 
-        if (this.configuration.getMiscellaneous().isKeepAlive()) {
+        if (this.moduleManager.getStatusManager() instanceof StatusManagerImpl statusManager) {
+            statusManager.start(nettyServer.getWorkerGroup(), nettyServer.getClientChannelClass(), nettyServer.getResolverGroup());
+        }
+        if (this.moduleManager.getRouter() instanceof RouterImpl router) {
+            router.start(nettyServer.getWorkerGroup(), nettyServer.getClientChannelClass(), nettyServer.getResolverGroup());
+        }
+        // The waiting players stay in CONFIG state, they need the keep alive to not time out
+        boolean keepAlive = this.configuration.getMiscellaneous().isKeepAlive();
+        if (this.moduleManager.getWaitingRoom() instanceof WaitingRoomImpl waitingRoom) {
+            waitingRoom.start(nettyServer.getWorkerGroup());
+            keepAlive |= waitingRoom.isEnabled();
+        }
+
+        if (keepAlive) {
             this.keepAliveExecutor = Executors.newSingleThreadScheduledExecutor();
             final long delay = this.configuration.getMiscellaneous().getKeepAliveDelay();
             this.keepAliveExecutor.scheduleAtFixedRate(new KeepAliveTask(), delay, delay, TimeUnit.MILLISECONDS);
@@ -95,8 +113,22 @@ public class TransferProxyImpl extends TransferProxy {
             this.keepAliveExecutor.shutdownNow();
         }
 
+        if (this.moduleManager.getStatusManager() instanceof StatusManagerImpl statusManager) {
+            statusManager.stop();
+        }
+        if (this.moduleManager.getRouter() instanceof RouterImpl router) {
+            router.stop();
+        }
+        if (this.moduleManager.getWaitingRoom() instanceof WaitingRoomImpl waitingRoom) {
+            waitingRoom.stop();
+        }
+
         this.moduleManager.getPluginManager().stop();
 
+        if (this.moduleManager.getEventManager() instanceof EventManagerImpl eventManager) {
+            eventManager.shutdown();
+        }
+
         if (this.networkServer != null) {
             this.networkServer.stop();
         }
@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.event;
+
+import net.transferproxy.api.event.Cancellable;
+import net.transferproxy.api.event.EventType;
+import net.transferproxy.api.event.listener.AsyncEventListener;
+import net.transferproxy.api.event.listener.EventListener;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable listeners of an {@link EventType}, compiled when the listeners change.
+ * <p>
+ * The listeners are sorted by priority. Without registered listeners, the dispatcher
+ * calls the default listener of the event type.
+ * </p>
+ */
+final class EventDispatcher {
+
+    private final EventListener<Object>[] listeners;
+    // Null when no listener ignores cancelled events, or when the event cannot be cancelled
+    private final boolean[] ignoreCancelled;
+    // Null when there is no asynchronous listener, otherwise the asynchronous listener of each index or null
+    private final AsyncEventListener<Object>[] asyncListeners;
+
+    @SuppressWarnings("unchecked")
+    private EventDispatcher(final @NotNull EventListener<?>[] listeners, final boolean[] ignoreCancelled) {
+        this.listeners = (EventListener<Object>[]) listeners;
+        this.ignoreCancelled = ignoreCancelled;
+        AsyncEventListener<Object>[] asyncListeners = null;
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] instanceof AsyncEventListener<?> asyncListener) {
+                if (asyncListeners == null) {
+                    asyncListeners = new AsyncEventListener[listeners.length];
+                }
+                asyncListeners[i] = (AsyncEventListener<Object>) asyncListener;
+            }
+        }
+        this.asyncListeners = asyncListeners;
+    }
+
+    static @NotNull EventDispatcher ofDefault(final @NotNull EventType eventType) {
+        return new EventDispatcher(new EventListener<?>[] {eventType.buildDefaultListener()}, null);
+    }
+
+    static @NotNull EventDispatcher compile(final @NotNull EventType eventType, final @NotNull List<EventRegistration> registrations) {
+        if (registrations.isEmpty()) {
+            return ofDefault(eventType);
+        }
+        final int size = registrations.size();
+        final EventListener<?>[] listeners = new EventListener<?>[size];
+        final boolean[] ignoreCancelled = new boolean[size];
+        boolean anyIgnoreCancelled = false;
+        for (int i = 0; i < size; i++) {
+            final EventRegistration registration = registrations.get(i);
+            listeners[i] = registration.listener();
+            ignoreCancelled[i] = registration.ignoreCancelled();
+            anyIgnoreCancelled |= registration.ignoreCancelled();
+        }
+        final boolean cancellable = Cancellable.class.isAssignableFrom(eventType.getEventClass());
+        return new EventDispatcher(listeners, cancellable && anyIgnoreCancelled ? ignoreCancelled : null);
+    }
+
+    void dispatch(final @NotNull Object event) {
+        final EventListener<Object>[] listeners = this.listeners;
+        final boolean[] ignoreCancelled = this.ignoreCancelled;
+        if (ignoreCancelled == null) {
+            for (final EventListener<Object> listener : listeners) {
+                listener.handle(event);
+            }
+            return;
+        }
+        for (int i = 0; i < listeners.length; i++) {
+            if (ignoreCancelled[i] && ((Cancellable) event).isCancelled()) {
+                continue;
+            }
+            listeners[i].handle(event);
+        }
+    }
+
+    @NotNull CompletableFuture<Void> dispatchAsync(final @NotNull Object event, final @NotNull Executor executor, final long timeout) {
+        if (this.asyncListeners == null) {
+            this.dispatch(event);
+            return CompletableFuture.completedFuture(null);
+        }
+        return this.dispatchAsync(event, 0, executor, timeout);
+    }
+
+    private @NotNull CompletableFuture<Void> dispatchAsync(final @NotNull Object event,
+                                                           final int start,
+                                                           final @NotNull Executor executor,
+                                                           final long timeout) {
+        final EventListener<Object>[] listeners = this.listeners;
+        final boolean[] ignoreCancelled = this.ignoreCancelled;
+        for (int i = start; i < listeners.length; i++) {
+            if (ignoreCancelled != null && ignoreCancelled[i] && ((Cancellable) event).isCancelled()) {
+                continue;
+            }
+            final AsyncEventListener<Object> asyncListener = this.asyncListeners[i];
+            if (asyncListener == null) {
+                listeners[i].handle(event);
+                continue;
+            }
+            final CompletableFuture<?> future =
+                    Objects.requireNonNull(asyncListener.handleAsync(event), "Asynchronous listener returned a null stage")
+                            .toCompletableFuture();
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                continue;
+            }
+            // The next listeners are called once this one is completed, preserving the order for this event
+            final int next = i + 1;
+            return future.copy()
+                    .orTimeout(timeout, TimeUnit.MILLISECONDS)
+                    .thenComposeAsync(ignored -> this.dispatchAsync(event, next, executor, timeout), executor);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+}
@@ -25,49 +25,99 @@
 package net.transferproxy.event;
 
 import net.transferproxy.api.event.EventManager;
+import net.transferproxy.api.event.EventPriority;
 import net.transferproxy.api.event.EventType;
 import net.transferproxy.api.event.listener.EventListener;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class EventManagerImpl implements EventManager {
 
-    private final Map<EventType, EventListener<?>[]> listenerMap = new EnumMap<>(EventType.class);
-    private final Map<EventType, EventListener<?>> defaultListenerMap = new EnumMap<>(EventType.class);
+    private static final EventType[] EVENT_TYPES = EventType.values();
+    private static final VarHandle DISPATCHERS = MethodHandles.arrayElementVarHandle(EventDispatcher[].class);
+    private static final Comparator<EventRegistration> PRIORITY_ORDER = Comparator.comparing(EventRegistration::priority);
+
+    // Indexed by event type ordinal, replaced with a new dispatcher when the listeners change
+    private final EventDispatcher[] dispatchers = new EventDispatcher[EVENT_TYPES.length];
+    private final Map<EventType, List<EventRegistration>> registrations = new EnumMap<>(EventType.class);
+    private final long asyncTimeout;
+    private final int asyncThreads;
+    private volatile ExecutorService asyncExecutor;
+
+    public EventManagerImpl() {
+        this(10_000L, 0);
+    }
+
+    public EventManagerImpl(final long asyncTimeout, final int asyncThreads) {
+        if (asyncTimeout <= 0L) {
+            throw new IllegalArgumentException("asyncTimeout must be positive");
+        }
+        this.asyncTimeout = asyncTimeout;
+        this.asyncThreads = asyncThreads;
+        for (final EventType eventType : EVENT_TYPES) {
+            DISPATCHERS.setRelease(this.dispatchers, eventType.ordinal(), EventDispatcher.ofDefault(eventType));
+        }
+    }
 
-    @SuppressWarnings({"rawtypes", "unchecked"})
     @Override
     public void call(final @NotNull EventType eventType, final @NotNull Object event) {
-        Objects.requireNonNull(eventType, "eventType must not be null");
         Objects.requireNonNull(event, "event must not be null");
-        if (!eventType.getEventClass().isInstance(event)) {
-            throw new IllegalArgumentException("Invalid event type for event: " + event.getClass() + "/" + eventType.getEventClass());
-        }
-        final EventListener<?>[] listeners = this.listenerMap.get(eventType);
-        if (listeners != null) {
-            for (final EventListener listener : listeners) {
-                listener.handle(event);
+        ((EventDispatcher) DISPATCHERS.getAcquire(this.dispatchers, eventType.ordinal())).dispatch(event);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> callAsync(final @NotNull EventType eventType,
+                                                      final @NotNull Object event,
+                                                      final @NotNull Executor executor) {
+        Objects.requireNonNull(event, "event must not be null");
+        Objects.requireNonNull(executor, "executor must not be null");
+        final EventDispatcher dispatcher = (EventDispatcher) DISPATCHERS.getAcquire(this.dispatchers, eventType.ordinal());
+        return dispatcher.dispatchAsync(event, executor, this.asyncTimeout);
+    }
+
+    @Override
+    public @NotNull Executor getAsyncExecutor() {
+        ExecutorService executor = this.asyncExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.asyncExecutor;
+                if (executor == null) {
+                    this.asyncExecutor = executor = createAsyncExecutor(this.asyncThreads);
+                }
             }
-            return;
         }
-        ((EventListener) this.defaultListenerMap.computeIfAbsent(eventType, EventType::buildDefaultListener)).handle(event);
+        return executor;
+    }
+
+    public void shutdown() {
+        final ExecutorService executor = this.asyncExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
     }
 
     @Override
-    public synchronized <T extends EventListener<?>> void addListener(final @NotNull EventType eventType, final @NotNull T eventListener) {
+    public synchronized <T extends EventListener<?>> void addListener(final @NotNull EventType eventType,
+                                                                      final @NotNull T eventListener,
+                                                                      final @NotNull EventPriority priority,
+                                                                      final boolean ignoreCancelled) {
         Objects.requireNonNull(eventType, "eventType must not be null");
         Objects.requireNonNull(eventListener, "eventListener must not be null");
-        this.listenerMap.compute(eventType, (key, listeners) -> {
-            if (listeners == null) {
-                return new EventListener<?>[] {eventListener};
-            }
-            final EventListener<?>[] array = new EventListener[listeners.length + 1];
-            System.arraycopy(listeners, 0, array, 0, listeners.length);
-            array[listeners.length] = eventListener;
-            return array;
-        });
+        Objects.requireNonNull(priority, "priority must not be null");
+        final List<EventRegistration> list = this.registrations.computeIfAbsent(eventType, ignored -> new ArrayList<>());
+        list.add(new EventRegistration(eventListener, priority, ignoreCancelled));
+        // Stable sort, listeners with the same priority keep the registration order
+        list.sort(PRIORITY_ORDER);
+        this.compile(eventType);
     }
 
     @Override
@@ -75,49 +125,49 @@ public final class EventManagerImpl implements EventManager {
         if (eventType == null || eventListener == null) {
             return false;
         }
-        final EventListener<?>[] listeners = this.listenerMap.get(eventType);
-        if (listeners == null) {
+        final List<EventRegistration> list = this.registrations.get(eventType);
+        if (list == null) {
             return false;
         }
-        final int length = listeners.length;
-        if (length == 1) {
-            if (listeners[0].equals(eventListener)) {
-                this.listenerMap.remove(eventType);
+        for (final Iterator<EventRegistration> iterator = list.iterator(); iterator.hasNext(); ) {
+            if (iterator.next().listener().equals(eventListener)) {
+                iterator.remove();
+                this.compile(eventType);
                 return true;
             }
-            return false;
         }
+        return false;
+    }
 
-        boolean found = false;
-        int index = -1;
-        for (int i = 0; i < length; i++) {
-            if (listeners[i].equals(eventListener)) {
-                found = true;
-                index = i;
-                break;
-            }
+    @Override
+    public synchronized @Unmodifiable @NotNull Collection<? extends EventListener<?>> getListeners(final @NotNull EventType eventType) {
+        Objects.requireNonNull(eventType, "eventType must not be null");
+        final List<EventRegistration> list = this.registrations.get(eventType);
+        if (list == null) {
+            return List.of();
         }
+        return list.stream().map(EventRegistration::listener).toList();
+    }
 
-        if (!found) {
-            return false;
+    private static @NotNull ExecutorService createAsyncExecutor(final int threads) {
+        if (threads <= 0) {
+            try {
+                // Virtual threads are only available since Java 21
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (final ReflectiveOperationException ignored) {
+            }
         }
-
-        final EventListener<?>[] array = new EventListener<?>[length - 1];
-        System.arraycopy(listeners, 0, array, 0, index);
-        System.arraycopy(listeners, index + 1, array, index, length - index - 1);
-
-        this.listenerMap.put(eventType, array);
-        return true;
+        final AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), runnable -> {
+            final Thread thread = new Thread(runnable, "Async Event Thread #" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
-    @Override
-    public @Unmodifiable @NotNull Collection<? extends EventListener<?>> getListeners(final @NotNull EventType eventType) {
-        Objects.requireNonNull(eventType, "eventType must not be null");
-        final EventListener<?>[] listeners = this.listenerMap.get(eventType);
-        if (listeners != null) {
-            return List.of(listeners);
-        }
-        return List.of();
+    private void compile(final @NotNull EventType eventType) {
+        final EventDispatcher dispatcher = EventDispatcher.compile(eventType, this.registrations.getOrDefault(eventType, List.of()));
+        DISPATCHERS.setRelease(this.dispatchers, eventType.ordinal(), dispatcher);
     }
 
-}
\ No newline at end of file
+}
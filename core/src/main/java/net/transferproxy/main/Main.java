@@ -39,12 +39,11 @@ import java.nio.file.Path;
 public final class Main {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
-    private static final Path DEFAULT_CONFIG_PATH = Path.of("./config.yml");
 
     public static void main(final String[] args) {
         final ProxyConfiguration configuration;
         try {
-            final Path configPath = PropertyHelper.resolve("transferproxy.config.path", DEFAULT_CONFIG_PATH);
+            final Path configPath = PropertyHelper.resolveConfigPath();
             configuration = ResourceUtil.copyAndReadYaml(configPath, YamlProxyConfiguration.class);
         } catch (final IOException e) {
             LOGGER.error("Failed to load configuration", e);
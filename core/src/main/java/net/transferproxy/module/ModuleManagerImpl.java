@@ -24,16 +24,24 @@
 
 package net.transferproxy.module;
 
+import net.transferproxy.api.TransferProxy;
+import net.transferproxy.api.configuration.ProxyConfiguration;
 import net.transferproxy.api.event.EventManager;
 import net.transferproxy.api.module.ModuleManager;
+import net.transferproxy.api.network.packet.built.BuiltPacketFactory;
 import net.transferproxy.api.network.packet.provider.PacketProviderGroup;
 import net.transferproxy.api.plugin.PluginManager;
+import net.transferproxy.api.routing.Router;
+import net.transferproxy.api.routing.WaitingRoom;
 import net.transferproxy.api.status.StatusManager;
 import net.transferproxy.api.terminal.DefaultTerminalExecutor;
 import net.transferproxy.api.terminal.TerminalExecutor;
 import net.transferproxy.event.EventManagerImpl;
+import net.transferproxy.network.packet.built.BuiltPacketFactoryImpl;
 import net.transferproxy.network.packet.provider.PacketProviderGroups;
 import net.transferproxy.plugin.PluginManagerImpl;
+import net.transferproxy.routing.RouterImpl;
+import net.transferproxy.routing.WaitingRoomImpl;
 import net.transferproxy.status.StatusManagerImpl;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.VisibleForTesting;
@@ -48,6 +56,9 @@ public class ModuleManagerImpl implements ModuleManager {
     private PluginManager pluginManager;
     private IntFunction<PacketProviderGroup> packetProviderGroupFunction;
     private TerminalExecutor terminalExecutor;
+    private BuiltPacketFactory builtPacketFactory;
+    private Router router;
+    private WaitingRoom waitingRoom;
 
     @Override
     public void initializeDefaults() {
@@ -79,6 +90,21 @@ public class ModuleManagerImpl implements ModuleManager {
         return this.terminalExecutor;
     }
 
+    @Override
+    public @NotNull BuiltPacketFactory getBuiltPacketFactory() {
+        return this.builtPacketFactory;
+    }
+
+    @Override
+    public @NotNull Router getRouter() {
+        return this.router;
+    }
+
+    @Override
+    public @NotNull WaitingRoom getWaitingRoom() {
+        return this.waitingRoom;
+    }
+
     @Override
     public void setPluginManager(final @NotNull PluginManager pluginManager) {
         this.pluginManager = Objects.requireNonNull(pluginManager, "pluginManager must not be null");
@@ -105,10 +131,26 @@ public class ModuleManagerImpl implements ModuleManager {
         this.terminalExecutor = Objects.requireNonNull(terminalExecutor, "terminalExecutor must not be null");
     }
 
+    @Override
+    public void setBuiltPacketFactory(final @NotNull BuiltPacketFactory builtPacketFactory) {
+        this.builtPacketFactory = Objects.requireNonNull(builtPacketFactory, "builtPacketFactory must not be null");
+    }
+
+    @Override
+    public void setRouter(final @NotNull Router router) {
+        this.router = Objects.requireNonNull(router, "router must not be null");
+    }
+
+    @Override
+    public void setWaitingRoom(final @NotNull WaitingRoom waitingRoom) {
+        this.waitingRoom = Objects.requireNonNull(waitingRoom, "waitingRoom must not be null");
+    }
+
     @VisibleForTesting
     public void initializeDefaults(final boolean force) {
         if (force || this.eventManager == null) {
-            this.eventManager = new EventManagerImpl();
+            final ProxyConfiguration.Miscellaneous miscellaneous = TransferProxy.getInstance().getConfiguration().getMiscellaneous();
+            this.eventManager = new EventManagerImpl(miscellaneous.getAsyncEventTimeout(), miscellaneous.getAsyncEventThreads());
         }
         if (force || this.statusManager == null) {
             this.statusManager = new StatusManagerImpl();
@@ -122,6 +164,16 @@ public class ModuleManagerImpl implements ModuleManager {
         if (force || this.terminalExecutor == null) {
             this.terminalExecutor = new DefaultTerminalExecutor();
         }
+        if (force || this.builtPacketFactory == null) {
+            final int cacheSize = TransferProxy.getInstance().getConfiguration().getMiscellaneous().getPacketCacheSize();
+            this.builtPacketFactory = new BuiltPacketFactoryImpl(cacheSize);
+        }
+        if (force || this.router == null) {
+            this.router = new RouterImpl(TransferProxy.getInstance().getConfiguration().getRouting());
+        }
+        if (force || this.waitingRoom == null) {
+            this.waitingRoom = new WaitingRoomImpl(TransferProxy.getInstance().getConfiguration().getRouting().getQueue());
+        }
     }
 
 }
\ No newline at end of file
@@ -24,33 +24,50 @@
 
 package net.transferproxy.network;
 
+import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.*;
 import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDatagramChannel;
 import io.netty.channel.epoll.EpollIoHandler;
 import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.dns.DnsAddressResolverGroup;
+import io.netty.resolver.dns.DnsServerAddressStreamProviders;
 import io.netty.util.ResourceLeakDetector;
 import io.netty.util.concurrent.DefaultThreadFactory;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import net.transferproxy.api.TransferProxy;
 import net.transferproxy.api.configuration.ProxyConfiguration;
 import net.transferproxy.api.network.NetworkServer;
+import net.transferproxy.api.network.protocol.ProtocolVersion;
+import net.transferproxy.api.status.StatusResponse;
 import net.transferproxy.network.connection.PlayerConnectionImpl;
+import net.transferproxy.network.connection.RequestDeadlines;
 import net.transferproxy.network.frame.clientbound.PacketEncoder;
 import net.transferproxy.network.frame.clientbound.VarIntFrameEncoder;
 import net.transferproxy.network.frame.serverbound.PacketDecoder;
 import net.transferproxy.network.frame.serverbound.VarIntFrameDecoder;
+import net.transferproxy.network.query.QueryHandler;
+import net.transferproxy.routing.LoadReportHandler;
+import net.transferproxy.routing.RouterImpl;
+import net.transferproxy.util.CompressionUtil;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 public class NettyNetworkServer extends ChannelInitializer<Channel> implements NetworkServer {
 
@@ -60,9 +77,15 @@ public class NettyNetworkServer extends ChannelInitializer<Channel> implements N
     private final ChannelGroup group = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
     private EventLoopGroup bossGroup;
     private EventLoopGroup workerGroup;
+    private Class<? extends Channel> clientChannelClass;
+    private Class<? extends DatagramChannel> datagramChannelClass;
+    private DnsAddressResolverGroup resolverGroup;
     private Channel channel;
+    private Channel queryChannel;
+    private Channel loadReportChannel;
 
     private boolean checkExtraByte;
+    private RequestDeadlines requestDeadlines = new RequestDeadlines(0L, 0L);
 
     @Override
     public void start() {
@@ -82,11 +105,15 @@ public class NettyNetworkServer extends ChannelInitializer<Channel> implements N
             this.bossGroup = new MultiThreadIoEventLoopGroup(bossThread, bossFactory, EpollIoHandler.newFactory());
             this.workerGroup = new MultiThreadIoEventLoopGroup(workerThread, workerFactory, EpollIoHandler.newFactory());
             channelClass = EpollServerSocketChannel.class;
+            this.clientChannelClass = EpollSocketChannel.class;
+            this.datagramChannelClass = EpollDatagramChannel.class;
             LOGGER.info("The network will use the EPOLL channel type");
         } else {
             this.bossGroup = new MultiThreadIoEventLoopGroup(bossThread, bossFactory, NioIoHandler.newFactory());
             this.workerGroup = new MultiThreadIoEventLoopGroup(workerThread, workerFactory, NioIoHandler.newFactory());
             channelClass = NioServerSocketChannel.class;
+            this.clientChannelClass = NioSocketChannel.class;
+            this.datagramChannelClass = NioDatagramChannel.class;
             LOGGER.info("The network will use the NIO channel type");
         }
 
@@ -103,6 +130,9 @@ public class NettyNetworkServer extends ChannelInitializer<Channel> implements N
         }
 
         this.checkExtraByte = !config.isDisableExtraByteCheck();
+        final ProxyConfiguration.Miscellaneous miscellaneous = TransferProxy.getInstance().getConfiguration().getMiscellaneous();
+        this.requestDeadlines = new RequestDeadlines(miscellaneous.getCookieTimeout(), miscellaneous.getCodeOfConductTimeout());
+        CompressionUtil.setLevel(config.getCompressionLevel());
 
         // Bind the server
         try {
@@ -113,10 +143,71 @@ public class NettyNetworkServer extends ChannelInitializer<Channel> implements N
             return;
         }
         LOGGER.info("Listening on {}:{}", address.getAddress().getHostAddress(), address.getPort());
+
+        if (config.isQueryEnabled()) {
+            this.startQuery(config);
+        }
+        final ProxyConfiguration.Routing routing = TransferProxy.getInstance().getConfiguration().getRouting();
+        if (routing.getLoadReportPort() > 0) {
+            this.startLoadReports(config, routing);
+        }
+    }
+
+    private void startQuery(final @NotNull ProxyConfiguration.Network config) {
+        final InetSocketAddress address = new InetSocketAddress(config.getBindAddress(), config.getQueryPort());
+        // Stats are read from the default status response, so they follow the status configuration and backends
+        final Supplier<StatusResponse> responses = () -> TransferProxy.getInstance()
+                .getModuleManager()
+                .getStatusManager()
+                .buildDefaultResponse(ProtocolVersion.getLatest().getProtocol());
+        final QueryHandler handler = new QueryHandler(responses, address.getAddress().getHostAddress(), config.getBindPort());
+        try {
+            this.queryChannel = new Bootstrap().group(this.workerGroup)
+                    .channel(this.datagramChannelClass)
+                    .handler(handler)
+                    .bind(address)
+                    .syncUninterruptibly()
+                    .channel();
+        } catch (final Exception exception) {
+            LOGGER.error("Failed to bind query", exception);
+            return;
+        }
+        LOGGER.info("Query listening on {}:{}", address.getAddress().getHostAddress(), address.getPort());
+    }
+
+    private void startLoadReports(final @NotNull ProxyConfiguration.Network config, final @NotNull ProxyConfiguration.Routing routing) {
+        if (routing.getLoadReportSecret().isEmpty()) {
+            // The listener is bound on the public address, anyone could steer the routing with forged reports
+            LOGGER.error("Load reports are disabled, a load report secret must be configured");
+            return;
+        }
+        final InetSocketAddress address = new InetSocketAddress(config.getBindAddress(), routing.getLoadReportPort());
+        // The router is read for each report, so the reports follow a reloaded or replaced router
+        final LoadReportHandler handler = new LoadReportHandler(routing.getLoadReportSecret(),
+                (target, load) -> TransferProxy.getInstance().getModuleManager().getRouter() instanceof RouterImpl router &&
+                        router.report(target, load));
+        try {
+            this.loadReportChannel = new Bootstrap().group(this.workerGroup)
+                    .channel(this.datagramChannelClass)
+                    .handler(handler)
+                    .bind(address)
+                    .syncUninterruptibly()
+                    .channel();
+        } catch (final Exception exception) {
+            LOGGER.error("Failed to bind load reports", exception);
+            return;
+        }
+        LOGGER.info("Load reports listening on {}:{}", address.getAddress().getHostAddress(), address.getPort());
     }
 
     @Override
     public void stop() {
+        if (this.queryChannel != null) {
+            this.queryChannel.close().awaitUninterruptibly(3, TimeUnit.SECONDS);
+        }
+        if (this.loadReportChannel != null) {
+            this.loadReportChannel.close().awaitUninterruptibly(3, TimeUnit.SECONDS);
+        }
         if (this.channel != null) {
             try {
                 this.channel.close().await(3, TimeUnit.SECONDS);
@@ -124,6 +215,9 @@ public class NettyNetworkServer extends ChannelInitializer<Channel> implements N
                 LOGGER.error("Netty server does not shutdown correctly", exception);
             }
         }
+        if (this.resolverGroup != null) {
+            this.resolverGroup.close();
+        }
         if (this.bossGroup != null) {
             this.bossGroup.shutdownGracefully(100L, 3_000L, TimeUnit.MILLISECONDS);
         }
@@ -135,7 +229,7 @@ public class NettyNetworkServer extends ChannelInitializer<Channel> implements N
     @Override
     protected void initChannel(final @NotNull Channel channel) {
         this.group.add(channel);
-        final PlayerConnectionImpl connection = new PlayerConnectionImpl(channel);
+        final PlayerConnectionImpl connection = new PlayerConnectionImpl(channel, this.requestDeadlines);
         final ChannelPipeline pipeline = channel.pipeline();
 
         pipeline.addLast("timeout", new ReadTimeoutHandler(30))
@@ -155,4 +249,36 @@ public class NettyNetworkServer extends ChannelInitializer<Channel> implements N
         return this.group;
     }
 
+    @Override
+    public long getOutstandingRequests() {
+        return this.requestDeadlines.getOutstanding();
+    }
+
+    @Override
+    public long getTimedOutRequests() {
+        return this.requestDeadlines.getTimeouts();
+    }
+
+    public EventLoopGroup getWorkerGroup() {
+        return this.workerGroup;
+    }
+
+    /**
+     * Gets the client channel type matching the worker group, used for outgoing connections.
+     */
+    public Class<? extends Channel> getClientChannelClass() {
+        return this.clientChannelClass;
+    }
+
+    /**
+     * Gets the non-blocking DNS resolver used for outgoing connections, so a slow DNS server does not block the
+     * event loops.
+     */
+    public synchronized AddressResolverGroup<InetSocketAddress> getResolverGroup() {
+        if (this.resolverGroup == null) {
+            this.resolverGroup = new DnsAddressResolverGroup(this.datagramChannelClass, DnsServerAddressStreamProviders.platformDefault());
+        }
+        return this.resolverGroup;
+    }
+
 }
\ No newline at end of file
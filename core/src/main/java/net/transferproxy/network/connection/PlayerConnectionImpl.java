@@ -28,6 +28,8 @@ import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.unix.Errors;
 import io.netty.handler.timeout.ReadTimeoutException;
@@ -38,58 +40,86 @@ import net.transferproxy.api.network.connection.ConnectionState;
 import net.transferproxy.api.network.connection.PlayerConnection;
 import net.transferproxy.api.network.packet.Packet;
 import net.transferproxy.api.network.packet.built.BuiltPacket;
+import net.transferproxy.api.network.packet.built.BuiltPacketFactory;
 import net.transferproxy.api.network.packet.built.ProtocolizedBuiltPacket;
 import net.transferproxy.api.network.packet.provider.PacketProviderGroup;
 import net.transferproxy.api.network.packet.serverbound.ServerboundPacket;
+import net.transferproxy.api.network.protocol.ProtocolVersion;
 import net.transferproxy.api.profile.ClientInformation;
+import net.transferproxy.api.routing.RouteTarget;
 import net.transferproxy.api.status.StatusResponse;
 import net.transferproxy.api.util.CookieUtil;
+import net.transferproxy.network.frame.clientbound.CompressionEncoder;
+import net.transferproxy.network.frame.serverbound.CompressionDecoder;
+import net.transferproxy.network.packet.built.CompressiblePacket;
 import net.transferproxy.network.packet.config.clientbound.*;
 import net.transferproxy.network.packet.login.clientbound.LoginCookieRequestPacket;
-import net.transferproxy.network.packet.login.clientbound.LoginDisconnectPacket;
 import net.transferproxy.network.packet.login.clientbound.LoginSuccessPacket;
+import net.transferproxy.network.packet.login.clientbound.SetCompressionPacket;
 import net.transferproxy.network.packet.provider.PacketProviderGroups;
 import net.transferproxy.network.packet.status.clientbound.StatusResponsePacket;
+import net.transferproxy.routing.RouterImpl;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.InetSocketAddress;
 import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 
 public class PlayerConnectionImpl extends SimpleChannelInboundHandler<ServerboundPacket> implements PlayerConnection {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PlayerConnectionImpl.class);
+    private static final int INITIAL_COOKIE_CAPACITY = 4;
 
     private final Channel channel;
+    private final RequestDeadlines requestDeadlines;
     private volatile PacketProviderGroup packetProviderGroup;
 
     private volatile ConnectionState state = ConnectionState.HANDSHAKE;
     private volatile int protocol;
     private volatile String hostname;
     private volatile int hostPort;
+    private volatile int compressionThreshold = -1;
 
-    // This is the field that must be volatile and not the entries
-    private volatile Map<String, CompletableFuture<byte[]>> pendingCookies;
+    // Pending cookie requests guarded by this, a connection only has a few of them so they are scanned linearly
+    private String[] cookieKeys;
+    private CompletableFuture<byte[]>[] cookieFutures;
+    private int cookieCount;
 
     private String name;
     private UUID uuid;
     private ClientInformation information;
     private volatile boolean fromTransfer;
     private String brand;
+    private volatile String region;
+    private volatile boolean regionResolved;
+
+    private volatile RouteTarget committedRoute;
+    // Cookies stored during the login, sent when the configuration starts
+    private List<StoreCookiePacket> pendingCookieStores;
 
     private final Object codeOfConductLock = new Object();
     private CompletableFuture<Void> codeOfConductFuture;
 
     public PlayerConnectionImpl(final @NotNull Channel channel) {
+        this(channel, new RequestDeadlines(0L, 0L));
+    }
+
+    public PlayerConnectionImpl(final @NotNull Channel channel, final @NotNull RequestDeadlines requestDeadlines) {
         this.channel = Objects.requireNonNull(channel, "channel must not be null");
+        this.requestDeadlines = Objects.requireNonNull(requestDeadlines, "requestDeadlines must not be null");
     }
 
     @Override
@@ -99,14 +129,41 @@ public class PlayerConnectionImpl extends SimpleChannelInboundHandler<Serverboun
 
     @Override
     public void transfer(final @NotNull String host, final int hostPort) {
+        this.transfer(host, hostPort, TransferProxy.getInstance().getModuleManager().getBuiltPacketFactory().transfer(host, hostPort));
+    }
+
+    @Override
+    public void transfer(final @NotNull RouteTarget target) {
+        Objects.requireNonNull(target, "target must not be null");
+        this.transfer(target.host(), target.port(), target.packet());
+        // Counted once the packet is sent, a player who leaves before is not added to the load of the server
+        if (TransferProxy.getInstance().getModuleManager().getRouter() instanceof RouterImpl router) {
+            router.countTransfer(target);
+        }
+    }
+
+    private void transfer(final @NotNull String host, final int hostPort, final @NotNull Packet packet) {
         this.ensureState(ConnectionState.CONFIG, "transfer");
-        this.sendPacket(new TransferPacket(host, hostPort));
+        this.sendPacket(packet);
         if (TransferProxy.getInstance().getConfiguration().getLogging().isLogTransfer()) {
             LOGGER.info("Player {} are transferred to {}:{}", this.getDisplay(), host, hostPort);
         }
         this.state = ConnectionState.CLOSED;
     }
 
+    @Override
+    public void commitRoute(final @Nullable RouteTarget target) {
+        if (this.state != ConnectionState.HANDSHAKE && this.state != ConnectionState.LOGIN) {
+            throw new IllegalStateException("Invalid state to commit a route: " + this.state);
+        }
+        this.committedRoute = target;
+    }
+
+    @Override
+    public @Nullable RouteTarget getCommittedRoute() {
+        return this.committedRoute;
+    }
+
     @Override
     public void sendLoginSuccess(final @NotNull UUID uuid, final @NotNull String username) {
         this.ensureState(ConnectionState.LOGIN, "sendLoginSuccess");
@@ -124,6 +181,9 @@ public class PlayerConnectionImpl extends SimpleChannelInboundHandler<Serverboun
 
     @Override
     public @NotNull CompletableFuture<Void> sendCodeOfConduct(final @NotNull String codeOfConduct) {
+        if (!ProtocolVersion.V1_21_9.isSupportedBy(this.protocol)) {
+            throw new UnsupportedOperationException("Code of conduct is not supported by protocol " + this.protocol);
+        }
         final CompletableFuture<Void> future = new CompletableFuture<>();
         synchronized (this.codeOfConductLock) {
             if (this.codeOfConductFuture != null) {
@@ -131,7 +191,16 @@ public class PlayerConnectionImpl extends SimpleChannelInboundHandler<Serverboun
             }
             this.codeOfConductFuture = future;
         }
-        this.sendPacket(new CodeOfConductPacket(codeOfConduct));
+        // Allows to send it again after a timeout
+        future.whenComplete((ignored, throwable) -> {
+            synchronized (this.codeOfConductLock) {
+                if (this.codeOfConductFuture == future) {
+                    this.codeOfConductFuture = null;
+                }
+            }
+        });
+        this.requestDeadlines.trackCodeOfConduct(this.channel.eventLoop(), future);
+        this.sendPacket(TransferProxy.getInstance().getModuleManager().getBuiltPacketFactory().codeOfConduct(codeOfConduct));
         return future;
     }
 
@@ -150,58 +219,155 @@ public class PlayerConnectionImpl extends SimpleChannelInboundHandler<Serverboun
     }
 
     @Override
-    public synchronized @NotNull CompletableFuture<byte[]> fetchCookie(final @NotNull String cookieKey) {
+    public @NotNull CompletableFuture<byte[]> fetchCookie(final @NotNull String cookieKey) {
         Objects.requireNonNull(cookieKey, "Cookie key must not be null");
         CookieUtil.ensureCookieFormat(cookieKey);
+        final CompletableFuture<byte[]> future;
+        synchronized (this) {
+            this.ensureCookieState(cookieKey);
+            future = this.requestCookie(cookieKey);
+        }
+        this.channel.flush();
+        return future;
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Map<String, byte[]>> fetchCookies(final @NotNull Collection<String> cookieKeys) {
+        Objects.requireNonNull(cookieKeys, "Cookie keys must not be null");
+        final String[] keys = cookieKeys.toArray(String[]::new);
+        for (final String cookieKey : keys) {
+            Objects.requireNonNull(cookieKey, "Cookie key must not be null");
+            CookieUtil.ensureCookieFormat(cookieKey);
+        }
+        @SuppressWarnings("unchecked") final CompletableFuture<byte[]>[] futures = new CompletableFuture[keys.length];
+        synchronized (this) {
+            this.ensureCookieState(String.join(", ", keys));
+            for (int i = 0; i < keys.length; i++) {
+                futures[i] = this.requestCookie(keys[i]);
+            }
+        }
+        this.channel.flush();
+        return CompletableFuture.allOf(futures).thenApply(ignored -> {
+            // The payloads can be null, so Map.of cannot be used
+            final Map<String, byte[]> payloads = new HashMap<>(keys.length * 2);
+            for (int i = 0; i < keys.length; i++) {
+                payloads.put(keys[i], futures[i].join());
+            }
+            return Collections.unmodifiableMap(payloads);
+        });
+    }
+
+    private void ensureCookieState(final @NotNull String cookieKeys) {
         if (this.state != ConnectionState.LOGIN && this.state != ConnectionState.CONFIG) {
-            throw new IllegalStateException("Invalid state to fetch cookie " + this.state + " (cookie key=" + cookieKey + ")");
+            throw new IllegalStateException("Invalid state to fetch cookie " + this.state + " (cookie key=" + cookieKeys + ")");
         }
-        CompletableFuture<byte[]> future;
-        if (this.pendingCookies == null) {
-            this.pendingCookies = new ConcurrentHashMap<>();
-            future = null;
-        } else {
-            future = this.pendingCookies.get(cookieKey);
+    }
+
+    /**
+     * Gets the pending request of a cookie, or writes a new one without flushing it. Must hold the lock of the connection.
+     */
+    private @NotNull CompletableFuture<byte[]> requestCookie(final @NotNull String cookieKey) {
+        if (!this.channel.isActive()) {
+            // The request cannot be sent anymore, so it is cancelled like the pending ones when the connection closes
+            final CompletableFuture<byte[]> future = new CompletableFuture<>();
+            future.cancel(false);
+            return future;
+        }
+        final int index = this.indexOfCookie(cookieKey);
+        if (index >= 0) {
+            return this.cookieFutures[index];
         }
-        if (future == null) {
-            future = new CompletableFuture<>();
-            this.pendingCookies.put(cookieKey, future);
-            this.sendPacket(this.state == ConnectionState.LOGIN ?
-                    new LoginCookieRequestPacket(cookieKey) :
-                    new ConfigCookieRequestPacket(cookieKey));
+        final CompletableFuture<byte[]> future = new CompletableFuture<>();
+        if (this.cookieKeys == null) {
+            this.cookieKeys = new String[INITIAL_COOKIE_CAPACITY];
+            this.cookieFutures = newCookieFutures(INITIAL_COOKIE_CAPACITY);
+        } else if (this.cookieCount == this.cookieKeys.length) {
+            this.cookieKeys = Arrays.copyOf(this.cookieKeys, this.cookieCount * 2);
+            this.cookieFutures = Arrays.copyOf(this.cookieFutures, this.cookieCount * 2);
         }
+        this.cookieKeys[this.cookieCount] = cookieKey;
+        this.cookieFutures[this.cookieCount++] = future;
+        future.whenComplete((ignored, throwable) -> this.removeCookie(cookieKey, future));
+        this.requestDeadlines.trackCookie(this.channel.eventLoop(), future);
+        final Packet packet = this.state == ConnectionState.LOGIN ?
+                new LoginCookieRequestPacket(cookieKey) :
+                new ConfigCookieRequestPacket(cookieKey);
+        this.channel.write(this.ensurePacket(this.channel.alloc(), packet), this.channel.voidPromise());
         return future;
     }
 
+    private synchronized void removeCookie(final @NotNull String cookieKey, final @NotNull CompletableFuture<byte[]> future) {
+        final int index = this.indexOfCookie(cookieKey);
+        if (index < 0 || this.cookieFutures[index] != future) {
+            return;
+        }
+        // The order of the requests does not matter, so the last one takes the free slot
+        final int last = --this.cookieCount;
+        this.cookieKeys[index] = this.cookieKeys[last];
+        this.cookieFutures[index] = this.cookieFutures[last];
+        this.cookieKeys[last] = null;
+        this.cookieFutures[last] = null;
+    }
+
+    private int indexOfCookie(final @NotNull String cookieKey) {
+        for (int i = 0; i < this.cookieCount; i++) {
+            if (this.cookieKeys[i].equals(cookieKey)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<byte[]>[] newCookieFutures(final int capacity) {
+        return new CompletableFuture[capacity];
+    }
+
     @Override
     public void storeCookie(final @NotNull String cookieKey, final byte @NotNull [] payload) {
         Objects.requireNonNull(cookieKey, "Cookie key must not be null");
         Objects.requireNonNull(payload, "Cookie payload must not be null");
         CookieUtil.ensureCookieFormat(cookieKey);
-        this.ensureState(ConnectionState.CONFIG, "storeCookie");
         if (payload.length > CookieUtil.getMaxCookieSize()) {
             throw new IllegalArgumentException("The cookie to store is too big: " + payload.length + " > " + CookieUtil.getMaxCookieSize());
         }
+        synchronized (this) {
+            if (this.state == ConnectionState.LOGIN) {
+                if (this.pendingCookieStores == null) {
+                    this.pendingCookieStores = new ArrayList<>();
+                }
+                this.pendingCookieStores.add(new StoreCookiePacket(cookieKey, payload));
+                return;
+            }
+        }
+        this.ensureState(ConnectionState.CONFIG, "storeCookie");
         this.sendPacket(new StoreCookiePacket(cookieKey, payload));
     }
 
     @Override
     public void handleCookieResponse(final @NotNull String cookieKey, final byte @Nullable [] payload) {
-        final Map<String, CompletableFuture<byte[]>> pendingCookies = this.pendingCookies;
-        if (pendingCookies == null) {
-            return;
-        }
-        final CompletableFuture<byte[]> future = pendingCookies.get(cookieKey);
-        if (future == null) {
-            return;
+        final CompletableFuture<byte[]> future;
+        synchronized (this) {
+            final int index = this.indexOfCookie(cookieKey);
+            if (index < 0) {
+                return;
+            }
+            future = this.cookieFutures[index];
         }
+        // Completed outside the lock, the continuations of the plugins may fetch other cookies
         future.complete(payload);
     }
 
     @Override
-    public @NotNull Map<String, CompletableFuture<byte[]>> getPendingCookies() {
-        final Map<String, CompletableFuture<byte[]>> pendingCookies = this.pendingCookies;
-        return pendingCookies != null ? Collections.unmodifiableMap(pendingCookies) : Map.of();
+    public synchronized @NotNull Map<String, CompletableFuture<byte[]>> getPendingCookies() {
+        if (this.cookieCount == 0) {
+            return Map.of();
+        }
+        final Map<String, CompletableFuture<byte[]>> pendingCookies = new HashMap<>(this.cookieCount * 2);
+        for (int i = 0; i < this.cookieCount; i++) {
+            pendingCookies.put(this.cookieKeys[i], this.cookieFutures[i]);
+        }
+        return Collections.unmodifiableMap(pendingCookies);
     }
 
     @Override
@@ -220,13 +386,13 @@ public class PlayerConnectionImpl extends SimpleChannelInboundHandler<Serverboun
         if (this.state != ConnectionState.LOGIN && this.state != ConnectionState.CONFIG) {
             throw new IllegalStateException("Invalid state to disconnect: " + this.state);
         }
-        this.sendPacketAndClose(this.state == ConnectionState.LOGIN ?
-                new LoginDisconnectPacket(this.protocol, reason) :
-                new ConfigDisconnectPacket(reason));
+        final BuiltPacketFactory factory = TransferProxy.getInstance().getModuleManager().getBuiltPacketFactory();
+        this.sendPacketAndClose(this.state == ConnectionState.LOGIN ? factory.loginDisconnect(reason) : factory.configDisconnect(reason));
     }
 
     @Override
     public void channelInactive(final @NotNull ChannelHandlerContext ctx) {
+        this.cancelRequests();
         if (this.state.isLogin() && TransferProxy.getInstance().getConfiguration().getLogging().isLogDisconnect()) {
             LOGGER.info("Player {} disconnected on state {}", this.getDisplay(), this.state);
         }
@@ -304,7 +470,11 @@ public class PlayerConnectionImpl extends SimpleChannelInboundHandler<Serverboun
             this.fromTransfer = true;
             state = ConnectionState.LOGIN;
         }
-        this.state = state;
+        if (state == ConnectionState.CONFIG) {
+            this.enterConfig();
+        } else {
+            this.state = state;
+        }
         if (this.state == ConnectionState.CONFIG && TransferProxy.getInstance().getConfiguration().getLogging().isLogConnect()) {
             if (this.isFromTransfer()) {
                 LOGGER.info("Player {} is now connected and comes from transfer", this.getDisplay());
@@ -331,11 +501,39 @@ public class PlayerConnectionImpl extends SimpleChannelInboundHandler<Serverboun
         this.brand = brand;
     }
 
+    @Override
+    public void setRegion(final @Nullable String region) {
+        this.region = region;
+        this.regionResolved = true;
+    }
+
     @Override
     public void setPacketProviderGroup(final @NotNull PacketProviderGroup packetProviderGroup) {
         this.packetProviderGroup = Objects.requireNonNull(packetProviderGroup, "packetProviderGroup must not be null");
     }
 
+    @Override
+    public void setCompressionThreshold(final int threshold) {
+        this.ensureState(ConnectionState.LOGIN, "setCompressionThreshold");
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Compression threshold must be positive");
+        }
+        final EventLoop eventLoop = this.channel.eventLoop();
+        if (!eventLoop.inEventLoop()) {
+            eventLoop.execute(() -> this.setCompressionThreshold(threshold));
+            return;
+        }
+        if (this.compressionThreshold >= 0) {
+            throw new IllegalStateException("Compression is already enabled");
+        }
+        // Set Compression is the last uncompressed packet, handlers are added once it went through the pipeline
+        this.sendPacket(new SetCompressionPacket(threshold));
+        final ChannelPipeline pipeline = this.channel.pipeline();
+        pipeline.addAfter("splitter", "decompress", new CompressionDecoder(threshold));
+        pipeline.addAfter("prepender", "compress", new CompressionEncoder(threshold));
+        this.compressionThreshold = threshold;
+    }
+
     @Override
     public String getName() {
         return this.name;
@@ -382,16 +580,72 @@ public class PlayerConnectionImpl extends SimpleChannelInboundHandler<Serverboun
         return this.hostPort;
     }
 
+    @Override
+    public int getCompressionThreshold() {
+        return this.compressionThreshold;
+    }
+
     @Override
     public @Nullable String getBrand() {
         return this.brand;
     }
 
+    @Override
+    public @Nullable String getRegion() {
+        if (!this.regionResolved) {
+            // Two threads may look it up at the same time, they find the same region
+            if (this.channel.remoteAddress() instanceof final InetSocketAddress address && address.getAddress() != null) {
+                this.region = TransferProxy.getInstance().getModuleManager().getRouter().findRegion(address.getAddress());
+            }
+            this.regionResolved = true;
+        }
+        return this.region;
+    }
+
     @Override
     public boolean isFromTransfer() {
         return this.fromTransfer;
     }
 
+    private void cancelRequests() {
+        final CompletableFuture<byte[]>[] cookieFutures;
+        synchronized (this) {
+            cookieFutures = this.cookieCount != 0 ? Arrays.copyOf(this.cookieFutures, this.cookieCount) : null;
+        }
+        if (cookieFutures != null) {
+            // Each cancelled future removes itself from the pending requests
+            for (final CompletableFuture<byte[]> future : cookieFutures) {
+                future.cancel(false);
+            }
+        }
+        final CompletableFuture<Void> codeOfConduct;
+        synchronized (this.codeOfConductLock) {
+            codeOfConduct = this.codeOfConductFuture;
+        }
+        if (codeOfConduct != null) {
+            codeOfConduct.cancel(false);
+        }
+    }
+
+    private void enterConfig() {
+        final List<StoreCookiePacket> cookieStores;
+        synchronized (this) {
+            this.state = ConnectionState.CONFIG;
+            cookieStores = this.pendingCookieStores;
+            this.pendingCookieStores = null;
+        }
+        if (cookieStores == null || !this.channel.isActive()) {
+            return;
+        }
+        for (final StoreCookiePacket packet : cookieStores) {
+            this.channel.write(this.ensurePacket(this.channel.alloc(), packet), this.channel.voidPromise());
+        }
+        // With a committed route, the transfer flushes the cookies
+        if (this.committedRoute == null) {
+            this.channel.flush();
+        }
+    }
+
     private String getDisplay() {
         if (this.name != null) {
             return this.name;
@@ -403,7 +657,10 @@ public class PlayerConnectionImpl extends SimpleChannelInboundHandler<Serverboun
 
     @Contract("_, null -> null; _, !null -> !null")
     private Object ensurePacket(final @NotNull ByteBufAllocator allocator, final Object packet) {
-        if (packet instanceof final BuiltPacket built) {
+        final int threshold = this.compressionThreshold;
+        if (threshold >= 0 && packet instanceof final CompressiblePacket compressible) {
+            return compressible.getCompressed(allocator, this.protocol, threshold);
+        } else if (packet instanceof final BuiltPacket built) {
             return built.get(allocator);
         } else if (packet instanceof final ProtocolizedBuiltPacket built) {
             return built.get(allocator, this.protocol);
@@ -0,0 +1,198 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.transferproxy.network.connection;
+
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Completes the requests sent to the clients exceptionally when they are not answered in time.
+ * <p>
+ * Each event loop has a single timer for the requests of all its connections. As every request of a kind has the
+ * same timeout, the deadlines are queued in order and the timer only looks at the head of each queue. Answered
+ * requests stay in their queue until their deadline and are skipped, but their future is released on completion.
+ */
+public final class RequestDeadlines {
+
+    private final long cookieTimeout;
+    private final long codeOfConductTimeout;
+    private final Map<EventLoop, LoopTimer> timers = new ConcurrentHashMap<>();
+    private final LongAdder outstanding = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * @param cookieTimeout The timeout of the cookie requests in milliseconds, 0 for no limit
+     * @param codeOfConductTimeout The timeout of the code of conduct in milliseconds, 0 for no limit
+     */
+    public RequestDeadlines(final long cookieTimeout, final long codeOfConductTimeout) {
+        this.cookieTimeout = TimeUnit.MILLISECONDS.toNanos(Math.max(cookieTimeout, 0L));
+        this.codeOfConductTimeout = TimeUnit.MILLISECONDS.toNanos(Math.max(codeOfConductTimeout, 0L));
+    }
+
+    public void trackCookie(final @NotNull EventLoop loop, final @NotNull CompletableFuture<?> future) {
+        this.track(loop, future, false, this.cookieTimeout);
+    }
+
+    public void trackCodeOfConduct(final @NotNull EventLoop loop, final @NotNull CompletableFuture<?> future) {
+        this.track(loop, future, true, this.codeOfConductTimeout);
+    }
+
+    private void track(final @NotNull EventLoop loop,
+                       final @NotNull CompletableFuture<?> future,
+                       final boolean codeOfConduct,
+                       final long timeout) {
+        Objects.requireNonNull(loop, "loop must not be null");
+        Objects.requireNonNull(future, "future must not be null");
+        this.outstanding.increment();
+        if (timeout <= 0L) {
+            future.whenComplete((ignored, throwable) -> this.outstanding.decrement());
+            return;
+        }
+        final Deadline deadline = new Deadline(future, System.nanoTime() + timeout);
+        future.whenComplete((ignored, throwable) -> {
+            this.outstanding.decrement();
+            deadline.future = null;
+        });
+        if (future.isDone()) {
+            return;
+        }
+        if (loop.inEventLoop()) {
+            this.timer(loop).add(deadline, codeOfConduct);
+        } else {
+            loop.execute(() -> this.timer(loop).add(deadline, codeOfConduct));
+        }
+    }
+
+    private @NotNull LoopTimer timer(final @NotNull EventLoop loop) {
+        // Only accessed by the thread of the loop, so the timer cannot be removed concurrently
+        return this.timers.computeIfAbsent(loop, LoopTimer::new);
+    }
+
+    /**
+     * Gets the number of requests waiting for the client.
+     *
+     * @return the outstanding request count
+     */
+    @Contract(pure = true)
+    public long getOutstanding() {
+        return this.outstanding.sum();
+    }
+
+    /**
+     * Gets the number of requests completed by a timeout since the start.
+     *
+     * @return the timed out request count
+     */
+    @Contract(pure = true)
+    public long getTimeouts() {
+        return this.timeouts.sum();
+    }
+
+    private static final class Deadline {
+
+        private final long time;
+        // Cleared on completion, so an answered request does not keep its future until the deadline
+        private volatile CompletableFuture<?> future;
+
+        private Deadline(final @NotNull CompletableFuture<?> future, final long time) {
+            this.future = future;
+            this.time = time;
+        }
+
+    }
+
+    private final class LoopTimer implements Runnable {
+
+        private final EventLoop loop;
+        private final ArrayDeque<Deadline> cookies = new ArrayDeque<>();
+        private final ArrayDeque<Deadline> codesOfConduct = new ArrayDeque<>();
+        private ScheduledFuture<?> task;
+        private long scheduledTime;
+
+        private LoopTimer(final @NotNull EventLoop loop) {
+            this.loop = loop;
+        }
+
+        private void add(final @NotNull Deadline deadline, final boolean codeOfConduct) {
+            (codeOfConduct ? this.codesOfConduct : this.cookies).addLast(deadline);
+            if (this.task == null) {
+                this.schedule(deadline.time);
+            } else if (deadline.time - this.scheduledTime < 0L) {
+                // The other kind of request has a longer timeout
+                this.task.cancel(false);
+                this.schedule(deadline.time);
+            }
+        }
+
+        @Override
+        public void run() {
+            this.task = null;
+            final long now = System.nanoTime();
+            this.expire(this.cookies, now);
+            this.expire(this.codesOfConduct, now);
+            final Deadline cookie = this.cookies.peekFirst();
+            final Deadline codeOfConduct = this.codesOfConduct.peekFirst();
+            if (cookie == null && codeOfConduct == null) {
+                RequestDeadlines.this.timers.remove(this.loop, this);
+                return;
+            }
+            if (cookie == null) {
+                this.schedule(codeOfConduct.time);
+            } else if (codeOfConduct == null || cookie.time - codeOfConduct.time < 0L) {
+                this.schedule(cookie.time);
+            } else {
+                this.schedule(codeOfConduct.time);
+            }
+        }
+
+        private void expire(final @NotNull ArrayDeque<Deadline> queue, final long now) {
+            Deadline deadline;
+            while ((deadline = queue.peekFirst()) != null && deadline.time - now <= 0L) {
+                queue.pollFirst();
+                final CompletableFuture<?> future = deadline.future;
+                if (future != null && future.completeExceptionally(new TimeoutException("The client did not answer in time"))) {
+                    RequestDeadlines.this.timeouts.increment();
+                }
+            }
+        }
+
+        private void schedule(final long time) {
+            this.scheduledTime = time;
+            this.task = this.loop.schedule(this, Math.max(time - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+        }
+
+    }
+
+}
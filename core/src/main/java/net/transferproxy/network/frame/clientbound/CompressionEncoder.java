@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.network.frame.clientbound;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageEncoder;
+import net.transferproxy.util.CompressionUtil;
+
+import java.util.List;
+
+public final class CompressionEncoder extends MessageToMessageEncoder<Object> {
+
+    private final int threshold;
+
+    public CompressionEncoder(final int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public boolean acceptOutboundMessage(final Object msg) {
+        return msg instanceof ByteBuf || msg instanceof CompressedPacket;
+    }
+
+    @Override
+    protected void encode(final ChannelHandlerContext ctx, final Object msg, final List<Object> out) {
+        if (msg instanceof final CompressedPacket compressed) {
+            out.add(compressed.content().retain());
+            return;
+        }
+        final ByteBuf buf = (ByteBuf) msg;
+        final int length = buf.readableBytes();
+        final ByteBuf result = length < this.threshold ?
+                ctx.alloc().directBuffer(length + 1) :
+                ctx.alloc().directBuffer(Math.max(64, length >>> 1));
+        try {
+            CompressionUtil.writeCompressed(buf, result, this.threshold);
+        } catch (final Throwable throwable) {
+            result.release();
+            throw throwable;
+        }
+        out.add(result);
+    }
+
+}
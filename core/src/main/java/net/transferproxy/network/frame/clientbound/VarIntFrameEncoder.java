@@ -27,17 +27,34 @@ package net.transferproxy.network.frame.clientbound;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.MessageToMessageEncoder;
 
+import java.util.List;
+
+import static net.transferproxy.util.BufUtil.getVarIntSize;
 import static net.transferproxy.util.BufUtil.writeVarInt;
 
 @ChannelHandler.Sharable
-public final class VarIntFrameEncoder extends MessageToByteEncoder<ByteBuf> {
+public final class VarIntFrameEncoder extends MessageToMessageEncoder<ByteBuf> {
+
+    // From this size, the length is written in its own buffer instead of copying the packet
+    private static final int ZERO_COPY_THRESHOLD = 1024;
 
     @Override
-    protected void encode(final ChannelHandlerContext ctx, final ByteBuf buf, final ByteBuf out) {
-        writeVarInt(out, buf.readableBytes());
-        out.writeBytes(buf);
+    protected void encode(final ChannelHandlerContext ctx, final ByteBuf buf, final List<Object> out) {
+        final int length = buf.readableBytes();
+        final int lengthSize = getVarIntSize(length);
+        if (length < ZERO_COPY_THRESHOLD) {
+            final ByteBuf frame = ctx.alloc().buffer(lengthSize + length);
+            writeVarInt(frame, length);
+            frame.writeBytes(buf);
+            out.add(frame);
+            return;
+        }
+        final ByteBuf header = ctx.alloc().buffer(lengthSize);
+        writeVarInt(header, length);
+        out.add(header);
+        out.add(buf.retain());
     }
 
-}
\ No newline at end of file
+}
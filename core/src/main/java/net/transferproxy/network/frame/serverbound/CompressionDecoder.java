@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.network.frame.serverbound;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import net.transferproxy.util.CompressionUtil;
+
+import java.util.List;
+import java.util.zip.DataFormatException;
+
+import static net.transferproxy.util.BufUtil.readVarInt;
+
+public final class CompressionDecoder extends MessageToMessageDecoder<ByteBuf> {
+
+    private final int threshold;
+
+    public CompressionDecoder(final int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void decode(final ChannelHandlerContext ctx, final ByteBuf in, final List<Object> out) {
+        if (!in.isReadable()) {
+            return;
+        }
+        final int dataLength = readVarInt(in);
+        if (dataLength == 0) {
+            out.add(in.retainedSlice());
+            return;
+        }
+        if (dataLength < this.threshold) {
+            throw new CorruptedFrameException("Badly compressed packet: size of " + dataLength + " is below threshold of " + this.threshold);
+        }
+        if (dataLength > CompressionUtil.MAXIMUM_UNCOMPRESSED_SIZE) {
+            throw new CorruptedFrameException("Badly compressed packet: size of " + dataLength + " is larger than maximum of " +
+                    CompressionUtil.MAXIMUM_UNCOMPRESSED_SIZE);
+        }
+        final ByteBuf result = ctx.alloc().directBuffer(dataLength, dataLength);
+        try {
+            CompressionUtil.decompress(in, result, dataLength);
+        } catch (final DataFormatException exception) {
+            result.release();
+            throw new DecoderException(exception);
+        } catch (final Throwable throwable) {
+            result.release();
+            throw throwable;
+        }
+        out.add(result);
+    }
+
+}
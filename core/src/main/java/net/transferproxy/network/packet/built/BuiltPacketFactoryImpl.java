@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.network.packet.built;
+
+import net.kyori.adventure.text.Component;
+import net.transferproxy.api.network.packet.Packet;
+import net.transferproxy.api.network.packet.built.BuiltPacket;
+import net.transferproxy.api.network.packet.built.BuiltPacketFactory;
+import net.transferproxy.api.network.packet.built.ProtocolizedBuiltPacket;
+import net.transferproxy.api.network.packet.built.TemplateBuiltPacket;
+import net.transferproxy.api.status.StatusResponse;
+import net.transferproxy.api.util.ComponentProtocolUtil;
+import net.transferproxy.network.packet.config.clientbound.CodeOfConductPacket;
+import net.transferproxy.network.packet.config.clientbound.ConfigDisconnectPacket;
+import net.transferproxy.network.packet.config.clientbound.TransferPacket;
+import net.transferproxy.network.packet.login.clientbound.LoginDisconnectPacket;
+import net.transferproxy.network.packet.status.clientbound.StatusResponsePacket;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A {@link BuiltPacketFactory} keeping the recently used packets, keyed by their content.
+ * <p>
+ * Component packets are built lazily for each serializer protocol, so a cached packet is serialized at most once
+ * per serializer bucket whatever the number of players receiving it.
+ * <p>
+ * The cache is read without locking from all the event loops. The eviction is approximate: each hit marks its entry,
+ * and when the cache is full a sweep removes the unmarked entries while clearing the marks of the others.
+ */
+public class BuiltPacketFactoryImpl implements BuiltPacketFactory {
+
+    private static final int LOGIN_DISCONNECT = 0;
+    private static final int CONFIG_DISCONNECT = 1;
+    private static final int TRANSFER = 2;
+    private static final int CODE_OF_CONDUCT = 3;
+
+    private final int maximumSize;
+    private final int sweepTarget;
+    private final Map<Key, Entry> cache = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BuiltPacketFactoryImpl(final int maximumSize) {
+        this.maximumSize = Math.max(maximumSize, 0);
+        // A sweep frees a few slots, so it does not run again on the next miss
+        this.sweepTarget = this.maximumSize - (this.maximumSize >> 3);
+    }
+
+    @Override
+    public @NotNull ProtocolizedBuiltPacket loginDisconnect(final @NotNull Component reason) {
+        Objects.requireNonNull(reason, "reason must not be null");
+        return this.get(new Key(LOGIN_DISCONNECT, reason, 0),
+                () -> new ProtocolizedBuiltPacketImpl(reason,
+                        LoginDisconnectPacket::new,
+                        true,
+                        ComponentProtocolUtil.getSerializerProtocols()));
+    }
+
+    @Override
+    public @NotNull ProtocolizedBuiltPacket configDisconnect(final @NotNull Component reason) {
+        Objects.requireNonNull(reason, "reason must not be null");
+        return this.get(new Key(CONFIG_DISCONNECT, reason, 0),
+                () -> new ProtocolizedBuiltPacketImpl(protocol -> new ConfigDisconnectPacket(reason),
+                        true,
+                        ComponentProtocolUtil.getSerializerProtocols()));
+    }
+
+    @Override
+    public @NotNull BuiltPacket transfer(final @NotNull String host, final int port) {
+        Objects.requireNonNull(host, "host must not be null");
+        return this.get(new Key(TRANSFER, host, port), () -> new BuiltPacketImpl(new TransferPacket(host, port)));
+    }
+
+    @Override
+    public @NotNull BuiltPacket codeOfConduct(final @NotNull String codeOfConduct) {
+        Objects.requireNonNull(codeOfConduct, "codeOfConduct must not be null");
+        return this.get(new Key(CODE_OF_CONDUCT, codeOfConduct, 0), () -> new BuiltPacketImpl(new CodeOfConductPacket(codeOfConduct)));
+    }
+
+    @Override
+    public @NotNull TemplateBuiltPacket statusTemplate(final @NotNull StatusResponse response) {
+        return StatusResponsePacket.template(response);
+    }
+
+    @Override
+    public @NotNull CacheStats getCacheStats() {
+        return new CacheStats(this.hits.sum(), this.misses.sum(), this.evictions.sum(), this.cache.size());
+    }
+
+    @Override
+    public void invalidateAll() {
+        this.cache.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Packet> @NotNull T get(final @NotNull Key key, final @NotNull Supplier<T> builder) {
+        if (this.maximumSize == 0) {
+            this.misses.increment();
+            return builder.get();
+        }
+        final Entry entry = this.cache.get(key);
+        if (entry != null) {
+            this.hits.increment();
+            // Only written when needed, so the hits on a shared entry do not contend on its cache line
+            if (!entry.used) {
+                entry.used = true;
+            }
+            return (T) entry.packet;
+        }
+        this.misses.increment();
+        // A concurrent miss on the same key keeps the first packet
+        final T built = builder.get();
+        final Entry previous = this.cache.putIfAbsent(key, new Entry(built));
+        if (previous != null) {
+            return (T) previous.packet;
+        }
+        if (this.cache.size() > this.maximumSize) {
+            this.sweep(key);
+        }
+        return built;
+    }
+
+    private void sweep(final @NotNull Key inserted) {
+        // A single thread sweeps, the others do not wait for it
+        if (!this.sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // The first pass only clears the marks when all the entries are used, the second one then evicts
+            for (int pass = 0; pass < 2 && this.cache.size() > this.sweepTarget; pass++) {
+                final Iterator<Map.Entry<Key, Entry>> iterator = this.cache.entrySet().iterator();
+                while (iterator.hasNext() && this.cache.size() > this.sweepTarget) {
+                    final Map.Entry<Key, Entry> mapEntry = iterator.next();
+                    final Entry entry = mapEntry.getValue();
+                    if (mapEntry.getKey() == inserted) {
+                        // The packet which caused the sweep is about to be used
+                        continue;
+                    }
+                    if (entry.used) {
+                        entry.used = false;
+                    } else {
+                        iterator.remove();
+                        this.evictions.increment();
+                    }
+                }
+            }
+        } finally {
+            this.sweeping.set(false);
+        }
+    }
+
+    private record Key(int type, Object content, int port) {
+    }
+
+    private static final class Entry {
+
+        private final Packet packet;
+        private volatile boolean used;
+
+        private Entry(final @NotNull Packet packet) {
+            this.packet = packet;
+        }
+
+    }
+
+}
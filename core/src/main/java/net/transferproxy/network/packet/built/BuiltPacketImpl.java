@@ -29,15 +29,18 @@ import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import net.transferproxy.api.network.packet.Packet;
 import net.transferproxy.api.network.packet.built.BuiltPacket;
+import net.transferproxy.network.frame.clientbound.CompressedPacket;
+import net.transferproxy.util.CompressionUtil;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
 
 import static net.transferproxy.util.BufUtil.writeVarInt;
 
-public class BuiltPacketImpl implements BuiltPacket {
+public class BuiltPacketImpl implements BuiltPacket, CompressiblePacket {
 
     private final byte[] data;
+    private volatile CompressedData compressed;
 
     public BuiltPacketImpl(final @NotNull Packet packet) {
         final ByteBuf buf = Unpooled.buffer();
@@ -61,4 +64,13 @@ public class BuiltPacketImpl implements BuiltPacket {
         return buf;
     }
 
+    @Override
+    public @NotNull CompressedPacket getCompressed(final @NotNull ByteBufAllocator allocator, final int protocol, final int threshold) {
+        CompressedData compressed = this.compressed;
+        if (compressed == null || compressed.threshold() != threshold) {
+            this.compressed = compressed = new CompressedData(threshold, CompressionUtil.compressPacket(this.data, threshold));
+        }
+        return compressed.toPacket(allocator);
+    }
+
 }
\ No newline at end of file
@@ -31,7 +31,9 @@ import io.netty.util.collection.IntObjectMap;
 import net.transferproxy.api.network.packet.Packet;
 import net.transferproxy.api.network.packet.built.ProtocolizedBuiltPacket;
 import net.transferproxy.api.network.protocol.Protocolized;
+import net.transferproxy.network.frame.clientbound.CompressedPacket;
 import net.transferproxy.util.BiIntFunction;
+import net.transferproxy.util.CompressionUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.VisibleForTesting;
 
@@ -41,11 +43,12 @@ import java.util.function.Supplier;
 
 import static net.transferproxy.util.BufUtil.writeVarInt;
 
-public class ProtocolizedBuiltPacketImpl implements ProtocolizedBuiltPacket {
+public class ProtocolizedBuiltPacketImpl implements ProtocolizedBuiltPacket, CompressiblePacket {
 
     private final IntFunction<Packet> packetFactory;
     private final int[] protocols;
     private volatile IntObjectMap<byte[]> dataMap;
+    private volatile IntObjectMap<CompressedData> compressedMap = new IntObjectHashMap<>(2);
     private final boolean lazy;
 
     public ProtocolizedBuiltPacketImpl(final @NotNull Packet packet, final boolean lazy, final int... protocols) {
@@ -90,6 +93,32 @@ public class ProtocolizedBuiltPacketImpl implements ProtocolizedBuiltPacket {
 
     @Override
     public ByteBuf get(final @NotNull ByteBufAllocator allocator, final int protocol) {
+        final byte[] data = this.getBytes(allocator, protocol);
+        final ByteBuf buf = allocator.buffer(data.length, data.length);
+        buf.writeBytes(data);
+        return buf;
+    }
+
+    @Override
+    public @NotNull CompressedPacket getCompressed(final @NotNull ByteBufAllocator allocator, final int protocol, final int threshold) {
+        CompressedData compressed = this.compressedMap.get(protocol);
+        if (compressed == null || compressed.threshold() != threshold) {
+            final byte[] data = this.getBytes(allocator, protocol);
+            synchronized (this) {
+                final IntObjectMap<CompressedData> localMap = this.compressedMap;
+                compressed = localMap.get(protocol);
+                if (compressed == null || compressed.threshold() != threshold) {
+                    compressed = new CompressedData(threshold, CompressionUtil.compressPacket(data, threshold));
+                    final IntObjectMap<CompressedData> newMap = copyOf(localMap);
+                    newMap.put(protocol, compressed);
+                    this.compressedMap = newMap;
+                }
+            }
+        }
+        return compressed.toPacket(allocator);
+    }
+
+    private byte[] getBytes(final @NotNull ByteBufAllocator allocator, final int protocol) {
         IntObjectMap<byte[]> localMap = this.dataMap;
         byte[] data = localMap.get(protocol);
         if (data == null) {
@@ -119,10 +148,7 @@ public class ProtocolizedBuiltPacketImpl implements ProtocolizedBuiltPacket {
                 }
             }
         }
-
-        final ByteBuf buf = allocator.buffer(data.length, data.length);
-        buf.writeBytes(data);
-        return buf;
+        return data;
     }
 
     private int findLow(final int protocol) {
@@ -167,9 +193,9 @@ public class ProtocolizedBuiltPacketImpl implements ProtocolizedBuiltPacket {
         return false;
     }
 
-    private static IntObjectMap<byte[]> copyOf(final IntObjectMap<byte[]> source) {
-        final IntObjectMap<byte[]> copy = new IntObjectHashMap<>(source.size() + 1);
-        for (final IntObjectMap.PrimitiveEntry<byte[]> entry : source.entries()) {
+    private static <T> IntObjectMap<T> copyOf(final IntObjectMap<T> source) {
+        final IntObjectMap<T> copy = new IntObjectHashMap<>(source.size() + 1);
+        for (final IntObjectMap.PrimitiveEntry<T> entry : source.entries()) {
             copy.put(entry.key(), entry.value());
         }
         return copy;
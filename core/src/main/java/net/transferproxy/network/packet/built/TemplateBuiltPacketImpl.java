@@ -0,0 +1,209 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.network.packet.built;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import net.transferproxy.api.network.packet.built.ProtocolizedBuiltPacket;
+import net.transferproxy.api.network.packet.built.TemplateBuiltPacket;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+import static net.transferproxy.util.BufUtil.getVarIntSize;
+import static net.transferproxy.util.BufUtil.writeVarInt;
+
+/**
+ * A {@link TemplateBuiltPacket} for packets made of a single JSON string.
+ * <p>
+ * The JSON is serialized once for each protocol with a sentinel number in place of each field, then split around
+ * the sentinels. The constant segments are kept as shared read-only buffers, and each sent packet is a
+ * {@link CompositeByteBuf} of these segments with a small buffer holding the packet header and the field values.
+ */
+public class TemplateBuiltPacketImpl implements TemplateBuiltPacket {
+
+    private final int packetId;
+    private final int fieldCount;
+    private final int[] protocols;
+    private final Template[] templates;
+
+    /**
+     * @param packetId The id of the packet
+     * @param jsonFactory The function creating the JSON for a protocol, with the sentinels in place of the fields
+     * @param sentinels The sentinel of each field, they must appear at most once as a number in the JSON. The value of
+     * a field whose sentinel does not appear is not written
+     * @param protocols The protocols for which the JSON is different
+     */
+    public TemplateBuiltPacketImpl(final int packetId,
+                                   final @NotNull IntFunction<String> jsonFactory,
+                                   final int @NotNull [] sentinels,
+                                   final int... protocols) {
+        Objects.requireNonNull(jsonFactory, "jsonFactory must not be null");
+        this.packetId = packetId;
+        this.fieldCount = Objects.requireNonNull(sentinels, "sentinels must not be null").length;
+        this.protocols = Objects.requireNonNull(protocols, "protocols must not be null").clone();
+        if (protocols.length == 0) {
+            throw new IllegalArgumentException("Protocols must not be empty");
+        }
+        this.templates = new Template[protocols.length];
+        for (int i = 0; i < protocols.length; i++) {
+            this.templates[i] = Template.split(jsonFactory.apply(protocols[i]), sentinels);
+        }
+    }
+
+    @Override
+    public int getFieldCount() {
+        return this.fieldCount;
+    }
+
+    @Override
+    public @NotNull ProtocolizedBuiltPacket bind(final int @NotNull ... values) {
+        if (Objects.requireNonNull(values, "values must not be null").length != this.fieldCount) {
+            throw new IllegalArgumentException("Expected " + this.fieldCount + " values, got " + values.length);
+        }
+        return new Bound(this, values.clone());
+    }
+
+    ByteBuf get(final @NotNull ByteBufAllocator allocator, final int protocol, final int @NotNull [] values) {
+        final Template template = this.templates[this.findIndex(protocol)];
+        final int[] fields = template.fields();
+        final ByteBuf[] segments = template.segments();
+
+        final String[] texts = new String[fields.length];
+        int jsonLength = template.constantLength();
+        for (int i = 0; i < fields.length; i++) {
+            texts[i] = Integer.toString(values[fields[i]]);
+            jsonLength += texts[i].length();
+        }
+
+        // The header and the values are written in one small buffer, sliced between the shared segments
+        final ByteBuf patch = allocator.buffer(getVarIntSize(this.packetId) + getVarIntSize(jsonLength) + 11 * fields.length);
+        final CompositeByteBuf buf = allocator.compositeBuffer(segments.length + fields.length + 1);
+        try {
+            writeVarInt(patch, this.packetId);
+            writeVarInt(patch, jsonLength);
+            buf.addComponent(true, patch.retainedSlice());
+            for (int i = 0; i < fields.length; i++) {
+                addSegment(buf, segments[i]);
+                final int index = patch.writerIndex();
+                patch.writeCharSequence(texts[i], StandardCharsets.US_ASCII);
+                buf.addComponent(true, patch.retainedSlice(index, patch.writerIndex() - index));
+            }
+            addSegment(buf, segments[fields.length]);
+        } catch (final Throwable throwable) {
+            buf.release();
+            throw throwable;
+        } finally {
+            patch.release();
+        }
+        return buf;
+    }
+
+    private int findIndex(final int protocol) {
+        int index = 0;
+        for (int i = 0; i < this.protocols.length; i++) {
+            if (this.protocols[i] <= protocol && this.protocols[i] > this.protocols[index]) {
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    private static void addSegment(final @NotNull CompositeByteBuf buf, final @NotNull ByteBuf segment) {
+        if (segment.isReadable()) {
+            buf.addComponent(true, segment.duplicate());
+        }
+    }
+
+    private record Template(ByteBuf[] segments, int[] fields, int constantLength) {
+
+        private static @NotNull Template split(final @NotNull String json, final int @NotNull [] sentinels) {
+            // Find the position of each sentinel, sorted by position
+            long[] holes = new long[sentinels.length];
+            int holeCount = 0;
+            for (int field = 0; field < sentinels.length; field++) {
+                final String sentinel = Integer.toString(sentinels[field]);
+                final int position = findNumber(json, sentinel, 0);
+                if (position < 0) {
+                    continue;
+                }
+                if (findNumber(json, sentinel, position + 1) >= 0) {
+                    throw new IllegalArgumentException("Sentinel " + sentinel + " must appear at most once in the JSON");
+                }
+                holes[holeCount++] = (long) position << 32 | field;
+            }
+            holes = Arrays.copyOf(holes, holeCount);
+            Arrays.sort(holes);
+
+            final ByteBuf[] segments = new ByteBuf[holes.length + 1];
+            final int[] fields = new int[holes.length];
+            int constantLength = 0;
+            int start = 0;
+            for (int i = 0; i <= holes.length; i++) {
+                final int end = i < holes.length ? (int) (holes[i] >>> 32) : json.length();
+                final byte[] bytes = json.substring(start, end).getBytes(StandardCharsets.UTF_8);
+                segments[i] = Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(bytes).asReadOnly());
+                constantLength += bytes.length;
+                if (i < holes.length) {
+                    fields[i] = (int) holes[i];
+                    start = end + Integer.toString(sentinels[fields[i]]).length();
+                }
+            }
+            return new Template(segments, fields, constantLength);
+        }
+
+        private static int findNumber(final @NotNull String json, final @NotNull String number, int from) {
+            // The match must not be a part of a longer number
+            while ((from = json.indexOf(number, from)) >= 0) {
+                final int end = from + number.length();
+                if ((from == 0 || !isNumberChar(json.charAt(from - 1))) && (end == json.length() || !isNumberChar(json.charAt(end)))) {
+                    return from;
+                }
+                from++;
+            }
+            return -1;
+        }
+
+        private static boolean isNumberChar(final char c) {
+            return c >= '0' && c <= '9' || c == '-' || c == '.';
+        }
+
+    }
+
+    private record Bound(TemplateBuiltPacketImpl template, int[] values) implements ProtocolizedBuiltPacket {
+
+        @Override
+        public ByteBuf get(final @NotNull ByteBufAllocator allocator, final int protocol) {
+            return this.template.get(allocator, protocol, this.values);
+        }
+
+    }
+
+}
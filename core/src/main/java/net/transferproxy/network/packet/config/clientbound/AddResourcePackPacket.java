@@ -24,7 +24,6 @@
 
 package net.transferproxy.network.packet.config.clientbound;
 
-import com.google.gson.JsonElement;
 import io.netty.buffer.ByteBuf;
 import net.kyori.adventure.text.Component;
 import net.transferproxy.api.network.connection.PlayerConnection;
@@ -46,8 +45,7 @@ public record AddResourcePackPacket(UUID uuid, String url, String hash, boolean
                 readString(buf, 40),
                 buf.readBoolean(),
                 buf.readBoolean() ?
-                        ComponentProtocolUtil.getSerializer(connection.getProtocol())
-                                .deserializeFromTree(NBTUtil.deserialize(readTag(buf))) :
+                        NBTUtil.readComponent(buf, ComponentProtocolUtil.getSerializer(connection.getProtocol())) :
                         null);
     }
 
@@ -59,8 +57,7 @@ public record AddResourcePackPacket(UUID uuid, String url, String hash, boolean
         buf.writeBoolean(this.forced);
         if (this.promptMessage != null) {
             buf.writeBoolean(true);
-            final JsonElement tree = ComponentProtocolUtil.getSerializer(protocolized.getProtocol()).serializeToTree(this.promptMessage);
-            writeTag(buf, NBTUtil.serialize(tree));
+            NBTUtil.writeComponent(buf, ComponentProtocolUtil.getSerializer(protocolized.getProtocol()), this.promptMessage);
             return;
         }
         buf.writeBoolean(false);
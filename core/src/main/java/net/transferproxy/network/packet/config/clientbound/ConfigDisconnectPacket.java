@@ -24,26 +24,23 @@
 
 package net.transferproxy.network.packet.config.clientbound;
 
-import com.google.gson.JsonElement;
 import io.netty.buffer.ByteBuf;
 import net.kyori.adventure.text.Component;
 import net.transferproxy.api.network.packet.Packet;
 import net.transferproxy.api.network.protocol.Protocolized;
 import net.transferproxy.api.util.ComponentProtocolUtil;
-import net.transferproxy.util.BufUtil;
 import net.transferproxy.util.NBTUtil;
 import org.jetbrains.annotations.NotNull;
 
 public record ConfigDisconnectPacket(Component component) implements Packet {
 
     public ConfigDisconnectPacket(final int protocol, final @NotNull ByteBuf buf) {
-        this(ComponentProtocolUtil.getSerializer(protocol).deserializeFromTree(NBTUtil.deserialize(BufUtil.readTag(buf))));
+        this(NBTUtil.readComponent(buf, ComponentProtocolUtil.getSerializer(protocol)));
     }
 
     @Override
     public void write(final @NotNull Protocolized protocolized, final @NotNull ByteBuf buf) {
-        final JsonElement tree = ComponentProtocolUtil.getSerializer(protocolized.getProtocol()).serializeToTree(this.component);
-        BufUtil.writeTag(buf, NBTUtil.serialize(tree));
+        NBTUtil.writeComponent(buf, ComponentProtocolUtil.getSerializer(protocolized.getProtocol()), this.component);
     }
 
     @Override
@@ -25,15 +25,16 @@
 package net.transferproxy.network.packet.config.serverbound;
 
 import io.netty.buffer.ByteBuf;
-import net.transferproxy.api.TransferProxy;
 import net.transferproxy.api.event.EventType;
 import net.transferproxy.api.network.connection.PlayerConnection;
 import net.transferproxy.api.network.packet.serverbound.ServerboundPacket;
+import net.transferproxy.api.network.protocol.ProtocolVersion;
 import net.transferproxy.api.network.protocol.Protocolized;
 import net.transferproxy.api.profile.ChatVisibility;
 import net.transferproxy.api.profile.ClientInformation;
 import net.transferproxy.api.profile.MainHand;
 import net.transferproxy.api.profile.ParticleStatus;
+import net.transferproxy.util.EventUtil;
 import org.jetbrains.annotations.NotNull;
 
 import static net.transferproxy.util.BufUtil.*;
@@ -55,6 +56,10 @@ public record ClientInformationPacket(String locale, byte viewDistance, ChatVisi
     }
 
     public ClientInformationPacket(final @NotNull PlayerConnection connection, final @NotNull ByteBuf buf) {
+        this(buf, ProtocolVersion.V1_21_2.isSupportedBy(connection.getProtocol()));
+    }
+
+    public ClientInformationPacket(final @NotNull ByteBuf buf, final boolean particleStatus) {
         this(readString(buf, 16),
                 buf.readByte(),
                 ChatVisibility.fromId(readVarInt(buf)),
@@ -63,13 +68,18 @@ public record ClientInformationPacket(String locale, byte viewDistance, ChatVisi
                 MainHand.fromId(readVarInt(buf)),
                 buf.readBoolean(),
                 buf.readBoolean(),
-                connection.getProtocol() >= 768 ? ParticleStatus.fromId(readVarInt(buf)) : null); // 768 = 1.21.1
+                particleStatus ? ParticleStatus.fromId(readVarInt(buf)) : null);
     }
 
     @Override
     public void handle(final @NotNull PlayerConnection connection) {
         connection.setInformation(this);
-        TransferProxy.getInstance().getModuleManager().getEventManager().call(EventType.READY, connection);
+        // A player with a committed route is already transferred or waiting
+        if (connection.getCommittedRoute() != null) {
+            return;
+        }
+        // Nothing to resume, but a failing asynchronous listener still closes the connection
+        EventUtil.call(connection, EventType.READY, connection);
     }
 
     @Override
@@ -82,7 +92,7 @@ public record ClientInformationPacket(String locale, byte viewDistance, ChatVisi
         writeVarInt(buf, this.mainHand.ordinal());
         buf.writeBoolean(this.enableTextFiltering);
         buf.writeBoolean(this.allowServerListing);
-        if (protocolized.getProtocol() >= 768) { // 768 = 1.21.1
+        if (ProtocolVersion.V1_21_2.isSupportedBy(protocolized.getProtocol())) {
             writeVarInt(buf, this.particleStatus.getId());
         }
     }
@@ -35,6 +35,7 @@ import net.transferproxy.api.network.connection.PlayerConnection;
 import net.transferproxy.api.network.packet.Packet;
 import net.transferproxy.api.network.packet.built.ProtocolizedBuiltPacket;
 import net.transferproxy.api.network.packet.serverbound.ServerboundPacket;
+import net.transferproxy.api.network.protocol.ProtocolVersion;
 import net.transferproxy.api.network.protocol.Protocolized;
 import net.transferproxy.api.util.ComponentProtocolUtil;
 import net.transferproxy.network.packet.built.ProtocolizedBuiltPacketImpl;
@@ -57,7 +58,7 @@ public record HandshakePacket(int protocol, String hostname, int hostPort, Conne
         connection.setHost(this.hostname, this.hostPort);
         connection.setState(this.nextState);
         final TransferProxy proxy = TransferProxy.getInstance();
-        if (this.nextState.isLogin() && this.protocol < 766) {
+        if (this.nextState.isLogin() && !ProtocolVersion.getOldest().isSupportedBy(this.protocol)) {
             final ProxyConfiguration.Miscellaneous config = proxy.getConfiguration().getMiscellaneous();
             if (config.isKickOldProtocol()) {
                 connection.sendPacketAndClose(getKickPacket());
@@ -65,6 +66,11 @@ public record HandshakePacket(int protocol, String hostname, int hostPort, Conne
             }
         }
 
+        // Throttled status pings must not reach the plugins
+        if (this.nextState == ConnectionState.STATUS && proxy.getModuleManager().getStatusManager().isThrottled(connection)) {
+            return;
+        }
+
         proxy.getModuleManager().getEventManager().call(EventType.HANDSHAKE, connection);
     }
 
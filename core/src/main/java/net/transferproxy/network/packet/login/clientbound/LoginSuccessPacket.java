@@ -27,6 +27,7 @@ package net.transferproxy.network.packet.login.clientbound;
 import io.netty.buffer.ByteBuf;
 import net.transferproxy.api.network.connection.PlayerConnection;
 import net.transferproxy.api.network.packet.Packet;
+import net.transferproxy.api.network.protocol.ProtocolVersion;
 import net.transferproxy.api.network.protocol.Protocolized;
 import net.transferproxy.api.profile.Property;
 import org.jetbrains.annotations.NotNull;
@@ -46,7 +47,7 @@ public record LoginSuccessPacket(UUID uuid, String username, Property[] properti
                         Property[]::new,
                         sub -> new Property(readString(sub), readString(sub), sub.readBoolean() ? readString(buf) : null),
                         16));
-        if (connection.getProtocol() < 768) { // 768 = 1.21.2
+        if (!ProtocolVersion.V1_21_2.isSupportedBy(connection.getProtocol())) {
             buf.readBoolean();
         }
     }
@@ -70,7 +71,7 @@ public record LoginSuccessPacket(UUID uuid, String username, Property[] properti
                 }
             });
         }
-        if (protocolized.getProtocol() < 768) { // 768 = 1.21.2
+        if (!ProtocolVersion.V1_21_2.isSupportedBy(protocolized.getProtocol())) { // Strict error handling
             buf.writeBoolean(true);
         }
     }
@@ -25,10 +25,13 @@
 package net.transferproxy.network.packet.login.serverbound;
 
 import io.netty.buffer.ByteBuf;
+import net.transferproxy.api.TransferProxy;
 import net.transferproxy.api.network.connection.ConnectionState;
 import net.transferproxy.api.network.connection.PlayerConnection;
 import net.transferproxy.api.network.packet.serverbound.ServerboundPacket;
 import net.transferproxy.api.network.protocol.Protocolized;
+import net.transferproxy.api.routing.AdmissionResult;
+import net.transferproxy.api.routing.RouteTarget;
 import org.jetbrains.annotations.NotNull;
 
 public record LoginAcknowledgedPacket() implements ServerboundPacket {
@@ -44,6 +47,11 @@ public record LoginAcknowledgedPacket() implements ServerboundPacket {
             return;
         }
         connection.setState(ConnectionState.CONFIG);
+        final RouteTarget route = connection.getCommittedRoute();
+        // The transfer is sent before the client information, with the cookies stored during the login
+        if (route != null && TransferProxy.getInstance().getModuleManager().getWaitingRoom().admit(connection, route) == AdmissionResult.QUEUED) {
+            connection.getChannel().flush();
+        }
     }
 
     @Override
@@ -31,6 +31,8 @@ import net.transferproxy.api.event.login.PreLoginEvent;
 import net.transferproxy.api.network.connection.PlayerConnection;
 import net.transferproxy.api.network.packet.serverbound.ServerboundPacket;
 import net.transferproxy.api.network.protocol.Protocolized;
+import net.transferproxy.api.routing.RouteTarget;
+import net.transferproxy.util.EventUtil;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.UUID;
@@ -46,11 +48,23 @@ public record LoginStartPacket(String name, UUID uuid) implements ServerboundPac
     @Override
     public void handle(final @NotNull PlayerConnection connection) {
         connection.setProfile(this.name, this.uuid);
-        final PreLoginEvent event = new PreLoginEvent(connection, this.uuid, this.name);
-        TransferProxy.getInstance().getModuleManager().getEventManager().call(EventType.PRE_LOGIN, event);
-        if (event.canSendSuccessPacket()) {
-            connection.sendLoginSuccess(event.getUUID(), event.getUsername());
+        final TransferProxy proxy = TransferProxy.getInstance();
+        final int compressionThreshold = proxy.getConfiguration().getNetwork().getCompressionThreshold();
+        if (compressionThreshold >= 0) {
+            connection.setCompressionThreshold(compressionThreshold);
         }
+        final PreLoginEvent event = new PreLoginEvent(connection, this.uuid, this.name);
+        EventUtil.callAndResume(connection, EventType.PRE_LOGIN, event, () -> {
+            if (event.canSendSuccessPacket()) {
+                if (connection.getCommittedRoute() == null && proxy.getConfiguration().getRouting().isEarlyRouting()) {
+                    final RouteTarget target = proxy.getModuleManager().getRouter().routeEarly(connection);
+                    if (target != null) {
+                        connection.commitRoute(target);
+                    }
+                }
+                connection.sendLoginSuccess(event.getUUID(), event.getUsername());
+            }
+        });
     }
 
     @Override
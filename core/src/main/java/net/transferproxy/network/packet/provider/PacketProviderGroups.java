@@ -25,13 +25,17 @@
 package net.transferproxy.network.packet.provider;
 
 import net.transferproxy.api.network.packet.provider.PacketProviderGroup;
-import net.transferproxy.network.packet.provider.impl.LatestPacketProviderGroup;
+import net.transferproxy.api.network.protocol.ProtocolVersion;
+import net.transferproxy.network.packet.provider.impl.VersionedPacketProviderGroup;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 public final class PacketProviderGroups {
 
-    private static final PacketProviderGroup LATEST_GROUP = new LatestPacketProviderGroup();
+    private static final int OLDEST_PROTOCOL = ProtocolVersion.getOldest().getProtocol();
+    // Dense table indexed by (protocol - OLDEST_PROTOCOL)
+    private static final PacketProviderGroup[] GROUPS = buildGroups();
+    private static final PacketProviderGroup LATEST_GROUP = GROUPS[GROUPS.length - 1];
 
     private PacketProviderGroups() throws IllegalAccessException {
         throw new IllegalAccessException("You cannot instantiate this class");
@@ -39,7 +43,11 @@ public final class PacketProviderGroups {
 
     @Contract(pure = true)
     public static @NotNull PacketProviderGroup determineGroup(final int protocol) {
-        return LATEST_GROUP;
+        final int index = protocol - OLDEST_PROTOCOL;
+        if (index >= GROUPS.length) {
+            return LATEST_GROUP;
+        }
+        return GROUPS[Math.max(index, 0)];
     }
 
     @Contract(pure = true)
@@ -47,4 +55,20 @@ public final class PacketProviderGroups {
         return LATEST_GROUP;
     }
 
-}
\ No newline at end of file
+    private static PacketProviderGroup @NotNull [] buildGroups() {
+        final ProtocolVersion[] versions = ProtocolVersion.values();
+        final PacketProviderGroup[] groups = new PacketProviderGroup[ProtocolVersion.getLatest().getProtocol() - OLDEST_PROTOCOL + 1];
+        int index = 0;
+        PacketProviderGroup current = null;
+        for (final ProtocolVersion version : versions) {
+            final PacketProviderGroup group = new VersionedPacketProviderGroup(version);
+            // Fill the protocols between two releases with the previous release
+            for (final int end = version.getProtocol() - OLDEST_PROTOCOL; index < end; index++) {
+                groups[index] = current;
+            }
+            groups[index++] = current = group;
+        }
+        return groups;
+    }
+
+}
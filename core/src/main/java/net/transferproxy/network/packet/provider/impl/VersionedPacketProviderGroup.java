@@ -27,6 +27,8 @@ package net.transferproxy.network.packet.provider.impl;
 import net.transferproxy.api.network.connection.ConnectionState;
 import net.transferproxy.api.network.packet.provider.PacketProvider;
 import net.transferproxy.api.network.packet.provider.PacketProviderGroup;
+import net.transferproxy.api.network.packet.provider.PacketProviders;
+import net.transferproxy.api.network.protocol.ProtocolVersion;
 import net.transferproxy.network.packet.config.FinishConfigurationPacket;
 import net.transferproxy.network.packet.config.KeepAlivePacket;
 import net.transferproxy.network.packet.config.PluginMessagePacket;
@@ -40,29 +42,29 @@ import net.transferproxy.network.packet.status.serverbound.StatusRequestPacket;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Objects;
+
 import static net.transferproxy.api.network.packet.provider.PacketProviders.newBuilder;
 import static net.transferproxy.api.network.packet.provider.PacketProviders.providers;
 
-public class LatestPacketProviderGroup implements PacketProviderGroup {
+/**
+ * Serverbound packet providers of a single release. The tables are built once, so the packet decoding does not
+ * need to check the protocol version.
+ */
+public class VersionedPacketProviderGroup implements PacketProviderGroup {
 
     private static final PacketProvider[] HANDSHAKE = providers(HandshakePacket::new);
     private static final PacketProvider[] STATUS = providers(StatusRequestPacket::new, PingPongPacket::new);
     private static final PacketProvider[] LOGIN =
             providers(LoginStartPacket::new, null, null, LoginAcknowledgedPacket::new, LoginCookieResponsePacket::new);
-    // @formatter:off
-    private static final PacketProvider[] CONFIG = newBuilder()
-            .put(ClientInformationPacket::new)
-            .putOnlyBuffer(ConfigCookieResponsePacket::new)
-            .putOnlyBuffer(PluginMessagePacket::from)
-            .putOnlyBuffer(FinishConfigurationPacket::new)
-            .putOnlyBuffer(KeepAlivePacket::new)
-            .putNull() // Pong packet
-            .putOnlyBuffer(ResourcePackResponsePacket::new)
-            .putOnlyBuffer(ClientSelectKnownPacksPacket::from)
-            .putNull() // Custom Click Action packet
-            .putOnlyBuffer(AcceptCodeOfConductPacket::new)
-            .build();
-    // @formatter:on
+
+    private final ProtocolVersion version;
+    private final PacketProvider[] config;
+
+    public VersionedPacketProviderGroup(final @NotNull ProtocolVersion version) {
+        this.version = Objects.requireNonNull(version, "version must not be null");
+        this.config = buildConfig(version);
+    }
 
     @Override
     public PacketProvider @Nullable [] getProviders(final @NotNull ConnectionState state) {
@@ -70,9 +72,33 @@ public class LatestPacketProviderGroup implements PacketProviderGroup {
             case HANDSHAKE -> HANDSHAKE;
             case STATUS -> STATUS;
             case LOGIN, TRANSFER -> LOGIN;
-            case CONFIG -> CONFIG;
+            case CONFIG -> this.config;
             default -> null;
         };
     }
 
-}
\ No newline at end of file
+    public @NotNull ProtocolVersion getVersion() {
+        return this.version;
+    }
+
+    private static PacketProvider @NotNull [] buildConfig(final @NotNull ProtocolVersion version) {
+        final boolean particleStatus = ProtocolVersion.V1_21_2.isSupportedBy(version.getProtocol());
+        final PacketProviders.Builder builder = newBuilder()
+                .putOnlyBuffer(buf -> new ClientInformationPacket(buf, particleStatus))
+                .putOnlyBuffer(ConfigCookieResponsePacket::new)
+                .putOnlyBuffer(PluginMessagePacket::from)
+                .putOnlyBuffer(FinishConfigurationPacket::new)
+                .putOnlyBuffer(KeepAlivePacket::new)
+                .putNull() // Pong packet
+                .putOnlyBuffer(ResourcePackResponsePacket::new)
+                .putOnlyBuffer(ClientSelectKnownPacksPacket::from);
+        if (ProtocolVersion.V1_21_6.isSupportedBy(version.getProtocol())) {
+            builder.putNull(); // Custom Click Action packet
+        }
+        if (ProtocolVersion.V1_21_9.isSupportedBy(version.getProtocol())) {
+            builder.putOnlyBuffer(AcceptCodeOfConductPacket::new);
+        }
+        return builder.build();
+    }
+
+}
@@ -24,26 +24,61 @@
 
 package net.transferproxy.network.packet.status.clientbound;
 
+import com.google.gson.Gson;
 import io.netty.buffer.ByteBuf;
 import net.transferproxy.api.network.connection.PlayerConnection;
 import net.transferproxy.api.network.packet.Packet;
+import net.transferproxy.api.network.packet.built.TemplateBuiltPacket;
 import net.transferproxy.api.network.protocol.Protocolized;
 import net.transferproxy.api.status.StatusResponse;
 import net.transferproxy.api.util.ComponentProtocolUtil;
+import net.transferproxy.network.packet.built.TemplateBuiltPacketImpl;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Objects;
+
 import static net.transferproxy.util.BufUtil.readString;
 import static net.transferproxy.util.BufUtil.writeString;
 
 public record StatusResponsePacket(StatusResponse response) implements Packet {
 
+    // Numbers written in place of the template fields, they are not expected in a status response
+    private static final int PROTOCOL_SENTINEL = Integer.MIN_VALUE + 1;
+    private static final int ONLINE_SENTINEL = Integer.MIN_VALUE + 2;
+    private static final int MAX_SENTINEL = Integer.MIN_VALUE + 3;
+
     public StatusResponsePacket(final @NotNull PlayerConnection connection, final @NotNull ByteBuf buf) {
-        this(ComponentProtocolUtil.getSerializer(connection.getProtocol()).serializer().fromJson(readString(buf), StatusResponse.class));
+        this(connection.getProtocol(), buf);
+    }
+
+    public StatusResponsePacket(final int protocol, final @NotNull ByteBuf buf) {
+        this(ComponentProtocolUtil.getSerializer(protocol).serializer().fromJson(readString(buf), StatusResponse.class));
+    }
+
+    /**
+     * Creates a template of the response, with the protocol, the online players and the maximum players as fields.
+     * The fields of a missing version or players object are ignored, the response is serialized as is.
+     */
+    public static @NotNull TemplateBuiltPacket template(final @NotNull StatusResponse response) {
+        Objects.requireNonNull(response, "response must not be null");
+        // Built directly, the builder would require a name and always add the players
+        final StatusResponse.Players players = response.players();
+        final StatusResponse.Version version = response.version();
+        final StatusResponse sentinelResponse = new StatusResponse(response.description(),
+                players != null ? new StatusResponse.Players(MAX_SENTINEL, ONLINE_SENTINEL, players.sample()) : null,
+                version != null ? new StatusResponse.Version(version.name(), PROTOCOL_SENTINEL) : null,
+                response.favicon());
+        return new TemplateBuiltPacketImpl(0x00,
+                protocol -> ComponentProtocolUtil.getSerializer(protocol).serializer().toJson(sentinelResponse),
+                new int[] {PROTOCOL_SENTINEL, ONLINE_SENTINEL, MAX_SENTINEL},
+                ComponentProtocolUtil.getSerializerProtocols());
     }
 
     @Override
     public void write(final @NotNull Protocolized protocolized, final @NotNull ByteBuf buf) {
-        writeString(buf, ComponentProtocolUtil.getSerializer(protocolized.getProtocol()).serializer().toJson(this.response));
+        // Serialized directly into the buffer, dynamic responses do not need an intermediate string
+        final Gson gson = ComponentProtocolUtil.getSerializer(protocolized.getProtocol()).serializer();
+        writeString(buf, Short.MAX_VALUE, writer -> gson.toJson(this.response, StatusResponse.class, writer));
     }
 
     @Override
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.network.query;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.net.InetSocketAddress;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Challenge tokens of the query protocol.
+ * <p>
+ * A token is derived from the client address and the secret of the current generation. The secrets rotate
+ * every {@link #GENERATION_DURATION} milliseconds in a table of two slots, a token stays valid during the
+ * next generation. Nothing is stored per client.
+ * </p>
+ */
+final class QueryChallenges {
+
+    static final long GENERATION_DURATION = 30_000L;
+
+    private final long[] secrets = new long[2];
+    private final long[] generations = {-1L, -1L};
+    private final SecureRandom random = new SecureRandom();
+    private final LongSupplier clock;
+
+    QueryChallenges() {
+        this(System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    QueryChallenges(final @NotNull LongSupplier clock) {
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    }
+
+    int create(final @NotNull InetSocketAddress address) {
+        return token(address, this.secret(this.generation()));
+    }
+
+    boolean verify(final @NotNull InetSocketAddress address, final int token) {
+        final long generation = this.generation();
+        return token == token(address, this.secret(generation)) || token == token(address, this.secret(generation - 1L));
+    }
+
+    private long generation() {
+        return this.clock.getAsLong() / GENERATION_DURATION;
+    }
+
+    private synchronized long secret(final long generation) {
+        final int slot = (int) (generation & 1L);
+        if (this.generations[slot] != generation) {
+            // An old generation is no longer valid, a new secret makes its tokens unusable
+            this.generations[slot] = generation;
+            this.secrets[slot] = this.random.nextLong();
+        }
+        return this.secrets[slot];
+    }
+
+    private static int token(final @NotNull InetSocketAddress address, final long secret) {
+        long hash = secret ^ Arrays.hashCode(address.getAddress().getAddress()) ^ (long) address.getPort() << 32;
+        // Murmur3 finalizer
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return (int) hash;
+    }
+
+}
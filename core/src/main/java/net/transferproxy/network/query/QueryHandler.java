@@ -0,0 +1,200 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.network.query;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.DatagramPacket;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.transferproxy.api.status.StatusResponse;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of the query protocol (GameSpy4) used by monitoring tools.
+ * <p>
+ * The stat replies are encoded from the default status response and cached for {@link #CACHE_DURATION}
+ * milliseconds, a reply only copies the cached bytes after its header.
+ * </p>
+ */
+@ChannelHandler.Sharable
+public final class QueryHandler extends SimpleChannelInboundHandler<DatagramPacket> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryHandler.class);
+
+    static final int MAGIC = 0xFEFD;
+    static final byte TYPE_HANDSHAKE = 9;
+    static final byte TYPE_STAT = 0;
+    private static final long CACHE_DURATION = 1_000L;
+    private static final byte[] FULL_STAT_PADDING = {'s', 'p', 'l', 'i', 't', 'n', 'u', 'm', 0, (byte) 0x80, 0};
+    private static final byte[] PLAYERS_PADDING = {1, 'p', 'l', 'a', 'y', 'e', 'r', '_', 0, 0};
+
+    private final Supplier<StatusResponse> responseSupplier;
+    private final String hostIp;
+    private final int hostPort;
+    private final QueryChallenges challenges;
+    private final LongSupplier clock;
+    private volatile Stats stats;
+
+    public QueryHandler(final @NotNull Supplier<StatusResponse> responseSupplier, final @NotNull String hostIp, final int hostPort) {
+        this(responseSupplier, hostIp, hostPort, new QueryChallenges(), System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    QueryHandler(final @NotNull Supplier<StatusResponse> responseSupplier,
+                 final @NotNull String hostIp,
+                 final int hostPort,
+                 final @NotNull QueryChallenges challenges,
+                 final @NotNull LongSupplier clock) {
+        this.responseSupplier = Objects.requireNonNull(responseSupplier, "responseSupplier must not be null");
+        this.hostIp = Objects.requireNonNull(hostIp, "hostIp must not be null");
+        this.hostPort = hostPort;
+        this.challenges = Objects.requireNonNull(challenges, "challenges must not be null");
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    }
+
+    @Override
+    protected void channelRead0(final @NotNull ChannelHandlerContext ctx, final @NotNull DatagramPacket packet) {
+        final ByteBuf reply = this.handle(ctx, packet.content(), packet.sender());
+        if (reply != null) {
+            ctx.writeAndFlush(new DatagramPacket(reply, packet.sender()));
+        }
+    }
+
+    @Override
+    public void exceptionCaught(final @NotNull ChannelHandlerContext ctx, final @NotNull Throwable cause) {
+        // A malformed datagram must not close the shared channel
+        LOGGER.debug("Failed to handle query packet", cause);
+    }
+
+    @VisibleForTesting
+    ByteBuf handle(final @NotNull ChannelHandlerContext ctx, final @NotNull ByteBuf in, final @NotNull InetSocketAddress sender) {
+        if (in.readableBytes() < 7 || in.readUnsignedShort() != MAGIC) {
+            return null;
+        }
+        final byte type = in.readByte();
+        final int sessionId = in.readInt();
+        if (type == TYPE_HANDSHAKE) {
+            final ByteBuf reply = ctx.alloc().buffer(16);
+            reply.writeByte(TYPE_HANDSHAKE).writeInt(sessionId);
+            writeString(reply, Integer.toString(this.challenges.create(sender)));
+            return reply;
+        }
+        if (type != TYPE_STAT || in.readableBytes() < 4 || !this.challenges.verify(sender, in.readInt())) {
+            return null;
+        }
+        // The full stat request has 4 padding bytes after the token
+        final Stats stats = this.getStats();
+        final byte[] body = in.readableBytes() >= 4 ? stats.full() : stats.basic();
+        return ctx.alloc().buffer(5 + body.length).writeByte(TYPE_STAT).writeInt(sessionId).writeBytes(body);
+    }
+
+    private @NotNull Stats getStats() {
+        final long now = this.clock.getAsLong();
+        Stats stats = this.stats;
+        if (stats == null || now - stats.time() >= CACHE_DURATION) {
+            this.stats = stats = this.encode(this.responseSupplier.get(), now);
+        }
+        return stats;
+    }
+
+    private @NotNull Stats encode(final @NotNull StatusResponse response, final long now) {
+        final Component description = response.description();
+        final String motd = description != null ? LegacyComponentSerializer.legacySection().serialize(description) : "";
+        final StatusResponse.Players players = response.players();
+        final String online = Integer.toString(players != null ? players.online() : 0);
+        final String max = Integer.toString(players != null ? players.max() : 0);
+        final String version = response.version() != null ? response.version().name() : "";
+
+        final ByteBuf basic = Unpooled.buffer();
+        final ByteBuf full = Unpooled.buffer();
+        try {
+            writeString(basic, motd);
+            writeString(basic, "SMP");
+            writeString(basic, "world");
+            writeString(basic, online);
+            writeString(basic, max);
+            basic.writeShortLE(this.hostPort);
+            writeString(basic, this.hostIp);
+
+            full.writeBytes(FULL_STAT_PADDING);
+            writeEntry(full, "hostname", motd);
+            writeEntry(full, "gametype", "SMP");
+            writeEntry(full, "game_id", "MINECRAFT");
+            writeEntry(full, "version", version);
+            writeEntry(full, "plugins", "");
+            writeEntry(full, "map", "world");
+            writeEntry(full, "numplayers", online);
+            writeEntry(full, "maxplayers", max);
+            writeEntry(full, "hostport", Integer.toString(this.hostPort));
+            writeEntry(full, "hostip", this.hostIp);
+            full.writeByte(0);
+            full.writeBytes(PLAYERS_PADDING);
+            if (players != null && players.sample() != null) {
+                for (final StatusResponse.Players.SampleEntry entry : players.sample()) {
+                    writeString(full, entry.name());
+                }
+            }
+            full.writeByte(0);
+            return new Stats(now, toArray(basic), toArray(full));
+        } finally {
+            basic.release();
+            full.release();
+        }
+    }
+
+    private static void writeEntry(final @NotNull ByteBuf buf, final @NotNull String key, final @NotNull String value) {
+        writeString(buf, key);
+        writeString(buf, value);
+    }
+
+    private static void writeString(final @NotNull ByteBuf buf, final @NotNull String string) {
+        buf.writeCharSequence(string, StandardCharsets.UTF_8);
+        buf.writeByte(0);
+    }
+
+    private static byte @NotNull [] toArray(final @NotNull ByteBuf buf) {
+        final byte[] array = new byte[buf.readableBytes()];
+        buf.readBytes(array);
+        return array;
+    }
+
+    private record Stats(long time, byte[] basic, byte[] full) {
+
+    }
+
+}
@@ -0,0 +1,279 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import net.transferproxy.api.network.connection.PlayerConnection;
+import net.transferproxy.api.routing.AdmissionResult;
+import net.transferproxy.api.routing.RouteTarget;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Queue of the players waiting for a same server, released by a token bucket.
+ * <p>
+ * The tickets of each lane are linked together, so adding, releasing and removing a player never copies nor scans
+ * the queue. Only the position lookups walk the lanes.
+ * </p>
+ */
+final class AdmissionQueue {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0D;
+
+    private final double rate;
+    private final double burst;
+    private final int capacity;
+    private final Ticket[] heads;
+    private final Ticket[] tails;
+    private final int[] laneSizes;
+    private int size;
+    private double tokens;
+    private long refillTime;
+    private boolean closed;
+
+    /**
+     * @param rate The number of players released per second
+     * @param burst The number of players that can be released at once
+     * @param capacity The maximum number of waiting players, 0 for no limit
+     * @param lanes The number of priority lanes
+     * @param now The current time in nanoseconds
+     */
+    AdmissionQueue(final int rate, final int burst, final int capacity, final int lanes, final long now) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        if (lanes <= 0) {
+            throw new IllegalArgumentException("lanes must be positive");
+        }
+        this.rate = rate / NANOS_PER_SECOND;
+        this.burst = Math.max(1, burst);
+        this.capacity = Math.max(0, capacity);
+        this.heads = new Ticket[lanes];
+        this.tails = new Ticket[lanes];
+        this.laneSizes = new int[lanes];
+        this.tokens = this.burst;
+        this.refillTime = now;
+    }
+
+    /**
+     * Take a token if nobody is waiting, the player can then be transferred immediately.
+     *
+     * @param now The current time in nanoseconds
+     *
+     * @return {@code true} if the player can be transferred
+     */
+    synchronized boolean tryAcquire(final long now) {
+        this.refill(now);
+        // The tokens of a closed queue belong to the queue replacing it
+        if (!this.closed && this.size == 0 && this.tokens >= 1.0D) {
+            this.tokens -= 1.0D;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Transfer the player immediately if possible, otherwise add it at the end of its lane.
+     *
+     * @param ticket The ticket of the player, created for this queue
+     * @param now The current time in nanoseconds
+     *
+     * @return the admission result, the caller transfers or disconnects the player. {@code null} if the queue is
+     * closed, the caller then retries with a new queue
+     */
+    synchronized @Nullable AdmissionResult offer(final @NotNull Ticket ticket, final long now) {
+        if (ticket.queue != this) {
+            throw new IllegalArgumentException("Ticket was created for another queue");
+        }
+        if (this.closed) {
+            return null;
+        }
+        if (this.tryAcquire(now)) {
+            return AdmissionResult.TRANSFERRED;
+        }
+        if (this.capacity > 0 && this.size >= this.capacity) {
+            return AdmissionResult.REJECTED;
+        }
+        final int lane = ticket.lane;
+        final Ticket tail = this.tails[lane];
+        ticket.previous = tail;
+        if (tail == null) {
+            this.heads[lane] = ticket;
+        } else {
+            tail.next = ticket;
+        }
+        this.tails[lane] = ticket;
+        ticket.linked = true;
+        this.laneSizes[lane]++;
+        this.size++;
+        return AdmissionResult.QUEUED;
+    }
+
+    /**
+     * Remove a waiting player.
+     *
+     * @param ticket The ticket of the player
+     *
+     * @return {@code true} if the player was waiting
+     */
+    synchronized boolean remove(final @NotNull Ticket ticket) {
+        if (ticket.queue != this || !ticket.linked) {
+            return false;
+        }
+        this.unlink(ticket);
+        return true;
+    }
+
+    /**
+     * Release the players allowed by the tokens, the first lanes first.
+     *
+     * @param now The current time in nanoseconds
+     * @param released The list receiving the released tickets
+     */
+    synchronized void poll(final long now, final @NotNull List<Ticket> released) {
+        this.refill(now);
+        int lane = 0;
+        while (this.size > 0 && this.tokens >= 1.0D) {
+            while (this.heads[lane] == null) {
+                lane++;
+            }
+            final Ticket ticket = this.heads[lane];
+            this.unlink(ticket);
+            this.tokens -= 1.0D;
+            released.add(ticket);
+        }
+    }
+
+    /**
+     * Copy the waiting players in their release order.
+     *
+     * @param waiting The list receiving the tickets
+     */
+    synchronized void snapshot(final @NotNull List<Ticket> waiting) {
+        for (final Ticket head : this.heads) {
+            for (Ticket ticket = head; ticket != null; ticket = ticket.next) {
+                waiting.add(ticket);
+            }
+        }
+    }
+
+    /**
+     * Get the position of a player, counting the players of the previous lanes.
+     *
+     * @param ticket The ticket of the player
+     *
+     * @return the position starting from 1, or -1 if the player is not waiting
+     */
+    synchronized int getPosition(final @NotNull Ticket ticket) {
+        if (ticket.queue != this || !ticket.linked) {
+            return -1;
+        }
+        int position = 1;
+        for (int i = 0; i < ticket.lane; i++) {
+            position += this.laneSizes[i];
+        }
+        for (Ticket previous = ticket.previous; previous != null; previous = previous.previous) {
+            position++;
+        }
+        return position;
+    }
+
+    synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * Close the queue if it is equivalent to a new one: nobody is waiting and the tokens are refilled.
+     * A closed queue does not accept new players.
+     *
+     * @param now The current time in nanoseconds
+     *
+     * @return {@code true} if the queue is closed
+     */
+    synchronized boolean closeIfIdle(final long now) {
+        this.refill(now);
+        if (this.size == 0 && this.tokens >= this.burst) {
+            this.closed = true;
+        }
+        return this.closed;
+    }
+
+    private void unlink(final @NotNull Ticket ticket) {
+        final int lane = ticket.lane;
+        final Ticket previous = ticket.previous;
+        final Ticket next = ticket.next;
+        if (previous == null) {
+            this.heads[lane] = next;
+        } else {
+            previous.next = next;
+        }
+        if (next == null) {
+            this.tails[lane] = previous;
+        } else {
+            next.previous = previous;
+        }
+        ticket.previous = null;
+        ticket.next = null;
+        ticket.linked = false;
+        this.laneSizes[lane]--;
+        this.size--;
+    }
+
+    private void refill(final long now) {
+        final long elapsed = now - this.refillTime;
+        if (elapsed > 0L) {
+            this.tokens = Math.min(this.burst, this.tokens + elapsed * this.rate);
+            this.refillTime = now;
+        }
+    }
+
+    /**
+     * A player waiting in a queue. The links are guarded by the lock of the queue.
+     */
+    static final class Ticket {
+
+        final PlayerConnection connection;
+        final RouteTarget target;
+        final AdmissionQueue queue;
+        final int lane;
+        private Ticket previous;
+        private Ticket next;
+        private boolean linked;
+
+        Ticket(final @NotNull PlayerConnection connection,
+               final @NotNull RouteTarget target,
+               final @NotNull AdmissionQueue queue,
+               final int lane) {
+            this.connection = Objects.requireNonNull(connection, "connection must not be null");
+            this.target = Objects.requireNonNull(target, "target must not be null");
+            this.queue = Objects.requireNonNull(queue, "queue must not be null");
+            this.lane = lane;
+        }
+
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import net.transferproxy.api.routing.RouteTarget;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A server of one or more pools, with the last load it reported.
+ * <p>
+ * The load slot is updated without lock by the report listener and by the selections: each player sent to the
+ * server is counted until the next report replaces the load.
+ * </p>
+ */
+final class Backend {
+
+    private final RouteTarget target;
+    private final int weight;
+    private final AtomicInteger load = new AtomicInteger();
+    private volatile long reportTime = Long.MIN_VALUE;
+    private volatile boolean available = true;
+    // Smoothed status ping latency in nanoseconds, -1 before the first successful check
+    private volatile long latency = -1L;
+    // Consecutive check results, only updated by the health checker under the lock of this backend
+    private int successes;
+    private int failures;
+
+    Backend(final @NotNull RouteTarget target, final int weight) {
+        this.target = Objects.requireNonNull(target, "target must not be null");
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight of " + target.host() + ":" + target.port() + " must be positive");
+        }
+        this.weight = weight;
+    }
+
+    void report(final int load, final long now) {
+        this.load.set(Math.max(load, 0));
+        this.reportTime = now;
+    }
+
+    void countTransfer() {
+        this.load.incrementAndGet();
+    }
+
+    /**
+     * Keep the load of the same server from a previous routing table.
+     *
+     * @param previous The backend of the previous table
+     */
+    void inherit(final @NotNull Backend previous) {
+        this.load.set(previous.load.get());
+        this.reportTime = previous.reportTime;
+        synchronized (previous) {
+            this.available = previous.available;
+            this.latency = previous.latency;
+            this.successes = previous.successes;
+            this.failures = previous.failures;
+        }
+    }
+
+    /**
+     * Record the result of a health check. The availability only changes after {@code rise} consecutive successes
+     * or {@code fall} consecutive failures, so a single lost ping does not remove the backend.
+     *
+     * @param success {@code true} if the backend answered
+     * @param latency The ping latency in nanoseconds, ignored on failure
+     * @param rise The number of successes to become available
+     * @param fall The number of failures to become unavailable
+     *
+     * @return {@code true} if the availability changed
+     */
+    synchronized boolean recordCheck(final boolean success, final long latency, final int rise, final int fall) {
+        if (success) {
+            this.failures = 0;
+            final long previous = this.latency;
+            this.latency = previous < 0L ? latency : previous + (latency - previous) / 4L;
+            if (!this.available && ++this.successes >= rise) {
+                this.successes = 0;
+                this.available = true;
+                return true;
+            }
+            return false;
+        }
+        this.successes = 0;
+        if (this.available && ++this.failures >= fall) {
+            this.failures = 0;
+            this.available = false;
+            return true;
+        }
+        return false;
+    }
+
+    long getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * Get the load, halved for each stale period elapsed since the last report.
+     *
+     * @param now The current time in milliseconds
+     * @param staleAfter The duration of a stale period in milliseconds
+     *
+     * @return the estimated load
+     */
+    int getLoad(final long now, final long staleAfter) {
+        final int load = this.load.get();
+        final long reportTime = this.reportTime;
+        if (reportTime == Long.MIN_VALUE) {
+            return load;
+        }
+        final long periods = (now - reportTime) / staleAfter;
+        return periods <= 0L ? load : periods >= Integer.SIZE ? 0 : load >>> periods;
+    }
+
+    /**
+     * Get whether the backend can receive players. An unavailable backend is skipped when another one can be chosen.
+     *
+     * @return {@code true} if the backend is available
+     */
+    boolean isAvailable() {
+        return this.available;
+    }
+
+    void setAvailable(final boolean available) {
+        this.available = available;
+    }
+
+    @NotNull RouteTarget getTarget() {
+        return this.target;
+    }
+
+    int getWeight() {
+        return this.weight;
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import net.transferproxy.api.network.connection.PlayerConnection;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of equivalent servers. A selection allocates nothing, so it can run on the event loop for each transfer.
+ */
+final class BackendPool {
+
+    private final String name;
+    private final BalanceStrategy strategy;
+    private final Backend[] backends;
+    // Cumulative weights, used to pick a weighted random backend with a binary search
+    private final int[] cumulativeWeights;
+    private final long staleAfter;
+    // Only built for the consistent hash strategy
+    private final HashRing ring;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    BackendPool(final @NotNull String name,
+                final @NotNull BalanceStrategy strategy,
+                final @NotNull List<Backend> backends,
+                final long staleAfter) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.strategy = Objects.requireNonNull(strategy, "strategy must not be null");
+        if (backends.isEmpty()) {
+            throw new IllegalArgumentException("Pool " + name + " has no server");
+        }
+        if (staleAfter <= 0L) {
+            throw new IllegalArgumentException("staleAfter must be positive");
+        }
+        this.backends = backends.toArray(new Backend[0]);
+        this.cumulativeWeights = new int[this.backends.length];
+        long total = 0L;
+        for (int i = 0; i < this.backends.length; i++) {
+            total += this.backends[i].getWeight();
+            if (total > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Total weight of pool " + name + " is too large");
+            }
+            this.cumulativeWeights[i] = (int) total;
+        }
+        this.staleAfter = staleAfter;
+        this.ring = strategy == BalanceStrategy.CONSISTENT_HASH ? new HashRing(this.backends) : null;
+    }
+
+    @NotNull Backend select(final @NotNull PlayerConnection connection) {
+        return this.select(connection, System.currentTimeMillis());
+    }
+
+    @NotNull Backend select(final @NotNull PlayerConnection connection, final long now) {
+        return switch (this.strategy) {
+            case ROUND_ROBIN -> this.nextAvailable(Math.floorMod(this.counter.getAndIncrement(), this.backends.length));
+            case WEIGHTED -> this.selectWeighted();
+            case LEAST_LOAD -> this.selectLeastLoad(now);
+            case CONSISTENT_HASH -> this.selectConsistent(connection);
+        };
+    }
+
+    private @NotNull Backend selectWeighted() {
+        final int[] cumulativeWeights = this.cumulativeWeights;
+        final int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        final int index = Arrays.binarySearch(cumulativeWeights, value + 1);
+        return this.nextAvailable(index >= 0 ? index : -index - 1);
+    }
+
+    /**
+     * Get the first available backend from an index, or the backend at this index if none is available.
+     */
+    private @NotNull Backend nextAvailable(final int start) {
+        final Backend[] backends = this.backends;
+        for (int i = 0; i < backends.length; i++) {
+            final Backend backend = backends[(start + i) % backends.length];
+            if (backend.isAvailable()) {
+                return backend;
+            }
+        }
+        return backends[start];
+    }
+
+    private @NotNull Backend selectLeastLoad(final long now) {
+        final Backend[] backends = this.backends;
+        final int length = backends.length;
+        // Start from a rotating index, so equal loads are spread instead of always choosing the first server
+        final int start = Math.floorMod(this.counter.getAndIncrement(), length);
+        Backend best = null;
+        long bestLoad = 0L;
+        for (int i = 0; i < length; i++) {
+            final Backend backend = backends[(start + i) % length];
+            if (!backend.isAvailable()) {
+                continue;
+            }
+            final long load = backend.getLoad(now, this.staleAfter);
+            // Compare load / weight without division
+            if (best == null || load * best.getWeight() < bestLoad * backend.getWeight()) {
+                best = backend;
+                bestLoad = load;
+            }
+        }
+        return best != null ? best : backends[start];
+    }
+
+    private @NotNull Backend selectConsistent(final @NotNull PlayerConnection connection) {
+        final UUID uuid = connection.getUUID();
+        if (uuid != null) {
+            return this.ring.get(HashRing.hash(uuid));
+        }
+        final String name = connection.getName();
+        return this.ring.get(name != null ? HashRing.hash(name) : ThreadLocalRandom.current().nextLong());
+    }
+
+    @NotNull String getName() {
+        return this.name;
+    }
+
+}
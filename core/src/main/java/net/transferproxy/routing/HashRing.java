@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * A consistent hash ring of backends, built once for the members of a pool.
+ * <p>
+ * Each backend owns {@link #VIRTUAL_NODES} points per weight unit, so adding or removing a backend only moves the keys
+ * of its own points. A lookup is a binary search on a sorted array and allocates nothing.
+ * </p>
+ */
+final class HashRing {
+
+    static final int VIRTUAL_NODES = 128;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final Backend[] backends;
+    private final long[] points;
+    // Index in backends of the owner of each point
+    private final int[] owners;
+
+    HashRing(final @NotNull Backend[] backends) {
+        this.backends = backends;
+        int size = 0;
+        for (final Backend backend : backends) {
+            size = Math.addExact(size, Math.multiplyExact(backend.getWeight(), VIRTUAL_NODES));
+        }
+        final long[] points = new long[size];
+        final int[] owners = new int[size];
+        int index = 0;
+        for (int owner = 0; owner < backends.length; owner++) {
+            final Backend backend = backends[owner];
+            final long base = hash((backend.getTarget().host() + ':' + backend.getTarget().port()).getBytes(StandardCharsets.UTF_8));
+            final int count = backend.getWeight() * VIRTUAL_NODES;
+            for (int i = 0; i < count; i++) {
+                points[index] = mix(base ^ ((i + 1) * GOLDEN_GAMMA));
+                owners[index] = owner;
+                index++;
+            }
+        }
+        // Sort the points while keeping their owner
+        final Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) -> Long.compare(points[first], points[second]));
+        this.points = new long[size];
+        this.owners = new int[size];
+        for (int i = 0; i < size; i++) {
+            this.points[i] = points[order[i]];
+            this.owners[i] = owners[order[i]];
+        }
+    }
+
+    /**
+     * Find the backend of a key: the owner of the first point after the key, or the next available one.
+     *
+     * @param key The hash of the key
+     *
+     * @return the backend of the key, the first one if no backend is available
+     */
+    @NotNull Backend get(final long key) {
+        final long[] points = this.points;
+        int index = Arrays.binarySearch(points, key);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        final int length = points.length;
+        final Backend first = this.backends[this.owners[index % length]];
+        if (first.isAvailable()) {
+            return first;
+        }
+        // Walk the ring until a point of an available backend
+        for (int i = 1; i < length; i++) {
+            final Backend backend = this.backends[this.owners[(index + i) % length]];
+            if (backend.isAvailable()) {
+                return backend;
+            }
+        }
+        return first;
+    }
+
+    static long hash(final @NotNull UUID uuid) {
+        return mix(uuid.getMostSignificantBits() ^ mix(uuid.getLeastSignificantBits()));
+    }
+
+    static long hash(final @NotNull CharSequence value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long hash(final byte @NotNull [] value) {
+        long hash = 0xCBF29CE484222325L;
+        for (final byte b : value) {
+            hash = (hash ^ (b & 0xFF)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Finalizer of MurmurHash3, spreading the bits of a 64-bit value.
+     */
+    private static long mix(final long value) {
+        final long first = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        final long second = (first ^ (first >>> 33)) * 0xC4CEB93FE53B26CBL;
+        return second ^ (second >>> 33);
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.ScheduledFuture;
+import net.transferproxy.api.routing.RouteTarget;
+import net.transferproxy.api.status.StatusResponse;
+import net.transferproxy.status.StatusPinger;
+import net.transferproxy.util.FutureUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Periodically pings the pool servers and marks them down or up.
+ * <p>
+ * Each round checks every server at most {@code maxConcurrency} at the same time, in a random order, and the next
+ * round is delayed by a random jitter of up to a quarter of the interval, so many servers or many proxies do not
+ * ping at the same moment.
+ * </p>
+ */
+final class HealthChecker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HealthChecker.class);
+
+    private final Supplier<Collection<Backend>> backends;
+    private final long interval;
+    private final int maxConcurrency;
+    private final int rise;
+    private final int fall;
+
+    private EventLoopGroup group;
+    private Function<InetSocketAddress, CompletableFuture<StatusResponse>> pinger;
+    private ScheduledFuture<?> task;
+
+    HealthChecker(final @NotNull Supplier<Collection<Backend>> backends,
+                  final long interval,
+                  final int maxConcurrency,
+                  final int rise,
+                  final int fall) {
+        this.backends = Objects.requireNonNull(backends, "backends must not be null");
+        if (interval <= 0L) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+        this.interval = interval;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.rise = Math.max(1, rise);
+        this.fall = Math.max(1, fall);
+    }
+
+    synchronized void start(final @NotNull EventLoopGroup group, final @NotNull StatusPinger pinger) {
+        Objects.requireNonNull(group, "group must not be null");
+        Objects.requireNonNull(pinger, "pinger must not be null");
+        if (this.group != null) {
+            throw new IllegalStateException("Health checker is already started");
+        }
+        this.group = group;
+        this.pinger = pinger::ping;
+        this.schedule();
+    }
+
+    synchronized void stop() {
+        if (this.task != null) {
+            this.task.cancel(false);
+            this.task = null;
+        }
+        this.group = null;
+    }
+
+    private synchronized void schedule() {
+        if (this.group == null) {
+            return;
+        }
+        final long jitter = ThreadLocalRandom.current().nextLong(this.interval / 4L + 1L);
+        this.task = this.group.next().schedule(this::run, this.interval + jitter, TimeUnit.MILLISECONDS);
+    }
+
+    private void run() {
+        final CompletableFuture<Void> check;
+        try {
+            check = this.check(this.pinger);
+        } catch (final RuntimeException e) {
+            // The next round must always be scheduled, otherwise the servers are never checked again
+            LOGGER.warn("Failed to check the backend servers", e);
+            this.schedule();
+            return;
+        }
+        check.whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                LOGGER.warn("Failed to check the backend servers", throwable);
+            }
+            this.schedule();
+        });
+    }
+
+    /**
+     * Check all backends, at most {@code maxConcurrency} at the same time.
+     *
+     * @param pinger The function pinging a backend
+     *
+     * @return a future completed when all backends are checked
+     */
+    @VisibleForTesting
+    @NotNull CompletableFuture<Void> check(final @NotNull Function<InetSocketAddress, CompletableFuture<StatusResponse>> pinger) {
+        final List<Backend> backends = new ArrayList<>(this.backends.get());
+        Collections.shuffle(backends, ThreadLocalRandom.current());
+        return FutureUtil.forEachBounded(backends.size(), this.maxConcurrency, index -> {
+            final Backend backend = backends.get(index);
+            final RouteTarget target = backend.getTarget();
+            final long start = System.nanoTime();
+            // A pinger throwing is handled as a failed check
+            return CompletableFuture.completedFuture(InetSocketAddress.createUnresolved(target.host(), target.port()))
+                    .thenCompose(pinger)
+                    .whenComplete((response, throwable) -> {
+                        final boolean success = throwable == null && response != null;
+                        if (backend.recordCheck(success, System.nanoTime() - start, this.rise, this.fall)) {
+                            if (success) {
+                                LOGGER.info("Backend {}:{} is up", target.host(), target.port());
+                            } else {
+                                LOGGER.warn("Backend {}:{} is down", target.host(), target.port());
+                            }
+                        }
+                    });
+        });
+    }
+
+}
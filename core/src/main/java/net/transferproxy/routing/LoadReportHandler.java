@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.DatagramPacket;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Objects;
+
+/**
+ * Receives the load reports of the backend servers.
+ * <p>
+ * A report is a single datagram, without reply:
+ * <pre>
+ * int   magic (0x54504C44)
+ * byte  secret length, then the UTF-8 secret
+ * byte  target length, then the UTF-8 target as written in the pool configuration
+ * int   number of players
+ * </pre>
+ * </p>
+ */
+@ChannelHandler.Sharable
+public final class LoadReportHandler extends SimpleChannelInboundHandler<DatagramPacket> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadReportHandler.class);
+
+    static final int MAGIC = 0x54504C44;
+
+    private final byte[] secret;
+    private final Receiver receiver;
+
+    public LoadReportHandler(final @NotNull String secret, final @NotNull Receiver receiver) {
+        this.secret = Objects.requireNonNull(secret, "secret must not be null").getBytes(StandardCharsets.UTF_8);
+        if (this.secret.length == 0) {
+            throw new IllegalArgumentException("secret must not be empty");
+        }
+        this.receiver = Objects.requireNonNull(receiver, "receiver must not be null");
+    }
+
+    @Override
+    protected void channelRead0(final @NotNull ChannelHandlerContext ctx, final @NotNull DatagramPacket packet) {
+        this.handle(packet.content());
+    }
+
+    @Override
+    public void exceptionCaught(final @NotNull ChannelHandlerContext ctx, final @NotNull Throwable cause) {
+        // A malformed datagram must not close the shared channel
+        LOGGER.debug("Failed to handle load report", cause);
+    }
+
+    @VisibleForTesting
+    boolean handle(final @NotNull ByteBuf in) {
+        if (in.readableBytes() < 10 || in.readInt() != MAGIC) {
+            return false;
+        }
+        final byte[] secret = new byte[in.readUnsignedByte()];
+        if (in.readableBytes() < secret.length + 5) {
+            return false;
+        }
+        in.readBytes(secret);
+        if (!MessageDigest.isEqual(secret, this.secret)) {
+            return false;
+        }
+        final int targetLength = in.readUnsignedByte();
+        if (in.readableBytes() != targetLength + 4) {
+            return false;
+        }
+        final String target = in.readCharSequence(targetLength, StandardCharsets.UTF_8).toString();
+        final int load = in.readInt();
+        if (!this.receiver.receive(target, load)) {
+            LOGGER.debug("Load report of unknown server: {}", target);
+            return false;
+        }
+        return true;
+    }
+
+    @FunctionalInterface
+    public interface Receiver {
+
+        /**
+         * Receive the load of a server.
+         *
+         * @param target The server, as written in the pool configuration
+         * @param load The number of players on the server
+         *
+         * @return {@code true} if the server is known
+         */
+        boolean receive(final @NotNull String target, final int load);
+
+    }
+
+}
@@ -0,0 +1,346 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Memory-mapped table of IP ranges to regions.
+ * <p>
+ * The binary file starts with the region names, followed by the IPv4 ranges then the IPv6 ranges. Each range is a
+ * fixed size record sorted by its first address, so a lookup is a binary search in the mapped file which only
+ * allocates the copy returned by {@link InetAddress#getAddress()}. The file is compiled from a CSV file by {@link #compile(Path, OutputStream)}.
+ * </p>
+ */
+final class RegionDatabase {
+
+    private static final int MAGIC = 0x54505247;
+    private static final VarHandle INT_VIEW = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+    // Start, end and region index
+    private static final int V4_RECORD_SIZE = 4 + 4 + 2;
+    private static final int V6_RECORD_SIZE = 16 + 16 + 2;
+    private static final int MAX_REGIONS = 0xFFFF;
+
+    private final ByteBuffer buffer;
+    private final String[] regions;
+    private final int v4Offset;
+    private final int v4Count;
+    private final int v6Offset;
+    private final int v6Count;
+
+    private RegionDatabase(final @NotNull ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a region database");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported region database version: " + buffer.getInt(4));
+        }
+        final int regionCount = buffer.getInt(8);
+        this.v4Count = buffer.getInt(12);
+        this.v6Count = buffer.getInt(16);
+        if (regionCount < 0 || regionCount > MAX_REGIONS || this.v4Count < 0 || this.v6Count < 0) {
+            throw new IllegalArgumentException("Corrupted region database header");
+        }
+        this.regions = new String[regionCount];
+        int offset = HEADER_SIZE;
+        for (int i = 0; i < regionCount; i++) {
+            final int length = buffer.get(offset) & 0xFF;
+            final byte[] name = new byte[length];
+            buffer.get(offset + 1, name);
+            this.regions[i] = new String(name, StandardCharsets.UTF_8);
+            offset += 1 + length;
+        }
+        this.v4Offset = offset;
+        this.v6Offset = offset + this.v4Count * V4_RECORD_SIZE;
+        if ((long) this.v6Offset + (long) this.v6Count * V6_RECORD_SIZE != buffer.limit()) {
+            throw new IllegalArgumentException("Corrupted region database size");
+        }
+        this.buffer = buffer;
+    }
+
+    /**
+     * Map a compiled region database.
+     *
+     * @param file The binary file
+     *
+     * @return the mapped database
+     *
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a valid database
+     */
+    static @NotNull RegionDatabase open(final @NotNull Path file) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new RegionDatabase(channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size()));
+        }
+    }
+
+    @VisibleForTesting
+    static @NotNull RegionDatabase wrap(final byte @NotNull [] bytes) {
+        return new RegionDatabase(ByteBuffer.wrap(bytes).asReadOnlyBuffer());
+    }
+
+    /**
+     * Find the region of an address.
+     *
+     * @param address The IPv4 or IPv6 address
+     *
+     * @return the region, or {@code null} if the address is in no range
+     */
+    @Nullable String lookup(final @NotNull InetAddress address) {
+        // InetAddress has no accessor without a copy, the address is read from it without wrapping it
+        final byte[] bytes = address.getAddress();
+        if (bytes.length == 4) {
+            return this.lookup((int) INT_VIEW.get(bytes, 0));
+        }
+        return this.lookup((long) LONG_VIEW.get(bytes, 0), (long) LONG_VIEW.get(bytes, 8));
+    }
+
+    @Nullable String lookup(final int address) {
+        int low = 0;
+        int high = this.v4Count - 1;
+        // Find the last range starting before the address
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (Integer.compareUnsigned(this.buffer.getInt(this.v4Offset + middle * V4_RECORD_SIZE), address) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (high < 0) {
+            return null;
+        }
+        final int record = this.v4Offset + high * V4_RECORD_SIZE;
+        if (Integer.compareUnsigned(address, this.buffer.getInt(record + 4)) > 0) {
+            return null;
+        }
+        return this.regions[this.buffer.getShort(record + 8) & 0xFFFF];
+    }
+
+    @Nullable String lookup(final long addressHigh, final long addressLow) {
+        int low = 0;
+        int high = this.v6Count - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int record = this.v6Offset + middle * V6_RECORD_SIZE;
+            if (compare(this.buffer.getLong(record), this.buffer.getLong(record + 8), addressHigh, addressLow) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (high < 0) {
+            return null;
+        }
+        final int record = this.v6Offset + high * V6_RECORD_SIZE;
+        if (compare(addressHigh, addressLow, this.buffer.getLong(record + 16), this.buffer.getLong(record + 24)) > 0) {
+            return null;
+        }
+        return this.regions[this.buffer.getShort(record + 32) & 0xFFFF];
+    }
+
+    int size() {
+        return this.v4Count + this.v6Count;
+    }
+
+    /**
+     * Compile a CSV file of IP ranges. Each line is {@code first-ip,last-ip,region} or {@code cidr,region},
+     * the empty lines and the lines starting with {@code #} are ignored.
+     *
+     * @param csv The CSV file
+     * @param output The stream receiving the binary database
+     *
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a line is invalid or two ranges overlap
+     */
+    static void compile(final @NotNull Path csv, final @NotNull OutputStream output) throws IOException {
+        final List<Range> v4 = new ArrayList<>();
+        final List<Range> v6 = new ArrayList<>();
+        final Map<String, Integer> regions = new LinkedHashMap<>();
+        try (final BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    final Range range = parseLine(line, regions);
+                    (range.start().length == 4 ? v4 : v6).add(range);
+                } catch (final IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid region range at line " + number + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        final Comparator<Range> order = (first, second) -> Arrays.compareUnsigned(first.start(), second.start());
+        v4.sort(order);
+        v6.sort(order);
+        checkOverlaps(v4);
+        checkOverlaps(v6);
+
+        final DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(regions.size());
+        out.writeInt(v4.size());
+        out.writeInt(v6.size());
+        for (final String region : regions.keySet()) {
+            final byte[] name = region.getBytes(StandardCharsets.UTF_8);
+            out.writeByte(name.length);
+            out.write(name);
+        }
+        for (final Range range : v4) {
+            out.write(range.start());
+            out.write(range.end());
+            out.writeShort(range.region());
+        }
+        for (final Range range : v6) {
+            out.write(range.start());
+            out.write(range.end());
+            out.writeShort(range.region());
+        }
+        out.flush();
+    }
+
+    private static @NotNull Range parseLine(final @NotNull String line, final @NotNull Map<String, Integer> regions) {
+        final String[] columns = line.split(",", -1);
+        final byte[] start;
+        final byte[] end;
+        final String region;
+        if (columns.length == 2) {
+            final String cidr = columns[0].trim();
+            final int slash = cidr.indexOf('/');
+            if (slash < 0) {
+                throw new IllegalArgumentException("Expected 'first-ip,last-ip,region' or 'cidr,region'");
+            }
+            start = parseAddress(cidr.substring(0, slash));
+            final int prefix;
+            try {
+                prefix = Integer.parseInt(cidr.substring(slash + 1));
+            } catch (final NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid prefix length: " + cidr);
+            }
+            if (prefix < 0 || prefix > start.length * 8) {
+                throw new IllegalArgumentException("Invalid prefix length: " + cidr);
+            }
+            end = start.clone();
+            for (int bit = prefix; bit < start.length * 8; bit++) {
+                start[bit >> 3] &= (byte) ~(0x80 >>> (bit & 7));
+                end[bit >> 3] |= (byte) (0x80 >>> (bit & 7));
+            }
+            region = columns[1].trim();
+        } else if (columns.length == 3) {
+            start = parseAddress(columns[0]);
+            end = parseAddress(columns[1]);
+            if (start.length != end.length) {
+                throw new IllegalArgumentException("Range mixes IPv4 and IPv6");
+            }
+            if (Arrays.compareUnsigned(start, end) > 0) {
+                throw new IllegalArgumentException("First address is after the last address");
+            }
+            region = columns[2].trim();
+        } else {
+            throw new IllegalArgumentException("Expected 'first-ip,last-ip,region' or 'cidr,region'");
+        }
+        if (region.isEmpty() || region.getBytes(StandardCharsets.UTF_8).length > 0xFF) {
+            throw new IllegalArgumentException("Region name must have between 1 and 255 bytes");
+        }
+        Integer index = regions.get(region);
+        if (index == null) {
+            if (regions.size() == MAX_REGIONS) {
+                throw new IllegalArgumentException("Too many regions");
+            }
+            regions.put(region, index = regions.size());
+        }
+        return new Range(start, end, index);
+    }
+
+    private static byte @NotNull [] parseAddress(final @NotNull String value) {
+        final String address = value.trim();
+        // Only literal addresses are accepted, InetAddress would resolve a hostname
+        final boolean v6 = address.indexOf(':') >= 0;
+        if (address.isEmpty() || !address.chars().allMatch(c -> Character.digit(c, v6 ? 16 : 10) >= 0 || c == '.' || c == ':')) {
+            throw new IllegalArgumentException("Invalid IP address: " + address);
+        }
+        try {
+            return InetAddress.getByName(address).getAddress();
+        } catch (final UnknownHostException e) {
+            throw new IllegalArgumentException("Invalid IP address: " + address, e);
+        }
+    }
+
+    private static void checkOverlaps(final @NotNull List<Range> ranges) {
+        for (int i = 1; i < ranges.size(); i++) {
+            final Range previous = ranges.get(i - 1);
+            final Range range = ranges.get(i);
+            if (Arrays.compareUnsigned(previous.end(), range.start()) >= 0) {
+                throw new IllegalArgumentException("Region ranges overlap: " + format(previous) + " and " + format(range));
+            }
+        }
+    }
+
+    private static @NotNull String format(final @NotNull Range range) {
+        try {
+            return InetAddress.getByAddress(range.start()).getHostAddress() + "-" + InetAddress.getByAddress(range.end()).getHostAddress();
+        } catch (final UnknownHostException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int compare(final long firstHigh, final long firstLow, final long secondHigh, final long secondLow) {
+        final int high = Long.compareUnsigned(firstHigh, secondHigh);
+        return high != 0 ? high : Long.compareUnsigned(firstLow, secondLow);
+    }
+
+    private record Range(byte @NotNull [] start, byte @NotNull [] end, int region) {
+
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Loads the region database and swaps it when its file changes.
+ * <p>
+ * A CSV file is compiled to a binary file next to it, named {@code <file>.bin}, which is reused as long as it is
+ * newer than the CSV file. Any other file is mapped as an already compiled database.
+ * </p>
+ */
+final class RegionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegionService.class);
+    private static final long WATCH_DEBOUNCE = 100L;
+
+    private final Path path;
+
+    private volatile RegionDatabase database;
+    private FileTime loadedTime;
+    private volatile Thread watcher;
+
+    RegionService(final @NotNull Path path) {
+        this.path = Objects.requireNonNull(path, "path must not be null");
+    }
+
+    /**
+     * Read the database again if its file changed. On failure, the previous database is kept.
+     *
+     * @return {@code true} if the database changed
+     */
+    synchronized boolean load() {
+        try {
+            final FileTime modified = Files.getLastModifiedTime(this.path);
+            if (modified.equals(this.loadedTime)) {
+                return false;
+            }
+            final RegionDatabase loaded = RegionDatabase.open(this.isCsv() ? this.compile(modified) : this.path);
+            this.database = loaded;
+            this.loadedTime = modified;
+            LOGGER.info("Loaded {} region ranges from {}", loaded.size(), this.path);
+            return true;
+        } catch (final NoSuchFileException e) {
+            LOGGER.warn("Region database not found: {}", this.path);
+        } catch (final IOException | IllegalArgumentException e) {
+            LOGGER.error("Failed to load the region database {}: {}", this.path, e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Start a daemon thread which reloads the database when its file changes.
+     */
+    synchronized void watch() {
+        if (this.watcher != null) {
+            return;
+        }
+        final Path directory = this.path.toAbsolutePath().getParent();
+        if (directory == null || !Files.isDirectory(directory)) {
+            LOGGER.warn("Cannot watch the region database, directory not found: {}", this.path);
+            return;
+        }
+        final Thread thread = new Thread(() -> this.watchLoop(directory), "Region Database Watcher");
+        thread.setDaemon(true);
+        thread.start();
+        this.watcher = thread;
+    }
+
+    /**
+     * Stop the thread started by {@link #watch()}.
+     */
+    synchronized void stopWatching() {
+        if (this.watcher != null) {
+            this.watcher.interrupt();
+            this.watcher = null;
+        }
+    }
+
+    @Nullable String lookup(final @NotNull InetAddress address) {
+        final RegionDatabase database = this.database;
+        return database != null ? database.lookup(address) : null;
+    }
+
+    private boolean isCsv() {
+        return this.path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv");
+    }
+
+    private @NotNull Path compile(final @NotNull FileTime modified) throws IOException {
+        final Path compiled = this.path.resolveSibling(this.path.getFileName() + ".bin");
+        if (Files.exists(compiled) && Files.getLastModifiedTime(compiled).compareTo(modified) > 0) {
+            return compiled;
+        }
+        // The previous file may still be mapped, so the new one replaces it instead of being written over it
+        final Path temporary = Files.createTempFile(compiled.toAbsolutePath().getParent(), "regions", ".tmp");
+        try {
+            try (final OutputStream output = Files.newOutputStream(temporary)) {
+                RegionDatabase.compile(this.path, output);
+            }
+            try {
+                Files.move(temporary, compiled, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temporary, compiled, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        return compiled;
+    }
+
+    private void watchLoop(final @NotNull Path directory) {
+        final Path fileName = this.path.getFileName();
+        try (final WatchService service = directory.getFileSystem().newWatchService()) {
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            while (!Thread.currentThread().isInterrupted()) {
+                final WatchKey key = service.take();
+                // Editors often write a file in several steps, wait for the last one
+                Thread.sleep(WATCH_DEBOUNCE);
+                // The compiled file is written in the same directory, only the source file triggers a reload
+                final boolean changed = key.pollEvents().stream().anyMatch(event -> fileName.equals(event.context()));
+                if (changed) {
+                    this.load();
+                }
+                if (!key.reset()) {
+                    break;
+                }
+            }
+        } catch (final InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        } catch (final IOException e) {
+            LOGGER.error("Failed to watch the region database", e);
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.resolver.AddressResolverGroup;
+import net.transferproxy.api.configuration.ProxyConfiguration;
+import net.transferproxy.api.network.connection.PlayerConnection;
+import net.transferproxy.api.routing.RouteTarget;
+import net.transferproxy.api.routing.Router;
+import net.transferproxy.status.StatusPinger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.Objects;
+
+public class RouterImpl implements Router {
+
+    // Replaced on reload, a routing in progress keeps using the previous table
+    private volatile RoutingTable table;
+    private final HealthChecker healthChecker;
+    private final long healthCheckTimeout;
+    private final RegionService regions;
+
+    public RouterImpl(final @NotNull ProxyConfiguration.Routing routing) {
+        this.table = RoutingTable.compile(routing);
+        // The health checks read the servers of the current table on each round
+        this.healthChecker = routing.getHealthCheckInterval() > 0L ? new HealthChecker(() -> this.table.getBackends(),
+                routing.getHealthCheckInterval(),
+                routing.getHealthCheckMaxConcurrency(),
+                routing.getHealthCheckRise(),
+                routing.getHealthCheckFall()) : null;
+        this.healthCheckTimeout = routing.getHealthCheckTimeout();
+        final String regionDatabase = routing.getRegionDatabase();
+        this.regions = regionDatabase.isBlank() ? null : new RegionService(Path.of(regionDatabase));
+        if (this.regions != null) {
+            this.regions.load();
+        }
+    }
+
+    public void start(final @NotNull EventLoopGroup group,
+                      final @NotNull Class<? extends Channel> channelClass,
+                      final @NotNull AddressResolverGroup<InetSocketAddress> resolver) {
+        if (this.healthChecker != null) {
+            this.healthChecker.start(group, new StatusPinger(group, channelClass, resolver, this.healthCheckTimeout));
+        }
+        if (this.regions != null) {
+            this.regions.watch();
+        }
+    }
+
+    public void stop() {
+        if (this.healthChecker != null) {
+            this.healthChecker.stop();
+        }
+        if (this.regions != null) {
+            this.regions.stopWatching();
+        }
+    }
+
+    @Override
+    public @Nullable RouteTarget route(final @NotNull PlayerConnection connection) {
+        Objects.requireNonNull(connection, "connection must not be null");
+        return this.table.route(connection);
+    }
+
+    @Override
+    public @Nullable RouteTarget routeEarly(final @NotNull PlayerConnection connection) {
+        Objects.requireNonNull(connection, "connection must not be null");
+        return this.table.routeEarly(connection);
+    }
+
+    @Override
+    public synchronized void reload(final @NotNull ProxyConfiguration.Routing routing) {
+        this.table = RoutingTable.compile(routing, this.table);
+    }
+
+    @Override
+    public @Nullable String findRegion(final @NotNull InetAddress address) {
+        Objects.requireNonNull(address, "address must not be null");
+        return this.regions != null ? this.regions.lookup(address) : null;
+    }
+
+    /**
+     * Update the load reported by a server of a pool.
+     *
+     * @param target The server, as written in the pool configuration
+     * @param load The number of players on the server
+     *
+     * @return {@code true} if the server is in a pool
+     */
+    public boolean report(final @NotNull String target, final int load) {
+        return this.table.report(target, load, System.currentTimeMillis());
+    }
+
+    /**
+     * Count a player sent to a server, until the next report of this server replaces its load.
+     *
+     * @param target The target to which the transfer was sent
+     */
+    public void countTransfer(final @NotNull RouteTarget target) {
+        this.table.countTransfer(target);
+    }
+
+}
@@ -0,0 +1,295 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import net.transferproxy.api.configuration.ProxyConfiguration;
+import net.transferproxy.api.network.connection.PlayerConnection;
+import net.transferproxy.api.routing.RouteTarget;
+import net.transferproxy.network.packet.built.BuiltPacketImpl;
+import net.transferproxy.network.packet.config.clientbound.TransferPacket;
+import net.transferproxy.status.HostnameMatcher;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Immutable routing rules, compiled from the configuration.
+ * <p>
+ * Rules with a hostname are indexed by {@link HostnameMatcher}, so a lookup only checks the rules of the most specific
+ * matching pattern, then the rules without hostname. Each target holds its encoded transfer packet, shared by the rules
+ * and pools with the same target.
+ * </p>
+ */
+final class RoutingTable {
+
+    static final int DEFAULT_PORT = 25565;
+
+    private static final Rule[] NO_RULES = new Rule[0];
+
+    private final HostnameMatcher<Rule[]> byHost;
+    private final Rule[] anyHost;
+    // Servers of the pools, by target as written in the configuration
+    private final Map<String, Backend> backends;
+    // Same servers, by the target returned to the router, to count the transfers
+    private final Map<RouteTarget, Backend> byTarget;
+
+    private RoutingTable(final @NotNull HostnameMatcher<Rule[]> byHost,
+                         final @NotNull Rule[] anyHost,
+                         final @NotNull Map<String, Backend> backends) {
+        this.byHost = byHost;
+        this.anyHost = anyHost;
+        this.backends = backends;
+        final Map<RouteTarget, Backend> byTarget = new HashMap<>();
+        for (final Backend backend : backends.values()) {
+            byTarget.put(backend.getTarget(), backend);
+        }
+        this.byTarget = Map.copyOf(byTarget);
+    }
+
+    static @NotNull RoutingTable compile(final @NotNull ProxyConfiguration.Routing routing) {
+        return compile(routing, null);
+    }
+
+    /**
+     * Compile the routing rules.
+     *
+     * @param routing The routing configuration
+     * @param previous The previous table, whose servers keep their load in the new table
+     *
+     * @return the compiled table
+     *
+     * @throws IllegalArgumentException if a rule or a pool is invalid
+     */
+    static @NotNull RoutingTable compile(final @NotNull ProxyConfiguration.Routing routing, final @Nullable RoutingTable previous) {
+        Objects.requireNonNull(routing, "routing must not be null");
+        final Map<String, RouteTarget> targets = new HashMap<>();
+        final Map<String, Backend> backends = new HashMap<>();
+        final Map<String, BackendPool> pools = new HashMap<>();
+        for (final Map.Entry<String, ? extends ProxyConfiguration.Routing.Pool> entry : routing.getPools().entrySet()) {
+            final String name = entry.getKey();
+            final ProxyConfiguration.Routing.Pool pool = entry.getValue();
+            final List<Backend> members = new ArrayList<>();
+            for (final ProxyConfiguration.Routing.Server server : pool.getServers()) {
+                final String target = server.getTarget().trim();
+                final Backend backend = new Backend(targets.computeIfAbsent(target, RoutingTable::parseTarget), server.getWeight());
+                final Backend existing = backends.putIfAbsent(target, backend);
+                if (existing != null && existing.getWeight() != backend.getWeight()) {
+                    throw new IllegalArgumentException("Server " + target + " has different weights in several pools");
+                }
+                members.add(existing != null ? existing : backend);
+            }
+            pools.put(name, new BackendPool(name, BalanceStrategy.fromName(pool.getStrategy()), members, routing.getLoadReportStaleAfter()));
+        }
+        if (previous != null) {
+            backends.forEach((target, backend) -> {
+                final Backend old = previous.backends.get(target);
+                if (old != null) {
+                    backend.inherit(old);
+                }
+            });
+        }
+
+        final Map<String, List<Rule>> byHost = new LinkedHashMap<>();
+        final List<Rule> anyHost = new ArrayList<>();
+        for (final ProxyConfiguration.Routing.Rule rule : routing.getRules()) {
+            final Rule compiled = compileRule(rule, targets, pools);
+            final String hostname = rule.getHostname();
+            if (hostname == null) {
+                anyHost.add(compiled);
+            } else {
+                byHost.computeIfAbsent(hostname.toLowerCase(Locale.ROOT), ignored -> new ArrayList<>()).add(compiled);
+            }
+        }
+        final Map<String, Rule[]> patterns = new HashMap<>();
+        byHost.forEach((pattern, rules) -> patterns.put(pattern, rules.toArray(NO_RULES)));
+        return new RoutingTable(new HostnameMatcher<>(patterns), anyHost.toArray(NO_RULES), Map.copyOf(backends));
+    }
+
+    private static @NotNull Rule compileRule(final @NotNull ProxyConfiguration.Routing.Rule rule,
+                                             final @NotNull Map<String, RouteTarget> targets,
+                                             final @NotNull Map<String, BackendPool> pools) {
+        final String target = rule.getTarget();
+        final String poolName = rule.getPool();
+        if ((target == null) == (poolName == null)) {
+            throw new IllegalArgumentException("Routing rule must have either a target or a pool");
+        }
+        final BackendPool pool = poolName != null ? pools.get(poolName) : null;
+        if (poolName != null && pool == null) {
+            throw new IllegalArgumentException("Unknown routing pool: " + poolName);
+        }
+        final Rule compiled = new Rule(rule.getMinProtocol() != null ? rule.getMinProtocol() : Integer.MIN_VALUE,
+                rule.getMaxProtocol() != null ? rule.getMaxProtocol() : Integer.MAX_VALUE,
+                rule.getBrand(),
+                rule.getFromTransfer(),
+                rule.getRegion(),
+                target != null ? targets.computeIfAbsent(target.trim(), RoutingTable::parseTarget) : null,
+                pool);
+        if (compiled.minProtocol() > compiled.maxProtocol()) {
+            throw new IllegalArgumentException("Routing rule to " + (target != null ? target : poolName) +
+                    " has a min protocol greater than its max protocol");
+        }
+        return compiled;
+    }
+
+    static @NotNull RouteTarget parseTarget(final @NotNull String target) {
+        final String host;
+        final String portText;
+        if (target.startsWith("[")) {
+            // Bracketed IPv6 literal, the brackets are not part of the host sent to the client
+            final int end = target.indexOf(']');
+            if (end < 0 || (end + 1 < target.length() && target.charAt(end + 1) != ':')) {
+                throw new IllegalArgumentException("Routing target must be '[address][:port]': " + target);
+            }
+            host = target.substring(1, end);
+            portText = end + 1 < target.length() ? target.substring(end + 2) : null;
+        } else {
+            final int index = target.indexOf(':');
+            // More than one colon can only be a bare IPv6 literal, which cannot carry a port
+            if (index < 0 || index != target.lastIndexOf(':')) {
+                host = target;
+                portText = null;
+            } else {
+                host = target.substring(0, index);
+                portText = target.substring(index + 1);
+            }
+        }
+        if (host.isEmpty()) {
+            throw new IllegalArgumentException("Routing target must be 'host[:port]': " + target);
+        }
+        int port = DEFAULT_PORT;
+        if (portText != null) {
+            try {
+                port = Integer.parseInt(portText);
+            } catch (final NumberFormatException e) {
+                throw new IllegalArgumentException("Routing target port must be a number: " + target, e);
+            }
+        }
+        if (port < 0 || port > 65535) {
+            throw new IllegalArgumentException("Invalid routing target port: " + target);
+        }
+        return new RouteTarget(host, port, new BuiltPacketImpl(new TransferPacket(host, port)));
+    }
+
+    @Nullable RouteTarget route(final @NotNull PlayerConnection connection) {
+        final Rule rule = this.findRule(connection, false);
+        return rule != null ? rule.select(connection) : null;
+    }
+
+    /**
+     * Find the target server before the client brand is known.
+     *
+     * @param connection The connection of the player
+     *
+     * @return the target server, or {@code null} if no rule matches or the first rule that could match has a brand condition
+     */
+    @Nullable RouteTarget routeEarly(final @NotNull PlayerConnection connection) {
+        final Rule rule = this.findRule(connection, true);
+        return rule != null && rule.brand() == null ? rule.select(connection) : null;
+    }
+
+    private @Nullable Rule findRule(final @NotNull PlayerConnection connection, final boolean early) {
+        final Rule[] rules = this.byHost.match(connection.getHostname());
+        if (rules != null) {
+            final Rule rule = findRule(rules, connection, early);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        return findRule(this.anyHost, connection, early);
+    }
+
+    @NotNull Collection<Backend> getBackends() {
+        return this.backends.values();
+    }
+
+    /**
+     * Update the load of a server.
+     *
+     * @param target The server, as written in the pool configuration
+     * @param load The number of players on the server
+     * @param now The current time in milliseconds
+     *
+     * @return {@code true} if the server is in a pool
+     */
+    boolean report(final @NotNull String target, final int load, final long now) {
+        final Backend backend = this.backends.get(target);
+        if (backend == null) {
+            return false;
+        }
+        backend.report(load, now);
+        return true;
+    }
+
+    /**
+     * Count a transfer sent to a server. A target that is in no pool, or that comes from a previous table, is ignored.
+     *
+     * @param target The target to which the transfer was sent
+     */
+    void countTransfer(final @NotNull RouteTarget target) {
+        final Backend backend = this.byTarget.get(target);
+        if (backend != null) {
+            backend.countTransfer();
+        }
+    }
+
+    private static @Nullable Rule findRule(final @NotNull Rule[] rules, final @NotNull PlayerConnection connection, final boolean early) {
+        for (final Rule rule : rules) {
+            if (early ? rule.matchesEarly(connection) : rule.matches(connection)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private record Rule(int minProtocol, int maxProtocol, @Nullable String brand, @Nullable Boolean fromTransfer,
+                        @Nullable String region, @Nullable RouteTarget target, @Nullable BackendPool pool) {
+
+        boolean matches(final @NotNull PlayerConnection connection) {
+            return this.matchesEarly(connection) && (this.brand == null || this.brand.equalsIgnoreCase(connection.getBrand()));
+        }
+
+        /**
+         * Check the conditions known before the configuration state, all except the brand.
+         */
+        boolean matchesEarly(final @NotNull PlayerConnection connection) {
+            final int protocol = connection.getProtocol();
+            if (protocol < this.minProtocol || protocol > this.maxProtocol) {
+                return false;
+            }
+            if (this.fromTransfer != null && this.fromTransfer != connection.isFromTransfer()) {
+                return false;
+            }
+            // Checked last, the region of a player is looked up on the first call
+            return this.region == null || this.region.equalsIgnoreCase(connection.getRegion());
+        }
+
+        @NotNull RouteTarget select(final @NotNull PlayerConnection connection) {
+            return this.target != null ? this.target : this.pool.select(connection).getTarget();
+        }
+
+    }
+
+}
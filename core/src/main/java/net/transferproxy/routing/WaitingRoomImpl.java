@@ -0,0 +1,285 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.ScheduledFuture;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.transferproxy.api.TransferProxy;
+import net.transferproxy.api.configuration.ProxyConfiguration;
+import net.transferproxy.api.event.EventManager;
+import net.transferproxy.api.event.EventType;
+import net.transferproxy.api.event.queue.QueuePositionEvent;
+import net.transferproxy.api.network.connection.PlayerConnection;
+import net.transferproxy.api.routing.AdmissionResult;
+import net.transferproxy.api.routing.RouteTarget;
+import net.transferproxy.api.routing.WaitingRoom;
+import net.transferproxy.routing.AdmissionQueue.Ticket;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class WaitingRoomImpl implements WaitingRoom {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WaitingRoomImpl.class);
+    private static final long TICK_INTERVAL = 50L;
+
+    private final Limits defaultLimits;
+    private final Map<String, Limits> targetLimits;
+    private final boolean enabled;
+    private final int lanes;
+    private final long positionUpdateInterval;
+    private final Component fullMessage;
+
+    private final Map<String, AdmissionQueue> queues = new ConcurrentHashMap<>();
+    // Keyed by channel, so a single close listener removes every disconnected player
+    private final Map<Channel, Ticket> tickets = new ConcurrentHashMap<>();
+    private final ChannelFutureListener closeListener = future -> this.removeTicket(future.channel());
+
+    private ScheduledFuture<?> task;
+    private long nextPositionUpdate;
+
+    public WaitingRoomImpl(final @NotNull ProxyConfiguration.Routing.Queue queue) {
+        Objects.requireNonNull(queue, "queue must not be null");
+        this.defaultLimits = new Limits(queue.getAdmissionRate(), queue.getAdmissionBurst(), queue.getCapacity());
+        final Map<String, Limits> targetLimits = new HashMap<>();
+        boolean enabled = this.defaultLimits.rate() > 0;
+        for (final Map.Entry<String, ? extends ProxyConfiguration.Routing.Queue.Target> entry : queue.getTargets().entrySet()) {
+            final RouteTarget target = RoutingTable.parseTarget(entry.getKey().trim());
+            final ProxyConfiguration.Routing.Queue.Target settings = entry.getValue();
+            final Limits limits = new Limits(Objects.requireNonNullElse(settings.getAdmissionRate(), this.defaultLimits.rate()),
+                    Objects.requireNonNullElse(settings.getAdmissionBurst(), this.defaultLimits.burst()),
+                    Objects.requireNonNullElse(settings.getCapacity(), this.defaultLimits.capacity()));
+            targetLimits.put(key(target), limits);
+            enabled |= limits.rate() > 0;
+        }
+        this.targetLimits = Map.copyOf(targetLimits);
+        this.enabled = enabled;
+        this.lanes = Math.max(1, queue.getLanes());
+        this.positionUpdateInterval = queue.getPositionUpdateInterval();
+        this.fullMessage = MiniMessage.miniMessage().deserialize(queue.getFullMessage());
+        this.nextPositionUpdate = System.nanoTime();
+    }
+
+    public synchronized void start(final @NotNull EventLoopGroup group) {
+        Objects.requireNonNull(group, "group must not be null");
+        if (this.enabled && this.task == null) {
+            this.task = group.next().scheduleAtFixedRate(this::tick, TICK_INTERVAL, TICK_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void stop() {
+        if (this.task != null) {
+            this.task.cancel(false);
+            this.task = null;
+        }
+    }
+
+    @Override
+    public @NotNull AdmissionResult admit(final @NotNull PlayerConnection connection, final @NotNull RouteTarget target, final int lane) {
+        Objects.requireNonNull(connection, "connection must not be null");
+        Objects.requireNonNull(target, "target must not be null");
+        if (lane < 0 || lane >= this.lanes) {
+            throw new IllegalArgumentException("Invalid lane: " + lane + " (lanes=" + this.lanes + ")");
+        }
+        final Channel channel = connection.getChannel();
+        AdmissionResult result;
+        Ticket ticket;
+        do {
+            final AdmissionQueue queue = this.getQueue(target);
+            final long now = System.nanoTime();
+            // Without congestion, the player is transferred without allocating a ticket
+            if (queue == null || queue.tryAcquire(now)) {
+                connection.transfer(target);
+                return AdmissionResult.TRANSFERRED;
+            }
+            ticket = new Ticket(connection, target, queue, lane);
+            if (this.tickets.putIfAbsent(channel, ticket) != null) {
+                throw new IllegalStateException("Player is already waiting");
+            }
+            result = queue.offer(ticket, now);
+            if (result == null) {
+                // The queue was dropped by the tick meanwhile, the next one is created
+                this.tickets.remove(channel, ticket);
+            }
+        } while (result == null);
+        switch (result) {
+            case TRANSFERRED -> {
+                this.tickets.remove(channel, ticket);
+                connection.transfer(target);
+            }
+            case REJECTED -> {
+                this.tickets.remove(channel, ticket);
+                connection.disconnect(this.fullMessage);
+            }
+            // If the channel is already closed, the listener is called immediately
+            case QUEUED -> channel.closeFuture().addListener(this.closeListener);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean remove(final @NotNull PlayerConnection connection) {
+        Objects.requireNonNull(connection, "connection must not be null");
+        final Channel channel = connection.getChannel();
+        if (this.removeTicket(channel)) {
+            channel.closeFuture().removeListener(this.closeListener);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean removeTicket(final @NotNull Channel channel) {
+        final Ticket ticket = this.tickets.remove(channel);
+        return ticket != null && ticket.queue.remove(ticket);
+    }
+
+    @Override
+    public int getPosition(final @NotNull PlayerConnection connection) {
+        Objects.requireNonNull(connection, "connection must not be null");
+        final Ticket ticket = this.tickets.get(connection.getChannel());
+        return ticket != null ? ticket.queue.getPosition(ticket) : -1;
+    }
+
+    @Override
+    public int getSize(final @NotNull RouteTarget target) {
+        Objects.requireNonNull(target, "target must not be null");
+        final AdmissionQueue queue = this.queues.get(key(target));
+        return queue != null ? queue.size() : 0;
+    }
+
+    @Override
+    public int getLanes() {
+        return this.lanes;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    @VisibleForTesting
+    int getQueueCount() {
+        return this.queues.size();
+    }
+
+    @VisibleForTesting
+    void tick() {
+        try {
+            final long now = System.nanoTime();
+            final List<Ticket> released = new ArrayList<>();
+            for (final Map.Entry<String, AdmissionQueue> entry : this.queues.entrySet()) {
+                final AdmissionQueue queue = entry.getValue();
+                queue.poll(now, released);
+                // The public admit accepts any target, so the idle queues of the other targets are dropped
+                if (!this.targetLimits.containsKey(entry.getKey()) && queue.closeIfIdle(now)) {
+                    this.queues.remove(entry.getKey(), queue);
+                }
+            }
+            for (final Ticket ticket : released) {
+                this.release(ticket);
+            }
+            if (this.positionUpdateInterval > 0L && now - this.nextPositionUpdate >= 0L) {
+                this.nextPositionUpdate = now + TimeUnit.MILLISECONDS.toNanos(this.positionUpdateInterval);
+                this.updatePositions();
+            }
+        } catch (final Exception exception) {
+            LOGGER.error("Failed to release the waiting players", exception);
+        }
+    }
+
+    private void release(final @NotNull Ticket ticket) {
+        final PlayerConnection connection = ticket.connection;
+        final Channel channel = connection.getChannel();
+        this.tickets.remove(channel, ticket);
+        channel.closeFuture().removeListener(this.closeListener);
+        // Transferred on the loop of the player, like the transfers made by the packet handlers
+        channel.eventLoop().execute(() -> {
+            if (!channel.isActive()) {
+                return;
+            }
+            try {
+                connection.transfer(ticket.target);
+            } catch (final IllegalStateException exception) {
+                // The player left the configuration state while waiting
+                LOGGER.warn("Failed to transfer waiting player {}: {}", connection.getName(), exception.getMessage());
+            }
+        });
+    }
+
+    private void updatePositions() {
+        final EventManager eventManager = TransferProxy.getInstance().getModuleManager().getEventManager();
+        final List<Ticket> waiting = new ArrayList<>();
+        for (final AdmissionQueue queue : this.queues.values()) {
+            waiting.clear();
+            queue.snapshot(waiting);
+            final int size = waiting.size();
+            for (int i = 0; i < size; i++) {
+                final Ticket ticket = waiting.get(i);
+                final QueuePositionEvent event = new QueuePositionEvent(ticket.connection, ticket.target, ticket.lane, i + 1, size);
+                // The listeners run on the loop of the player, like the other events
+                ticket.connection.getChannel().eventLoop().execute(() -> eventManager.call(EventType.QUEUE_POSITION, event));
+            }
+        }
+    }
+
+    private @Nullable AdmissionQueue getQueue(final @NotNull RouteTarget target) {
+        if (!this.enabled) {
+            return null;
+        }
+        final String key = key(target);
+        final AdmissionQueue queue = this.queues.get(key);
+        if (queue != null) {
+            return queue;
+        }
+        final Limits limits = this.targetLimits.getOrDefault(key, this.defaultLimits);
+        if (limits.rate() <= 0) {
+            return null;
+        }
+        return this.queues.computeIfAbsent(key,
+                ignored -> new AdmissionQueue(limits.rate(), limits.burst(), limits.capacity(), this.lanes, System.nanoTime()));
+    }
+
+    private static @NotNull String key(final @NotNull RouteTarget target) {
+        return target.host() + ':' + target.port();
+    }
+
+    private record Limits(int rate, int burst, int capacity) {
+
+    }
+
+}
@@ -0,0 +1,239 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.status;
+
+import net.transferproxy.api.util.IOUtil;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Loads the favicons of the status response, from a single file or from a directory.
+ * <p>
+ * In a directory, a file named {@code <hostname>.png} is used for the players joining with this hostname,
+ * the other files are used in rotation. The loaded icons are an immutable snapshot swapped on each reload.
+ * </p>
+ */
+public final class FaviconService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FaviconService.class);
+    private static final String EXTENSION = ".png";
+    private static final long WATCH_DEBOUNCE = 100L;
+
+    private final Path path;
+    private final long rotationInterval;
+    private final AtomicInteger counter = new AtomicInteger();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile Icons icons = Icons.EMPTY;
+    private volatile Thread watcher;
+
+    public FaviconService(final @NotNull Path path, final long rotationInterval) {
+        this.path = Objects.requireNonNull(path, "path must not be null");
+        this.rotationInterval = rotationInterval;
+    }
+
+    /**
+     * Read the favicons again and notify the listeners if they changed.
+     *
+     * @return {@code true} if the favicons changed
+     */
+    public boolean load() {
+        final Icons loaded = this.readIcons();
+        if (loaded.equals(this.icons)) {
+            return false;
+        }
+        this.icons = loaded;
+        for (final Runnable listener : this.listeners) {
+            listener.run();
+        }
+        return true;
+    }
+
+    /**
+     * Start a daemon thread which reloads the favicons when their files change.
+     */
+    public synchronized void watch() {
+        if (this.watcher != null) {
+            return;
+        }
+        final Path directory = Files.isDirectory(this.path) ? this.path : this.path.toAbsolutePath().getParent();
+        if (directory == null || !Files.isDirectory(directory)) {
+            LOGGER.warn("Cannot watch favicons, directory not found: {}", this.path);
+            return;
+        }
+        final Thread thread = new Thread(() -> this.watchLoop(directory), "Favicon Watcher");
+        thread.setDaemon(true);
+        thread.start();
+        this.watcher = thread;
+    }
+
+    /**
+     * Stop the thread started by {@link #watch()}.
+     */
+    public synchronized void stopWatching() {
+        if (this.watcher != null) {
+            this.watcher.interrupt();
+            this.watcher = null;
+        }
+    }
+
+    public void addListener(final @NotNull Runnable listener) {
+        this.listeners.add(Objects.requireNonNull(listener, "listener must not be null"));
+    }
+
+    /**
+     * Index of the rotating favicon to display on this ping.
+     *
+     * @param size The number of rotating favicons
+     *
+     * @return the index, between 0 (inclusive) and size (exclusive)
+     */
+    public int nextIndex(final int size) {
+        if (size <= 1) {
+            return 0;
+        }
+        if (this.rotationInterval > 0L) {
+            return (int) ((System.currentTimeMillis() / this.rotationInterval) % size);
+        }
+        return Math.floorMod(this.counter.getAndIncrement(), size);
+    }
+
+    @Contract(pure = true)
+    public @NotNull Icons getIcons() {
+        return this.icons;
+    }
+
+    @Contract(value = "null -> null", pure = true)
+    static @Nullable String normalizeHost(final @Nullable String hostname) {
+        if (hostname == null) {
+            return null;
+        }
+        String host = hostname;
+        // Forge and some proxies append extra data after a null character
+        final int end = host.indexOf('\0');
+        if (end >= 0) {
+            host = host.substring(0, end);
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        while (host.endsWith(".")) {
+            host = host.substring(0, host.length() - 1);
+        }
+        return host;
+    }
+
+    private @NotNull Icons readIcons() {
+        if (Files.isRegularFile(this.path)) {
+            final String icon = this.readIcon(this.path);
+            return icon != null ? new Icons(List.of(icon), Map.of()) : Icons.EMPTY;
+        }
+        if (!Files.isDirectory(this.path)) {
+            return Icons.EMPTY;
+        }
+        final List<Path> files;
+        try (final Stream<Path> stream = Files.list(this.path)) {
+            files = stream.filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(EXTENSION))
+                    .sorted()
+                    .toList();
+        } catch (final IOException e) {
+            LOGGER.error("Failed to list favicons", e);
+            return this.icons;
+        }
+        final List<String> rotating = new ArrayList<>();
+        final Map<String, String> byHost = new HashMap<>();
+        for (final Path file : files) {
+            final String icon = this.readIcon(file);
+            if (icon == null) {
+                continue;
+            }
+            final String name = file.getFileName().toString();
+            final String base = name.substring(0, name.length() - EXTENSION.length());
+            // A file name containing a dot is considered as a hostname
+            if (base.indexOf('.') > 0) {
+                byHost.put(normalizeHost(base), icon);
+            } else {
+                rotating.add(icon);
+            }
+        }
+        return new Icons(List.copyOf(rotating), Map.copyOf(byHost));
+    }
+
+    private @Nullable String readIcon(final @NotNull Path file) {
+        try {
+            return IOUtil.createImage(file);
+        } catch (final IOException e) {
+            LOGGER.error("Failed to read favicon {}", file, e);
+            return null;
+        }
+    }
+
+    private void watchLoop(final @NotNull Path directory) {
+        try (final WatchService service = directory.getFileSystem().newWatchService()) {
+            directory.register(service,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            while (!Thread.currentThread().isInterrupted()) {
+                final WatchKey key = service.take();
+                // Editors often write a file in several steps, wait for the last one
+                Thread.sleep(WATCH_DEBOUNCE);
+                key.pollEvents();
+                if (this.load()) {
+                    LOGGER.info("Favicons reloaded");
+                }
+                if (!key.reset()) {
+                    break;
+                }
+            }
+        } catch (final InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        } catch (final IOException e) {
+            LOGGER.error("Failed to watch favicons", e);
+        }
+    }
+
+    /**
+     * Immutable snapshot of the loaded favicons.
+     *
+     * @param rotating The favicons displayed in rotation
+     * @param byHost The favicons by normalized hostname
+     */
+    public record Icons(@NotNull List<String> rotating, @NotNull Map<String, String> byHost) {
+
+        static final Icons EMPTY = new Icons(List.of(), Map.of());
+
+    }
+
+}
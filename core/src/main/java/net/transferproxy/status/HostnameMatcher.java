@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.status;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Resolves a value from a hostname, by exact hostname or by {@code *.domain} wildcard.
+ * <p>
+ * Patterns are compiled once into hash maps, a lookup costs one hash per label of the hostname.
+ * The exact hostname is preferred, then the most specific wildcard.
+ * </p>
+ *
+ * @param <T> The type of the resolved values
+ */
+public final class HostnameMatcher<T> {
+
+    private static final String WILDCARD = "*.";
+
+    private final Map<String, T> exact;
+    // Wildcard values by suffix, without the leading '*.'
+    private final Map<String, T> wildcards;
+
+    public HostnameMatcher(final @NotNull Map<String, T> patterns) {
+        Objects.requireNonNull(patterns, "patterns must not be null");
+        final Map<String, T> exact = new HashMap<>();
+        final Map<String, T> wildcards = new HashMap<>();
+        for (final Map.Entry<String, T> entry : patterns.entrySet()) {
+            final String pattern = FaviconService.normalizeHost(Objects.requireNonNull(entry.getKey(), "pattern must not be null"));
+            final T value = Objects.requireNonNull(entry.getValue(), "value must not be null");
+            if (pattern.startsWith(WILDCARD)) {
+                final String suffix = pattern.substring(WILDCARD.length());
+                if (suffix.isEmpty() || suffix.contains("*")) {
+                    throw new IllegalArgumentException("Invalid hostname pattern: " + entry.getKey());
+                }
+                wildcards.put(suffix, value);
+            } else if (pattern.isEmpty() || pattern.contains("*")) {
+                throw new IllegalArgumentException("Invalid hostname pattern: " + entry.getKey());
+            } else {
+                exact.put(pattern, value);
+            }
+        }
+        this.exact = Map.copyOf(exact);
+        this.wildcards = Map.copyOf(wildcards);
+    }
+
+    /**
+     * Find the value matching a hostname.
+     *
+     * @param hostname The hostname sent by the client
+     *
+     * @return the matching value, or {@code null} if none matches
+     */
+    @Contract(value = "null -> null", pure = true)
+    public @Nullable T match(final @Nullable String hostname) {
+        if (hostname == null || this.isEmpty()) {
+            return null;
+        }
+        final String host = FaviconService.normalizeHost(hostname);
+        final T value = this.exact.get(host);
+        if (value != null || this.wildcards.isEmpty()) {
+            return value;
+        }
+        // Try each parent domain, from the most specific one
+        int index = host.indexOf('.');
+        while (index >= 0) {
+            final T wildcard = this.wildcards.get(host.substring(index + 1));
+            if (wildcard != null) {
+                return wildcard;
+            }
+            index = host.indexOf('.', index + 1);
+        }
+        return null;
+    }
+
+    @Contract(pure = true)
+    public boolean isEmpty() {
+        return this.exact.isEmpty() && this.wildcards.isEmpty();
+    }
+
+}
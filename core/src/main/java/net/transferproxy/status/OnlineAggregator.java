@@ -0,0 +1,229 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.status;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.ScheduledFuture;
+import net.transferproxy.api.status.StatusResponse;
+import net.transferproxy.util.FutureUtil;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Periodically pings the backend servers and sums their online counts.
+ * <p>
+ * The counts are read on each ping from an immutable snapshot, the status templates are only
+ * rebuilt when the player sample changes. When no backend answers, the previous counts are kept.
+ * </p>
+ */
+public final class OnlineAggregator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OnlineAggregator.class);
+
+    private final List<InetSocketAddress> backends;
+    private final long refreshInterval;
+    private final int maxConcurrency;
+    private final int sampleSize;
+    private final List<Runnable> sampleListeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private ScheduledFuture<?> task;
+
+    public OnlineAggregator(final @NotNull List<InetSocketAddress> backends,
+                            final long refreshInterval,
+                            final int maxConcurrency,
+                            final int sampleSize) {
+        this.backends = List.copyOf(Objects.requireNonNull(backends, "backends must not be null"));
+        if (refreshInterval <= 0L) {
+            throw new IllegalArgumentException("refreshInterval must be positive");
+        }
+        this.refreshInterval = refreshInterval;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.sampleSize = Math.max(0, sampleSize);
+    }
+
+    /**
+     * Parse the backend addresses from the configuration.
+     *
+     * @param addresses The addresses with the {@code host:port} format
+     *
+     * @return the unresolved socket addresses
+     */
+    public static @NotNull List<InetSocketAddress> parseAddresses(final @NotNull Collection<String> addresses) {
+        final List<InetSocketAddress> result = new ArrayList<>(addresses.size());
+        for (final String address : addresses) {
+            final int index = address.lastIndexOf(':');
+            if (index <= 0 || index == address.length() - 1) {
+                throw new IllegalArgumentException("Backend address must be 'host:port': " + address);
+            }
+            final int port;
+            try {
+                port = Integer.parseInt(address.substring(index + 1));
+            } catch (final NumberFormatException e) {
+                throw new IllegalArgumentException("Backend port must be a number: " + address, e);
+            }
+            result.add(InetSocketAddress.createUnresolved(address.substring(0, index), port));
+        }
+        return result;
+    }
+
+    /**
+     * Start refreshing the counts on an event loop.
+     *
+     * @param group The event loop group used for the pings and the schedule
+     * @param pinger The pinger used to read the backend responses
+     */
+    public synchronized void start(final @NotNull EventLoopGroup group, final @NotNull StatusPinger pinger) {
+        Objects.requireNonNull(group, "group must not be null");
+        Objects.requireNonNull(pinger, "pinger must not be null");
+        if (this.task != null) {
+            throw new IllegalStateException("Aggregator is already started");
+        }
+        this.task = group.next()
+                .scheduleWithFixedDelay(() -> this.refresh(pinger::ping), 0L, this.refreshInterval, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (this.task != null) {
+            this.task.cancel(false);
+            this.task = null;
+        }
+    }
+
+    /**
+     * Ping all backends, at most {@code maxConcurrency} at the same time, then publish the new counts.
+     * A refresh is ignored if the previous one is not completed.
+     *
+     * @param pinger The function pinging a backend
+     *
+     * @return a future completed when the counts are published
+     */
+    @VisibleForTesting
+    @NotNull CompletableFuture<Snapshot> refresh(final @NotNull Function<InetSocketAddress, CompletableFuture<StatusResponse>> pinger) {
+        if (!this.refreshing.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(this.snapshot);
+        }
+        final StatusResponse[] responses = new StatusResponse[this.backends.size()];
+        return FutureUtil.forEachBounded(responses.length, this.maxConcurrency, index -> {
+            final InetSocketAddress address = this.backends.get(index);
+            // A pinger throwing is handled as a failed ping
+            return CompletableFuture.completedFuture(address).thenCompose(pinger).whenComplete((response, throwable) -> {
+                if (throwable != null) {
+                    LOGGER.debug("Failed to ping backend {}", address, throwable);
+                } else {
+                    responses[index] = response;
+                }
+            });
+        }).thenApply(ignored -> this.publish(responses));
+    }
+
+    @Contract(pure = true)
+    public @NotNull Snapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Add a listener called when the player sample changes.
+     *
+     * @param listener The listener (must not be null)
+     */
+    public void addSampleListener(final @NotNull Runnable listener) {
+        this.sampleListeners.add(Objects.requireNonNull(listener, "listener must not be null"));
+    }
+
+    private @NotNull Snapshot publish(final StatusResponse[] responses) {
+        try {
+            int online = 0;
+            int max = 0;
+            int reachable = 0;
+            final List<StatusResponse.Players.SampleEntry> sample = new ArrayList<>();
+            for (final StatusResponse response : responses) {
+                if (response == null || response.players() == null) {
+                    continue;
+                }
+                reachable++;
+                final StatusResponse.Players players = response.players();
+                online = saturatedAdd(online, Math.max(0, players.online()));
+                max = saturatedAdd(max, Math.max(0, players.max()));
+                if (players.sample() != null) {
+                    for (final StatusResponse.Players.SampleEntry entry : players.sample()) {
+                        if (sample.size() >= this.sampleSize) {
+                            break;
+                        }
+                        sample.add(entry);
+                    }
+                }
+            }
+            final Snapshot previous = this.snapshot;
+            if (reachable == 0 && responses.length != 0) {
+                // A network failure would otherwise display an empty server
+                return previous;
+            }
+            final Snapshot snapshot = new Snapshot(online, max, reachable, List.copyOf(sample));
+            this.snapshot = snapshot;
+            if (!previous.sample().equals(snapshot.sample())) {
+                for (final Runnable listener : this.sampleListeners) {
+                    listener.run();
+                }
+            }
+            return snapshot;
+        } finally {
+            this.refreshing.set(false);
+        }
+    }
+
+    private static int saturatedAdd(final int a, final int b) {
+        final long sum = (long) a + b;
+        return sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+    }
+
+    /**
+     * Counts of the last refresh.
+     *
+     * @param online The sum of the online players
+     * @param max The sum of the maximum players
+     * @param reachable The number of backends which responded
+     * @param sample The first players of the backend samples
+     */
+    public record Snapshot(int online, int max, int reachable, @NotNull List<StatusResponse.Players.SampleEntry> sample) {
+
+        static final Snapshot EMPTY = new Snapshot(0, 0, 0, List.of());
+
+    }
+
+}
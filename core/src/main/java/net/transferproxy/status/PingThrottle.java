@@ -0,0 +1,220 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.status;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import java.net.InetAddress;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the status pings per IP address with time-decayed counters.
+ * <p>
+ * Counters are stored in a fixed table, so the memory does not grow with the number of addresses. Each address can
+ * use two slots of the table, and each counter keeps its address so colliding addresses never share a counter. When
+ * both slots are owned by other addresses, the counter with the fewest recent pings is replaced, so the abusive
+ * addresses keep their counters. IPv6 clients usually own a whole /64, its addresses share a counter.
+ * Each counter is halved every window.
+ * </p>
+ */
+public final class PingThrottle {
+
+    private static final int DEFAULT_SLOTS = 8192;
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1L;
+
+    private final int limit;
+    private final long window;
+    private final AtomicReferenceArray<Counter> slots;
+    private final int mask;
+    private final LongSupplier clock;
+    private final long origin;
+
+    public PingThrottle(final int limit, final long window) {
+        this(limit, window, DEFAULT_SLOTS, System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    PingThrottle(final int limit, final long window, final int slots, final @NotNull LongSupplier clock) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        if (window <= 0L) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        if (slots < 2 || Integer.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("slots must be a power of two greater than 1");
+        }
+        this.limit = (int) Math.min(limit, COUNT_MASK - 1L);
+        this.window = window;
+        this.slots = new AtomicReferenceArray<>(slots);
+        this.mask = slots - 1;
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+        this.origin = clock.getAsLong();
+    }
+
+    /**
+     * Count a ping of an address.
+     *
+     * @param address The address of the client (must not be null)
+     *
+     * @return {@code true} if the ping is allowed, {@code false} if the address exceeds the limit
+     */
+    public boolean acquire(final @NotNull InetAddress address) {
+        final long now = this.now();
+        final AtomicLong counter = this.counter(key(address), now).value;
+        while (true) {
+            final long value = counter.get();
+            final long decayed = this.decay(value, now);
+            final long count = decayed & COUNT_MASK;
+            if (count >= this.limit) {
+                // Throttled pings are not counted, the counter keeps decaying
+                if (decayed == value || counter.compareAndSet(value, decayed)) {
+                    return false;
+                }
+                continue;
+            }
+            if (counter.compareAndSet(value, decayed + 1L)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Determine if an address exceeds the limit, without counting a ping.
+     *
+     * @param address The address of the client (must not be null)
+     *
+     * @return {@code true} if the address exceeds the limit
+     */
+    public boolean isLimited(final @NotNull InetAddress address) {
+        final long key = key(address);
+        final long hash = hash(key);
+        Counter counter = this.slots.get(this.first(hash));
+        if (counter == null || counter.key != key) {
+            counter = this.slots.get(this.second(hash));
+            if (counter == null || counter.key != key) {
+                return false;
+            }
+        }
+        return (this.decay(counter.value.get(), this.now()) & COUNT_MASK) >= this.limit;
+    }
+
+    private @NotNull Counter counter(final long key, final long now) {
+        final long hash = hash(key);
+        final int first = this.first(hash);
+        final int second = this.second(hash);
+        while (true) {
+            final Counter firstCounter = this.slots.get(first);
+            if (firstCounter != null && firstCounter.key == key) {
+                return firstCounter;
+            }
+            final Counter secondCounter = this.slots.get(second);
+            if (secondCounter != null && secondCounter.key == key) {
+                return secondCounter;
+            }
+            // Replace the counter with the fewest recent pings, an empty slot has none
+            final boolean replaceFirst = this.count(firstCounter, now) <= this.count(secondCounter, now);
+            final Counter created = new Counter(key, pack(now, 0L));
+            if (this.slots.compareAndSet(replaceFirst ? first : second, replaceFirst ? firstCounter : secondCounter, created)) {
+                return created;
+            }
+        }
+    }
+
+    private long count(final Counter counter, final long now) {
+        return counter != null ? this.decay(counter.value.get(), now) & COUNT_MASK : -1L;
+    }
+
+    /**
+     * Halve the counter for each elapsed window.
+     * The time is moved by whole windows, so frequent pings do not delay the decay.
+     */
+    private long decay(final long value, final long now) {
+        long count = value & COUNT_MASK;
+        if (count == 0L) {
+            return pack(now, 0L);
+        }
+        final long time = value >>> COUNT_BITS;
+        final long windows = (now - time) / this.window;
+        if (windows <= 0L) {
+            return value;
+        }
+        count = windows >= COUNT_BITS ? 0L : count >>> windows;
+        return count == 0L ? pack(now, 0L) : pack(time + windows * this.window, count);
+    }
+
+    private long now() {
+        // Relative to the creation, so the time fits in the 40 remaining bits
+        return Math.max(0L, this.clock.getAsLong() - this.origin);
+    }
+
+    private int first(final long hash) {
+        return (int) hash & this.mask;
+    }
+
+    private int second(final long hash) {
+        final int index = (int) (hash >>> 32) & this.mask;
+        return index != this.first(hash) ? index : index ^ 1;
+    }
+
+    private static long key(final @NotNull InetAddress address) {
+        final byte[] bytes = address.getAddress();
+        // An IPv4 key cannot be mistaken for an IPv6 /64, as the ::/32 block is not routed
+        final int length = bytes.length == 4 ? 4 : 8;
+        long key = 0L;
+        for (int i = 0; i < length; i++) {
+            key = key << 8 | bytes[i] & 0xFFL;
+        }
+        return key;
+    }
+
+    private static long hash(final long key) {
+        // Spread the bits, close addresses must not use close slots
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return hash ^ hash >>> 29;
+    }
+
+    private static long pack(final long time, final long count) {
+        return time << COUNT_BITS | count;
+    }
+
+    private static final class Counter {
+
+        private final long key;
+        private final AtomicLong value;
+
+        private Counter(final long key, final long value) {
+            this.key = key;
+            this.value = new AtomicLong(value);
+        }
+
+    }
+
+}
@@ -26,7 +26,9 @@ package net.transferproxy.status;
 
 import net.transferproxy.api.event.listener.StatusListener;
 import net.transferproxy.api.event.status.StatusRequestEvent;
+import net.transferproxy.api.network.connection.PlayerConnection;
 import net.transferproxy.api.network.packet.built.ProtocolizedBuiltPacket;
+import net.transferproxy.api.network.packet.built.TemplateBuiltPacket;
 import net.transferproxy.api.status.StatusResponse;
 import net.transferproxy.api.util.ComponentProtocolUtil;
 import net.transferproxy.network.packet.built.ProtocolizedBuiltPacketImpl;
@@ -38,17 +40,40 @@ import java.util.Objects;
 public final class SnapshotStatusListener implements StatusListener {
 
     private final ProtocolizedBuiltPacket builtPacket;
+    private final TemplateBuiltPacket template;
+    private final int online;
+    private final int max;
 
     public SnapshotStatusListener(final @NotNull StatusResponse response) {
+        this(response, false);
+    }
+
+    /**
+     * @param response The response to send
+     * @param autoProtocol If true, the protocol of the response is replaced by the protocol of each client
+     */
+    public SnapshotStatusListener(final @NotNull StatusResponse response, final boolean autoProtocol) {
         Objects.requireNonNull(response, "response must not be null");
-        final StatusResponsePacket packet = new StatusResponsePacket(response);
-        this.builtPacket = new ProtocolizedBuiltPacketImpl(packet, true, ComponentProtocolUtil.getSerializerProtocols());
+        if (autoProtocol) {
+            this.builtPacket = null;
+            this.template = StatusResponsePacket.template(response);
+            final StatusResponse.Players players = response.players();
+            this.online = players != null ? players.online() : 0;
+            this.max = players != null ? players.max() : 0;
+        } else {
+            final StatusResponsePacket packet = new StatusResponsePacket(response);
+            this.builtPacket = new ProtocolizedBuiltPacketImpl(packet, true, ComponentProtocolUtil.getSerializerProtocols());
+            this.template = null;
+            this.online = 0;
+            this.max = 0;
+        }
     }
 
     @Override
     public void handle(final @NotNull StatusRequestEvent event) {
         event.setCanSendResponsePacket(false);
-        event.getConnection().sendPacket(this.builtPacket);
+        final PlayerConnection connection = event.getConnection();
+        connection.sendPacket(this.template != null ? this.template.bind(connection.getProtocol(), this.online, this.max) : this.builtPacket);
     }
 
-}
\ No newline at end of file
+}
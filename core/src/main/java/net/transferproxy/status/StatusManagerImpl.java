@@ -24,111 +24,246 @@
 
 package net.transferproxy.status;
 
-import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.MiniMessage;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.resolver.AddressResolverGroup;
 import net.transferproxy.api.TransferProxy;
 import net.transferproxy.api.configuration.ProxyConfiguration;
 import net.transferproxy.api.event.EventType;
 import net.transferproxy.api.event.status.StatusRequestEvent;
 import net.transferproxy.api.network.connection.PlayerConnection;
 import net.transferproxy.api.network.packet.built.ProtocolizedBuiltPacket;
+import net.transferproxy.api.network.packet.built.TemplateBuiltPacket;
 import net.transferproxy.api.status.StatusManager;
 import net.transferproxy.api.status.StatusResponse;
-import net.transferproxy.api.util.ComponentProtocolUtil;
-import net.transferproxy.api.util.IOUtil;
-import net.transferproxy.network.packet.built.ProtocolizedBuiltPacketImpl;
 import net.transferproxy.network.packet.status.clientbound.StatusResponsePacket;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 public final class StatusManagerImpl implements StatusManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(StatusManagerImpl.class);
+    // Hostnames are sent by the clients, so the number of remembered responses is bounded
+    private static final int MAX_LAST_RESPONSES = 1024;
 
-    private final String name;
-    private final Component description;
-    private final int protocol;
-    private final boolean autoProtocol;
-    private final int online;
-    private final int maxOnline;
-    private final String favicon;
-
-    private ProtocolizedBuiltPacket builtResponse;
+    private final StatusProfile defaultProfile;
+    private final HostnameMatcher<StatusProfile> hosts;
+    private final Collection<FaviconService> favicons;
+    private final OnlineAggregator aggregator;
+    private final long backendsTimeout;
+    private final PingThrottle throttle;
+    private final boolean throttledResponse;
+    private final LongAdder throttledPings = new LongAdder();
+    private final Map<ResponseKey, LastResponse> lastResponses = new ConcurrentHashMap<>();
 
     public StatusManagerImpl() {
-        final ProxyConfiguration.Status config = TransferProxy.getInstance().getConfiguration().getStatus();
-        this.name = config.getName();
-        this.description = MiniMessage.miniMessage().deserialize(config.getDescription());
-        final String rawProtocol = config.getProtocol();
-        if (rawProtocol.equalsIgnoreCase("auto")) {
-            this.autoProtocol = true;
-            this.protocol = -1;
+        this(TransferProxy.getInstance().getConfiguration().getStatus());
+    }
+
+    @VisibleForTesting
+    StatusManagerImpl(final @NotNull ProxyConfiguration.Status config) {
+        if (config.getBackends().isEmpty()) {
+            this.aggregator = null;
         } else {
-            this.autoProtocol = false;
-            this.protocol = this.parseProtocol(rawProtocol);
+            this.aggregator = new OnlineAggregator(OnlineAggregator.parseAddresses(config.getBackends()),
+                    config.getBackendsRefreshInterval(),
+                    config.getBackendsMaxConcurrency(),
+                    config.getBackendsSampleSize());
+        }
+        this.backendsTimeout = config.getBackendsTimeout();
+        this.throttle = config.getPingLimit() > 0 ? new PingThrottle(config.getPingLimit(), config.getPingLimitWindow()) : null;
+        this.throttledResponse = config.isPingLimitCachedResponse();
+
+        final FaviconService favicons = StatusProfile.createFavicons(config, config.getFaviconPath());
+        this.defaultProfile = StatusProfile.of(config, favicons, this.aggregator);
+
+        // Hosts without their own favicon path share the default favicons
+        final Map<String, FaviconService> faviconsByPath = new HashMap<>();
+        faviconsByPath.put(config.getFaviconPath(), favicons);
+        final Map<String, StatusProfile> profiles = new HashMap<>();
+        for (final Map.Entry<String, ? extends ProxyConfiguration.Status.Host> entry : config.getHosts().entrySet()) {
+            final ProxyConfiguration.Status.Host host = entry.getValue();
+            final String path = host.getFaviconPath() != null ? host.getFaviconPath() : config.getFaviconPath();
+            final FaviconService hostFavicons = faviconsByPath.computeIfAbsent(path, p -> StatusProfile.createFavicons(config, p));
+            profiles.put(entry.getKey(), StatusProfile.of(config, host, hostFavicons, this.aggregator));
+        }
+        this.hosts = new HostnameMatcher<>(profiles);
+        this.favicons = faviconsByPath.values();
+    }
+
+    /**
+     * Start pinging the backend servers, if any are configured.
+     *
+     * @param group The event loop group of the network server
+     * @param channelClass The client channel class matching the event loop group
+     * @param resolver The non-blocking resolver of the backend addresses
+     */
+    public void start(final @NotNull EventLoopGroup group,
+                      final @NotNull Class<? extends Channel> channelClass,
+                      final @NotNull AddressResolverGroup<InetSocketAddress> resolver) {
+        if (this.aggregator != null) {
+            this.aggregator.start(group, new StatusPinger(group, channelClass, resolver, this.backendsTimeout));
         }
-        this.online = config.getOnline();
-        this.maxOnline = config.getMaxOnline();
-        this.favicon = this.readFavicon(Path.of(config.getFaviconPath()));
+    }
 
-        if (!this.autoProtocol) {
-            final StatusResponsePacket packet = new StatusResponsePacket(this.buildDefaultResponse(-1));
-            this.builtResponse = new ProtocolizedBuiltPacketImpl(packet, true, ComponentProtocolUtil.getSerializerProtocols());
+    public void stop() {
+        if (this.aggregator != null) {
+            this.aggregator.stop();
+        }
+        for (final FaviconService favicons : this.favicons) {
+            favicons.stopWatching();
         }
     }
 
     @Override
     public void process(final @NotNull PlayerConnection connection) {
+        if (this.throttle != null) {
+            final InetAddress address = getAddress(connection);
+            if (address != null && !this.throttle.acquire(address)) {
+                // Throttled pings bypass the events, they receive the pre-built response or nothing
+                this.throttledPings.increment();
+                if (this.throttledResponse) {
+                    connection.sendPacket(this.getThrottledResponse(connection.getProtocol(), connection.getHostname()));
+                } else {
+                    connection.forceDisconnect();
+                }
+                return;
+            }
+        }
         final StatusRequestEvent event = new StatusRequestEvent(connection);
         TransferProxy.getInstance().getModuleManager().getEventManager().call(EventType.STATUS, event);
         if (event.canSendResponsePacket()) {
-            StatusResponse response = event.getResponse();
+            final StatusResponse response = event.getResponse();
+            this.rememberResponse(connection.getProtocol(), connection.getHostname(), response);
             if (response == null) {
-                if (this.builtResponse != null) {
-                    connection.sendPacket(this.builtResponse);
-                    return;
-                }
-                response = this.buildDefaultResponse(event.getConnection().getProtocol());
+                connection.sendPacket(this.getResponse(connection.getProtocol(), connection.getHostname()));
+                return;
             }
             connection.sendStatusResponse(response);
         }
     }
 
+    private void rememberResponse(final int protocol, final @Nullable String hostname, final @Nullable StatusResponse response) {
+        if (this.throttle == null || !this.throttledResponse) {
+            return;
+        }
+        final ResponseKey key = new ResponseKey(protocol, FaviconService.normalizeHost(hostname));
+        if (response == null) {
+            this.lastResponses.remove(key);
+        } else if (this.lastResponses.size() < MAX_LAST_RESPONSES || this.lastResponses.containsKey(key)) {
+            this.lastResponses.put(key, new LastResponse(response));
+        }
+    }
+
+    @VisibleForTesting
+    @NotNull ProtocolizedBuiltPacket getThrottledResponse(final int protocol, final @Nullable String hostname) {
+        final ResponseKey key = new ResponseKey(protocol, FaviconService.normalizeHost(hostname));
+        final LastResponse last = this.lastResponses.get(key);
+        if (last != null) {
+            try {
+                return last.bind();
+            } catch (final RuntimeException e) {
+                // Plugins can set responses which cannot be templated, they are not served to the throttled pings
+                LOGGER.warn("Cannot serve the last status response to throttled pings", e);
+                this.lastResponses.remove(key, last);
+            }
+        }
+        return this.getResponse(protocol, hostname);
+    }
+
     @Override
     public @NotNull StatusResponse buildDefaultResponse(final int protocol) {
-        return StatusResponse.builder()
-                .name(this.name)
-                .description(this.description)
-                .protocol(this.autoProtocol ? protocol : this.protocol)
-                .favicon(this.favicon)
-                .online(this.online)
-                .max(this.maxOnline)
-                .build();
-    }
-
-    private int parseProtocol(final @NotNull String rawProtocol) {
-        try {
-            return Integer.parseInt(rawProtocol);
-        } catch (final NumberFormatException exception) {
-            throw new NumberFormatException("Status protocol must be a number: " + rawProtocol);
+        return this.defaultProfile.buildResponse(protocol);
+    }
+
+    @Override
+    public @NotNull StatusResponse buildDefaultResponse(final int protocol, final @Nullable String hostname) {
+        return this.getProfile(hostname).buildResponse(protocol);
+    }
+
+    @Override
+    public boolean isThrottled(final @NotNull PlayerConnection connection) {
+        if (this.throttle == null) {
+            return false;
         }
+        final InetAddress address = getAddress(connection);
+        return address != null && this.throttle.isLimited(address);
     }
 
-    private @Nullable String readFavicon(final Path path) {
-        if (Files.isRegularFile(path)) {
-            try {
-                return IOUtil.createImage(path);
-            } catch (final IOException e) {
-                LOGGER.error("Failed to read favicon", e);
+    @Override
+    public long getThrottledPings() {
+        return this.throttledPings.sum();
+    }
+
+    @VisibleForTesting
+    @NotNull ProtocolizedBuiltPacket getResponse(final int protocol) {
+        return this.getResponse(protocol, null);
+    }
+
+    @VisibleForTesting
+    @NotNull ProtocolizedBuiltPacket getResponse(final int protocol, final @Nullable String hostname) {
+        return this.getProfile(hostname).getResponse(protocol, hostname);
+    }
+
+    @VisibleForTesting
+    @Nullable OnlineAggregator getAggregator() {
+        return this.aggregator;
+    }
+
+    @VisibleForTesting
+    @NotNull FaviconService getFavicons() {
+        return this.defaultProfile.getFavicons();
+    }
+
+    private static @Nullable InetAddress getAddress(final @NotNull PlayerConnection connection) {
+        return connection.getChannel().remoteAddress() instanceof final InetSocketAddress address ? address.getAddress() : null;
+    }
+
+    private @NotNull StatusProfile getProfile(final @Nullable String hostname) {
+        final StatusProfile profile = this.hosts.match(hostname);
+        return profile != null ? profile : this.defaultProfile;
+    }
+
+    private record ResponseKey(int protocol, @Nullable String hostname) {
+
+    }
+
+    /**
+     * Last response sent by the events for a protocol and a hostname, serialized on the first throttled ping.
+     */
+    private static final class LastResponse {
+
+        private final StatusResponse response;
+        private volatile TemplateBuiltPacket template;
+
+        private LastResponse(final @NotNull StatusResponse response) {
+            this.response = response;
+        }
+
+        private @NotNull ProtocolizedBuiltPacket bind() {
+            TemplateBuiltPacket template = this.template;
+            if (template == null) {
+                // Concurrent pings may serialize it twice, which is cheaper than locking
+                template = StatusResponsePacket.template(this.response);
+                this.template = template;
             }
+            final StatusResponse.Players players = this.response.players();
+            return template.bind(this.response.version() != null ? this.response.version().protocol() : 0,
+                    players != null ? players.online() : 0,
+                    players != null ? players.max() : 0);
         }
-        return null;
+
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.status;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.*;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.util.concurrent.ScheduledFuture;
+import net.transferproxy.api.network.connection.ConnectionState;
+import net.transferproxy.api.network.packet.Packet;
+import net.transferproxy.api.network.protocol.ProtocolVersion;
+import net.transferproxy.api.network.protocol.Protocolized;
+import net.transferproxy.api.status.StatusResponse;
+import net.transferproxy.network.frame.clientbound.VarIntFrameEncoder;
+import net.transferproxy.network.frame.serverbound.VarIntFrameDecoder;
+import net.transferproxy.network.packet.handshake.HandshakePacket;
+import net.transferproxy.network.packet.status.clientbound.StatusResponsePacket;
+import net.transferproxy.network.packet.status.serverbound.StatusRequestPacket;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static net.transferproxy.util.BufUtil.readVarInt;
+import static net.transferproxy.util.BufUtil.writeVarInt;
+
+/**
+ * Minimal status client, used to read the response of a backend server.
+ */
+public final class StatusPinger {
+
+    private static final ChannelHandler FRAME_ENCODER = new VarIntFrameEncoder();
+
+    private final EventLoopGroup group;
+    private final Class<? extends Channel> channelClass;
+    private final AddressResolverGroup<? extends SocketAddress> resolver;
+    private final long timeout;
+    private final int protocol;
+
+    /**
+     * @param resolver The resolver of the unresolved addresses, it must not block because it runs on the event loops
+     */
+    public StatusPinger(final @NotNull EventLoopGroup group,
+                        final @NotNull Class<? extends Channel> channelClass,
+                        final @NotNull AddressResolverGroup<? extends SocketAddress> resolver,
+                        final long timeout) {
+        this.group = Objects.requireNonNull(group, "group must not be null");
+        this.channelClass = Objects.requireNonNull(channelClass, "channelClass must not be null");
+        this.resolver = Objects.requireNonNull(resolver, "resolver must not be null");
+        this.timeout = timeout;
+        this.protocol = ProtocolVersion.getLatest().getProtocol();
+    }
+
+    /**
+     * Ping a server and read its status response.
+     *
+     * @param address The address of the server (must not be null)
+     *
+     * @return a future completed with the response, or exceptionally if the ping failed or did not complete in time
+     */
+    public @NotNull CompletableFuture<StatusResponse> ping(final @NotNull InetSocketAddress address) {
+        Objects.requireNonNull(address, "address must not be null");
+        final CompletableFuture<StatusResponse> future = new CompletableFuture<>();
+        final ChannelFuture connectFuture = new Bootstrap().group(this.group)
+                .channel(this.channelClass)
+                .resolver(this.resolver)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) Math.min(Integer.MAX_VALUE, this.timeout))
+                .handler(new ChannelInitializer<>() {
+                    @Override
+                    protected void initChannel(final @NotNull Channel channel) {
+                        channel.pipeline()
+                                .addLast("timeout", new ReadTimeoutHandler(StatusPinger.this.timeout, TimeUnit.MILLISECONDS))
+                                .addLast("splitter", new VarIntFrameDecoder())
+                                .addLast("prepender", FRAME_ENCODER)
+                                .addLast("handler", new ResponseHandler(address, future));
+                    }
+                })
+                .connect(address)
+                .addListener((ChannelFutureListener) connect -> {
+                    if (!connect.isSuccess()) {
+                        future.completeExceptionally(connect.cause());
+                    }
+                });
+        if (this.timeout > 0L) {
+            // The read timeout is reset by each read, a server sending a few bytes at a time would never time out
+            final ScheduledFuture<?> deadline = this.group.schedule(() -> {
+                if (future.completeExceptionally(new TimeoutException("No status response after " + this.timeout + "ms"))) {
+                    connectFuture.channel().close();
+                }
+            }, this.timeout, TimeUnit.MILLISECONDS);
+            future.whenComplete((response, throwable) -> deadline.cancel(false));
+        }
+        return future;
+    }
+
+    private final class ResponseHandler extends SimpleChannelInboundHandler<ByteBuf> {
+
+        private final InetSocketAddress address;
+        private final CompletableFuture<StatusResponse> future;
+
+        private ResponseHandler(final @NotNull InetSocketAddress address, final @NotNull CompletableFuture<StatusResponse> future) {
+            this.address = address;
+            this.future = future;
+        }
+
+        @Override
+        public void channelActive(final @NotNull ChannelHandlerContext ctx) {
+            final int protocol = StatusPinger.this.protocol;
+            final HandshakePacket handshake = new HandshakePacket(protocol,
+                    this.address.getHostString(),
+                    this.address.getPort(),
+                    ConnectionState.STATUS);
+            ctx.write(this.encode(ctx, handshake, protocol));
+            ctx.writeAndFlush(this.encode(ctx, new StatusRequestPacket(), protocol));
+        }
+
+        @Override
+        protected void channelRead0(final @NotNull ChannelHandlerContext ctx, final @NotNull ByteBuf buf) {
+            final int id = readVarInt(buf);
+            if (id != 0x00) {
+                throw new IllegalStateException("Unexpected packet id: " + id);
+            }
+            this.future.complete(new StatusResponsePacket(StatusPinger.this.protocol, buf).response());
+            ctx.close();
+        }
+
+        @Override
+        public void channelInactive(final @NotNull ChannelHandlerContext ctx) {
+            this.future.completeExceptionally(new IllegalStateException("Connection closed before the status response"));
+        }
+
+        @Override
+        public void exceptionCaught(final @NotNull ChannelHandlerContext ctx, final @NotNull Throwable cause) {
+            this.future.completeExceptionally(cause);
+            ctx.close();
+        }
+
+        private @NotNull ByteBuf encode(final @NotNull ChannelHandlerContext ctx, final @NotNull Packet packet, final int protocol) {
+            final ByteBuf buf = ctx.alloc().buffer();
+            writeVarInt(buf, packet.getId());
+            packet.write(Protocolized.of(protocol), buf);
+            return buf;
+        }
+
+    }
+
+}
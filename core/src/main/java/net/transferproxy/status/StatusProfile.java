@@ -0,0 +1,191 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.status;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.transferproxy.api.configuration.ProxyConfiguration;
+import net.transferproxy.api.network.packet.built.ProtocolizedBuiltPacket;
+import net.transferproxy.api.network.packet.built.TemplateBuiltPacket;
+import net.transferproxy.api.status.StatusResponse;
+import net.transferproxy.network.packet.status.clientbound.StatusResponsePacket;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Status displayed for a hostname, with its response templates serialized once per favicon.
+ */
+final class StatusProfile {
+
+    private final String name;
+    private final Component description;
+    private final int protocol;
+    private final boolean autoProtocol;
+    private final int online;
+    private final int maxOnline;
+
+    private final FaviconService favicons;
+    private final OnlineAggregator aggregator;
+    private volatile Responses responses;
+
+    private StatusProfile(final @NotNull String name,
+                          final @NotNull String description,
+                          final @NotNull String rawProtocol,
+                          final int online,
+                          final int maxOnline,
+                          final @NotNull FaviconService favicons,
+                          final @Nullable OnlineAggregator aggregator) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.description = MiniMessage.miniMessage().deserialize(description);
+        if (rawProtocol.equalsIgnoreCase("auto")) {
+            this.autoProtocol = true;
+            this.protocol = -1;
+        } else {
+            this.autoProtocol = false;
+            this.protocol = parseProtocol(rawProtocol);
+        }
+        this.online = online;
+        this.maxOnline = maxOnline;
+        this.favicons = Objects.requireNonNull(favicons, "favicons must not be null");
+        this.aggregator = aggregator;
+        this.responses = this.buildResponses();
+        this.favicons.addListener(() -> this.responses = this.buildResponses());
+        if (aggregator != null) {
+            aggregator.addSampleListener(() -> this.responses = this.buildResponses());
+        }
+    }
+
+    static @NotNull StatusProfile of(final @NotNull ProxyConfiguration.Status config,
+                                     final @NotNull FaviconService favicons,
+                                     final @Nullable OnlineAggregator aggregator) {
+        return new StatusProfile(config.getName(),
+                config.getDescription(),
+                config.getProtocol(),
+                config.getOnline(),
+                config.getMaxOnline(),
+                favicons,
+                aggregator);
+    }
+
+    static @NotNull StatusProfile of(final @NotNull ProxyConfiguration.Status config,
+                                     final @NotNull ProxyConfiguration.Status.Host host,
+                                     final @NotNull FaviconService favicons,
+                                     final @Nullable OnlineAggregator aggregator) {
+        return new StatusProfile(host.getName() != null ? host.getName() : config.getName(),
+                host.getDescription() != null ? host.getDescription() : config.getDescription(),
+                host.getProtocol() != null ? host.getProtocol() : config.getProtocol(),
+                host.getOnline() != null ? host.getOnline() : config.getOnline(),
+                host.getMaxOnline() != null ? host.getMaxOnline() : config.getMaxOnline(),
+                favicons,
+                aggregator);
+    }
+
+    static @NotNull FaviconService createFavicons(final @NotNull ProxyConfiguration.Status config, final @NotNull String path) {
+        final FaviconService favicons = new FaviconService(Path.of(path), config.getFaviconRotationInterval());
+        favicons.load();
+        if (config.isFaviconWatch()) {
+            favicons.watch();
+        }
+        return favicons;
+    }
+
+    @NotNull StatusResponse buildResponse(final int protocol) {
+        final List<String> rotating = this.favicons.getIcons().rotating();
+        return this.buildResponse(protocol, rotating.isEmpty() ? null : rotating.get(this.favicons.nextIndex(rotating.size())));
+    }
+
+    @NotNull ProtocolizedBuiltPacket getResponse(final int protocol, final @Nullable String hostname) {
+        final Responses responses = this.responses;
+        TemplateBuiltPacket template = null;
+        if (hostname != null && !responses.byHost().isEmpty()) {
+            template = responses.byHost().get(FaviconService.normalizeHost(hostname));
+        }
+        if (template == null) {
+            template = responses.rotating()[this.favicons.nextIndex(responses.rotating().length)];
+        }
+        final int protocolField = this.autoProtocol ? protocol : this.protocol;
+        if (this.aggregator != null) {
+            final OnlineAggregator.Snapshot snapshot = this.aggregator.getSnapshot();
+            return template.bind(protocolField, snapshot.online(), snapshot.max());
+        }
+        return template.bind(protocolField, this.online, this.maxOnline);
+    }
+
+    @NotNull FaviconService getFavicons() {
+        return this.favicons;
+    }
+
+    private @NotNull StatusResponse buildResponse(final int protocol, final @Nullable String favicon) {
+        final StatusResponse.Builder builder = StatusResponse.builder()
+                .name(this.name)
+                .description(this.description)
+                .protocol(this.autoProtocol ? protocol : this.protocol)
+                .favicon(favicon);
+        if (this.aggregator != null) {
+            final OnlineAggregator.Snapshot snapshot = this.aggregator.getSnapshot();
+            return builder.online(snapshot.online())
+                    .max(snapshot.max())
+                    .addEntries(snapshot.sample().toArray(StatusResponse.Players.SampleEntry[]::new))
+                    .build();
+        }
+        return builder.online(this.online).max(this.maxOnline).build();
+    }
+
+    private @NotNull Responses buildResponses() {
+        // The protocol and the player counts are written on each ping, the rest is serialized once per favicon
+        final FaviconService.Icons icons = this.favicons.getIcons();
+        final TemplateBuiltPacket[] rotating;
+        if (icons.rotating().isEmpty()) {
+            rotating = new TemplateBuiltPacket[] {StatusResponsePacket.template(this.buildResponse(-1, null))};
+        } else {
+            rotating = icons.rotating()
+                    .stream()
+                    .map(favicon -> StatusResponsePacket.template(this.buildResponse(-1, favicon)))
+                    .toArray(TemplateBuiltPacket[]::new);
+        }
+        final Map<String, TemplateBuiltPacket> byHost = new HashMap<>();
+        icons.byHost().forEach((host, favicon) -> byHost.put(host, StatusResponsePacket.template(this.buildResponse(-1, favicon))));
+        return new Responses(Map.copyOf(byHost), rotating);
+    }
+
+    private static int parseProtocol(final @NotNull String rawProtocol) {
+        try {
+            return Integer.parseInt(rawProtocol);
+        } catch (final NumberFormatException exception) {
+            throw new NumberFormatException("Status protocol must be a number: " + rawProtocol);
+        }
+    }
+
+    private record Responses(@NotNull Map<String, TemplateBuiltPacket> byHost, TemplateBuiltPacket[] rotating) {
+
+    }
+
+}
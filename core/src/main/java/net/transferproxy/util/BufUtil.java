@@ -38,6 +38,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 
@@ -53,19 +54,43 @@ public final class BufUtil {
         throw new IllegalAccessException("You cannot instantiate a utility class");
     }
 
-    public static void writeVarInt(final @NotNull ByteBuf buf, int value) {
+    public static void writeVarInt(final @NotNull ByteBuf buf, final int value) {
+        // Each size is written with a single write call instead of a byte per byte loop
         if ((value & (0xFFFFFFFF << 7)) == 0) {
             buf.writeByte(value);
-            return;
         } else if ((value & (0xFFFFFFFF << 14)) == 0) {
             buf.writeShort((value & 0x7F | 0x80) << 8 | (value >>> 7));
-            return;
+        } else if ((value & (0xFFFFFFFF << 21)) == 0) {
+            buf.writeMedium((value & 0x7F | 0x80) << 16 | ((value >>> 7) & 0x7F | 0x80) << 8 | (value >>> 14));
+        } else if ((value & (0xFFFFFFFF << 28)) == 0) {
+            buf.writeInt((value & 0x7F | 0x80) << 24 | ((value >>> 7) & 0x7F | 0x80) << 16 |
+                    ((value >>> 14) & 0x7F | 0x80) << 8 | (value >>> 21));
+        } else {
+            buf.writeInt((value & 0x7F | 0x80) << 24 | ((value >>> 7) & 0x7F | 0x80) << 16 |
+                    ((value >>> 14) & 0x7F | 0x80) << 8 | ((value >>> 21) & 0x7F | 0x80));
+            buf.writeByte(value >>> 28);
         }
-        while ((value & 0xFFFFFF80) != 0x0) {
-            buf.writeByte(value | 0x80);
-            value >>>= 7;
+    }
+
+    /**
+     * Write a string produced by a writer, encoded in UTF-8 directly into the buffer.
+     * The length is back-filled as a VarInt padded to 3 bytes, which can hold any string of {@code maxLength} chars.
+     */
+    public static void writeString(final @NotNull ByteBuf buf, final int maxLength, final @NotNull Consumer<Utf8ByteBufWriter> writer) {
+        if (ByteBufUtil.utf8MaxBytes(maxLength) >= 1 << 21) {
+            throw new IllegalArgumentException("maxLength is too large for a padded length: " + maxLength);
         }
-        buf.writeByte(value);
+        final int lengthIndex = buf.writerIndex();
+        buf.writeMedium(0);
+        final Utf8ByteBufWriter utf8Writer = new Utf8ByteBufWriter(buf, maxLength);
+        writer.accept(utf8Writer);
+        utf8Writer.close();
+        final int length = buf.writerIndex() - lengthIndex - 3;
+        buf.setMedium(lengthIndex, (length & 0x7F | 0x80) << 16 | ((length >>> 7) & 0x7F | 0x80) << 8 | (length >>> 14));
+    }
+
+    public static int getVarIntSize(final int value) {
+        return (31 - Integer.numberOfLeadingZeros(value | 1)) / 7 + 1;
     }
 
     public static void writeString(final @NotNull ByteBuf buf, final @NotNull CharSequence string) {
@@ -80,12 +105,47 @@ public final class BufUtil {
             throw new EncoderException("Invalid string length: " + string.length() + " > " + maxLength);
         }
 
+        // Optimistically write the string as ASCII in a single pass, the byte length is then the string length
+        final int length = string.length();
+        final int startIndex = buf.writerIndex();
+        writeVarInt(buf, length);
+        buf.ensureWritable(length);
+        final int dataIndex = buf.writerIndex();
+        if (setAscii(buf, dataIndex, string, length)) {
+            buf.writerIndex(dataIndex + length);
+            return;
+        }
+        buf.writerIndex(startIndex);
+
         final int writtenBytes = ByteBufUtil.utf8Bytes(string);
 
         writeVarInt(buf, writtenBytes);
         ByteBufUtil.writeUtf8(buf, string);
     }
 
+    private static boolean setAscii(final @NotNull ByteBuf buf, final int index, final @NotNull CharSequence string, final int length) {
+        if (buf.hasArray()) {
+            final byte[] array = buf.array();
+            final int offset = buf.arrayOffset() + index;
+            for (int i = 0; i < length; i++) {
+                final char c = string.charAt(i);
+                if (c >= 0x80) {
+                    return false;
+                }
+                array[offset + i] = (byte) c;
+            }
+            return true;
+        }
+        for (int i = 0; i < length; i++) {
+            final char c = string.charAt(i);
+            if (c >= 0x80) {
+                return false;
+            }
+            buf.setByte(index + i, c);
+        }
+        return true;
+    }
+
     public static void writeUUID(final @NotNull ByteBuf buf, final @NotNull UUID uuid) {
         buf.writeLong(uuid.getMostSignificantBits());
         buf.writeLong(uuid.getLeastSignificantBits());
@@ -120,6 +180,44 @@ public final class BufUtil {
     }
 
     public static int readVarInt(final @NotNull ByteBuf buf) {
+        final int readerIndex = buf.readerIndex();
+        if (buf.writerIndex() - readerIndex < 5) {
+            return readVarIntSlow(buf);
+        }
+        // Unrolled read: the five bytes are readable, so the bytes are fetched without the per-byte read checks
+        int part = buf.getByte(readerIndex);
+        if (part >= 0) {
+            buf.readerIndex(readerIndex + 1);
+            return part;
+        }
+        int value = part & 0x7F;
+        part = buf.getByte(readerIndex + 1);
+        if (part >= 0) {
+            buf.readerIndex(readerIndex + 2);
+            return value | part << 7;
+        }
+        value |= (part & 0x7F) << 7;
+        part = buf.getByte(readerIndex + 2);
+        if (part >= 0) {
+            buf.readerIndex(readerIndex + 3);
+            return value | part << 14;
+        }
+        value |= (part & 0x7F) << 14;
+        part = buf.getByte(readerIndex + 3);
+        if (part >= 0) {
+            buf.readerIndex(readerIndex + 4);
+            return value | part << 21;
+        }
+        value |= (part & 0x7F) << 21;
+        part = buf.getByte(readerIndex + 4);
+        if (part < 0) {
+            throw new DecoderException("VarInt is too big");
+        }
+        buf.readerIndex(readerIndex + 5);
+        return value | part << 28;
+    }
+
+    private static int readVarIntSlow(final @NotNull ByteBuf buf) {
         int value = 0;
         int length = 0;
         int part;
@@ -153,8 +251,12 @@ public final class BufUtil {
             throw new DecoderException("Invalid received string in buffer: " + length + " > " + readable);
         }
 
-        final String string = buf.toString(buf.readerIndex(), length, StandardCharsets.UTF_8);
-        buf.readerIndex(buf.readerIndex() + length);
+        final int readerIndex = buf.readerIndex();
+        // Most strings (hostnames, usernames, keys) are ASCII and can skip the UTF-8 decoder
+        final String string = buf.toString(readerIndex,
+                length,
+                isAscii(buf, readerIndex, length) ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        buf.readerIndex(readerIndex + length);
         if (string.length() > maxLength) {
             throw new DecoderException("Invalid read string length: " + string.length() + " > " + maxLength);
         }
@@ -162,6 +264,21 @@ public final class BufUtil {
         return string;
     }
 
+    private static boolean isAscii(final @NotNull ByteBuf buf, int index, final int length) {
+        final int end = index + length;
+        for (; index + Long.BYTES <= end; index += Long.BYTES) {
+            if ((buf.getLong(index) & 0x8080808080808080L) != 0L) {
+                return false;
+            }
+        }
+        for (; index < end; index++) {
+            if (buf.getByte(index) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static UUID readUUID(final @NotNull ByteBuf buf) {
         return new UUID(buf.readLong(), buf.readLong());
     }
@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import io.netty.util.concurrent.FastThreadLocal;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static net.transferproxy.util.BufUtil.writeVarInt;
+
+/**
+ * Zlib helpers used by the protocol compression.
+ * <p>
+ * A {@link Deflater} and an {@link Inflater} are kept per thread, so each event loop reuses its own
+ * native zlib streams instead of allocating new ones for every packet.
+ */
+public final class CompressionUtil {
+
+    public static final int MAXIMUM_UNCOMPRESSED_SIZE = 8 * 1024 * 1024;
+
+    private static final int DEFLATE_CHUNK_SIZE = 8192;
+
+    private static volatile int level = Deflater.DEFAULT_COMPRESSION;
+
+    private static final FastThreadLocal<Deflater> DEFLATER = new FastThreadLocal<>() {
+        @Override
+        protected Deflater initialValue() {
+            return new Deflater(level);
+        }
+
+        @Override
+        protected void onRemoval(final Deflater deflater) {
+            deflater.end();
+        }
+    };
+    private static final FastThreadLocal<Inflater> INFLATER = new FastThreadLocal<>() {
+        @Override
+        protected Inflater initialValue() {
+            return new Inflater();
+        }
+
+        @Override
+        protected void onRemoval(final Inflater inflater) {
+            inflater.end();
+        }
+    };
+
+    private CompressionUtil() throws IllegalAccessException {
+        throw new IllegalAccessException("You cannot instantiate a utility class");
+    }
+
+    public static void setLevel(final int level) {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        CompressionUtil.level = level;
+    }
+
+    public static void compress(final @NotNull ByteBuf in, final @NotNull ByteBuf out) {
+        final Deflater deflater = DEFLATER.get();
+        try {
+            deflater.setInput(in.nioBuffer());
+            deflater.finish();
+            while (!deflater.finished()) {
+                out.ensureWritable(DEFLATE_CHUNK_SIZE);
+                final int writerIndex = out.writerIndex();
+                final ByteBuffer target = out.internalNioBuffer(writerIndex, out.writableBytes());
+                final int start = target.position();
+                deflater.deflate(target);
+                out.writerIndex(writerIndex + target.position() - start);
+            }
+            in.skipBytes(in.readableBytes());
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    public static void decompress(final @NotNull ByteBuf in, final @NotNull ByteBuf out, final int expectedSize)
+            throws DataFormatException {
+        final Inflater inflater = INFLATER.get();
+        try {
+            inflater.setInput(in.nioBuffer());
+            out.ensureWritable(expectedSize);
+            final int writerIndex = out.writerIndex();
+            final ByteBuffer target = out.internalNioBuffer(writerIndex, expectedSize);
+            final int start = target.position();
+            while (!inflater.finished() && target.hasRemaining()) {
+                if (inflater.inflate(target) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+            }
+            final int inflated = target.position() - start;
+            if (inflated != expectedSize || !inflater.finished()) {
+                throw new DecoderException("Badly compressed packet: expected " + expectedSize + " bytes but got " + inflated);
+            }
+            out.writerIndex(writerIndex + inflated);
+            in.skipBytes(in.readableBytes());
+        } finally {
+            inflater.reset();
+        }
+    }
+
+    /**
+     * Writes a packet in the compressed format: the uncompressed length (or {@code 0} when the packet is under the
+     * threshold) followed by the deflated or the raw packet data.
+     */
+    public static void writeCompressed(final @NotNull ByteBuf in, final @NotNull ByteBuf out, final int threshold) {
+        final int length = in.readableBytes();
+        if (length < threshold) {
+            writeVarInt(out, 0);
+            out.writeBytes(in);
+        } else {
+            writeVarInt(out, length);
+            compress(in, out);
+        }
+    }
+
+    public static byte @NotNull [] compressPacket(final byte @NotNull [] data, final int threshold) {
+        final ByteBuf out = Unpooled.directBuffer(Math.min(data.length, DEFLATE_CHUNK_SIZE) + 5);
+        final ByteBuf in = Unpooled.wrappedBuffer(data);
+        try {
+            writeCompressed(in, out, threshold);
+            final byte[] compressed = new byte[out.readableBytes()];
+            out.getBytes(out.readerIndex(), compressed);
+            return compressed;
+        } finally {
+            out.release();
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.util;
+
+import io.netty.channel.Channel;
+import net.transferproxy.api.TransferProxy;
+import net.transferproxy.api.event.EventType;
+import net.transferproxy.api.network.connection.PlayerConnection;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Calls the events that can suspend the flow of a connection.
+ * <p>
+ * When every listener completes on the calling thread, the connection is resumed immediately. Otherwise,
+ * it is resumed on the event loop of its channel, and closed if a listener failed or timed out.
+ */
+public final class EventUtil {
+
+    private EventUtil() throws IllegalAccessException {
+        throw new IllegalAccessException("You cannot instantiate a utility class");
+    }
+
+    public static void call(final @NotNull PlayerConnection connection, final @NotNull EventType eventType, final @NotNull Object event) {
+        callAndResume(connection, eventType, event, () -> {
+        });
+    }
+
+    public static void callAndResume(final @NotNull PlayerConnection connection,
+                                     final @NotNull EventType eventType,
+                                     final @NotNull Object event,
+                                     final @NotNull Runnable resume) {
+        final Channel channel = connection.getChannel();
+        final CompletableFuture<Void> future =
+                TransferProxy.getInstance().getModuleManager().getEventManager().callAsync(eventType, event, channel.eventLoop());
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            resume.run();
+            return;
+        }
+        future.whenCompleteAsync((ignored, throwable) -> {
+            if (!channel.isActive()) {
+                return;
+            }
+            if (throwable == null) {
+                resume.run();
+                return;
+            }
+            final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ?
+                    throwable.getCause() : throwable;
+            channel.pipeline().fireExceptionCaught(cause instanceof TimeoutException ?
+                    new TimeoutException("Listener of " + eventType + " event timed out") : cause);
+        }, channel.eventLoop());
+    }
+
+}
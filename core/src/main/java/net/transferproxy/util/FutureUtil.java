@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.transferproxy.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+public final class FutureUtil {
+
+    private FutureUtil() throws IllegalAccessException {
+        throw new IllegalAccessException("You cannot instantiate a utility class");
+    }
+
+    /**
+     * Run an asynchronous task for each index, with at most {@code maxConcurrency} tasks running at the same time.
+     * Each completed task starts the next one. A task that fails, or throws, does not stop the others.
+     *
+     * @param count The number of tasks
+     * @param maxConcurrency The maximum number of running tasks
+     * @param task The function starting the task of an index (must not be null)
+     *
+     * @return a future completed when all tasks are completed
+     */
+    public static @NotNull CompletableFuture<Void> forEachBounded(final int count,
+                                                                  final int maxConcurrency,
+                                                                  final @NotNull IntFunction<? extends CompletableFuture<?>> task) {
+        Objects.requireNonNull(task, "task must not be null");
+        if (count <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger remaining = new AtomicInteger(count);
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        final Runnable[] runNext = new Runnable[1];
+        runNext[0] = () -> {
+            final int index = next.getAndIncrement();
+            if (index >= count) {
+                return;
+            }
+            CompletableFuture<?> future;
+            try {
+                future = task.apply(index);
+            } catch (final RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((ignored, throwable) -> {
+                if (remaining.decrementAndGet() == 0) {
+                    result.complete(null);
+                } else {
+                    runNext[0].run();
+                }
+            });
+        };
+        for (int i = 0; i < Math.min(Math.max(1, maxConcurrency), count); i++) {
+            runNext[0].run();
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,400 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.util;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.DecoderException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static net.transferproxy.util.NBTUtil.*;
+
+/**
+ * A {@link JsonReader} that reads network NBT directly from a {@link ByteBuf}.
+ * <p>
+ * The tokens are the same as those of a tree reader over {@link NBTUtil#deserialize(net.kyori.adventure.nbt.BinaryTag)}
+ * applied on the tag, without building the NBT and JSON trees.
+ */
+final class NBTJsonReader extends JsonReader {
+
+    private static final byte COMPOUND = 0;
+    private static final byte LIST = 1;
+    private static final byte NO_TYPE = -1;
+    private static final int[] MINIMUM_SIZES = {0, 1, 2, 4, 8, 4, 8, 4, 2, 5, 1, 4, 4};
+
+    private final ByteBuf buf;
+    private final byte rootType;
+    private boolean rootConsumed;
+
+    // Stack of the open containers
+    private int depth;
+    private byte[] kinds = new byte[8];
+    private byte[] elementTypes = new byte[8];
+    private int[] remaining = new int[8];
+
+    // Entry of the innermost compound
+    private byte entryType = NO_TYPE;
+    private boolean nameConsumed;
+
+    NBTJsonReader(final @NotNull ByteBuf buf) {
+        super(Reader.nullReader());
+        this.buf = Objects.requireNonNull(buf, "buf must not be null");
+        this.rootType = checkType(buf.readByte());
+    }
+
+    @Override
+    public JsonToken peek() {
+        if (this.depth == 0) {
+            return this.rootConsumed || this.rootType == TAG_END ? JsonToken.END_DOCUMENT : toToken(this.rootType);
+        }
+        if (this.kinds[this.depth - 1] == LIST) {
+            return this.remaining[this.depth - 1] == 0 ? JsonToken.END_ARRAY : toToken(this.elementTypes[this.depth - 1]);
+        }
+        if (this.entryType == NO_TYPE) {
+            this.entryType = checkType(this.buf.readByte());
+        }
+        if (this.entryType == TAG_END) {
+            return JsonToken.END_OBJECT;
+        }
+        return this.nameConsumed ? toToken(this.entryType) : JsonToken.NAME;
+    }
+
+    @Override
+    public void beginArray() {
+        final byte type = this.valueType(JsonToken.BEGIN_ARRAY);
+        final byte elementType;
+        switch (type) {
+            case TAG_BYTE_ARRAY -> elementType = TAG_BYTE;
+            case TAG_INT_ARRAY -> elementType = TAG_INT;
+            case TAG_LONG_ARRAY -> elementType = TAG_LONG;
+            default -> elementType = checkType(this.buf.readByte());
+        }
+        final int count = this.buf.readInt();
+        if (count < 0 || (long) count * MINIMUM_SIZES[elementType] > this.buf.readableBytes() ||
+                elementType == TAG_END && count != 0) {
+            throw new DecoderException("Invalid NBT list length: " + count);
+        }
+        this.push(LIST, elementType, count);
+    }
+
+    @Override
+    public void endArray() {
+        if (this.depth == 0 || this.kinds[this.depth - 1] != LIST || this.remaining[this.depth - 1] != 0) {
+            throw this.unexpected(JsonToken.END_ARRAY);
+        }
+        this.depth--;
+        this.afterValue();
+    }
+
+    @Override
+    public void beginObject() {
+        this.valueType(JsonToken.BEGIN_OBJECT);
+        this.push(COMPOUND, NO_TYPE, 0);
+    }
+
+    @Override
+    public void endObject() {
+        if (this.peek() != JsonToken.END_OBJECT) {
+            throw this.unexpected(JsonToken.END_OBJECT);
+        }
+        this.depth--;
+        this.afterValue();
+    }
+
+    @Override
+    public boolean hasNext() {
+        final JsonToken token = this.peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    @Override
+    public String nextName() {
+        if (this.peek() != JsonToken.NAME) {
+            throw this.unexpected(JsonToken.NAME);
+        }
+        this.nameConsumed = true;
+        final String name = readUTF(this.buf);
+        // Same mapping as NBTUtil#deserialize for wrapped list elements
+        return name.isEmpty() ? "text" : name;
+    }
+
+    @Override
+    public String nextString() {
+        final JsonToken token = this.peek();
+        if (token == JsonToken.STRING) {
+            this.valueType(JsonToken.STRING);
+            final String value = readUTF(this.buf);
+            this.afterValue();
+            return value;
+        } else if (token == JsonToken.NUMBER) {
+            return this.nextNumber().toString();
+        }
+        throw this.unexpected(JsonToken.STRING);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        // NBT has no boolean type, they are read as numbers like with a tree reader
+        throw this.unexpected(JsonToken.BOOLEAN);
+    }
+
+    @Override
+    public void nextNull() {
+        throw this.unexpected(JsonToken.NULL);
+    }
+
+    @Override
+    public double nextDouble() {
+        final JsonToken token = this.peek();
+        if (token == JsonToken.STRING) {
+            return Double.parseDouble(this.nextString());
+        }
+        return this.nextNumber().doubleValue();
+    }
+
+    @Override
+    public long nextLong() {
+        final JsonToken token = this.peek();
+        if (token == JsonToken.STRING) {
+            return Long.parseLong(this.nextString());
+        }
+        return this.nextNumber().longValue();
+    }
+
+    @Override
+    public int nextInt() {
+        final JsonToken token = this.peek();
+        if (token == JsonToken.STRING) {
+            return Integer.parseInt(this.nextString());
+        }
+        return this.nextNumber().intValue();
+    }
+
+    @Override
+    public void skipValue() {
+        switch (this.peek()) {
+            case NAME -> this.nextName();
+            case END_ARRAY -> this.endArray();
+            case END_OBJECT -> this.endObject();
+            case END_DOCUMENT -> {
+            }
+            default -> {
+                this.skipPayload(this.valueType(this.peek()), this.depth);
+                this.afterValue();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        this.depth = 0;
+        this.rootConsumed = true;
+    }
+
+    @Override
+    public String getPath() {
+        return "$";
+    }
+
+    @Override
+    public String getPreviousPath() {
+        return "$";
+    }
+
+    @Override
+    public String toString() {
+        return "NBTJsonReader";
+    }
+
+    private @NotNull Number nextNumber() {
+        final byte type = this.valueType(JsonToken.NUMBER);
+        final Number number = switch (type) {
+            case TAG_BYTE -> Byte.valueOf(this.buf.readByte());
+            case TAG_SHORT -> Short.valueOf(this.buf.readShort());
+            case TAG_INT -> Integer.valueOf(this.buf.readInt());
+            case TAG_LONG -> Long.valueOf(this.buf.readLong());
+            case TAG_FLOAT -> Float.valueOf(this.buf.readFloat());
+            default -> Double.valueOf(this.buf.readDouble());
+        };
+        this.afterValue();
+        return number;
+    }
+
+    private byte valueType(final @NotNull JsonToken expected) {
+        final JsonToken token = this.peek();
+        if (token != expected) {
+            throw this.unexpected(expected);
+        }
+        if (this.depth == 0) {
+            return this.rootType;
+        }
+        return this.kinds[this.depth - 1] == LIST ? this.elementTypes[this.depth - 1] : this.entryType;
+    }
+
+    private void afterValue() {
+        if (this.depth == 0) {
+            this.rootConsumed = true;
+        } else if (this.kinds[this.depth - 1] == LIST) {
+            this.remaining[this.depth - 1]--;
+        } else {
+            this.entryType = NO_TYPE;
+            this.nameConsumed = false;
+        }
+    }
+
+    private void push(final byte kind, final byte elementType, final int count) {
+        if (this.depth == MAX_NBT_DEPTH) {
+            throw new DecoderException("NBT depth is too big");
+        }
+        if (this.depth == this.kinds.length) {
+            final int length = this.depth << 1;
+            this.kinds = Arrays.copyOf(this.kinds, length);
+            this.elementTypes = Arrays.copyOf(this.elementTypes, length);
+            this.remaining = Arrays.copyOf(this.remaining, length);
+        }
+        final int index = this.depth++;
+        this.kinds[index] = kind;
+        this.elementTypes[index] = elementType;
+        this.remaining[index] = count;
+        this.entryType = NO_TYPE;
+        this.nameConsumed = false;
+    }
+
+    private void skipPayload(final byte type, final int depth) {
+        if (depth >= MAX_NBT_DEPTH) {
+            throw new DecoderException("NBT depth is too big");
+        }
+        switch (type) {
+            case TAG_BYTE_ARRAY -> this.skipBytes(this.readLength(1));
+            case TAG_INT_ARRAY -> this.skipBytes(this.readLength(4) * 4);
+            case TAG_LONG_ARRAY -> this.skipBytes(this.readLength(8) * 8);
+            case TAG_STRING -> this.skipBytes(this.buf.readUnsignedShort());
+            case TAG_LIST -> {
+                final byte elementType = checkType(this.buf.readByte());
+                final int count = this.readLength(MINIMUM_SIZES[elementType]);
+                for (int i = 0; i < count; i++) {
+                    this.skipPayload(elementType, depth + 1);
+                }
+            }
+            case TAG_COMPOUND -> {
+                byte entryType;
+                while ((entryType = checkType(this.buf.readByte())) != TAG_END) {
+                    this.skipBytes(this.buf.readUnsignedShort());
+                    this.skipPayload(entryType, depth + 1);
+                }
+            }
+            default -> this.skipBytes(MINIMUM_SIZES[type]);
+        }
+    }
+
+    private int readLength(final int elementSize) {
+        final int count = this.buf.readInt();
+        if (count < 0 || (long) count * elementSize > this.buf.readableBytes()) {
+            throw new DecoderException("Invalid NBT list length: " + count);
+        }
+        return count;
+    }
+
+    private void skipBytes(final int length) {
+        this.buf.skipBytes(length);
+    }
+
+    private @NotNull IllegalStateException unexpected(final @NotNull JsonToken expected) {
+        return new IllegalStateException("Expected " + expected + " but was " + this.peek());
+    }
+
+    private static byte checkType(final byte type) {
+        if (type < TAG_END || type > TAG_LONG_ARRAY) {
+            throw new DecoderException("Invalid binary tag id: " + type);
+        }
+        return type;
+    }
+
+    private static @NotNull JsonToken toToken(final byte type) {
+        return switch (type) {
+            case TAG_STRING -> JsonToken.STRING;
+            case TAG_LIST, TAG_BYTE_ARRAY, TAG_INT_ARRAY, TAG_LONG_ARRAY -> JsonToken.BEGIN_ARRAY;
+            case TAG_COMPOUND -> JsonToken.BEGIN_OBJECT;
+            case TAG_END -> throw new DecoderException("Unexpected end tag");
+            default -> JsonToken.NUMBER;
+        };
+    }
+
+    static @NotNull String readUTF(final @NotNull ByteBuf buf) {
+        // Modified UTF-8, as read by DataInput#readUTF
+        final int length = buf.readUnsignedShort();
+        final int start = buf.readerIndex();
+        if (length > buf.readableBytes()) {
+            throw new DecoderException("String is longer than the remaining bytes: " + length);
+        }
+        boolean ascii = true;
+        for (int i = 0; i < length; i++) {
+            final byte b = buf.getByte(start + i);
+            if (b <= 0) {
+                ascii = false;
+                break;
+            }
+        }
+        if (ascii) {
+            return buf.readCharSequence(length, StandardCharsets.US_ASCII).toString();
+        }
+        final char[] chars = new char[length];
+        int count = 0;
+        int i = 0;
+        while (i < length) {
+            final int a = buf.getByte(start + i) & 0xFF;
+            if (a < 0x80) {
+                chars[count++] = (char) a;
+                i++;
+            } else if ((a & 0xE0) == 0xC0 && i + 1 < length) {
+                final int b = buf.getByte(start + i + 1) & 0xFF;
+                if ((b & 0xC0) != 0x80) {
+                    throw new DecoderException("Malformed NBT string at byte " + i);
+                }
+                chars[count++] = (char) ((a & 0x1F) << 6 | b & 0x3F);
+                i += 2;
+            } else if ((a & 0xF0) == 0xE0 && i + 2 < length) {
+                final int b = buf.getByte(start + i + 1) & 0xFF;
+                final int c = buf.getByte(start + i + 2) & 0xFF;
+                if ((b & 0xC0) != 0x80 || (c & 0xC0) != 0x80) {
+                    throw new DecoderException("Malformed NBT string at byte " + i);
+                }
+                chars[count++] = (char) ((a & 0x0F) << 12 | (b & 0x3F) << 6 | c & 0x3F);
+                i += 3;
+            } else {
+                throw new DecoderException("Malformed NBT string at byte " + i);
+            }
+        }
+        buf.skipBytes(length);
+        return new String(chars, 0, count);
+    }
+
+}
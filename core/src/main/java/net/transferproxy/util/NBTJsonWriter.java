@@ -0,0 +1,388 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.util;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.internal.LazilyParsedNumber;
+import com.google.gson.internal.Streams;
+import com.google.gson.stream.JsonWriter;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.EncoderException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static net.transferproxy.util.NBTUtil.*;
+
+/**
+ * A {@link JsonWriter} that writes network NBT directly into a {@link ByteBuf}.
+ * <p>
+ * The produced tags are the same as {@link NBTUtil#serialize(com.google.gson.JsonElement)} applied on the Gson tree,
+ * without building the JSON and NBT trees. Array tags are resolved when the array ends: the list header is patched,
+ * homogeneous byte/int/long lists become array tags and mixed lists are rewritten as lists of compounds.
+ */
+final class NBTJsonWriter extends JsonWriter {
+
+    private static final int OBJECT = 0;
+    private static final int ARRAY = 1;
+
+    private final ByteBuf buf;
+
+    // Stack of the open containers
+    private int depth;
+    private int[] kinds = new int[8];
+    private int[] typePositions = new int[8];
+    private int[] headerPositions = new int[8];
+    private int[] recordBases = new int[8];
+    private int[] parentRecords = new int[8];
+    private String pendingName;
+    private boolean rootWritten;
+
+    // Start and tag type of each element of the open arrays
+    private int recordCount;
+    private int[] recordStarts = new int[16];
+    private byte[] recordTypes = new byte[16];
+
+    NBTJsonWriter(final @NotNull ByteBuf buf) {
+        super(Writer.nullWriter());
+        this.buf = Objects.requireNonNull(buf, "buf must not be null");
+    }
+
+    @Override
+    public JsonWriter beginObject() {
+        final int record = this.beginValue(TAG_COMPOUND);
+        this.push(OBJECT, -1, -1, record);
+        return this;
+    }
+
+    @Override
+    public JsonWriter endObject() {
+        if (this.depth == 0 || this.kinds[this.depth - 1] != OBJECT || this.pendingName != null) {
+            throw new IllegalStateException("Nesting problem");
+        }
+        this.buf.writeByte(TAG_END);
+        this.depth--;
+        return this;
+    }
+
+    @Override
+    public JsonWriter beginArray() {
+        final boolean typed = this.depth == 0 || this.kinds[this.depth - 1] == OBJECT;
+        final int typePosition = typed ? this.buf.writerIndex() : -1;
+        final int record = this.beginValue(TAG_LIST);
+        final int headerPosition = this.buf.writerIndex();
+        // Element type and length are patched when the array ends
+        this.buf.writeByte(TAG_END).writeInt(0);
+        this.push(ARRAY, typePosition, headerPosition, record);
+        return this;
+    }
+
+    @Override
+    public JsonWriter endArray() {
+        if (this.depth == 0 || this.kinds[this.depth - 1] != ARRAY) {
+            throw new IllegalStateException("Nesting problem");
+        }
+        final int top = --this.depth;
+        final int base = this.recordBases[top];
+        final int count = this.recordCount - base;
+        final int headerPosition = this.headerPositions[top];
+        byte tagType = TAG_LIST;
+        if (count > 0) {
+            final byte elementType = this.recordTypes[base];
+            boolean mixed = false;
+            for (int i = base + 1; i < this.recordCount; i++) {
+                if (this.recordTypes[i] != elementType) {
+                    mixed = true;
+                    break;
+                }
+            }
+            if (mixed) {
+                this.wrapElements(headerPosition, base, count);
+            } else if (elementType == TAG_BYTE || elementType == TAG_INT || elementType == TAG_LONG) {
+                tagType = elementType == TAG_BYTE ? TAG_BYTE_ARRAY : elementType == TAG_INT ? TAG_INT_ARRAY : TAG_LONG_ARRAY;
+                // Array tags have no element type
+                this.removeByte(headerPosition);
+                this.buf.setInt(headerPosition, count);
+            } else {
+                this.buf.setByte(headerPosition, elementType);
+                this.buf.setInt(headerPosition + 1, count);
+            }
+        }
+        this.recordCount = base;
+        if (this.typePositions[top] >= 0) {
+            this.buf.setByte(this.typePositions[top], tagType);
+        }
+        final int parentRecord = this.parentRecords[top];
+        if (parentRecord >= 0) {
+            this.recordTypes[parentRecord] = tagType;
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter name(final @NotNull String name) {
+        Objects.requireNonNull(name, "name == null");
+        if (this.depth == 0 || this.kinds[this.depth - 1] != OBJECT || this.pendingName != null) {
+            throw new IllegalStateException("Unexpected name: " + name);
+        }
+        this.pendingName = name;
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final String value) {
+        if (value == null) {
+            return this.nullValue();
+        }
+        this.beginValue(TAG_STRING);
+        writeUTF(this.buf, value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter jsonValue(final String value) {
+        if (value == null) {
+            return this.nullValue();
+        }
+        // Raw JSON is parsed and written as if it was part of the tree
+        try {
+            Streams.write(JsonParser.parseString(value), this);
+        } catch (final IOException | JsonParseException e) {
+            throw new EncoderException("Invalid raw JSON value", e);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter nullValue() {
+        // Null values are not part of the tree, except for an empty document
+        if (this.depth == 0) {
+            this.beginValue(TAG_END);
+        } else if (this.kinds[this.depth - 1] == OBJECT) {
+            if (this.pendingName == null) {
+                throw new IllegalStateException("Missing name");
+            }
+            this.pendingName = null;
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final boolean value) {
+        this.beginValue(TAG_BYTE);
+        this.buf.writeByte(value ? 1 : 0);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final Boolean value) {
+        return value == null ? this.nullValue() : this.value(value.booleanValue());
+    }
+
+    @Override
+    public JsonWriter value(final float value) {
+        this.beginValue(TAG_FLOAT);
+        this.buf.writeFloat(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final double value) {
+        this.beginValue(TAG_DOUBLE);
+        this.buf.writeDouble(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final long value) {
+        this.beginValue(TAG_LONG);
+        this.buf.writeLong(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final Number value) {
+        if (value == null) {
+            return this.nullValue();
+        } else if (value instanceof final Byte b) {
+            this.beginValue(TAG_BYTE);
+            this.buf.writeByte(b);
+        } else if (value instanceof final Short s) {
+            this.beginValue(TAG_SHORT);
+            this.buf.writeShort(s);
+        } else if (value instanceof final Integer i) {
+            this.beginValue(TAG_INT);
+            this.buf.writeInt(i);
+        } else if (value instanceof final Long l) {
+            return this.value(l.longValue());
+        } else if (value instanceof final Float f) {
+            return this.value(f.floatValue());
+        } else if (value instanceof final Double d) {
+            return this.value(d.doubleValue());
+        } else if (value instanceof LazilyParsedNumber) {
+            this.beginValue(TAG_INT);
+            this.buf.writeInt(value.intValue());
+        } else {
+            throw new IllegalArgumentException("Unknown json primitive: " + value);
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.depth != 0 || !this.rootWritten) {
+            throw new IOException("Incomplete document");
+        }
+    }
+
+    private int beginValue(final byte type) {
+        if (this.depth == 0) {
+            if (this.rootWritten) {
+                throw new IllegalStateException("JSON must have only one top-level value.");
+            }
+            this.rootWritten = true;
+            this.buf.writeByte(type);
+            return -1;
+        }
+        if (this.kinds[this.depth - 1] == OBJECT) {
+            final String name = this.pendingName;
+            if (name == null) {
+                throw new IllegalStateException("Missing name");
+            }
+            this.pendingName = null;
+            this.buf.writeByte(type);
+            writeUTF(this.buf, name);
+            return -1;
+        }
+        return this.pushRecord(type);
+    }
+
+    private void push(final int kind, final int typePosition, final int headerPosition, final int parentRecord) {
+        if (this.depth == MAX_NBT_DEPTH) {
+            throw new EncoderException("NBT depth is too big");
+        }
+        if (this.depth == this.kinds.length) {
+            final int length = this.depth << 1;
+            this.kinds = Arrays.copyOf(this.kinds, length);
+            this.typePositions = Arrays.copyOf(this.typePositions, length);
+            this.headerPositions = Arrays.copyOf(this.headerPositions, length);
+            this.recordBases = Arrays.copyOf(this.recordBases, length);
+            this.parentRecords = Arrays.copyOf(this.parentRecords, length);
+        }
+        final int index = this.depth++;
+        this.kinds[index] = kind;
+        this.typePositions[index] = typePosition;
+        this.headerPositions[index] = headerPosition;
+        this.recordBases[index] = this.recordCount;
+        this.parentRecords[index] = parentRecord;
+    }
+
+    private int pushRecord(final byte type) {
+        if (this.recordCount == this.recordStarts.length) {
+            final int length = this.recordCount << 1;
+            this.recordStarts = Arrays.copyOf(this.recordStarts, length);
+            this.recordTypes = Arrays.copyOf(this.recordTypes, length);
+        }
+        final int index = this.recordCount++;
+        this.recordStarts[index] = this.buf.writerIndex();
+        this.recordTypes[index] = type;
+        return index;
+    }
+
+    private void removeByte(final int position) {
+        // Copy forward, which is safe for overlapping regions when moving the bytes back
+        final int end = this.buf.writerIndex();
+        for (int i = position + 1; i < end; i++) {
+            this.buf.setByte(i - 1, this.buf.getByte(i));
+        }
+        this.buf.writerIndex(end - 1);
+    }
+
+    private void wrapElements(final int headerPosition, final int base, final int count) {
+        // Mixed lists are written as lists of compounds, each non-compound element is wrapped with an empty key
+        final int payloadStart = headerPosition + 5;
+        final int end = this.buf.writerIndex();
+        final byte[] payload = new byte[end - payloadStart];
+        this.buf.getBytes(payloadStart, payload);
+        this.buf.writerIndex(payloadStart);
+        for (int i = 0; i < count; i++) {
+            final int start = this.recordStarts[base + i] - payloadStart;
+            final int stop = (i + 1 < count ? this.recordStarts[base + i + 1] : end) - payloadStart;
+            final byte type = this.recordTypes[base + i];
+            if (type == TAG_COMPOUND) {
+                this.buf.writeBytes(payload, start, stop - start);
+            } else {
+                this.buf.writeByte(type).writeShort(0);
+                this.buf.writeBytes(payload, start, stop - start);
+                this.buf.writeByte(TAG_END);
+            }
+        }
+        this.buf.setByte(headerPosition, TAG_COMPOUND);
+        this.buf.setInt(headerPosition + 1, count);
+    }
+
+    static void writeUTF(final @NotNull ByteBuf buf, final @NotNull String string) {
+        // Modified UTF-8, as written by DataOutput#writeUTF
+        final int length = string.length();
+        int utfLength = length;
+        for (int i = 0; i < length; i++) {
+            final char c = string.charAt(i);
+            if (c >= 0x80 || c == 0) {
+                utfLength += c >= 0x800 ? 2 : 1;
+            }
+        }
+        if (utfLength > 0xFFFF) {
+            throw new EncoderException("String is too long for NBT: " + utfLength + " bytes");
+        }
+        buf.writeShort(utfLength);
+        if (utfLength == length) {
+            buf.writeCharSequence(string, StandardCharsets.US_ASCII);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            final char c = string.charAt(i);
+            if (c != 0 && c < 0x80) {
+                buf.writeByte(c);
+            } else if (c < 0x800) {
+                buf.writeByte(0xC0 | (c >> 6) & 0x1F);
+                buf.writeByte(0x80 | c & 0x3F);
+            } else {
+                buf.writeByte(0xE0 | (c >> 12) & 0x0F);
+                buf.writeByte(0x80 | (c >> 6) & 0x3F);
+                buf.writeByte(0x80 | c & 0x3F);
+            }
+        }
+    }
+
+}
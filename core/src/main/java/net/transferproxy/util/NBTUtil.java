@@ -27,22 +27,71 @@ package net.transferproxy.util;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.internal.LazilyParsedNumber;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.DecoderException;
 import net.kyori.adventure.nbt.*;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 // Credit: https://github.com/PaperMC/Velocity/blob/b9b11665b9a3926bdbf45986e6e0f736ca0d01cd/proxy/src/main/java/com/velocitypowered/proxy/protocol/packet/chat/ComponentHolder.java
 public final class NBTUtil {
 
+    static final byte TAG_END = 0;
+    static final byte TAG_BYTE = 1;
+    static final byte TAG_SHORT = 2;
+    static final byte TAG_INT = 3;
+    static final byte TAG_LONG = 4;
+    static final byte TAG_FLOAT = 5;
+    static final byte TAG_DOUBLE = 6;
+    static final byte TAG_BYTE_ARRAY = 7;
+    static final byte TAG_STRING = 8;
+    static final byte TAG_LIST = 9;
+    static final byte TAG_COMPOUND = 10;
+    static final byte TAG_INT_ARRAY = 11;
+    static final byte TAG_LONG_ARRAY = 12;
+    static final int MAX_NBT_DEPTH = 512;
+
     private NBTUtil() throws IllegalAccessException {
         throw new IllegalAccessException("You cannot instantiate a utility class");
     }
 
+    /**
+     * Writes a component as network NBT, without building the JSON and NBT trees.
+     * The written tag is the same as {@link #serialize(JsonElement)} applied on {@link GsonComponentSerializer#serializeToTree(Component)}.
+     */
+    public static void writeComponent(final @NotNull ByteBuf buf,
+                                      final @NotNull GsonComponentSerializer serializer,
+                                      final @NotNull Component component) {
+        Objects.requireNonNull(component, "component must not be null");
+        serializer.serializer().toJson(component, Component.class, new NBTJsonWriter(buf));
+    }
+
+    /**
+     * Reads a component written as network NBT, without building the NBT and JSON trees.
+     * The read component is the same as {@link GsonComponentSerializer#deserializeFromTree(JsonElement)} applied on {@link #deserialize(BinaryTag)}.
+     */
+    public static @NotNull Component readComponent(final @NotNull ByteBuf buf, final @NotNull GsonComponentSerializer serializer) {
+        final Component component;
+        try {
+            component = serializer.serializer().fromJson(new NBTJsonReader(buf), Component.class);
+        } catch (final JsonParseException | IllegalStateException | IndexOutOfBoundsException | NumberFormatException e) {
+            throw new DecoderException(e);
+        }
+        if (component == null) {
+            throw new DecoderException("Empty component");
+        }
+        return component;
+    }
+
     public static BinaryTag serialize(final JsonElement json) {
         if (json instanceof final JsonPrimitive primitive) {
             return serializePrimitive(json, primitive);
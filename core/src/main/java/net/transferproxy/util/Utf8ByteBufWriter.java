@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.EncoderException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * Writer encoding the characters in UTF-8 directly into a {@link ByteBuf}, without intermediate string.
+ * <p>
+ * The number of written chars is limited like {@link BufUtil#writeString(ByteBuf, CharSequence, int)}.
+ * </p>
+ */
+public final class Utf8ByteBufWriter extends Writer {
+
+    private final ByteBuf buf;
+    private final int maxLength;
+    private int length;
+    // High surrogate waiting for the next char
+    private char highSurrogate;
+
+    public Utf8ByteBufWriter(final @NotNull ByteBuf buf, final int maxLength) {
+        this.buf = Objects.requireNonNull(buf, "buf must not be null");
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public void write(final int c) {
+        this.count(1);
+        this.writeChar((char) c);
+    }
+
+    @Override
+    public void write(final char @NotNull [] chars, final int offset, final int length) {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+        this.count(length);
+        this.buf.ensureWritable(length);
+        for (int i = offset; i < offset + length; i++) {
+            this.writeChar(chars[i]);
+        }
+    }
+
+    @Override
+    public void write(final @NotNull String string, final int offset, final int length) {
+        Objects.checkFromIndexSize(offset, length, string.length());
+        this.count(length);
+        this.buf.ensureWritable(length);
+        for (int i = offset; i < offset + length; i++) {
+            this.writeChar(string.charAt(i));
+        }
+    }
+
+    @Override
+    public @NotNull Writer append(final @NotNull CharSequence sequence) {
+        final int length = sequence.length();
+        this.count(length);
+        this.buf.ensureWritable(length);
+        for (int i = 0; i < length; i++) {
+            this.writeChar(sequence.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * Gets the number of written chars.
+     *
+     * @return the written length
+     */
+    public int getLength() {
+        return this.length;
+    }
+
+    @Override
+    public void flush() {
+        // nothing to flush
+    }
+
+    @Override
+    public void close() {
+        if (this.highSurrogate != 0) {
+            // Unpaired surrogate, encoded as a replacement like ByteBufUtil.writeUtf8
+            this.buf.writeByte('?');
+            this.highSurrogate = 0;
+        }
+    }
+
+    private void count(final int length) {
+        this.length += length;
+        if (this.length > this.maxLength || this.length < 0) {
+            throw new EncoderException("Invalid string length: " + this.length + " > " + this.maxLength);
+        }
+    }
+
+    private void writeChar(final char c) {
+        final ByteBuf buf = this.buf;
+        if (this.highSurrogate != 0) {
+            final char high = this.highSurrogate;
+            this.highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                final int codePoint = Character.toCodePoint(high, c);
+                buf.writeInt((0xF0 | codePoint >> 18) << 24 | (0x80 | codePoint >> 12 & 0x3F) << 16
+                        | (0x80 | codePoint >> 6 & 0x3F) << 8 | 0x80 | codePoint & 0x3F);
+                return;
+            }
+            buf.writeByte('?');
+        }
+        if (c < 0x80) {
+            buf.writeByte(c);
+        } else if (c < 0x800) {
+            buf.writeShort((0xC0 | c >> 6) << 8 | 0x80 | c & 0x3F);
+        } else if (Character.isHighSurrogate(c)) {
+            this.highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buf.writeByte('?');
+        } else {
+            buf.writeMedium((0xE0 | c >> 12) << 16 | (0x80 | c >> 6 & 0x3F) << 8 | 0x80 | c & 0x3F);
+        }
+    }
+
+}
@@ -25,8 +25,12 @@
 package net.transferproxy.event;
 
 import net.transferproxy.api.event.EventManager;
+import net.transferproxy.api.event.EventPriority;
 import net.transferproxy.api.event.EventType;
+import net.transferproxy.api.event.listener.AsyncEventListener;
 import net.transferproxy.api.event.listener.EventListener;
+import net.transferproxy.api.event.status.StatusRequestEvent;
+import net.transferproxy.api.network.connection.PlayerConnection;
 import net.transferproxy.api.util.test.MockedTransferProxy;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,11 +38,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 class EventManagerImplTest {
@@ -121,4 +131,97 @@ class EventManagerImplTest {
         verify(listener).handle(event);
     }
 
-}
\ No newline at end of file
+    @Test
+    void testListenersAreCalledByPriority() {
+        final List<String> calls = new ArrayList<>();
+        final EventListener<StatusRequestEvent> monitor = ignored -> calls.add("monitor");
+        final EventListener<StatusRequestEvent> low = ignored -> calls.add("low");
+        final EventListener<StatusRequestEvent> normal1 = ignored -> calls.add("normal1");
+        final EventListener<StatusRequestEvent> normal2 = ignored -> calls.add("normal2");
+        final EventListener<StatusRequestEvent> highest = ignored -> calls.add("highest");
+
+        this.instance.addListener(EventType.STATUS, monitor, EventPriority.MONITOR, false);
+        this.instance.addListener(EventType.STATUS, normal1);
+        this.instance.addListener(EventType.STATUS, highest, EventPriority.HIGHEST, false);
+        this.instance.addListener(EventType.STATUS, low, EventPriority.LOW, false);
+        this.instance.addListener(EventType.STATUS, normal2);
+
+        this.instance.call(EventType.STATUS, new StatusRequestEvent(mock(PlayerConnection.class)));
+        assertEquals(List.of("low", "normal1", "normal2", "highest", "monitor"), calls);
+        assertIterableEquals(List.of(low, normal1, normal2, highest, monitor), this.instance.getListeners(EventType.STATUS));
+
+        assertTrue(this.instance.removeListener(EventType.STATUS, normal1));
+        calls.clear();
+        this.instance.call(EventType.STATUS, new StatusRequestEvent(mock(PlayerConnection.class)));
+        assertEquals(List.of("low", "normal2", "highest", "monitor"), calls);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testIgnoreCancelledListenerIsSkipped() {
+        final EventListener<StatusRequestEvent> canceller = event -> event.setCancelled(true);
+        final EventListener<StatusRequestEvent> ignoring = mock(EventListener.class);
+        final EventListener<StatusRequestEvent> receiving = mock(EventListener.class);
+
+        this.instance.addListener(EventType.STATUS, canceller, EventPriority.LOW, false);
+        this.instance.addListener(EventType.STATUS, ignoring, EventPriority.NORMAL, true);
+        this.instance.addListener(EventType.STATUS, receiving, EventPriority.MONITOR, false);
+
+        final StatusRequestEvent event = new StatusRequestEvent(mock(PlayerConnection.class));
+        this.instance.call(EventType.STATUS, event);
+
+        assertTrue(event.isCancelled());
+        verify(ignoring, never()).handle(event);
+        verify(receiving).handle(event);
+    }
+
+    @Test
+    void testAsyncListenerSuspendsNextListeners() {
+        final List<String> calls = new ArrayList<>();
+        final CompletableFuture<Void> gate = new CompletableFuture<>();
+        final AsyncEventListener<StatusRequestEvent> async = ignored -> {
+            calls.add("async");
+            return gate;
+        };
+        final EventListener<StatusRequestEvent> next = ignored -> calls.add("next");
+        this.instance.addListener(EventType.STATUS, async, EventPriority.LOW, false);
+        this.instance.addListener(EventType.STATUS, next);
+
+        final CompletableFuture<Void> future =
+                this.instance.callAsync(EventType.STATUS, new StatusRequestEvent(mock(PlayerConnection.class)), Runnable::run);
+        assertFalse(future.isDone());
+        assertEquals(List.of("async"), calls);
+
+        gate.complete(null);
+        assertTrue(future.isDone());
+        assertEquals(List.of("async", "next"), calls);
+    }
+
+    @Test
+    void testCallAsyncWithoutAsyncListenerIsCompleted() {
+        final List<String> calls = new ArrayList<>();
+        this.instance.addListener(EventType.STATUS, (EventListener<StatusRequestEvent>) ignored -> calls.add("sync"));
+
+        final CompletableFuture<Void> future =
+                this.instance.callAsync(EventType.STATUS, new StatusRequestEvent(mock(PlayerConnection.class)), Runnable::run);
+        assertTrue(future.isDone());
+        assertEquals(List.of("sync"), calls);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testAsyncListenerTimeout() {
+        final EventManagerImpl eventManager = new EventManagerImpl(50L, 1);
+        final AsyncEventListener<StatusRequestEvent> never = ignored -> new CompletableFuture<>();
+        final EventListener<StatusRequestEvent> next = mock(EventListener.class);
+        eventManager.addListener(EventType.STATUS, never);
+        eventManager.addListener(EventType.STATUS, next);
+
+        final StatusRequestEvent event = new StatusRequestEvent(mock(PlayerConnection.class));
+        final CompletableFuture<Void> future = eventManager.callAsync(EventType.STATUS, event, Runnable::run);
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5L, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        verify(next, never()).handle(event);
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.transferproxy.network.connection;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import net.transferproxy.api.network.connection.ConnectionState;
+import net.transferproxy.api.util.test.MockedTransferProxy;
+import net.transferproxy.network.packet.login.clientbound.LoginCookieRequestPacket;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerConnectionImplTest {
+
+    private EmbeddedChannel channel;
+    private PlayerConnectionImpl connection;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        MockedTransferProxy.mock();
+    }
+
+    @BeforeEach
+    void setUp() {
+        this.channel = new EmbeddedChannel();
+        this.connection = new PlayerConnectionImpl(this.channel);
+        this.channel.pipeline().addLast(this.connection);
+        this.connection.setState(ConnectionState.LOGIN);
+    }
+
+    @Test
+    void testFetchCookies() {
+        final CompletableFuture<Map<String, byte[]>> future = this.connection.fetchCookies(List.of("test:first", "test:second", "test:first"));
+
+        assertEquals("test:first", this.channel.<LoginCookieRequestPacket>readOutbound().key());
+        assertEquals("test:second", this.channel.<LoginCookieRequestPacket>readOutbound().key());
+        assertNull(this.channel.readOutbound());
+        assertEquals(2, this.connection.getPendingCookies().size());
+
+        this.connection.handleCookieResponse("test:second", null);
+        assertFalse(future.isDone());
+        this.connection.handleCookieResponse("test:first", new byte[] {1});
+
+        final Map<String, byte[]> payloads = future.join();
+        assertEquals(2, payloads.size());
+        assertArrayEquals(new byte[] {1}, payloads.get("test:first"));
+        assertNull(payloads.get("test:second"));
+        assertTrue(this.connection.getPendingCookies().isEmpty());
+    }
+
+    @Test
+    void testFetchCookiesValidatesKeysFirst() {
+        assertThrows(IllegalArgumentException.class, () -> this.connection.fetchCookies(List.of("test:valid", "invalid")));
+        assertNull(this.channel.readOutbound());
+        assertTrue(this.connection.getPendingCookies().isEmpty());
+    }
+
+    @Test
+    void testPendingCookieIsShared() {
+        final CompletableFuture<byte[]> single = this.connection.fetchCookie("test:cookie");
+        final CompletableFuture<Map<String, byte[]>> batch = this.connection.fetchCookies(List.of("test:cookie"));
+
+        assertNotNull(this.channel.readOutbound());
+        assertNull(this.channel.readOutbound());
+        assertSame(single, this.connection.getPendingCookies().get("test:cookie"));
+
+        this.connection.handleCookieResponse("test:cookie", new byte[] {2});
+        assertArrayEquals(new byte[] {2}, single.join());
+        assertArrayEquals(new byte[] {2}, batch.join().get("test:cookie"));
+    }
+
+    @Test
+    void testPendingCookiesAreCancelledOnClose() {
+        final CompletableFuture<byte[]> first = this.connection.fetchCookie("test:first");
+        final CompletableFuture<byte[]> second = this.connection.fetchCookie("test:second");
+
+        this.channel.close();
+
+        assertTrue(first.isCancelled());
+        assertTrue(second.isCancelled());
+        assertTrue(this.connection.getPendingCookies().isEmpty());
+    }
+
+    @Test
+    void testCookieIsCancelledWhenClosed() {
+        this.channel.close();
+
+        final CompletableFuture<byte[]> future = this.connection.fetchCookie("test:cookie");
+        assertTrue(future.isCancelled());
+        assertNull(this.channel.readOutbound());
+        assertTrue(this.connection.getPendingCookies().isEmpty());
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.transferproxy.network.connection;
+
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.nio.NioIoHandler;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDeadlinesTest {
+
+    private static EventLoopGroup group;
+    private static EventLoop loop;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        group = new MultiThreadIoEventLoopGroup(1, NioIoHandler.newFactory());
+        loop = group.next();
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        group.shutdownGracefully(0L, 0L, TimeUnit.MILLISECONDS).syncUninterruptibly();
+    }
+
+    @Test
+    void testUnansweredRequestTimesOut() throws Exception {
+        final RequestDeadlines deadlines = new RequestDeadlines(50L, 0L);
+        final CompletableFuture<byte[]> future = new CompletableFuture<>();
+        deadlines.trackCookie(loop, future);
+        assertEquals(1L, deadlines.getOutstanding());
+
+        final ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5L, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        awaitLoop();
+        assertEquals(0L, deadlines.getOutstanding());
+        assertEquals(1L, deadlines.getTimeouts());
+    }
+
+    @Test
+    void testAnsweredRequestIsNotCounted() throws Exception {
+        final RequestDeadlines deadlines = new RequestDeadlines(50L, 50L);
+        final CompletableFuture<byte[]> cookie = new CompletableFuture<>();
+        final CompletableFuture<Void> codeOfConduct = new CompletableFuture<>();
+        deadlines.trackCookie(loop, cookie);
+        deadlines.trackCodeOfConduct(loop, codeOfConduct);
+        assertEquals(2L, deadlines.getOutstanding());
+
+        cookie.complete(new byte[0]);
+        codeOfConduct.cancel(false);
+        assertEquals(0L, deadlines.getOutstanding());
+
+        // Wait for the timer to skip the completed requests
+        loop.schedule(() -> null, 100L, TimeUnit.MILLISECONDS).get(5L, TimeUnit.SECONDS);
+        assertEquals(0L, deadlines.getTimeouts());
+    }
+
+    @Test
+    void testShorterTimeoutIsNotDelayed() throws Exception {
+        final RequestDeadlines deadlines = new RequestDeadlines(50L, 60_000L);
+        final CompletableFuture<Void> codeOfConduct = new CompletableFuture<>();
+        final CompletableFuture<byte[]> cookie = new CompletableFuture<>();
+        deadlines.trackCodeOfConduct(loop, codeOfConduct);
+        deadlines.trackCookie(loop, cookie);
+
+        assertThrows(ExecutionException.class, () -> cookie.get(5L, TimeUnit.SECONDS));
+        awaitLoop();
+        assertFalse(codeOfConduct.isDone());
+        assertEquals(1L, deadlines.getOutstanding());
+        codeOfConduct.complete(null);
+    }
+
+    @Test
+    void testNoTimeout() throws Exception {
+        final RequestDeadlines deadlines = new RequestDeadlines(0L, 0L);
+        final CompletableFuture<byte[]> future = new CompletableFuture<>();
+        deadlines.trackCookie(loop, future);
+
+        loop.schedule(() -> null, 100L, TimeUnit.MILLISECONDS).get(5L, TimeUnit.SECONDS);
+        assertFalse(future.isDone());
+        assertEquals(1L, deadlines.getOutstanding());
+    }
+
+    private static void awaitLoop() throws Exception {
+        // The waiting thread can be woken up before the timer task finishes
+        loop.submit(() -> null).get(5L, TimeUnit.SECONDS);
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.network.packet.built;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import net.kyori.adventure.text.Component;
+import net.transferproxy.api.network.packet.built.BuiltPacketFactory;
+import net.transferproxy.api.network.packet.built.ProtocolizedBuiltPacket;
+import net.transferproxy.network.packet.PacketTestBase;
+import net.transferproxy.network.packet.config.clientbound.ConfigDisconnectPacket;
+import net.transferproxy.network.packet.config.clientbound.TransferPacket;
+import net.transferproxy.util.test.TestGenerationUtil;
+import org.junit.jupiter.api.Test;
+
+import static net.transferproxy.util.BufUtil.readVarInt;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuiltPacketFactoryImplTest extends PacketTestBase {
+
+    private static final int PROTOCOL = 774;
+
+    @Test
+    void testPacketsAreShared() {
+        final BuiltPacketFactory factory = new BuiltPacketFactoryImpl(16);
+        final Component component = TestGenerationUtil.generateComplexComponent();
+
+        final ProtocolizedBuiltPacket first = factory.configDisconnect(component);
+        assertSame(first, factory.configDisconnect(TestGenerationUtil.generateComplexComponent()));
+        assertNotSame(first, factory.loginDisconnect(component));
+        assertSame(factory.transfer("localhost", 25565), factory.transfer("localhost", 25565));
+        assertNotSame(factory.transfer("localhost", 25565), factory.transfer("localhost", 25566));
+
+        final BuiltPacketFactory.CacheStats stats = factory.getCacheStats();
+        assertEquals(3L, stats.hits());
+        assertEquals(4L, stats.misses());
+        assertEquals(4, stats.size());
+    }
+
+    @Test
+    void testUnusedPacketIsEvicted() {
+        final BuiltPacketFactory factory = new BuiltPacketFactoryImpl(2);
+        final var first = factory.codeOfConduct("first");
+        final var second = factory.codeOfConduct("second");
+        assertSame(first, factory.codeOfConduct("first"));
+        factory.codeOfConduct("third");
+
+        assertSame(first, factory.codeOfConduct("first"));
+        assertNotSame(second, factory.codeOfConduct("second"));
+        assertEquals(2L, factory.getCacheStats().evictions());
+        assertEquals(2, factory.getCacheStats().size());
+    }
+
+    @Test
+    void testDisabledCache() {
+        final BuiltPacketFactory factory = new BuiltPacketFactoryImpl(0);
+        assertNotSame(factory.codeOfConduct("test"), factory.codeOfConduct("test"));
+        assertEquals(0, factory.getCacheStats().size());
+        assertEquals(0.0D, factory.getCacheStats().hitRate());
+    }
+
+    @Test
+    void testBuiltContent() {
+        final BuiltPacketFactory factory = new BuiltPacketFactoryImpl(16);
+        final Component component = TestGenerationUtil.generateComplexComponent();
+
+        final ByteBuf disconnect = factory.configDisconnect(component).get(ByteBufAllocator.DEFAULT, PROTOCOL);
+        try {
+            assertEquals(0x02, readVarInt(disconnect));
+            assertEquals(component, new ConfigDisconnectPacket(PROTOCOL, disconnect).component());
+        } finally {
+            disconnect.release();
+        }
+
+        final ByteBuf transfer = factory.transfer("localhost", 25565).get(ByteBufAllocator.DEFAULT);
+        try {
+            assertEquals(0x0B, readVarInt(transfer));
+            assertEquals(new TransferPacket("localhost", 25565), new TransferPacket(transfer));
+        } finally {
+            transfer.release();
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.network.packet.built;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import net.kyori.adventure.text.Component;
+import net.transferproxy.api.network.packet.built.TemplateBuiltPacket;
+import net.transferproxy.api.status.StatusResponse;
+import net.transferproxy.api.util.ComponentProtocolUtil;
+import net.transferproxy.network.packet.status.clientbound.StatusResponsePacket;
+import net.transferproxy.util.test.TestGenerationUtil;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateBuiltPacketImplTest {
+
+    private static final StatusResponse RESPONSE = StatusResponse.builder()
+            .name("Template é世")
+            .description(TestGenerationUtil.generateComplexComponent())
+            .favicon("data:image/png;base64," + "A".repeat(4096))
+            .addEntry("player", "00000000-0000-0000-0000-000000000000")
+            .build();
+
+    @Test
+    void testSameBytesAsFullEncoding() {
+        final TemplateBuiltPacket template = StatusResponsePacket.template(RESPONSE);
+        assertEquals(3, template.getFieldCount());
+        for (final int protocol : new int[] {47, 734, 735, 765, 766, 770, 774}) {
+            for (final int value : new int[] {0, -1, 9, 10, 99_999, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+                final StatusResponse expectedResponse = RESPONSE.toBuilder().protocol(protocol).online(value).max(-value).build();
+                final byte[] expected = new ProtocolizedBuiltPacketImpl(new StatusResponsePacket(expectedResponse), false, protocol)
+                        .computeBytes(protocol);
+
+                final ByteBuf buf = template.bind(protocol, value, -value).get(ByteBufAllocator.DEFAULT, protocol);
+                try {
+                    assertArrayEquals(expected, ByteBufUtil.getBytes(buf), "Protocol " + protocol + ", value " + value);
+                } finally {
+                    buf.release();
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSegmentsSurviveRelease() {
+        final TemplateBuiltPacket template = StatusResponsePacket.template(RESPONSE);
+        final int protocol = ComponentProtocolUtil.getSerializerProtocols()[0];
+        final byte[] first = ByteBufUtil.getBytes(this.releaseAfterRead(template, protocol));
+        for (int i = 0; i < 10; i++) {
+            assertArrayEquals(first, ByteBufUtil.getBytes(this.releaseAfterRead(template, protocol)));
+        }
+    }
+
+    @Test
+    void testInvalidTemplate() {
+        final TemplateBuiltPacket template = StatusResponsePacket.template(RESPONSE);
+        assertThrows(IllegalArgumentException.class, () -> template.bind(1, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TemplateBuiltPacketImpl(0x00, protocol -> "{\"a\":7,\"b\":7}", new int[] {7}, 1));
+    }
+
+    @Test
+    void testMissingObjectsAreKept() {
+        // Hand-built responses, which cannot be created by the builder
+        final Component description = TestGenerationUtil.generateComplexComponent();
+        this.assertSameBytes(new StatusResponse(description, null, null, null), null);
+        this.assertSameBytes(new StatusResponse(description, null, new StatusResponse.Version(null, 0), null),
+                protocol -> new StatusResponse(description, null, new StatusResponse.Version(null, protocol), null));
+    }
+
+    private void assertSameBytes(final StatusResponse response, final @Nullable IntFunction<StatusResponse> expectedResponse) {
+        final TemplateBuiltPacket template = StatusResponsePacket.template(response);
+        for (final int protocol : ComponentProtocolUtil.getSerializerProtocols()) {
+            final StatusResponse expectedPacket = expectedResponse != null ? expectedResponse.apply(protocol) : response;
+            final byte[] expected = new ProtocolizedBuiltPacketImpl(new StatusResponsePacket(expectedPacket), false, protocol)
+                    .computeBytes(protocol);
+
+            final ByteBuf buf = template.bind(protocol, 1, 2).get(ByteBufAllocator.DEFAULT, protocol);
+            try {
+                assertArrayEquals(expected, ByteBufUtil.getBytes(buf), "Protocol " + protocol);
+            } finally {
+                buf.release();
+            }
+        }
+    }
+
+    private ByteBuf releaseAfterRead(final TemplateBuiltPacket template, final int protocol) {
+        final ByteBuf buf = template.bind(protocol, 1, 2).get(ByteBufAllocator.DEFAULT, protocol);
+        final ByteBuf copy = buf.copy();
+        buf.release();
+        return copy;
+    }
+
+}
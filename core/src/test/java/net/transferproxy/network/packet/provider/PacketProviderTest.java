@@ -26,10 +26,12 @@ package net.transferproxy.network.packet.provider;
 
 import net.transferproxy.api.network.connection.ConnectionState;
 import net.transferproxy.api.network.packet.provider.PacketProviderGroup;
+import net.transferproxy.api.network.protocol.ProtocolVersion;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
-import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 class PacketProviderTest {
 
@@ -45,4 +47,20 @@ class PacketProviderTest {
         }
     }
 
-}
\ No newline at end of file
+    @ParameterizedTest
+    @CsvSource({"766, 8", "767, 8", "770, 8", "771, 9", "772, 9", "773, 10", "774, 10"})
+    void testConfigProvidersMatchVersion(final int protocol, final int expectedLength) {
+        final PacketProviderGroup group = PacketProviderGroups.determineGroup(protocol);
+        assertEquals(expectedLength, group.getProviders(ConnectionState.CONFIG).length);
+    }
+
+    @Test
+    void testUnknownProtocolsUseNearestGroup() {
+        final PacketProviderGroup oldest = PacketProviderGroups.determineGroup(ProtocolVersion.getOldest().getProtocol());
+        final PacketProviderGroup latest = PacketProviderGroups.determineGroup(ProtocolVersion.getLatest().getProtocol());
+        assertSame(oldest, PacketProviderGroups.determineGroup(47));
+        assertSame(latest, PacketProviderGroups.determineGroup(ProtocolVersion.getLatest().getProtocol() + 1));
+        assertSame(latest, PacketProviderGroups.getDefaultGroup());
+    }
+
+}
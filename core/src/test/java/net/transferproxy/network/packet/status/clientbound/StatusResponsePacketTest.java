@@ -24,13 +24,21 @@
 
 package net.transferproxy.network.packet.status.clientbound;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.transferproxy.api.network.protocol.Protocolized;
 import net.transferproxy.api.status.StatusResponse;
+import net.transferproxy.api.util.ComponentProtocolUtil;
 import net.transferproxy.network.packet.PacketTestBase;
+import net.transferproxy.util.BufUtil;
 import net.transferproxy.util.test.TestGenerationUtil;
 import org.junit.jupiter.api.Test;
 
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
 class StatusResponsePacketTest extends PacketTestBase {
 
     @Test
@@ -47,4 +55,31 @@ class StatusResponsePacketTest extends PacketTestBase {
                 .build()), StatusResponsePacket::new);
     }
 
-}
\ No newline at end of file
+    @Test
+    void testStreamedJsonMatchesString() {
+        for (final int protocol : ComponentProtocolUtil.getSerializerProtocols()) {
+            this.testStreamedJson(protocol);
+        }
+    }
+
+    private void testStreamedJson(final int protocol) {
+        final StatusResponse response = StatusResponse.builder()
+                .name("TransferProxy \u00e9\u4e16\ud83d\ude00")
+                .description(TestGenerationUtil.generateComplexComponent())
+                .addEntry("Darkkraft", UUID.fromString("169033d6-0967-49dc-828e-a6c48665e08f"))
+                .online(5)
+                .max(10)
+                .protocol(protocol)
+                .build();
+        final ByteBuf buf = Unpooled.buffer();
+        try {
+            new StatusResponsePacket(response).write(Protocolized.of(protocol), buf);
+            final String expected = ComponentProtocolUtil.getSerializer(protocol).serializer().toJson(response);
+            assertEquals(expected, BufUtil.readString(buf));
+            assertFalse(buf.isReadable());
+        } finally {
+            buf.release();
+        }
+    }
+
+}
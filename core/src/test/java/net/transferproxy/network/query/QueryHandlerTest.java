@@ -0,0 +1,202 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.network.query;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.socket.DatagramPacket;
+import net.kyori.adventure.text.Component;
+import net.transferproxy.api.status.StatusResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryHandlerTest {
+
+    private static final InetSocketAddress SENDER = new InetSocketAddress("127.0.0.1", 40000);
+    private static final InetSocketAddress RECIPIENT = new InetSocketAddress("127.0.0.1", 25565);
+    private static final int SESSION_ID = 0x01020304;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final AtomicInteger supplied = new AtomicInteger();
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        final StatusResponse response = StatusResponse.builder()
+                .name("TransferProxy")
+                .description(Component.text("Hello"))
+                .online(3)
+                .max(20)
+                .addEntry("Player1", UUID.randomUUID())
+                .addEntry("Player2", UUID.randomUUID())
+                .build();
+        this.channel = new EmbeddedChannel(new QueryHandler(() -> {
+            this.supplied.incrementAndGet();
+            return response;
+        }, "127.0.0.1", 25565, new QueryChallenges(this.clock::get), this.clock::get));
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void testHandshake() {
+        final ByteBuf reply = this.send(request(QueryHandler.TYPE_HANDSHAKE).writeByte(0));
+        try {
+            assertEquals(QueryHandler.TYPE_HANDSHAKE, reply.readByte());
+            assertEquals(SESSION_ID, reply.readInt());
+            assertDoesNotThrow(() -> Integer.parseInt(readString(reply)));
+        } finally {
+            reply.release();
+        }
+    }
+
+    @Test
+    void testBasicStat() {
+        final ByteBuf reply = this.send(request(QueryHandler.TYPE_STAT).writeInt(this.handshake()));
+        try {
+            assertEquals(QueryHandler.TYPE_STAT, reply.readByte());
+            assertEquals(SESSION_ID, reply.readInt());
+            assertEquals("Hello", readString(reply));
+            assertEquals("SMP", readString(reply));
+            assertEquals("world", readString(reply));
+            assertEquals("3", readString(reply));
+            assertEquals("20", readString(reply));
+            assertEquals(25565, reply.readUnsignedShortLE());
+            assertEquals("127.0.0.1", readString(reply));
+            assertFalse(reply.isReadable());
+        } finally {
+            reply.release();
+        }
+    }
+
+    @Test
+    void testFullStat() {
+        final ByteBuf reply = this.send(request(QueryHandler.TYPE_STAT).writeInt(this.handshake()).writeInt(0));
+        try {
+            assertEquals(QueryHandler.TYPE_STAT, reply.readByte());
+            assertEquals(SESSION_ID, reply.readInt());
+            reply.skipBytes(11);
+            final List<String> values = new ArrayList<>();
+            String key;
+            while (!(key = readString(reply)).isEmpty()) {
+                values.add(key + "=" + readString(reply));
+            }
+            assertTrue(values.contains("hostname=Hello"));
+            assertTrue(values.contains("numplayers=3"));
+            assertTrue(values.contains("maxplayers=20"));
+            assertTrue(values.contains("game_id=MINECRAFT"));
+            reply.skipBytes(10);
+            assertEquals("Player1", readString(reply));
+            assertEquals("Player2", readString(reply));
+            assertEquals("", readString(reply));
+            assertFalse(reply.isReadable());
+        } finally {
+            reply.release();
+        }
+    }
+
+    @Test
+    void testInvalidTokenIsIgnored() {
+        final int token = this.handshake();
+        this.channel.writeInbound(new DatagramPacket(request(QueryHandler.TYPE_STAT).writeInt(token + 1), RECIPIENT, SENDER));
+        assertNull(this.channel.readOutbound());
+    }
+
+    @Test
+    void testTokenExpires() {
+        final int token = this.handshake();
+        this.clock.addAndGet(QueryChallenges.GENERATION_DURATION);
+        this.send(request(QueryHandler.TYPE_STAT).writeInt(token)).release();
+
+        this.clock.addAndGet(QueryChallenges.GENERATION_DURATION * 2L);
+        this.channel.writeInbound(new DatagramPacket(request(QueryHandler.TYPE_STAT).writeInt(token), RECIPIENT, SENDER));
+        assertNull(this.channel.readOutbound());
+    }
+
+    @Test
+    void testMalformedPacketsAreIgnored() {
+        this.channel.writeInbound(new DatagramPacket(Unpooled.wrappedBuffer(new byte[] {1, 2, 3}), RECIPIENT, SENDER));
+        this.channel.writeInbound(new DatagramPacket(Unpooled.buffer().writeShort(0x1234).writeByte(0).writeInt(0), RECIPIENT, SENDER));
+        assertNull(this.channel.readOutbound());
+        assertTrue(this.channel.isOpen());
+    }
+
+    @Test
+    void testStatsAreCached() {
+        final int token = this.handshake();
+        this.send(request(QueryHandler.TYPE_STAT).writeInt(token)).release();
+        this.send(request(QueryHandler.TYPE_STAT).writeInt(token).writeInt(0)).release();
+        assertEquals(1, this.supplied.get());
+
+        this.clock.addAndGet(1_000L);
+        this.send(request(QueryHandler.TYPE_STAT).writeInt(token)).release();
+        assertEquals(2, this.supplied.get());
+    }
+
+    private int handshake() {
+        final ByteBuf reply = this.send(request(QueryHandler.TYPE_HANDSHAKE));
+        try {
+            reply.skipBytes(5);
+            return Integer.parseInt(readString(reply));
+        } finally {
+            reply.release();
+        }
+    }
+
+    private ByteBuf send(final ByteBuf request) {
+        this.channel.writeInbound(new DatagramPacket(request, RECIPIENT, SENDER));
+        final DatagramPacket reply = this.channel.readOutbound();
+        assertNotNull(reply);
+        assertEquals(SENDER, reply.recipient());
+        return reply.content();
+    }
+
+    private static ByteBuf request(final byte type) {
+        return Unpooled.buffer().writeShort(QueryHandler.MAGIC).writeByte(type).writeInt(SESSION_ID);
+    }
+
+    private static String readString(final ByteBuf buf) {
+        final int end = buf.indexOf(buf.readerIndex(), buf.writerIndex(), (byte) 0);
+        final String string = buf.toString(buf.readerIndex(), end - buf.readerIndex(), StandardCharsets.UTF_8);
+        buf.readerIndex(end + 1);
+        return string;
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import net.transferproxy.api.network.connection.PlayerConnection;
+import net.transferproxy.api.network.packet.built.BuiltPacket;
+import net.transferproxy.api.routing.AdmissionResult;
+import net.transferproxy.api.routing.RouteTarget;
+import net.transferproxy.routing.AdmissionQueue.Ticket;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class AdmissionQueueTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    // Leaves a margin for the rounding of the refilled tokens
+    private static final long AFTER_SECOND = SECOND + SECOND / 10L;
+    private static final RouteTarget TARGET = new RouteTarget("backend", 25565, mock(BuiltPacket.class));
+
+    @Test
+    void testBurstThenRate() {
+        final AdmissionQueue queue = new AdmissionQueue(2, 3, 0, 1, 0L);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(queue.tryAcquire(0L));
+        }
+        assertFalse(queue.tryAcquire(0L));
+        assertFalse(queue.tryAcquire(SECOND / 4L));
+        assertTrue(queue.tryAcquire(SECOND));
+        // The tokens never exceed the burst
+        for (int i = 0; i < 3; i++) {
+            assertTrue(queue.tryAcquire(100L * SECOND));
+        }
+        assertFalse(queue.tryAcquire(100L * SECOND));
+    }
+
+    @Test
+    void testWaitingPlayersAreReleasedInOrder() {
+        final AdmissionQueue queue = new AdmissionQueue(1, 1, 0, 1, 0L);
+        assertTrue(queue.tryAcquire(0L));
+
+        final Ticket first = ticket(queue, 0);
+        final Ticket second = ticket(queue, 0);
+        assertEquals(AdmissionResult.QUEUED, queue.offer(first, 0L));
+        assertEquals(AdmissionResult.QUEUED, queue.offer(second, 0L));
+        // A new player cannot overtake the waiting players
+        assertFalse(queue.tryAcquire(SECOND));
+
+        assertEquals(List.of(first), poll(queue, AFTER_SECOND));
+        assertEquals(List.of(), poll(queue, AFTER_SECOND));
+        assertEquals(List.of(second), poll(queue, 2L * AFTER_SECOND));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void testLanesArePrioritized() {
+        final AdmissionQueue queue = new AdmissionQueue(1, 2, 0, 2, 0L);
+        assertTrue(queue.tryAcquire(0L));
+        assertTrue(queue.tryAcquire(0L));
+
+        final Ticket normal = ticket(queue, 1);
+        final Ticket priority1 = ticket(queue, 0);
+        final Ticket priority2 = ticket(queue, 0);
+        queue.offer(normal, 0L);
+        queue.offer(priority1, 0L);
+        queue.offer(priority2, 0L);
+
+        assertEquals(1, queue.getPosition(priority1));
+        assertEquals(2, queue.getPosition(priority2));
+        assertEquals(3, queue.getPosition(normal));
+
+        final List<Ticket> waiting = new ArrayList<>();
+        queue.snapshot(waiting);
+        assertEquals(List.of(priority1, priority2, normal), waiting);
+
+        assertEquals(List.of(priority1, priority2), poll(queue, 2L * AFTER_SECOND));
+        assertEquals(1, queue.getPosition(normal));
+    }
+
+    @Test
+    void testCapacity() {
+        final AdmissionQueue queue = new AdmissionQueue(1, 1, 2, 1, 0L);
+        assertTrue(queue.tryAcquire(0L));
+
+        assertEquals(AdmissionResult.QUEUED, queue.offer(ticket(queue, 0), 0L));
+        assertEquals(AdmissionResult.QUEUED, queue.offer(ticket(queue, 0), 0L));
+        assertEquals(AdmissionResult.REJECTED, queue.offer(ticket(queue, 0), 0L));
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    void testRemoveFromMiddle() {
+        final AdmissionQueue queue = new AdmissionQueue(1, 1, 0, 1, 0L);
+        assertTrue(queue.tryAcquire(0L));
+
+        final Ticket first = ticket(queue, 0);
+        final Ticket second = ticket(queue, 0);
+        final Ticket third = ticket(queue, 0);
+        queue.offer(first, 0L);
+        queue.offer(second, 0L);
+        queue.offer(third, 0L);
+
+        assertTrue(queue.remove(second));
+        assertFalse(queue.remove(second));
+        assertEquals(-1, queue.getPosition(second));
+        assertEquals(2, queue.getPosition(third));
+        assertEquals(2, queue.size());
+
+        assertEquals(List.of(first), poll(queue, AFTER_SECOND));
+        assertEquals(List.of(third), poll(queue, 2L * AFTER_SECOND));
+        assertFalse(queue.remove(third));
+    }
+
+    private static Ticket ticket(final AdmissionQueue queue, final int lane) {
+        return new Ticket(mock(PlayerConnection.class), TARGET, queue, lane);
+    }
+
+    private static List<Ticket> poll(final AdmissionQueue queue, final long now) {
+        final List<Ticket> released = new ArrayList<>();
+        queue.poll(now, released);
+        return released;
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import net.transferproxy.api.network.connection.PlayerConnection;
+import net.transferproxy.api.network.packet.built.BuiltPacket;
+import net.transferproxy.api.routing.RouteTarget;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class BackendPoolTest {
+
+    private static final long STALE_AFTER = 1_000L;
+
+    private final PlayerConnection connection = mock(PlayerConnection.class);
+
+    @Test
+    void testRoundRobin() {
+        final Backend first = backend("first", 1);
+        final Backend second = backend("second", 5);
+        final BackendPool pool = new BackendPool("pool", BalanceStrategy.ROUND_ROBIN, List.of(first, second), STALE_AFTER);
+
+        assertSame(first, pool.select(this.connection, 0L));
+        assertSame(second, pool.select(this.connection, 0L));
+        assertSame(first, pool.select(this.connection, 0L));
+    }
+
+    @Test
+    void testWeightedDistribution() {
+        final Backend light = backend("light", 1);
+        final Backend heavy = backend("heavy", 3);
+        final BackendPool pool = new BackendPool("pool", BalanceStrategy.WEIGHTED, List.of(light, heavy), STALE_AFTER);
+
+        final Map<Backend, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 40_000; i++) {
+            counts.merge(pool.select(this.connection, 0L), 1, Integer::sum);
+        }
+        assertEquals(10_000, counts.get(light), 1_000);
+        assertEquals(30_000, counts.get(heavy), 1_000);
+    }
+
+    @Test
+    void testLeastLoadUsesReportsAndWeights() {
+        final Backend small = backend("small", 1);
+        final Backend large = backend("large", 4);
+        final BackendPool pool = new BackendPool("pool", BalanceStrategy.LEAST_LOAD, List.of(small, large), STALE_AFTER);
+
+        small.report(10, 0L);
+        large.report(30, 0L);
+        // 30 / 4 is lower than 10 / 1
+        assertSame(large, pool.select(this.connection, 0L));
+
+        large.report(100, 0L);
+        assertSame(small, pool.select(this.connection, 0L));
+    }
+
+    @Test
+    void testLeastLoadCountsTransfersUntilNextReport() {
+        final Backend first = backend("first", 1);
+        final Backend second = backend("second", 1);
+        final BackendPool pool = new BackendPool("pool", BalanceStrategy.LEAST_LOAD, List.of(first, second), STALE_AFTER);
+
+        first.report(0, 0L);
+        second.report(2, 0L);
+        assertSame(first, pool.select(this.connection, 0L));
+        // A selection is only counted once the transfer is sent
+        assertSame(first, pool.select(this.connection, 0L));
+        pool.select(this.connection, 0L).countTransfer();
+        pool.select(this.connection, 0L).countTransfer();
+        // The first backend now counts 2 players, like the second one
+        pool.select(this.connection, 0L).countTransfer();
+        assertEquals(5, first.getLoad(0L, STALE_AFTER) + second.getLoad(0L, STALE_AFTER));
+    }
+
+    @Test
+    void testStaleLoadDecays() {
+        final Backend backend = backend("backend", 1);
+        backend.report(100, 0L);
+
+        assertEquals(100, backend.getLoad(STALE_AFTER - 1L, STALE_AFTER));
+        assertEquals(50, backend.getLoad(STALE_AFTER, STALE_AFTER));
+        assertEquals(25, backend.getLoad(STALE_AFTER * 2L, STALE_AFTER));
+        assertEquals(0, backend.getLoad(STALE_AFTER * 100L, STALE_AFTER));
+    }
+
+    @Test
+    void testInvalidPools() {
+        assertThrows(IllegalArgumentException.class, () -> new BackendPool("pool", BalanceStrategy.ROUND_ROBIN, List.of(), STALE_AFTER));
+        assertThrows(IllegalArgumentException.class, () -> backend("backend", 0));
+        assertThrows(IllegalArgumentException.class, () -> BalanceStrategy.fromName("random"));
+        assertEquals(BalanceStrategy.LEAST_LOAD, BalanceStrategy.fromName("least-load"));
+    }
+
+    private static Backend backend(final String host, final int weight) {
+        return new Backend(new RouteTarget(host, 25565, mock(BuiltPacket.class)), weight);
+    }
+
+}
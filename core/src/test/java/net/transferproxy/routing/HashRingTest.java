@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import net.transferproxy.api.network.packet.built.BuiltPacket;
+import net.transferproxy.api.routing.RouteTarget;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class HashRingTest {
+
+    private static final int KEYS = 20_000;
+
+    @Test
+    void testSameKeySameBackend() {
+        final HashRing ring = new HashRing(backends(5));
+        final UUID uuid = UUID.randomUUID();
+        assertSame(ring.get(HashRing.hash(uuid)), ring.get(HashRing.hash(uuid)));
+        assertEquals(HashRing.hash("Notch"), HashRing.hash(new StringBuilder("Notch")));
+    }
+
+    @Test
+    void testKeysAreSpread() {
+        final HashRing ring = new HashRing(backends(4));
+        final Map<Backend, Integer> counts = new HashMap<>();
+        final Random random = new Random(42L);
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.get(HashRing.hash(new UUID(random.nextLong(), random.nextLong()))), 1, Integer::sum);
+        }
+        assertEquals(4, counts.size());
+        for (final int count : counts.values()) {
+            assertEquals(KEYS / 4, count, KEYS / 10);
+        }
+    }
+
+    @Test
+    void testAddingBackendMovesFewKeys() {
+        final Backend[] backends = backends(5);
+        final Backend[] reduced = new Backend[4];
+        System.arraycopy(backends, 0, reduced, 0, 4);
+        final HashRing before = new HashRing(reduced);
+        final HashRing after = new HashRing(backends);
+
+        final Random random = new Random(42L);
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            final long key = HashRing.hash(new UUID(random.nextLong(), random.nextLong()));
+            final Backend previous = before.get(key);
+            final Backend current = after.get(key);
+            if (previous != current) {
+                // A key can only move to the new backend
+                assertSame(backends[4], current);
+                moved++;
+            }
+        }
+        assertEquals(KEYS / 5, moved, KEYS / 20);
+    }
+
+    @Test
+    void testUnavailableBackendIsSkipped() {
+        final Backend[] backends = backends(3);
+        final HashRing ring = new HashRing(backends);
+        final long key = HashRing.hash(UUID.randomUUID());
+        final Backend chosen = ring.get(key);
+
+        chosen.setAvailable(false);
+        final Backend fallback = ring.get(key);
+        assertNotSame(chosen, fallback);
+        assertTrue(fallback.isAvailable());
+
+        for (final Backend backend : backends) {
+            backend.setAvailable(false);
+        }
+        assertSame(chosen, ring.get(key));
+    }
+
+    private static Backend[] backends(final int count) {
+        final Backend[] backends = new Backend[count];
+        for (int i = 0; i < count; i++) {
+            backends[i] = new Backend(new RouteTarget("backend" + i, 25565, mock(BuiltPacket.class)), 1);
+        }
+        return backends;
+    }
+
+}
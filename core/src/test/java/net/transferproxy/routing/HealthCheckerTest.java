@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.resolver.dns.DnsAddressResolverGroup;
+import io.netty.resolver.dns.DnsServerAddressStreamProviders;
+import net.transferproxy.api.network.packet.built.BuiltPacket;
+import net.transferproxy.api.routing.RouteTarget;
+import net.transferproxy.api.status.StatusResponse;
+import net.transferproxy.api.util.test.MockedTransferProxy;
+import net.transferproxy.status.StatusPinger;
+import net.transferproxy.util.test.StubStatusServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class HealthCheckerTest {
+
+    private static final StatusResponse RESPONSE = StatusResponse.builder().name("backend").online(1).max(10).build();
+
+    private static EventLoopGroup group;
+    private static DnsAddressResolverGroup resolver;
+    private static StubStatusServer server;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        MockedTransferProxy.mock();
+        group = new MultiThreadIoEventLoopGroup(1, NioIoHandler.newFactory());
+        resolver = new DnsAddressResolverGroup(NioDatagramChannel.class, DnsServerAddressStreamProviders.platformDefault());
+        server = new StubStatusServer(group, RESPONSE);
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        server.close();
+        resolver.close();
+        group.shutdownGracefully().syncUninterruptibly();
+    }
+
+    @Test
+    void testCheckLocalServers() {
+        final Backend alive = backend("127.0.0.1", server.getAddress().getPort());
+        final Backend dead = backend("127.0.0.1", 1);
+        final HealthChecker checker = new HealthChecker(() -> List.of(alive, dead), 1_000L, 2, 1, 1);
+        final StatusPinger pinger = new StatusPinger(group, NioSocketChannel.class, resolver, 1_000L);
+
+        checker.check(pinger::ping).join();
+        assertTrue(alive.isAvailable());
+        assertTrue(alive.getLatency() >= 0L);
+        assertFalse(dead.isAvailable());
+    }
+
+    @Test
+    void testHysteresis() {
+        final Backend backend = backend("backend", 25565);
+        final boolean[] up = {false};
+        final HealthChecker checker = new HealthChecker(() -> List.of(backend), 1_000L, 1, 2, 3);
+        final Function<InetSocketAddress, CompletableFuture<StatusResponse>> pinger =
+                address -> up[0] ? CompletableFuture.completedFuture(RESPONSE) : CompletableFuture.failedFuture(new Exception());
+
+        checker.check(pinger).join();
+        checker.check(pinger).join();
+        assertTrue(backend.isAvailable());
+        checker.check(pinger).join();
+        assertFalse(backend.isAvailable());
+
+        up[0] = true;
+        checker.check(pinger).join();
+        assertFalse(backend.isAvailable());
+        checker.check(pinger).join();
+        assertTrue(backend.isAvailable());
+
+        // A failure between successes resets the count
+        up[0] = false;
+        checker.check(pinger).join();
+        checker.check(pinger).join();
+        up[0] = true;
+        checker.check(pinger).join();
+        up[0] = false;
+        checker.check(pinger).join();
+        checker.check(pinger).join();
+        assertTrue(backend.isAvailable());
+    }
+
+    @Test
+    void testConcurrencyIsBounded() {
+        final List<Backend> backends = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            backends.add(backend("backend" + i, 25565));
+        }
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final List<CompletableFuture<StatusResponse>> pending = new ArrayList<>();
+        final HealthChecker checker = new HealthChecker(() -> backends, 1_000L, 3, 1, 1);
+
+        final CompletableFuture<Void> result = checker.check(address -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            final CompletableFuture<StatusResponse> future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        });
+        while (!result.isDone()) {
+            final CompletableFuture<StatusResponse> future = pending.remove(0);
+            inFlight.decrementAndGet();
+            future.complete(RESPONSE);
+        }
+        assertEquals(3, maxInFlight.get());
+        assertTrue(pending.isEmpty());
+    }
+
+    @Test
+    void testFailingRoundIsRescheduled() throws InterruptedException {
+        final CountDownLatch rounds = new CountDownLatch(2);
+        final HealthChecker checker = new HealthChecker(() -> {
+            rounds.countDown();
+            throw new IllegalStateException("Test failure");
+        }, 10L, 1, 1, 1);
+        checker.start(group, new StatusPinger(group, NioSocketChannel.class, resolver, 1_000L));
+        try {
+            assertTrue(rounds.await(5L, TimeUnit.SECONDS));
+        } finally {
+            checker.stop();
+        }
+    }
+
+    private static Backend backend(final String host, final int port) {
+        return new Backend(new RouteTarget(host, port, mock(BuiltPacket.class)), 1);
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadReportHandlerTest {
+
+    private final Map<String, Integer> loads = new HashMap<>();
+    private final LoadReportHandler handler = new LoadReportHandler("secret", (target, load) -> {
+        if (!target.startsWith("lobby")) {
+            return false;
+        }
+        this.loads.put(target, load);
+        return true;
+    });
+
+    @Test
+    void testValidReport() {
+        assertTrue(this.handle(report(LoadReportHandler.MAGIC, "secret", "lobby1:25565", 42)));
+        assertEquals(Map.of("lobby1:25565", 42), this.loads);
+    }
+
+    @Test
+    void testEmptySecret() {
+        assertThrows(IllegalArgumentException.class, () -> new LoadReportHandler("", (target, load) -> true));
+        assertFalse(this.handle(report(LoadReportHandler.MAGIC, "", "lobby1", 42)));
+    }
+
+    @Test
+    void testInvalidReports() {
+        assertFalse(this.handle(report(0x12345678, "secret", "lobby1", 42)));
+        assertFalse(this.handle(report(LoadReportHandler.MAGIC, "wrong", "lobby1", 42)));
+        assertFalse(this.handle(report(LoadReportHandler.MAGIC, "secret", "unknown", 42)));
+
+        final ByteBuf truncated = report(LoadReportHandler.MAGIC, "secret", "lobby1", 42);
+        truncated.writerIndex(truncated.writerIndex() - 1);
+        assertFalse(this.handle(truncated));
+        assertTrue(this.loads.isEmpty());
+    }
+
+    private boolean handle(final ByteBuf buf) {
+        try {
+            return this.handler.handle(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static ByteBuf report(final int magic, final String secret, final String target, final int load) {
+        final ByteBuf buf = Unpooled.buffer();
+        buf.writeInt(magic);
+        final byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        buf.writeByte(secretBytes.length).writeBytes(secretBytes);
+        final byte[] targetBytes = target.getBytes(StandardCharsets.UTF_8);
+        buf.writeByte(targetBytes.length).writeBytes(targetBytes);
+        return buf.writeInt(load);
+    }
+
+}
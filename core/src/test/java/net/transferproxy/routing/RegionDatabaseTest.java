@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegionDatabaseTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testLookupRangesAndCidr() throws IOException {
+        final RegionDatabase database = this.compile("""
+                # Comment
+                10.0.0.0,10.0.0.255,eu
+
+                192.168.0.0/16,us
+                255.255.255.0,255.255.255.255,last
+                2001:db8::/32,eu
+                """);
+
+        assertEquals(4, database.size());
+        assertEquals("eu", database.lookup(address("10.0.0.0")));
+        assertEquals("eu", database.lookup(address("10.0.0.255")));
+        assertNull(database.lookup(address("10.0.1.0")));
+        assertNull(database.lookup(address("9.255.255.255")));
+        assertEquals("us", database.lookup(address("192.168.42.1")));
+        // The addresses above 128.0.0.0 are compared as unsigned
+        assertEquals("last", database.lookup(address("255.255.255.255")));
+        assertEquals("eu", database.lookup(address("2001:db8:ffff::1")));
+        assertNull(database.lookup(address("2001:db9::")));
+        assertNull(database.lookup(address("::1")));
+    }
+
+    @Test
+    void testRegionNamesAreShared() throws IOException {
+        final RegionDatabase database = this.compile("""
+                1.0.0.0/8,eu
+                2.0.0.0/8,eu
+                """);
+
+        assertSame(database.lookup(address("1.1.1.1")), database.lookup(address("2.2.2.2")));
+    }
+
+    @Test
+    void testInvalidLines() {
+        assertThrows(IllegalArgumentException.class, () -> this.compile("10.0.0.0,eu"));
+        assertThrows(IllegalArgumentException.class, () -> this.compile("10.0.0.0/33,eu"));
+        assertThrows(IllegalArgumentException.class, () -> this.compile("10.0.0.5,10.0.0.1,eu"));
+        assertThrows(IllegalArgumentException.class, () -> this.compile("10.0.0.0,::1,eu"));
+        assertThrows(IllegalArgumentException.class, () -> this.compile("example.com/8,eu"));
+        assertThrows(IllegalArgumentException.class, () -> this.compile("10.0.0.0/8,"));
+        assertThrows(IllegalArgumentException.class, () -> this.compile("""
+                10.0.0.0/8,eu
+                10.1.0.0/16,us
+                """));
+    }
+
+    @Test
+    void testInvalidBinary() {
+        assertThrows(IllegalArgumentException.class, () -> RegionDatabase.wrap(new byte[32]));
+    }
+
+    @Test
+    void testServiceCompilesAndReloads() throws IOException {
+        final Path csv = this.directory.resolve("regions.csv");
+        Files.writeString(csv, "10.0.0.0/8,eu\n");
+        final RegionService service = new RegionService(csv);
+
+        assertTrue(service.load());
+        assertTrue(Files.exists(this.directory.resolve("regions.csv.bin")));
+        assertEquals("eu", service.lookup(address("10.1.2.3")));
+        assertFalse(service.load());
+
+        Files.writeString(csv, "10.0.0.0/8,us\n");
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(System.currentTimeMillis() + 10_000L));
+        assertTrue(service.load());
+        assertEquals("us", service.lookup(address("10.1.2.3")));
+
+        // An invalid file keeps the previous database
+        Files.writeString(csv, "invalid\n");
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(System.currentTimeMillis() + 20_000L));
+        assertFalse(service.load());
+        assertEquals("us", service.lookup(address("10.1.2.3")));
+    }
+
+    @Test
+    void testServiceWithMissingFile() {
+        final RegionService service = new RegionService(this.directory.resolve("missing.csv"));
+
+        assertFalse(service.load());
+        assertNull(service.lookup(address("10.1.2.3")));
+    }
+
+    private RegionDatabase compile(final String content) throws IOException {
+        final Path csv = this.directory.resolve("regions.csv");
+        Files.writeString(csv, content);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        RegionDatabase.compile(csv, output);
+        return RegionDatabase.wrap(output.toByteArray());
+    }
+
+    private static InetAddress address(final String address) {
+        try {
+            return InetAddress.getByName(address);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,259 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import net.transferproxy.api.configuration.ProxyConfiguration;
+import net.transferproxy.api.network.connection.PlayerConnection;
+import net.transferproxy.api.routing.RouteTarget;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RoutingTableTest {
+
+    @Test
+    void testHostnameRulesArePreferred() {
+        final RoutingTable table = RoutingTable.compile(routing(rule(null, null, null, null, null, "fallback:25566"),
+                rule("*.example.com", null, null, null, null, "wildcard"),
+                rule("play.example.com", null, null, null, null, "exact:25567")));
+
+        assertTarget("exact", 25567, table.route(connection("Play.Example.com.", 770, null, false)));
+        assertTarget("wildcard", RoutingTable.DEFAULT_PORT, table.route(connection("lobby.example.com", 770, null, false)));
+        assertTarget("fallback", 25566, table.route(connection("other.net", 770, null, false)));
+    }
+
+    @Test
+    void testConditionsAreChecked() {
+        final RoutingTable table = RoutingTable.compile(routing(rule("example.com", 767, 768, null, null, "old"),
+                rule("example.com", null, null, "Vanilla", null, "vanilla"),
+                rule("example.com", null, null, null, true, "transferred")));
+
+        assertTarget("old", RoutingTable.DEFAULT_PORT, table.route(connection("example.com", 768, "vanilla", true)));
+        assertTarget("vanilla", RoutingTable.DEFAULT_PORT, table.route(connection("example.com", 770, "vanilla", true)));
+        assertTarget("transferred", RoutingTable.DEFAULT_PORT, table.route(connection("example.com", 770, "fabric", true)));
+        assertNull(table.route(connection("example.com", 770, "fabric", false)));
+        assertNull(table.route(connection("example.com", 770, null, false)));
+    }
+
+    @Test
+    void testRegionCondition() {
+        final ProxyConfiguration.Routing.Rule europe = rule(null, null, null, null, null, "eu-lobby");
+        when(europe.getRegion()).thenReturn("EU");
+        final RoutingTable table = RoutingTable.compile(routing(europe, rule(null, null, null, null, null, "lobby")));
+
+        final PlayerConnection european = connection("example.com", 770, null, false);
+        when(european.getRegion()).thenReturn("eu");
+        final PlayerConnection unknown = connection("example.com", 770, null, false);
+
+        assertTarget("eu-lobby", RoutingTable.DEFAULT_PORT, table.route(european));
+        assertTarget("lobby", RoutingTable.DEFAULT_PORT, table.route(unknown));
+    }
+
+    @Test
+    void testEarlyRouting() {
+        final RoutingTable table = RoutingTable.compile(routing(rule("example.com", null, null, "vanilla", null, "vanilla"),
+                rule("example.com", null, null, null, null, "lobby"),
+                rule("old.example.com", 767, 768, null, null, "old"),
+                rule(null, null, null, null, null, "fallback")));
+
+        assertNull(table.routeEarly(connection("example.com", 770, null, false)));
+        assertTarget("old", RoutingTable.DEFAULT_PORT, table.routeEarly(connection("old.example.com", 767, null, false)));
+        assertTarget("fallback", RoutingTable.DEFAULT_PORT, table.routeEarly(connection("old.example.com", 770, null, false)));
+        assertTarget("lobby", RoutingTable.DEFAULT_PORT, table.route(connection("example.com", 770, "fabric", false)));
+    }
+
+    @Test
+    void testSameTargetSharesPacket() {
+        final RoutingTable table = RoutingTable.compile(routing(rule("a.com", null, null, null, null, "lobby:25566"),
+                rule("b.com", null, null, null, null, "lobby:25566")));
+
+        final RouteTarget first = table.route(connection("a.com", 770, null, false));
+        final RouteTarget second = table.route(connection("b.com", 770, null, false));
+        assertNotNull(first);
+        assertSame(first, second);
+    }
+
+    @Test
+    void testInvalidRules() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RoutingTable.compile(routing(rule(null, null, null, null, null, "lobby:port"))));
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.compile(routing(rule(null, null, null, null, null, ":25565"))));
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.compile(routing(rule(null, null, null, null, null, "lobby:70000"))));
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.compile(routing(rule(null, 770, 767, null, null, "lobby"))));
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.compile(routing(rule("*.*.com", null, null, null, null, "lobby"))));
+    }
+
+    @Test
+    void testIpv6Targets() {
+        final RouteTarget bracketed = RoutingTable.parseTarget("[::1]:25566");
+        assertEquals("::1", bracketed.host());
+        assertEquals(25566, bracketed.port());
+        final RouteTarget bracketedDefault = RoutingTable.parseTarget("[2001:db8::1]");
+        assertEquals("2001:db8::1", bracketedDefault.host());
+        assertEquals(25565, bracketedDefault.port());
+        final RouteTarget bare = RoutingTable.parseTarget("2001:db8::1");
+        assertEquals("2001:db8::1", bare.host());
+        assertEquals(25565, bare.port());
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.parseTarget("[::1"));
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.parseTarget("[::1]25565"));
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.parseTarget("[]:25565"));
+    }
+
+    @Test
+    void testReloadReplacesRules() {
+        final RouterImpl router = new RouterImpl(routing(rule(null, null, null, null, null, "first")));
+        final PlayerConnection connection = connection("example.com", 770, null, false);
+        assertTarget("first", RoutingTable.DEFAULT_PORT, router.route(connection));
+
+        assertThrows(IllegalArgumentException.class, () -> router.reload(routing(rule(null, null, null, null, null, "second:port"))));
+        assertTarget("first", RoutingTable.DEFAULT_PORT, router.route(connection));
+
+        router.reload(routing(rule(null, null, null, null, null, "second")));
+        assertTarget("second", RoutingTable.DEFAULT_PORT, router.route(connection));
+    }
+
+    @Test
+    void testPoolRules() {
+        final ProxyConfiguration.Routing routing = routing(poolRule("example.com", "lobbies"), rule(null, null, null, null, null, "lobby1"));
+        when(routing.getPools()).thenAnswer(ignored -> Map.of("lobbies", pool("ROUND_ROBIN", "lobby1", "lobby2:25566")));
+        final RoutingTable table = RoutingTable.compile(routing);
+
+        final PlayerConnection connection = connection("example.com", 770, null, false);
+        assertTarget("lobby1", RoutingTable.DEFAULT_PORT, table.route(connection));
+        assertTarget("lobby2", 25566, table.route(connection));
+        // The pool and the rule share the same encoded target
+        assertSame(table.route(connection("other.com", 770, null, false)), table.route(connection));
+    }
+
+    @Test
+    void testReportsAreKeptOnReload() {
+        final ProxyConfiguration.Routing routing = routing(poolRule(null, "lobbies"));
+        when(routing.getPools()).thenAnswer(ignored -> Map.of("lobbies", pool("LEAST_LOAD", "lobby1", "lobby2")));
+        final RouterImpl router = new RouterImpl(routing);
+
+        assertTrue(router.report("lobby1", 50));
+        assertFalse(router.report("unknown", 50));
+        router.reload(routing);
+
+        final PlayerConnection connection = connection("example.com", 770, null, false);
+        assertTarget("lobby2", RoutingTable.DEFAULT_PORT, router.route(connection));
+        assertTarget("lobby2", RoutingTable.DEFAULT_PORT, router.route(connection));
+    }
+
+    @Test
+    void testTransfersAreCountedWhenSent() {
+        final ProxyConfiguration.Routing routing = routing(poolRule(null, "lobbies"));
+        when(routing.getPools()).thenAnswer(ignored -> Map.of("lobbies", pool("LEAST_LOAD", "lobby1", "lobby2")));
+        final RouterImpl router = new RouterImpl(routing);
+        router.report("lobby1", 0);
+        router.report("lobby2", 1);
+
+        final PlayerConnection connection = connection("example.com", 770, null, false);
+        final RouteTarget target = router.route(connection);
+        assertTarget("lobby1", RoutingTable.DEFAULT_PORT, target);
+        // Routes that are never sent do not add to the load
+        assertSame(target, router.route(connection));
+        router.countTransfer(target);
+        router.countTransfer(target);
+        assertTarget("lobby2", RoutingTable.DEFAULT_PORT, router.route(connection));
+    }
+
+    @Test
+    void testInvalidPoolRules() {
+        final ProxyConfiguration.Routing.Rule both = rule(null, null, null, null, null, "lobby");
+        when(both.getPool()).thenReturn("lobbies");
+        final ProxyConfiguration.Routing routing = routing(both);
+        when(routing.getPools()).thenAnswer(ignored -> Map.of("lobbies", pool("ROUND_ROBIN", "lobby")));
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.compile(routing));
+
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.compile(routing(poolRule(null, "unknown"))));
+        assertThrows(IllegalArgumentException.class, () -> RoutingTable.compile(routing(rule(null, null, null, null, null, null))));
+    }
+
+    private static void assertTarget(final String host, final int port, final RouteTarget target) {
+        assertNotNull(target);
+        assertEquals(host, target.host());
+        assertEquals(port, target.port());
+    }
+
+    private static PlayerConnection connection(final String hostname, final int protocol, final String brand, final boolean fromTransfer) {
+        final PlayerConnection connection = mock(PlayerConnection.class);
+        when(connection.getHostname()).thenReturn(hostname);
+        when(connection.getProtocol()).thenReturn(protocol);
+        when(connection.getBrand()).thenReturn(brand);
+        when(connection.isFromTransfer()).thenReturn(fromTransfer);
+        return connection;
+    }
+
+    private static ProxyConfiguration.Routing routing(final ProxyConfiguration.Routing.Rule... rules) {
+        final ProxyConfiguration.Routing routing = mock(ProxyConfiguration.Routing.class);
+        when(routing.getRules()).thenAnswer(ignored -> List.of(rules));
+        when(routing.getLoadReportStaleAfter()).thenReturn(10_000L);
+        return routing;
+    }
+
+    private static ProxyConfiguration.Routing.Pool pool(final String strategy, final String... targets) {
+        final List<ProxyConfiguration.Routing.Server> servers = new ArrayList<>();
+        for (final String target : targets) {
+            final ProxyConfiguration.Routing.Server server = mock(ProxyConfiguration.Routing.Server.class);
+            when(server.getTarget()).thenReturn(target);
+            when(server.getWeight()).thenReturn(1);
+            servers.add(server);
+        }
+        final ProxyConfiguration.Routing.Pool pool = mock(ProxyConfiguration.Routing.Pool.class);
+        when(pool.getStrategy()).thenReturn(strategy);
+        when(pool.getServers()).thenAnswer(ignored -> servers);
+        return pool;
+    }
+
+    private static ProxyConfiguration.Routing.Rule poolRule(final String hostname, final String pool) {
+        final ProxyConfiguration.Routing.Rule rule = rule(hostname, null, null, null, null, null);
+        when(rule.getPool()).thenReturn(pool);
+        return rule;
+    }
+
+    private static ProxyConfiguration.Routing.Rule rule(final String hostname,
+                                                        final Integer minProtocol,
+                                                        final Integer maxProtocol,
+                                                        final String brand,
+                                                        final Boolean fromTransfer,
+                                                        final String target) {
+        final ProxyConfiguration.Routing.Rule rule = mock(ProxyConfiguration.Routing.Rule.class);
+        when(rule.getHostname()).thenReturn(hostname);
+        when(rule.getMinProtocol()).thenReturn(minProtocol);
+        when(rule.getMaxProtocol()).thenReturn(maxProtocol);
+        when(rule.getBrand()).thenReturn(brand);
+        when(rule.getFromTransfer()).thenReturn(fromTransfer);
+        when(rule.getTarget()).thenReturn(target);
+        return rule;
+    }
+
+}
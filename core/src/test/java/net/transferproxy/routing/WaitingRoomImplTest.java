@@ -0,0 +1,211 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.routing;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import net.kyori.adventure.text.Component;
+import net.transferproxy.api.TransferProxy;
+import net.transferproxy.api.configuration.ProxyConfiguration;
+import net.transferproxy.api.event.EventManager;
+import net.transferproxy.api.event.EventType;
+import net.transferproxy.api.event.queue.QueuePositionEvent;
+import net.transferproxy.api.network.connection.PlayerConnection;
+import net.transferproxy.api.network.packet.built.BuiltPacket;
+import net.transferproxy.api.routing.AdmissionResult;
+import net.transferproxy.api.routing.RouteTarget;
+import net.transferproxy.api.util.test.MockedTransferProxy;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class WaitingRoomImplTest {
+
+    private static final RouteTarget TARGET = new RouteTarget("backend", 25565, mock(BuiltPacket.class));
+    private static final RouteTarget UNLIMITED = new RouteTarget("unlimited", 25565, mock(BuiltPacket.class));
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        MockedTransferProxy.mock();
+    }
+
+    @Test
+    void testDisabledQueueTransfersImmediately() {
+        final WaitingRoomImpl waitingRoom = new WaitingRoomImpl(queue(0, 1, 0, 1, Map.of()));
+        final PlayerConnection connection = connection();
+
+        assertFalse(waitingRoom.isEnabled());
+        assertEquals(AdmissionResult.TRANSFERRED, waitingRoom.admit(connection, TARGET));
+        verify(connection).transfer(TARGET);
+    }
+
+    @Test
+    void testTargetSettingsOverrideDefaults() {
+        final ProxyConfiguration.Routing.Queue.Target unlimited = mock(ProxyConfiguration.Routing.Queue.Target.class);
+        when(unlimited.getAdmissionRate()).thenReturn(0);
+        when(unlimited.getAdmissionBurst()).thenReturn(null);
+        when(unlimited.getCapacity()).thenReturn(null);
+        final WaitingRoomImpl waitingRoom = new WaitingRoomImpl(queue(1, 1, 0, 1, Map.of("unlimited", unlimited)));
+
+        assertEquals(AdmissionResult.TRANSFERRED, waitingRoom.admit(connection(), TARGET));
+        assertEquals(AdmissionResult.QUEUED, waitingRoom.admit(connection(), TARGET));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(AdmissionResult.TRANSFERRED, waitingRoom.admit(connection(), UNLIMITED));
+        }
+        assertEquals(1, waitingRoom.getSize(TARGET));
+        assertEquals(0, waitingRoom.getSize(UNLIMITED));
+    }
+
+    @Test
+    void testFullQueueDisconnects() {
+        final WaitingRoomImpl waitingRoom = new WaitingRoomImpl(queue(1, 1, 1, 1, Map.of()));
+        waitingRoom.admit(connection(), TARGET);
+        waitingRoom.admit(connection(), TARGET);
+
+        final PlayerConnection rejected = connection();
+        assertEquals(AdmissionResult.REJECTED, waitingRoom.admit(rejected, TARGET));
+        verify(rejected).disconnect(any(Component.class));
+        verify(rejected, never()).transfer(any(RouteTarget.class));
+        assertEquals(-1, waitingRoom.getPosition(rejected));
+    }
+
+    @Test
+    void testClosedChannelLeavesQueue() {
+        final WaitingRoomImpl waitingRoom = new WaitingRoomImpl(queue(1, 1, 0, 1, Map.of()));
+        waitingRoom.admit(connection(), TARGET);
+
+        final PlayerConnection first = connection();
+        final PlayerConnection second = connection();
+        waitingRoom.admit(first, TARGET);
+        waitingRoom.admit(second, TARGET);
+        assertEquals(2, waitingRoom.getPosition(second));
+
+        first.getChannel().close();
+        assertEquals(-1, waitingRoom.getPosition(first));
+        assertEquals(1, waitingRoom.getPosition(second));
+        assertEquals(1, waitingRoom.getSize(TARGET));
+    }
+
+    @Test
+    void testRemoveAndReAdmit() {
+        final WaitingRoomImpl waitingRoom = new WaitingRoomImpl(queue(1, 1, 0, 2, Map.of()));
+        waitingRoom.admit(connection(), TARGET);
+
+        final PlayerConnection connection = connection();
+        assertEquals(AdmissionResult.QUEUED, waitingRoom.admit(connection, TARGET));
+        assertThrows(IllegalStateException.class, () -> waitingRoom.admit(connection, TARGET));
+        assertThrows(IllegalArgumentException.class, () -> waitingRoom.admit(connection(), TARGET, 2));
+
+        assertTrue(waitingRoom.remove(connection));
+        assertFalse(waitingRoom.remove(connection));
+        assertEquals(AdmissionResult.QUEUED, waitingRoom.admit(connection, TARGET, 0));
+        assertEquals(1, waitingRoom.getPosition(connection));
+    }
+
+    @Test
+    void testTickReleasesAndUpdatesPositions() throws InterruptedException {
+        final EventManager eventManager = mock(EventManager.class);
+        when(TransferProxy.getInstance().getModuleManager().getEventManager()).thenReturn(eventManager);
+        final WaitingRoomImpl waitingRoom = new WaitingRoomImpl(queue(20, 1, 0, 1, Map.of()));
+        waitingRoom.admit(connection(), TARGET);
+
+        final PlayerConnection first = connection();
+        final PlayerConnection second = connection();
+        waitingRoom.admit(first, TARGET);
+        waitingRoom.admit(second, TARGET);
+
+        // A token is refilled every 50 milliseconds
+        Thread.sleep(60L);
+        waitingRoom.tick();
+        // The transfers and the events run on the loop of each player
+        verify(first, never()).transfer(any(RouteTarget.class));
+        runPendingTasks(first);
+        runPendingTasks(second);
+        verify(first).transfer(TARGET);
+        verify(second, never()).transfer(any(RouteTarget.class));
+
+        final ArgumentCaptor<QueuePositionEvent> captor = ArgumentCaptor.forClass(QueuePositionEvent.class);
+        verify(eventManager).call(eq(EventType.QUEUE_POSITION), captor.capture());
+        assertSame(second, captor.getValue().getConnection());
+        assertEquals(1, captor.getValue().getPosition());
+        assertEquals(1, captor.getValue().getSize());
+    }
+
+    @Test
+    void testIdleQueueOfUnknownTargetIsDropped() throws InterruptedException {
+        final WaitingRoomImpl waitingRoom = new WaitingRoomImpl(queue(20, 1, 0, 1, Map.of()));
+        when(TransferProxy.getInstance().getModuleManager().getEventManager()).thenReturn(mock(EventManager.class));
+        waitingRoom.admit(connection(), TARGET);
+        final PlayerConnection waiting = connection();
+        assertEquals(AdmissionResult.QUEUED, waitingRoom.admit(waiting, TARGET));
+        assertEquals(1, waitingRoom.getQueueCount());
+
+        // Released on the first tick, then dropped once its token is refilled
+        Thread.sleep(60L);
+        waitingRoom.tick();
+        assertEquals(1, waitingRoom.getQueueCount());
+        Thread.sleep(60L);
+        waitingRoom.tick();
+        assertEquals(0, waitingRoom.getQueueCount());
+
+        runPendingTasks(waiting);
+        verify(waiting).transfer(TARGET);
+        assertEquals(AdmissionResult.TRANSFERRED, waitingRoom.admit(connection(), TARGET));
+        assertEquals(AdmissionResult.QUEUED, waitingRoom.admit(connection(), TARGET));
+    }
+
+    private static void runPendingTasks(final PlayerConnection connection) {
+        ((EmbeddedChannel) connection.getChannel()).runPendingTasks();
+    }
+
+    private static PlayerConnection connection() {
+        final PlayerConnection connection = mock(PlayerConnection.class);
+        when(connection.getChannel()).thenReturn(new EmbeddedChannel());
+        return connection;
+    }
+
+    private static ProxyConfiguration.Routing.Queue queue(final int rate,
+                                                          final int burst,
+                                                          final int capacity,
+                                                          final int lanes,
+                                                          final Map<String, ProxyConfiguration.Routing.Queue.Target> targets) {
+        final ProxyConfiguration.Routing.Queue queue = mock(ProxyConfiguration.Routing.Queue.class);
+        when(queue.getAdmissionRate()).thenReturn(rate);
+        when(queue.getAdmissionBurst()).thenReturn(burst);
+        when(queue.getCapacity()).thenReturn(capacity);
+        when(queue.getLanes()).thenReturn(lanes);
+        when(queue.getPositionUpdateInterval()).thenReturn(1L);
+        when(queue.getFullMessage()).thenReturn("<red>Full");
+        doReturn(targets).when(queue).getTargets();
+        return queue;
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.status;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FaviconServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testLoadSingleFile() throws IOException {
+        final Path file = writeIcon(this.directory.resolve("favicon.png"), 0xFF0000);
+        final FaviconService service = new FaviconService(file, 0L);
+
+        assertTrue(service.load());
+        assertEquals(1, service.getIcons().rotating().size());
+        assertTrue(service.getIcons().byHost().isEmpty());
+    }
+
+    @Test
+    void testLoadMissingFile() {
+        final FaviconService service = new FaviconService(this.directory.resolve("missing.png"), 0L);
+
+        assertFalse(service.load());
+        assertTrue(service.getIcons().rotating().isEmpty());
+    }
+
+    @Test
+    void testLoadDirectory() throws IOException {
+        writeIcon(this.directory.resolve("a.png"), 0xFF0000);
+        writeIcon(this.directory.resolve("b.png"), 0x00FF00);
+        writeIcon(this.directory.resolve("Play.Example.com.png"), 0x0000FF);
+        Files.writeString(this.directory.resolve("notes.txt"), "ignored");
+        final FaviconService service = new FaviconService(this.directory, 0L);
+        service.load();
+
+        final FaviconService.Icons icons = service.getIcons();
+        assertEquals(2, icons.rotating().size());
+        assertEquals(Set.of("play.example.com"), icons.byHost().keySet());
+        assertFalse(icons.rotating().contains(icons.byHost().get("play.example.com")));
+    }
+
+    @Test
+    void testRotation() throws IOException {
+        writeIcon(this.directory.resolve("a.png"), 0xFF0000);
+        writeIcon(this.directory.resolve("b.png"), 0x00FF00);
+        writeIcon(this.directory.resolve("c.png"), 0x0000FF);
+        final FaviconService service = new FaviconService(this.directory, 0L);
+        service.load();
+
+        final Set<Integer> indexes = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            indexes.add(service.nextIndex(3));
+        }
+        assertEquals(Set.of(0, 1, 2), indexes);
+        assertEquals(0, service.nextIndex(1));
+    }
+
+    @Test
+    void testTimedRotationIsStable() {
+        final FaviconService service = new FaviconService(this.directory, 60_000L);
+
+        final int index = service.nextIndex(5);
+        assertTrue(index >= 0 && index < 5);
+    }
+
+    @Test
+    void testReloadNotifiesOnlyOnChange() throws IOException {
+        final Path file = writeIcon(this.directory.resolve("a.png"), 0xFF0000);
+        final FaviconService service = new FaviconService(this.directory, 0L);
+        final AtomicInteger notifications = new AtomicInteger();
+        service.addListener(notifications::incrementAndGet);
+
+        assertTrue(service.load());
+        assertFalse(service.load());
+        assertEquals(1, notifications.get());
+
+        final String previous = service.getIcons().rotating().get(0);
+        writeIcon(file, 0x00FF00);
+        assertTrue(service.load());
+        assertEquals(2, notifications.get());
+        assertNotEquals(previous, service.getIcons().rotating().get(0));
+    }
+
+    @Test
+    void testNormalizeHost() {
+        assertEquals("play.example.com", FaviconService.normalizeHost("Play.Example.COM."));
+        assertEquals("play.example.com", FaviconService.normalizeHost("play.example.com\0FML3\0"));
+        assertNull(FaviconService.normalizeHost(null));
+    }
+
+    private static Path writeIcon(final Path path, final int color) throws IOException {
+        final BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 64; x++) {
+            for (int y = 0; y < 64; y++) {
+                image.setRGB(x, y, color);
+            }
+        }
+        ImageIO.write(image, "png", path.toFile());
+        return path;
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.status;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HostnameMatcherTest {
+
+    private static final HostnameMatcher<String> MATCHER = new HostnameMatcher<>(Map.of(
+            "play.example.com", "exact",
+            "*.example.com", "wildcard",
+            "*.eu.example.com", "eu",
+            "Other.NET", "other"));
+
+    @Test
+    void testExactMatch() {
+        assertEquals("exact", MATCHER.match("play.example.com"));
+        assertEquals("other", MATCHER.match("other.net"));
+    }
+
+    @Test
+    void testWildcardMatch() {
+        assertEquals("wildcard", MATCHER.match("lobby.example.com"));
+        assertEquals("wildcard", MATCHER.match("a.b.example.com"));
+        assertEquals("eu", MATCHER.match("lobby.eu.example.com"));
+    }
+
+    @Test
+    void testHostnameIsNormalized() {
+        assertEquals("exact", MATCHER.match("PLAY.Example.com."));
+        assertEquals("exact", MATCHER.match("play.example.com\0FML3\0"));
+        assertEquals("other", MATCHER.match("other.net"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"example.com", "example.net", "com", "", "play.example.com.evil"})
+    void testNoMatch(final String hostname) {
+        assertNull(MATCHER.match(hostname));
+    }
+
+    @Test
+    void testNullAndEmpty() {
+        assertNull(MATCHER.match(null));
+        final HostnameMatcher<String> empty = new HostnameMatcher<>(Map.of());
+        assertTrue(empty.isEmpty());
+        assertNull(empty.match("play.example.com"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"*.", "", "*", "play.*.com", "*.*.com"})
+    void testInvalidPattern(final String pattern) {
+        assertThrows(IllegalArgumentException.class, () -> new HostnameMatcher<>(Map.of(pattern, "value")));
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.status;
+
+import net.transferproxy.api.status.StatusResponse;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OnlineAggregatorTest {
+
+    private static final List<InetSocketAddress> BACKENDS = OnlineAggregator.parseAddresses(List.of("a:25565", "b:25565", "c:25565"));
+
+    @Test
+    void testParseAddresses() {
+        final InetSocketAddress address = OnlineAggregator.parseAddresses(List.of("lobby.example.com:25566")).get(0);
+        assertEquals("lobby.example.com", address.getHostString());
+        assertEquals(25566, address.getPort());
+        assertThrows(IllegalArgumentException.class, () -> OnlineAggregator.parseAddresses(List.of("lobby")));
+        assertThrows(IllegalArgumentException.class, () -> OnlineAggregator.parseAddresses(List.of("lobby:abc")));
+        assertThrows(IllegalArgumentException.class, () -> OnlineAggregator.parseAddresses(List.of(":25565")));
+    }
+
+    @Test
+    void testCountsAreSummed() {
+        final OnlineAggregator aggregator = new OnlineAggregator(BACKENDS, 1_000L, 4, 0);
+        final Map<String, StatusResponse> responses = Map.of(
+                "a", response(10, 100),
+                "b", response(5, 50),
+                "c", response(1, 20));
+
+        final OnlineAggregator.Snapshot snapshot = aggregator.refresh(address -> CompletableFuture.completedFuture(responses.get(address.getHostString()))).join();
+        assertEquals(16, snapshot.online());
+        assertEquals(170, snapshot.max());
+        assertEquals(3, snapshot.reachable());
+        assertSame(snapshot, aggregator.getSnapshot());
+    }
+
+    @Test
+    void testFailedBackendsAreIgnored() {
+        final OnlineAggregator aggregator = new OnlineAggregator(BACKENDS, 1_000L, 4, 0);
+
+        final OnlineAggregator.Snapshot snapshot = aggregator.refresh(address -> switch (address.getHostString()) {
+            case "a" -> CompletableFuture.completedFuture(response(10, 100));
+            case "b" -> CompletableFuture.failedFuture(new IllegalStateException("offline"));
+            default -> throw new IllegalStateException("unresolved");
+        }).join();
+        assertEquals(10, snapshot.online());
+        assertEquals(100, snapshot.max());
+        assertEquals(1, snapshot.reachable());
+    }
+
+    @Test
+    void testUnreachableBackendsKeepPreviousCounts() {
+        final OnlineAggregator aggregator = new OnlineAggregator(BACKENDS, 1_000L, 4, 0);
+        final OnlineAggregator.Snapshot previous = aggregator.refresh(address -> CompletableFuture.completedFuture(response(3, 30))).join();
+
+        final OnlineAggregator.Snapshot snapshot = aggregator.refresh(address -> CompletableFuture.failedFuture(new IllegalStateException("offline"))).join();
+        assertSame(previous, snapshot);
+        assertSame(previous, aggregator.getSnapshot());
+        assertEquals(9, snapshot.online());
+    }
+
+    @Test
+    void testConcurrencyIsBounded() {
+        final OnlineAggregator aggregator = new OnlineAggregator(BACKENDS, 1_000L, 2, 0);
+        final List<CompletableFuture<StatusResponse>> pending = new ArrayList<>();
+
+        final CompletableFuture<OnlineAggregator.Snapshot> result = aggregator.refresh(address -> {
+            final CompletableFuture<StatusResponse> future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        });
+        assertEquals(2, pending.size());
+        pending.get(0).complete(response(1, 1));
+        assertEquals(3, pending.size());
+        pending.get(1).complete(response(1, 1));
+        assertFalse(result.isDone());
+        pending.get(2).complete(response(1, 1));
+        assertEquals(3, result.join().online());
+    }
+
+    @Test
+    void testRefreshIsNotConcurrent() {
+        final OnlineAggregator aggregator = new OnlineAggregator(BACKENDS, 1_000L, 4, 0);
+        final AtomicInteger pings = new AtomicInteger();
+        final CompletableFuture<StatusResponse> pending = new CompletableFuture<>();
+
+        aggregator.refresh(address -> {
+            pings.incrementAndGet();
+            return pending;
+        });
+        aggregator.refresh(address -> {
+            pings.incrementAndGet();
+            return pending;
+        });
+        assertEquals(3, pings.get());
+    }
+
+    @Test
+    void testSampleIsLimitedAndNotifies() {
+        final OnlineAggregator aggregator = new OnlineAggregator(BACKENDS, 1_000L, 4, 2);
+        final AtomicInteger notifications = new AtomicInteger();
+        aggregator.addSampleListener(notifications::incrementAndGet);
+        final StatusResponse response = StatusResponse.builder()
+                .name("backend")
+                .online(2)
+                .max(10)
+                .addEntry("Player1", UUID.randomUUID())
+                .addEntry("Player2", UUID.randomUUID())
+                .build();
+
+        final OnlineAggregator.Snapshot snapshot = aggregator.refresh(address -> CompletableFuture.completedFuture(response)).join();
+        assertEquals(2, snapshot.sample().size());
+        assertEquals(1, notifications.get());
+
+        aggregator.refresh(address -> CompletableFuture.completedFuture(response)).join();
+        assertEquals(1, notifications.get());
+    }
+
+    private static StatusResponse response(final int online, final int max) {
+        return StatusResponse.builder().name("backend").online(online).max(max).build();
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.status;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PingThrottleTest {
+
+    private final AtomicLong clock = new AtomicLong(10_000L);
+    private final PingThrottle throttle = new PingThrottle(3, 1_000L, 1024, this.clock::get);
+
+    @Test
+    void testLimit() throws UnknownHostException {
+        final InetAddress address = InetAddress.getByName("10.0.0.1");
+        for (int i = 0; i < 3; i++) {
+            assertFalse(this.throttle.isLimited(address));
+            assertTrue(this.throttle.acquire(address));
+        }
+        assertTrue(this.throttle.isLimited(address));
+        assertFalse(this.throttle.acquire(address));
+    }
+
+    @Test
+    void testAddressesAreIndependent() throws UnknownHostException {
+        final InetAddress address = InetAddress.getByName("10.0.0.1");
+        for (int i = 0; i < 3; i++) {
+            this.throttle.acquire(address);
+        }
+        assertTrue(this.throttle.acquire(InetAddress.getByName("10.0.0.2")));
+        assertTrue(this.throttle.acquire(InetAddress.getByName("::1")));
+    }
+
+    @Test
+    void testCollidingAddressesAreIndependent() throws UnknownHostException {
+        // Every address uses the same two slots
+        final PingThrottle throttle = new PingThrottle(3, 1_000L, 2, this.clock::get);
+        final InetAddress abusive = InetAddress.getByName("10.0.0.1");
+        for (int i = 0; i < 3; i++) {
+            assertTrue(throttle.acquire(abusive));
+        }
+        for (int i = 2; i < 20; i++) {
+            final InetAddress other = InetAddress.getByName("10.0.0." + i);
+            assertFalse(throttle.isLimited(other));
+            assertTrue(throttle.acquire(other));
+        }
+        // The other addresses replaced each other, not the abusive one
+        assertFalse(throttle.acquire(abusive));
+    }
+
+    @Test
+    void testIpv6PrefixSharesCounter() throws UnknownHostException {
+        for (int i = 1; i <= 3; i++) {
+            assertTrue(this.throttle.acquire(InetAddress.getByName("2001:db8:0:1::" + i)));
+        }
+        assertTrue(this.throttle.isLimited(InetAddress.getByName("2001:db8:0:1:ffff::")));
+        assertFalse(this.throttle.isLimited(InetAddress.getByName("2001:db8:0:2::1")));
+    }
+
+    @Test
+    void testCounterDecays() throws UnknownHostException {
+        final InetAddress address = InetAddress.getByName("10.0.0.1");
+        for (int i = 0; i < 3; i++) {
+            this.throttle.acquire(address);
+        }
+        // Halved after a window
+        this.clock.addAndGet(1_000L);
+        assertTrue(this.throttle.acquire(address));
+        assertTrue(this.throttle.acquire(address));
+        assertFalse(this.throttle.acquire(address));
+
+        this.clock.addAndGet(60_000L);
+        assertFalse(this.throttle.isLimited(address));
+    }
+
+    @Test
+    void testFrequentPingsStillDecay() throws UnknownHostException {
+        final InetAddress address = InetAddress.getByName("10.0.0.1");
+        // One ping every 900ms stays under a limit of 3 per window
+        for (int i = 0; i < 100; i++) {
+            this.clock.addAndGet(900L);
+            assertTrue(this.throttle.acquire(address));
+        }
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new PingThrottle(0, 1_000L));
+        assertThrows(IllegalArgumentException.class, () -> new PingThrottle(1, 0L));
+        assertThrows(IllegalArgumentException.class, () -> new PingThrottle(1, 1_000L, 1000, System::currentTimeMillis));
+        assertThrows(IllegalArgumentException.class, () -> new PingThrottle(1, 1_000L, 1, System::currentTimeMillis));
+    }
+
+}
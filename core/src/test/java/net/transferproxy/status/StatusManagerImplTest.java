@@ -0,0 +1,255 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.status;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import net.kyori.adventure.text.Component;
+import net.transferproxy.api.TransferProxy;
+import net.transferproxy.api.configuration.ProxyConfiguration;
+import net.transferproxy.api.event.EventManager;
+import net.transferproxy.api.event.EventType;
+import net.transferproxy.api.event.status.StatusRequestEvent;
+import net.transferproxy.api.network.connection.PlayerConnection;
+import net.transferproxy.api.network.packet.built.ProtocolizedBuiltPacket;
+import net.transferproxy.api.status.StatusResponse;
+import net.transferproxy.api.util.test.MockedTransferProxy;
+import net.transferproxy.network.packet.status.clientbound.StatusResponsePacket;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+import static net.transferproxy.util.BufUtil.readVarInt;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StatusManagerImplTest {
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        MockedTransferProxy.mock();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {47, 766, 770, 774})
+    void testAutoResponseMatchesProtocol(final int protocol) {
+        final StatusManagerImpl statusManager = new StatusManagerImpl();
+        final ProtocolizedBuiltPacket built = statusManager.getResponse(protocol);
+
+        final PlayerConnection connection = mock(PlayerConnection.class);
+        when(connection.getProtocol()).thenReturn(protocol);
+        final ByteBuf buf = built.get(ByteBufAllocator.DEFAULT, protocol);
+        try {
+            assertEquals(0x00, readVarInt(buf));
+            final StatusResponsePacket packet = new StatusResponsePacket(connection, buf);
+            assertEquals(protocol, packet.response().version().protocol());
+            assertEquals(statusManager.buildDefaultResponse(protocol).description(), packet.response().description());
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void testResponseIsPatchedForEachProtocol() {
+        final StatusManagerImpl statusManager = new StatusManagerImpl();
+        final PlayerConnection connection = mock(PlayerConnection.class);
+        for (final int protocol : new int[] {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE}) {
+            when(connection.getProtocol()).thenReturn(protocol);
+            final ByteBuf buf = statusManager.getResponse(protocol).get(ByteBufAllocator.DEFAULT, protocol);
+            try {
+                assertEquals(0x00, readVarInt(buf));
+                assertEquals(protocol, new StatusResponsePacket(connection, buf).response().version().protocol());
+                assertFalse(buf.isReadable());
+            } finally {
+                buf.release();
+            }
+        }
+    }
+
+    @Test
+    void testHostOverrides() {
+        final ProxyConfiguration.Status config = mockConfig();
+        final ProxyConfiguration.Status.Host host = mock(ProxyConfiguration.Status.Host.class);
+        when(host.getDescription()).thenReturn("Example");
+        when(host.getMaxOnline()).thenReturn(500);
+        doReturn(Map.of("*.example.com", host)).when(config).getHosts();
+
+        final StatusManagerImpl statusManager = new StatusManagerImpl(config);
+        final StatusResponse example = statusManager.buildDefaultResponse(770, "play.example.com");
+        assertEquals(Component.text("Example"), example.description());
+        assertEquals(500, example.players().max());
+        assertEquals(1, example.players().online());
+        assertEquals("default", example.version().name());
+
+        final StatusResponse other = statusManager.buildDefaultResponse(770, "other.net");
+        assertEquals(Component.text("Default"), other.description());
+        assertEquals(10, other.players().max());
+
+        final PlayerConnection connection = mock(PlayerConnection.class);
+        final ByteBuf buf = statusManager.getResponse(770, "play.example.com").get(ByteBufAllocator.DEFAULT, 770);
+        try {
+            assertEquals(0x00, readVarInt(buf));
+            final StatusResponse response = new StatusResponsePacket(connection, buf).response();
+            assertEquals(Component.text("Example"), response.description());
+            assertEquals(500, response.players().max());
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void testThrottledPingsBypassEvents() {
+        final ProxyConfiguration.Status config = mockConfig();
+        when(config.getPingLimit()).thenReturn(1);
+        when(config.getPingLimitWindow()).thenReturn(60_000L);
+        when(config.isPingLimitCachedResponse()).thenReturn(true);
+        final EventManager eventManager = mock(EventManager.class);
+        when(TransferProxy.getInstance().getModuleManager().getEventManager()).thenReturn(eventManager);
+        final Channel channel = mock(Channel.class);
+        when(channel.remoteAddress()).thenReturn(new InetSocketAddress("127.0.0.1", 25565));
+        final PlayerConnection connection = mock(PlayerConnection.class);
+        when(connection.getChannel()).thenReturn(channel);
+        when(connection.getProtocol()).thenReturn(770);
+        when(connection.getHostname()).thenReturn("localhost");
+
+        final StatusManagerImpl statusManager = new StatusManagerImpl(config);
+        assertFalse(statusManager.isThrottled(connection));
+        statusManager.process(connection);
+        assertTrue(statusManager.isThrottled(connection));
+        statusManager.process(connection);
+        statusManager.process(connection);
+
+        verify(eventManager, times(1)).call(eq(EventType.STATUS), any());
+        verify(connection, times(3)).sendPacket(any());
+        verify(connection, never()).forceDisconnect();
+        assertEquals(2, statusManager.getThrottledPings());
+    }
+
+    @Test
+    void testThrottledPingsReceiveLastResponse() {
+        final ProxyConfiguration.Status config = mockConfig();
+        when(config.getPingLimit()).thenReturn(1);
+        when(config.getPingLimitWindow()).thenReturn(60_000L);
+        when(config.isPingLimitCachedResponse()).thenReturn(true);
+        final EventManager eventManager = mock(EventManager.class);
+        final StatusResponse custom = StatusResponse.builder().name("custom").protocol(770).online(42).max(50).build();
+        doAnswer(invocation -> {
+            invocation.<StatusRequestEvent>getArgument(1).setResponse(custom);
+            return null;
+        }).when(eventManager).call(eq(EventType.STATUS), any());
+        when(TransferProxy.getInstance().getModuleManager().getEventManager()).thenReturn(eventManager);
+        final Channel channel = mock(Channel.class);
+        when(channel.remoteAddress()).thenReturn(new InetSocketAddress("127.0.0.3", 25565));
+        final PlayerConnection connection = mock(PlayerConnection.class);
+        when(connection.getChannel()).thenReturn(channel);
+        when(connection.getProtocol()).thenReturn(770);
+        when(connection.getHostname()).thenReturn("Play.Example.com");
+
+        final StatusManagerImpl statusManager = new StatusManagerImpl(config);
+        statusManager.process(connection);
+        verify(connection).sendStatusResponse(custom);
+
+        final ByteBuf buf = statusManager.getThrottledResponse(770, "play.example.com").get(ByteBufAllocator.DEFAULT, 770);
+        try {
+            assertEquals(0x00, readVarInt(buf));
+            final StatusResponse response = new StatusResponsePacket(connection, buf).response();
+            assertEquals("custom", response.version().name());
+            assertEquals(42, response.players().online());
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void testUntemplatableLastResponseFallsBack() {
+        final ProxyConfiguration.Status config = mockConfig();
+        when(config.getPingLimit()).thenReturn(1);
+        when(config.getPingLimitWindow()).thenReturn(60_000L);
+        when(config.isPingLimitCachedResponse()).thenReturn(true);
+        final EventManager eventManager = mock(EventManager.class);
+        // The sentinel of the protocol field appears in the description
+        final StatusResponse custom = StatusResponse.builder()
+                .name("custom")
+                .description(Component.text(Integer.toString(Integer.MIN_VALUE + 1)))
+                .build();
+        doAnswer(invocation -> {
+            invocation.<StatusRequestEvent>getArgument(1).setResponse(custom);
+            return null;
+        }).when(eventManager).call(eq(EventType.STATUS), any());
+        when(TransferProxy.getInstance().getModuleManager().getEventManager()).thenReturn(eventManager);
+        final Channel channel = mock(Channel.class);
+        when(channel.remoteAddress()).thenReturn(new InetSocketAddress("127.0.0.4", 25565));
+        final PlayerConnection connection = mock(PlayerConnection.class);
+        when(connection.getChannel()).thenReturn(channel);
+        when(connection.getProtocol()).thenReturn(770);
+
+        final StatusManagerImpl statusManager = new StatusManagerImpl(config);
+        statusManager.process(connection);
+
+        final ByteBuf buf = assertDoesNotThrow(() -> statusManager.getThrottledResponse(770, null)).get(ByteBufAllocator.DEFAULT, 770);
+        try {
+            assertEquals(0x00, readVarInt(buf));
+            assertEquals("default", new StatusResponsePacket(connection, buf).response().version().name());
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void testThrottledPingsAreClosed() {
+        final ProxyConfiguration.Status config = mockConfig();
+        when(config.getPingLimit()).thenReturn(1);
+        when(config.getPingLimitWindow()).thenReturn(60_000L);
+        when(TransferProxy.getInstance().getModuleManager().getEventManager()).thenReturn(mock(EventManager.class));
+        final Channel channel = mock(Channel.class);
+        when(channel.remoteAddress()).thenReturn(new InetSocketAddress("127.0.0.2", 25565));
+        final PlayerConnection connection = mock(PlayerConnection.class);
+        when(connection.getChannel()).thenReturn(channel);
+
+        final StatusManagerImpl statusManager = new StatusManagerImpl(config);
+        statusManager.process(connection);
+        statusManager.process(connection);
+
+        verify(connection, times(1)).forceDisconnect();
+        assertEquals(1, statusManager.getThrottledPings());
+    }
+
+    private static ProxyConfiguration.Status mockConfig() {
+        final ProxyConfiguration.Status config = mock(ProxyConfiguration.Status.class);
+        when(config.getName()).thenReturn("default");
+        when(config.getDescription()).thenReturn("Default");
+        when(config.getProtocol()).thenReturn("AUTO");
+        when(config.getOnline()).thenReturn(1);
+        when(config.getMaxOnline()).thenReturn(10);
+        when(config.getFaviconPath()).thenReturn("./missing-favicon.png");
+        return config;
+    }
+
+}
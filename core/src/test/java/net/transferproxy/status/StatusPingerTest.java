@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.status;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.resolver.dns.DnsAddressResolverGroup;
+import io.netty.resolver.dns.DnsServerAddressStreamProviders;
+import io.netty.util.concurrent.Future;
+import net.transferproxy.api.status.StatusResponse;
+import net.transferproxy.api.util.test.MockedTransferProxy;
+import net.transferproxy.util.test.StubStatusServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatusPingerTest {
+
+    private static final StatusResponse RESPONSE = StatusResponse.builder().name("backend").online(12).max(100).build();
+
+    private static EventLoopGroup group;
+    private static DnsAddressResolverGroup resolver;
+    private static StubStatusServer backend;
+
+    @BeforeAll
+    static void setUpBeforeClass() {
+        MockedTransferProxy.mock();
+        group = new MultiThreadIoEventLoopGroup(1, NioIoHandler.newFactory());
+        resolver = new DnsAddressResolverGroup(NioDatagramChannel.class, DnsServerAddressStreamProviders.platformDefault());
+        backend = new StubStatusServer(group, RESPONSE);
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() {
+        backend.close();
+        resolver.close();
+        group.shutdownGracefully().syncUninterruptibly();
+    }
+
+    @Test
+    void testPing() {
+        final StatusPinger pinger = new StatusPinger(group, NioSocketChannel.class, resolver, 3_000L);
+
+        final StatusResponse response = pinger.ping(backend.getAddress()).join();
+        assertEquals(12, response.players().online());
+        assertEquals(100, response.players().max());
+        // Handshake then status request
+        assertTrue(backend.getReceivedIds().size() >= 2);
+    }
+
+    @Test
+    void testPingUnresolvedAddress() {
+        final StatusPinger pinger = new StatusPinger(group, NioSocketChannel.class, resolver, 3_000L);
+        final int port = backend.getAddress().getPort();
+
+        final StatusResponse response = pinger.ping(InetSocketAddress.createUnresolved("127.0.0.1", port)).join();
+        assertEquals(12, response.players().online());
+    }
+
+    @Test
+    void testPingUnreachable() {
+        final StatusPinger pinger = new StatusPinger(group, NioSocketChannel.class, resolver, 1_000L);
+
+        final InetSocketAddress address = new InetSocketAddress("127.0.0.1", 1);
+        assertThrows(CompletionException.class, () -> pinger.ping(address).join());
+    }
+
+    @Test
+    void testSlowResponseTimesOut() {
+        // Announces a large frame then sends a byte at a time, each read resets the read timeout
+        final Channel server = new ServerBootstrap().group(group)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInboundHandlerAdapter() {
+                    @Override
+                    public void channelActive(final ChannelHandlerContext ctx) {
+                        ctx.writeAndFlush(Unpooled.wrappedBuffer(new byte[] {(byte) 0xFF, (byte) 0xFF, 0x01}));
+                        final Future<?> task = ctx.executor()
+                                .scheduleAtFixedRate(() -> ctx.writeAndFlush(Unpooled.wrappedBuffer(new byte[] {0x00})),
+                                        50L, 50L, TimeUnit.MILLISECONDS);
+                        ctx.channel().closeFuture().addListener(ignored -> task.cancel(false));
+                    }
+                })
+                .bind(new InetSocketAddress("127.0.0.1", 0))
+                .syncUninterruptibly()
+                .channel();
+        try {
+            final StatusPinger pinger = new StatusPinger(group, NioSocketChannel.class, resolver, 500L);
+
+            final ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> pinger.ping((InetSocketAddress) server.localAddress()).get(5L, TimeUnit.SECONDS));
+            assertInstanceOf(TimeoutException.class, exception.getCause());
+        } finally {
+            server.close().syncUninterruptibly();
+        }
+    }
+
+    @Test
+    void testAggregateFromBackend() {
+        final StatusPinger pinger = new StatusPinger(group, NioSocketChannel.class, resolver, 3_000L);
+        final InetSocketAddress address = backend.getAddress();
+        final OnlineAggregator aggregator = new OnlineAggregator(List.of(address, address), 1_000L, 1, 0);
+
+        final OnlineAggregator.Snapshot snapshot = aggregator.refresh(pinger::ping).join();
+        assertEquals(24, snapshot.online());
+        assertEquals(200, snapshot.max());
+    }
+
+}
@@ -25,6 +25,7 @@
 package net.transferproxy.util;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.codec.EncoderException;
@@ -37,9 +38,12 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.UUID;
+import java.util.function.IntSupplier;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -159,6 +163,109 @@ class BufUtilTest {
         assertThrows(DecoderException.class, () -> BufUtil.readTag(this.buf));
     }
 
+    @Test
+    void testVarIntFuzzEquivalence() {
+        final Random random = new Random(0x5EEDL);
+        final ByteBuf reference = Unpooled.buffer();
+        try {
+            for (int i = 0; i < 100_000; i++) {
+                final int value = random.nextInt() >> random.nextInt(32);
+                this.buf.clear();
+                reference.clear();
+                BufUtil.writeVarInt(this.buf, value);
+                referenceWriteVarInt(reference, value);
+                assertEquals(reference, this.buf);
+                assertEquals(reference.writerIndex(), BufUtil.getVarIntSize(value));
+                this.buf.writeBytes(new byte[random.nextInt(8)]);
+                assertEquals(value, BufUtil.readVarInt(this.buf));
+                assertEquals(reference.writerIndex(), this.buf.readerIndex());
+            }
+        } finally {
+            reference.release();
+        }
+    }
+
+    @Test
+    void testReadVarIntFuzzEquivalence() {
+        final Random random = new Random(0xCAFEL);
+        final byte[] bytes = new byte[8];
+        for (int i = 0; i < 100_000; i++) {
+            random.nextBytes(bytes);
+            final int length = random.nextInt(bytes.length + 1);
+            final ByteBuf expected = Unpooled.wrappedBuffer(bytes, 0, length);
+            final ByteBuf actual = Unpooled.wrappedBuffer(bytes, 0, length);
+            final Integer expectedValue = readOrNull(() -> referenceReadVarInt(expected));
+            final Integer actualValue = readOrNull(() -> BufUtil.readVarInt(actual));
+            assertEquals(expectedValue, actualValue);
+            if (expectedValue != null) {
+                assertEquals(expected.readerIndex(), actual.readerIndex());
+            }
+        }
+    }
+
+    @Test
+    void testStringFuzzEquivalence() {
+        final Random random = new Random(0xBEEFL);
+        final ByteBuf reference = Unpooled.directBuffer();
+        final ByteBuf direct = Unpooled.directBuffer();
+        try {
+            for (int i = 0; i < 20_000; i++) {
+                final String string = randomString(random);
+                this.buf.clear();
+                reference.clear();
+                direct.clear();
+                BufUtil.writeString(this.buf, string);
+                BufUtil.writeString(direct, string);
+                referenceWriteString(reference, string);
+                assertEquals(reference, this.buf);
+                assertEquals(reference, direct);
+                assertEquals(referenceReadString(reference), BufUtil.readString(this.buf));
+                assertEquals(0, this.buf.readableBytes());
+            }
+        } finally {
+            reference.release();
+            direct.release();
+        }
+    }
+
+    @Test
+    void testStreamedStringFuzzEquivalence() {
+        final Random random = new Random(0xCAFEL);
+        for (int i = 0; i < 20_000; i++) {
+            final String string = randomString(random);
+            final int split = random.nextInt(string.length() + 1);
+            this.buf.clear();
+            BufUtil.writeString(this.buf, Short.MAX_VALUE, writer -> {
+                writer.write(string, 0, split);
+                writer.write(string.substring(split).toCharArray(), 0, string.length() - split);
+            });
+            // The length is always padded to 3 bytes
+            assertEquals(string.getBytes(StandardCharsets.UTF_8).length + 3, this.buf.readableBytes());
+            assertEquals(new String(string.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8), BufUtil.readString(this.buf));
+            assertEquals(0, this.buf.readableBytes());
+        }
+    }
+
+    @Test
+    void testStreamedStringTooLong() {
+        assertThrows(EncoderException.class, () -> BufUtil.writeString(this.buf, 1, writer -> writer.append("aa")));
+    }
+
+    @Test
+    void testReadStringFuzzEquivalence() {
+        final Random random = new Random(0xF00DL);
+        for (int i = 0; i < 20_000; i++) {
+            final byte[] bytes = new byte[random.nextInt(64)];
+            for (int j = 0; j < bytes.length; j++) {
+                bytes[j] = (byte) (random.nextInt(4) == 0 ? random.nextInt() : random.nextInt(0x80));
+            }
+            this.buf.clear();
+            BufUtil.writeVarInt(this.buf, bytes.length);
+            this.buf.writeBytes(bytes);
+            assertEquals(new String(bytes, StandardCharsets.UTF_8), BufUtil.readString(this.buf));
+        }
+    }
+
     @AfterEach
     void tearDown() {
         this.buf.release();
@@ -184,4 +291,62 @@ class BufUtilTest {
                 TestGenerationUtil.generateComplexCompoundTag());
     }
 
-}
\ No newline at end of file
+    private static String randomString(final Random random) {
+        final int length = random.nextInt(48);
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(8)) {
+                case 0 -> builder.append((char) (0x80 + random.nextInt(0x780)));
+                case 1 -> builder.append((char) (0x800 + random.nextInt(0xF000)));
+                case 2 -> builder.appendCodePoint(0x10000 + random.nextInt(0x100000));
+                default -> builder.append((char) random.nextInt(0x80));
+            }
+        }
+        return builder.toString();
+    }
+
+    private static Integer readOrNull(final IntSupplier reader) {
+        try {
+            return reader.getAsInt();
+        } catch (final RuntimeException exception) {
+            return null;
+        }
+    }
+
+    // Reference implementations, the codecs must stay byte to byte compatible with them
+
+    private static void referenceWriteVarInt(final ByteBuf buf, int value) {
+        while ((value & 0xFFFFFF80) != 0x0) {
+            buf.writeByte(value | 0x80);
+            value >>>= 7;
+        }
+        buf.writeByte(value);
+    }
+
+    private static int referenceReadVarInt(final ByteBuf buf) {
+        int value = 0;
+        int length = 0;
+        int part;
+        do {
+            part = buf.readByte();
+            value |= (part & 0x7F) << (length++ * 7);
+            if (length > 5) {
+                throw new DecoderException("VarInt is too big");
+            }
+        } while (part < 0);
+        return value;
+    }
+
+    private static void referenceWriteString(final ByteBuf buf, final String string) {
+        referenceWriteVarInt(buf, ByteBufUtil.utf8Bytes(string));
+        ByteBufUtil.writeUtf8(buf, string);
+    }
+
+    private static String referenceReadString(final ByteBuf buf) {
+        final int length = referenceReadVarInt(buf);
+        final String string = buf.toString(buf.readerIndex(), length, StandardCharsets.UTF_8);
+        buf.readerIndex(buf.readerIndex() + length);
+        return string;
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.transferproxy.util;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import net.transferproxy.network.frame.clientbound.CompressedPacket;
+import net.transferproxy.network.frame.clientbound.CompressionEncoder;
+import net.transferproxy.network.frame.serverbound.CompressionDecoder;
+import net.transferproxy.network.packet.built.BuiltPacketImpl;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressionUtilTest {
+
+    private static final int THRESHOLD = 256;
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 255, 256, 4096, 100_000})
+    void testCodecRoundTrip(final int size) {
+        final byte[] data = randomCompressibleBytes(size);
+        final EmbeddedChannel channel = new EmbeddedChannel(new CompressionDecoder(THRESHOLD), new CompressionEncoder(THRESHOLD));
+
+        assertTrue(channel.writeOutbound(Unpooled.wrappedBuffer(data)));
+        final ByteBuf compressed = channel.readOutbound();
+        assertTrue(channel.writeInbound(compressed));
+        final ByteBuf decompressed = channel.readInbound();
+
+        assertArrayEquals(data, ByteBufUtil.getBytes(decompressed));
+        decompressed.release();
+        assertFalse(channel.finish());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {16, 1024})
+    void testCompressedBuiltPacketMatchesEncoder(final int size) {
+        final byte[] data = randomCompressibleBytes(size);
+        final BuiltPacketImpl packet = new BuiltPacketImpl(data);
+        final EmbeddedChannel channel = new EmbeddedChannel(new CompressionDecoder(THRESHOLD), new CompressionEncoder(THRESHOLD));
+
+        final CompressedPacket compressed = packet.getCompressed(channel.alloc(), 0, THRESHOLD);
+        assertTrue(channel.writeOutbound(compressed));
+        final ByteBuf framed = channel.readOutbound();
+        assertArrayEquals(CompressionUtil.compressPacket(data, THRESHOLD), ByteBufUtil.getBytes(framed));
+
+        assertTrue(channel.writeInbound(framed));
+        final ByteBuf decompressed = channel.readInbound();
+        assertArrayEquals(data, ByteBufUtil.getBytes(decompressed));
+        decompressed.release();
+        assertFalse(channel.finish());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 255})
+    void testRejectCompressedPacketUnderThreshold(final int size) {
+        final ByteBuf buf = Unpooled.buffer();
+        BufUtil.writeVarInt(buf, size);
+        buf.writeBytes(new byte[size]);
+        final EmbeddedChannel channel = new EmbeddedChannel(new CompressionDecoder(THRESHOLD));
+
+        assertThrows(RuntimeException.class, () -> channel.writeInbound(buf));
+        channel.finishAndReleaseAll();
+    }
+
+    private static byte[] randomCompressibleBytes(final int size) {
+        final byte[] data = new byte[size];
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) random.nextInt(16);
+        }
+        return data;
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.transferproxy.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FutureUtilTest {
+
+    @Test
+    void testConcurrencyIsBounded() {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+        final CompletableFuture<Void> result = FutureUtil.forEachBounded(10, 3, index -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        });
+        int completed = 0;
+        while (!result.isDone()) {
+            final CompletableFuture<Void> future = pending.remove(0);
+            inFlight.decrementAndGet();
+            future.complete(null);
+            completed++;
+        }
+        assertEquals(10, completed);
+        assertEquals(3, maxInFlight.get());
+    }
+
+    @Test
+    void testFailuresDoNotStopTheOthers() {
+        final boolean[] started = new boolean[4];
+
+        final CompletableFuture<Void> result = FutureUtil.forEachBounded(started.length, 1, index -> {
+            started[index] = true;
+            if (index == 1) {
+                throw new IllegalStateException();
+            }
+            return index == 2 ? CompletableFuture.failedFuture(new Exception()) : CompletableFuture.completedFuture(null);
+        });
+        assertTrue(result.isDone());
+        assertFalse(result.isCompletedExceptionally());
+        assertArrayEquals(new boolean[] {true, true, true, true}, started);
+    }
+
+    @Test
+    void testNoTask() {
+        assertTrue(FutureUtil.forEachBounded(0, 4, index -> {
+            throw new AssertionError();
+        }).isDone());
+    }
+
+}
@@ -25,12 +25,28 @@
 package net.transferproxy.util;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import net.kyori.adventure.key.Key;
 import net.kyori.adventure.nbt.BinaryTag;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.ShadowColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import net.transferproxy.api.util.ComponentProtocolUtil;
 import net.transferproxy.util.test.TestGenerationUtil;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class NBTUtilTest {
 
@@ -43,4 +59,68 @@ class NBTUtilTest {
         });
     }
 
-}
\ No newline at end of file
+    @Test
+    void testStreamedComponentEquality() {
+        for (final int protocol : ComponentProtocolUtil.getSerializerProtocols()) {
+            final GsonComponentSerializer serializer = ComponentProtocolUtil.getSerializer(protocol);
+            for (final Component component : generateComponents()) {
+                final ByteBuf buf = Unpooled.buffer();
+                try {
+                    NBTUtil.writeComponent(buf, serializer, component);
+                    final BinaryTag expected = NBTUtil.serialize(serializer.serializeToTree(component));
+                    assertEquals(expected, BufUtil.readTag(buf.duplicate()), "Protocol " + protocol + ": " + component);
+
+                    final Component read = NBTUtil.readComponent(buf, serializer);
+                    assertEquals(serializer.deserializeFromTree(NBTUtil.deserialize(expected)), read);
+                    assertEquals(0, buf.readableBytes());
+                } finally {
+                    buf.release();
+                }
+            }
+        }
+    }
+
+    @Test
+    void testStreamedRawJsonValue() throws IOException {
+        final ByteBuf buf = Unpooled.buffer();
+        try (final NBTJsonWriter writer = new NBTJsonWriter(buf)) {
+            writer.beginObject().name("text").value("raw").name("extra").jsonValue("[{\"text\":\"a\"},\"b\"]").endObject();
+            final JsonElement expected = JsonParser.parseString("{\"text\":\"raw\",\"extra\":[{\"text\":\"a\"},\"b\"]}");
+            assertEquals(NBTUtil.serialize(expected), BufUtil.readTag(buf));
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    void testReadInvalidComponent() {
+        final GsonComponentSerializer serializer = GsonComponentSerializer.gson();
+        final ByteBuf buf = Unpooled.buffer();
+        try {
+            buf.writeByte(NBTUtil.TAG_LIST).writeByte(NBTUtil.TAG_INT).writeInt(Integer.MAX_VALUE);
+            assertThrows(DecoderException.class, () -> NBTUtil.readComponent(buf, serializer));
+            buf.clear().writeByte(42);
+            assertThrows(DecoderException.class, () -> NBTUtil.readComponent(buf, serializer));
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static List<Component> generateComponents() {
+        return List.of(Component.empty(),
+                Component.text("plain"),
+                Component.text("unicode \u00e9\u4e16\uD83D\uDE00 and \u0000"),
+                TestGenerationUtil.generateComplexComponent(),
+                Component.text("a").append(Component.text(1)).append(Component.text("b", NamedTextColor.RED)),
+                Component.translatable("chat.type.text", Component.text("player"), Component.text("message")),
+                Component.keybind("key.jump"),
+                Component.text("click")
+                        .decorate(TextDecoration.BOLD)
+                        .decoration(TextDecoration.ITALIC, false)
+                        .clickEvent(ClickEvent.openUrl("https://example.com")),
+                Component.text("hover")
+                        .hoverEvent(HoverEvent.showEntity(Key.key("minecraft:pig"), new UUID(42L, -42L), Component.text("pig"))),
+                Component.text("shadow").shadowColor(ShadowColor.shadowColor(0x80FF0000)));
+    }
+
+}
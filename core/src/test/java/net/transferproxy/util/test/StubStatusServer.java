@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Yvan Mazy
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.transferproxy.util.test;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.*;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import net.transferproxy.api.network.protocol.Protocolized;
+import net.transferproxy.api.status.StatusResponse;
+import net.transferproxy.network.frame.clientbound.VarIntFrameEncoder;
+import net.transferproxy.network.frame.serverbound.VarIntFrameDecoder;
+import net.transferproxy.network.packet.status.clientbound.StatusResponsePacket;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static net.transferproxy.util.BufUtil.readVarInt;
+import static net.transferproxy.util.BufUtil.writeVarInt;
+
+/**
+ * Local backend answering the status requests with a fixed response.
+ */
+public final class StubStatusServer implements AutoCloseable {
+
+    private final List<Integer> receivedIds = new CopyOnWriteArrayList<>();
+    private final Channel channel;
+
+    public StubStatusServer(final @NotNull EventLoopGroup group, final @NotNull StatusResponse response) {
+        this.channel = new ServerBootstrap().group(group)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<>() {
+                    @Override
+                    protected void initChannel(final @NotNull Channel channel) {
+                        channel.pipeline()
+                                .addLast(new VarIntFrameDecoder())
+                                .addLast(new VarIntFrameEncoder())
+                                .addLast(new SimpleChannelInboundHandler<ByteBuf>() {
+                                    @Override
+                                    protected void channelRead0(final ChannelHandlerContext ctx, final ByteBuf buf) {
+                                        final int id = readVarInt(buf);
+                                        StubStatusServer.this.receivedIds.add(id);
+                                        if (id == 0x00 && !buf.isReadable()) {
+                                            final ByteBuf packet = ctx.alloc().buffer();
+                                            writeVarInt(packet, 0x00);
+                                            new StatusResponsePacket(response).write(Protocolized.of(774), packet);
+                                            ctx.writeAndFlush(packet);
+                                        }
+                                    }
+                                });
+                    }
+                })
+                .bind(new InetSocketAddress("127.0.0.1", 0))
+                .syncUninterruptibly()
+                .channel();
+    }
+
+    public @NotNull InetSocketAddress getAddress() {
+        return (InetSocketAddress) this.channel.localAddress();
+    }
+
+    /**
+     * Gets the ids of the packets received from the clients, in order.
+     */
+    public @NotNull List<Integer> getReceivedIds() {
+        return this.receivedIds;
+    }
+
+    @Override
+    public void close() {
+        this.channel.close().syncUninterruptibly();
+    }
+
+}